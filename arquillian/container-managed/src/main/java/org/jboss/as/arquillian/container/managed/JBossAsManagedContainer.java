@@ -78,6 +78,7 @@ public class JBossAsManagedContainer extends AbstractDeployableContainer {
                 throw new IllegalStateException("Cannot find system property: " + jbossHomeKey);
 
             final String additionalJavaOpts = System.getProperty("jboss.options");
+            final String serverConfig = System.getProperty("jboss.server.config");
 
             File modulesJar = new File(jbossHomeDir + "/jboss-modules.jar");
             if (modulesJar.exists() == false)
@@ -102,6 +103,10 @@ public class JBossAsManagedContainer extends AbstractDeployableContainer {
             cmd.add("-jaxpmodule");
             cmd.add("javax.xml.jaxp-provider");
             cmd.add("org.jboss.as.standalone");
+            if (serverConfig != null) {
+                cmd.add("-server-config");
+                cmd.add(serverConfig);
+            }
 
             log.info("Starting container with: " + cmd.toString());
             ProcessBuilder processBuilder = new ProcessBuilder(cmd);
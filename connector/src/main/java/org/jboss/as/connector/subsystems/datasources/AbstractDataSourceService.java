@@ -69,17 +69,33 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
     private javax.sql.DataSource sqlDataSource;
 
+    private PoolConfiguration poolConfiguration;
+
+    private org.jboss.jca.core.api.management.DataSource managementDataSource;
+
+    private DataSourceStatistics statistics = new DataSourceStatistics();
+
+    private long slowStatementThreshold = StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD;
+
+    private boolean statisticsEnabled;
+
+    private StatementStatistics statementStatistics = new StatementStatistics(0, slowStatementThreshold);
+
     public AbstractDataSourceService(final String jndiName) {
         this.jndiName = jndiName;
     }
 
     public synchronized void start(StartContext startContext) throws StartException {
         try {
-            final ManagedConnectionFactory mcf = createManagedConnectionFactory(jndiName, driverValue.getValue());
+            statistics = new DataSourceStatistics();
+            final BaseWrapperManagedConnectionFactory mcf = createManagedConnectionFactory(jndiName, driverValue.getValue());
             final PoolConfiguration pc = createPoolConfig();
             final Pool pool = createPool(jndiName, mcf, pc);
-            final ConnectionManager cm = createConnectionManager(jndiName, pool);
-            sqlDataSource = (javax.sql.DataSource) mcf.createConnectionFactory(cm);
+            final ConnectionManager cm = createConnectionManager(jndiName,
+                    statistics.createStatisticsPool(pool, pc.getBlockingTimeout()));
+            statementStatistics = new StatementStatistics(mcf.getPreparedStatementCacheSize(), slowStatementThreshold);
+            statementStatistics.setEnabled(statisticsEnabled);
+            sqlDataSource = statementStatistics.createStatisticsDataSource((javax.sql.DataSource) mcf.createConnectionFactory(cm));
 
             org.jboss.jca.core.api.management.DataSource mgtDs = new org.jboss.jca.core.api.management.DataSource(false);// Register
                                                                                                                          // data
@@ -90,13 +106,19 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
             log.debugf("Adding management datasource: %s", mgtDs);
             managementRepository.getValue().getDataSources().add(mgtDs);
+            managementDataSource = mgtDs;
+            poolConfiguration = pc;
         } catch (Throwable t) {
             throw new StartException("Error during the deployment of " + jndiName, t);
         }
     }
 
     public synchronized void stop(StopContext stopContext) {
-
+        if (managementDataSource != null) {
+            managementRepository.getValue().getDataSources().remove(managementDataSource);
+            managementDataSource = null;
+        }
+        poolConfiguration = null;
         sqlDataSource = null;
     }
 
@@ -104,6 +126,58 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         return sqlDataSource;
     }
 
+    /**
+     * Get the configuration of the pool of the started data-source.
+     * @return the pool configuration, or {@code null} if the data-source is not started
+     */
+    synchronized PoolConfiguration getPoolConfiguration() {
+        return poolConfiguration;
+    }
+
+    /**
+     * Get the statistics of the pool of the data-source.
+     * @return the statistics
+     */
+    synchronized DataSourceStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Get the statistics of the statements executed through the data-source.
+     * @return the statistics
+     */
+    synchronized StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
+    synchronized long getSlowStatementThreshold() {
+        return slowStatementThreshold;
+    }
+
+    /**
+     * Set the execution time above which a statement is recorded as slow. The threshold is kept across restarts of the
+     * data-source.
+     * @param slowStatementThreshold the threshold in milliseconds
+     */
+    synchronized void setSlowStatementThreshold(final long slowStatementThreshold) {
+        this.slowStatementThreshold = slowStatementThreshold;
+        statementStatistics.setSlowStatementThreshold(slowStatementThreshold);
+    }
+
+    synchronized boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Set whether the statements executed through the data-source are counted. This applies to the connections handed
+     * out afterwards, and is kept across restarts of the data-source.
+     * @param statisticsEnabled whether the statement statistics are collected
+     */
+    synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        statementStatistics.setEnabled(statisticsEnabled);
+    }
+
     public Injector<TransactionIntegration> getTransactionIntegrationInjector() {
         return transactionIntegrationValue;
     }
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Operation handler responsible for resetting the pool and statement statistics of a data-source.
+ *
+ * @author agent
+ */
+class DataSourceResetStatistics implements ModelQueryOperationHandler {
+
+    static final String OPERATION_NAME = "reset-statistics";
+
+    static final DataSourceResetStatistics INSTANCE = new DataSourceResetStatistics();
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
+        final String jndiName = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final AbstractDataSourceService dataSourceService = DataSourcesMetrics.getDataSourceService(context, jndiName);
+                    if (dataSourceService == null) {
+                        throw new OperationFailedException(new ModelNode().set("Data-source service [" + jndiName
+                                + "] is not available"));
+                    }
+                    dataSourceService.getStatistics().reset();
+                    dataSourceService.getStatementStatistics().reset();
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.jca.core.connectionmanager.pool.api.Pool;
+
+/**
+ * Runtime statistics of the connection pool of a data-source. The counters are maintained by a proxy around the pool,
+ * which sees every connection handed out and returned, and by the managed connection factory, which reports every
+ * physical connection it creates.
+ * <p>
+ * The physical connections the pool destroys are not counted. The pool closes idle, invalid and flushed connections on
+ * its own, without going through either of them, so neither the destroyed nor the open connections can be counted
+ * correctly here.
+ * <p>
+ * With track-by-transaction the pool hands the connection listener of a transaction out again for every request of
+ * that transaction, while it is only returned once. So the connections in use are the distinct listeners handed out
+ * and not returned yet, rather than a count of requests and returns.
+ *
+ * @author agent
+ */
+final class DataSourceStatistics {
+
+    private final Set<Object> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+    private final AtomicInteger maxUsedCount = new AtomicInteger();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong totalBlockingTime = new AtomicLong();
+    private final AtomicLong maxBlockingTime = new AtomicLong();
+
+    /**
+     * Wraps a pool so that the connections it hands out and takes back are counted.
+     *
+     * @param pool the pool
+     * @param blockingTimeout the blocking timeout of the pool in milliseconds, requests failing after waiting at least
+     *        that long are counted as timed out
+     * @return the counting pool
+     */
+    Pool createStatisticsPool(final Pool pool, final long blockingTimeout) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> clazz = pool.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for (Class<?> type : clazz.getInterfaces()) {
+                interfaces.add(type);
+            }
+        }
+        return (Pool) Proxy.newProxyInstance(pool.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]),
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        final String name = method.getName();
+                        if ("getConnection".equals(name)) {
+                            final long start = System.nanoTime();
+                            Object listener = null;
+                            try {
+                                listener = invokePool(pool, method, args);
+                                return listener;
+                            } finally {
+                                connectionRequested(listener, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                                        blockingTimeout);
+                            }
+                        }
+                        final Object result = invokePool(pool, method, args);
+                        if ("returnConnection".equals(name)) {
+                            connectionReturned(args[0]);
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    private static Object invokePool(Pool pool, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(pool, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    void connectionCreated() {
+        createdCount.incrementAndGet();
+    }
+
+    /**
+     * Records a connection request.
+     *
+     * @param listener the connection listener handed out, or null if the request failed
+     * @param blockingTime the time the request took in milliseconds
+     * @param blockingTimeout the blocking timeout of the pool in milliseconds
+     */
+    void connectionRequested(Object listener, long blockingTime, long blockingTimeout) {
+        requestCount.incrementAndGet();
+        totalBlockingTime.addAndGet(blockingTime);
+        long max;
+        while (blockingTime > (max = maxBlockingTime.get())) {
+            if (maxBlockingTime.compareAndSet(max, blockingTime))
+                break;
+        }
+        if (listener != null) {
+            final int inUseCount;
+            synchronized (inUse) {
+                inUse.add(listener);
+                inUseCount = inUse.size();
+            }
+            int maxUsed;
+            while (inUseCount > (maxUsed = maxUsedCount.get())) {
+                if (maxUsedCount.compareAndSet(maxUsed, inUseCount))
+                    break;
+            }
+        } else if (blockingTimeout > 0 && blockingTime >= blockingTimeout) {
+            timedOutCount.incrementAndGet();
+        }
+    }
+
+    void connectionReturned(Object listener) {
+        inUse.remove(listener);
+    }
+
+    /**
+     * Resets the accumulated counters. The connections in use reflect the current state of the pool and are kept.
+     */
+    void reset() {
+        createdCount.set(0);
+        timedOutCount.set(0);
+        requestCount.set(0);
+        totalBlockingTime.set(0);
+        maxBlockingTime.set(0);
+        maxUsedCount.set(inUse.size());
+    }
+
+    int getInUseCount() {
+        return inUse.size();
+    }
+
+    int getMaxUsedCount() {
+        return maxUsedCount.get();
+    }
+
+    long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    long getTotalBlockingTime() {
+        return totalBlockingTime.get();
+    }
+
+    long getMaxBlockingTime() {
+        return maxBlockingTime.get();
+    }
+
+    long getAverageBlockingTime() {
+        final long requests = requestCount.get();
+        return requests > 0 ? totalBlockingTime.get() / requests : 0;
+    }
+}
@@ -86,6 +86,8 @@ import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystem
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.REMOVE_DATA_SOURCE_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.REMOVE_JDBC_DRIVER_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.REMOVE_XA_DATA_SOURCE_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.RESET_STATISTICS_DATA_SOURCE_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.RESET_STATISTICS_XA_DATA_SOURCE_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.SUBSYSTEM;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.SUBSYSTEM_ADD_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.XA_DATASOURCE_ATTRIBUTE;
@@ -111,6 +113,8 @@ import javax.xml.stream.XMLStreamException;
 
 import org.jboss.as.connector.subsystems.datasources.DataSourcePoolConfigurationRWHandler.DataSourcePoolConfigurationReadHandler;
 import org.jboss.as.connector.subsystems.datasources.DataSourcePoolConfigurationRWHandler.DataSourcePoolConfigurationWriteHandler;
+import org.jboss.as.connector.subsystems.datasources.StatementStatisticsRWHandler.StatementStatisticsReadHandler;
+import org.jboss.as.connector.subsystems.datasources.StatementStatisticsRWHandler.StatementStatisticsWriteHandler;
 import org.jboss.as.connector.subsystems.datasources.XaDataSourcePoolConfigurationRWHandler.XaDataSourcePoolConfigurationReadHandler;
 import org.jboss.as.connector.subsystems.datasources.XaDataSourcePoolConfigurationRWHandler.XaDataSourcePoolConfigurationWriteHandler;
 import org.jboss.as.controller.BasicOperationResult;
@@ -187,9 +191,24 @@ public class DataSourcesExtension implements Extension {
         dataSources.registerOperationHandler(ENABLE, DataSourceEnable.INSTANCE, ENABLE_DATA_SOURCE_DESC, false);
         dataSources.registerOperationHandler(DISABLE, DataSourceDisable.INSTANCE, DISABLE_DATA_SOURCE_DESC, false);
 
+        dataSources.registerOperationHandler(DataSourceResetStatistics.OPERATION_NAME, DataSourceResetStatistics.INSTANCE,
+                RESET_STATISTICS_DATA_SOURCE_DESC, false);
+
         for (final String attributeName : DataSourcesMetrics.ATTRIBUTES) {
             dataSources.registerMetric(attributeName, DataSourcesMetrics.INSTANCE);
         }
+        for (final String attributeName : DataSourcesMetrics.STATISTICS) {
+            dataSources.registerMetric(attributeName, DataSourcesMetrics.INSTANCE);
+        }
+        for (final String attributeName : DataSourcesMetrics.STATEMENT_STATISTICS) {
+            dataSources.registerMetric(attributeName, DataSourcesMetrics.INSTANCE);
+        }
+        dataSources.registerMetric(DataSourcesMetrics.STATEMENT_EXECUTION_TIME_HISTOGRAM, DataSourcesMetrics.INSTANCE);
+        dataSources.registerMetric(DataSourcesMetrics.SLOWEST_STATEMENTS, DataSourcesMetrics.INSTANCE);
+        for (final String attributeName : StatementStatisticsRWHandler.ATTRIBUTES) {
+            dataSources.registerReadWriteAttribute(attributeName, StatementStatisticsReadHandler.INSTANCE,
+                    StatementStatisticsWriteHandler.INSTANCE, Storage.RUNTIME);
+        }
 
         for (final String attributeName : DataSourcePoolConfigurationRWHandler.ATTRIBUTES) {
             dataSources.registerReadWriteAttribute(attributeName, DataSourcePoolConfigurationReadHandler.INSTANCE,
@@ -203,8 +222,23 @@ public class DataSourcesExtension implements Extension {
         xaDataSources.registerOperationHandler(ENABLE, DataSourceEnable.INSTANCE, ENABLE_XA_DATA_SOURCE_DESC, false);
         xaDataSources.registerOperationHandler(DISABLE, DataSourceDisable.INSTANCE, DISABLE_XA_DATA_SOURCE_DESC, false);
 
-        for (final String attributeName : XaDataSourcesMetrics.ATTRIBUTES) {
-            xaDataSources.registerMetric(attributeName, XaDataSourcesMetrics.INSTANCE);
+        xaDataSources.registerOperationHandler(DataSourceResetStatistics.OPERATION_NAME, DataSourceResetStatistics.INSTANCE,
+                RESET_STATISTICS_XA_DATA_SOURCE_DESC, false);
+
+        for (final String attributeName : DataSourcesMetrics.ATTRIBUTES) {
+            xaDataSources.registerMetric(attributeName, DataSourcesMetrics.INSTANCE);
+        }
+        for (final String attributeName : DataSourcesMetrics.STATISTICS) {
+            xaDataSources.registerMetric(attributeName, DataSourcesMetrics.INSTANCE);
+        }
+        for (final String attributeName : DataSourcesMetrics.STATEMENT_STATISTICS) {
+            xaDataSources.registerMetric(attributeName, DataSourcesMetrics.INSTANCE);
+        }
+        xaDataSources.registerMetric(DataSourcesMetrics.STATEMENT_EXECUTION_TIME_HISTOGRAM, DataSourcesMetrics.INSTANCE);
+        xaDataSources.registerMetric(DataSourcesMetrics.SLOWEST_STATEMENTS, DataSourcesMetrics.INSTANCE);
+        for (final String attributeName : StatementStatisticsRWHandler.ATTRIBUTES) {
+            xaDataSources.registerReadWriteAttribute(attributeName, StatementStatisticsReadHandler.INSTANCE,
+                    StatementStatisticsWriteHandler.INSTANCE, Storage.RUNTIME);
         }
 
         for (final String attributeName : XaDataSourcePoolConfigurationRWHandler.ATTRIBUTES) {
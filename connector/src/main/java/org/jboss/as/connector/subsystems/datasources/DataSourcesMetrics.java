@@ -25,7 +25,6 @@ package org.jboss.as.connector.subsystems.datasources;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
-import org.jboss.as.connector.ConnectorServices;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelQueryOperationHandler;
 import org.jboss.as.controller.OperationContext;
@@ -36,8 +35,7 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.dmr.ModelNode;
-import org.jboss.jca.core.api.management.DataSource;
-import org.jboss.jca.core.api.management.ManagementRepository;
+import org.jboss.jca.core.api.connectionmanager.pool.PoolConfiguration;
 import org.jboss.msc.service.ServiceController;
 
 /**
@@ -62,6 +60,36 @@ class DataSourcesMetrics implements ModelQueryOperationHandler {
     static final String[] ATTRIBUTES = new String[] { MAX_POOL_SIZE, MIN_POOL_SIZE, BLOCKING_TIMEOUT, IDLE_TIMEOUT_MINUTES,
             BACKGROUND_VALIDATION, BACKGROUND_VALIDATION_MINUTES, POOL_PREFILL, POOL_USE_STRICT_MIN, USE_FAST_FAIL };
 
+    static final String AVAILABLE_COUNT = "available-count";
+    static final String IN_USE_COUNT = "in-use-count";
+    static final String MAX_USED_COUNT = "max-used-count";
+    static final String AVERAGE_BLOCKING_TIME = "average-blocking-time";
+    static final String MAX_BLOCKING_TIME = "max-blocking-time";
+    static final String TOTAL_BLOCKING_TIME = "total-blocking-time";
+    static final String CREATED_COUNT = "created-count";
+    static final String TIMED_OUT_COUNT = "timed-out-count";
+
+    static final String[] STATISTICS = new String[] { AVAILABLE_COUNT, IN_USE_COUNT, MAX_USED_COUNT,
+            AVERAGE_BLOCKING_TIME, MAX_BLOCKING_TIME, TOTAL_BLOCKING_TIME, CREATED_COUNT, TIMED_OUT_COUNT };
+
+    static final String PREPARED_STATEMENT_CACHE_HIT_COUNT = "prepared-statement-cache-hit-count";
+    static final String PREPARED_STATEMENT_CACHE_MISS_COUNT = "prepared-statement-cache-miss-count";
+    static final String PREPARED_STATEMENT_CACHE_EVICTION_COUNT = "prepared-statement-cache-eviction-count";
+    static final String STATEMENT_EXECUTION_COUNT = "statement-execution-count";
+    static final String AVERAGE_STATEMENT_EXECUTION_TIME = "average-statement-execution-time";
+    static final String MAX_STATEMENT_EXECUTION_TIME = "max-statement-execution-time";
+    static final String TOTAL_STATEMENT_EXECUTION_TIME = "total-statement-execution-time";
+
+    static final String[] STATEMENT_STATISTICS = new String[] { PREPARED_STATEMENT_CACHE_HIT_COUNT,
+            PREPARED_STATEMENT_CACHE_MISS_COUNT, PREPARED_STATEMENT_CACHE_EVICTION_COUNT, STATEMENT_EXECUTION_COUNT,
+            AVERAGE_STATEMENT_EXECUTION_TIME, MAX_STATEMENT_EXECUTION_TIME, TOTAL_STATEMENT_EXECUTION_TIME };
+
+    static final String STATEMENT_EXECUTION_TIME_HISTOGRAM = "statement-execution-time-histogram";
+    static final String SLOWEST_STATEMENTS = "slowest-statements";
+    static final String SQL = "sql";
+    static final String EXECUTION_TIME = "execution-time";
+    static final String UNBOUNDED = "unbounded";
+
     /** {@inheritDoc} */
     @Override
     public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
@@ -74,51 +102,18 @@ class DataSourcesMetrics implements ModelQueryOperationHandler {
                     final String jndiName = address.getLastElement().getValue();
                     final String attributeName = operation.require(NAME).asString();
 
-                    final ServiceController<?> managementRepoService = context.getServiceRegistry().getService(
-                            ConnectorServices.MANAGEMENT_REPOSISTORY_SERVICE);
-                    if (managementRepoService != null) {
-                        try {
-                            final ManagementRepository repository = (ManagementRepository) managementRepoService.getValue();
-                            final ModelNode result = new ModelNode();
-                            if (repository.getDataSources() != null) {
-                                for (DataSource ds : repository.getDataSources()) {
-                                    if (jndiName.equalsIgnoreCase(ds.getJndiName())) {
-                                        if (MAX_POOL_SIZE.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().getMaxSize());
-                                        }
-                                        if (MIN_POOL_SIZE.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().getMinSize());
-                                        }
-                                        if (BLOCKING_TIMEOUT.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().getBlockingTimeout());
-                                        }
-                                        if (IDLE_TIMEOUT_MINUTES.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().getIdleTimeout());
-                                        }
-                                        if (BACKGROUND_VALIDATION.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().isBackgroundValidation());
-                                        }
-                                        if (BACKGROUND_VALIDATION_MINUTES.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().getBackgroundValidationMinutes());
-                                        }
-                                        if (POOL_PREFILL.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().isPrefill());
-                                        }
-                                        if (POOL_USE_STRICT_MIN.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().isStrictMin());
-                                        }
-                                        if (USE_FAST_FAIL.equals(attributeName)) {
-                                            result.set("" + ds.getPoolConfiguration().isUseFastFail());
-                                        }
-                                    }
-                                }
-                            }
-                            resultHandler.handleResultFragment(new String[0], result);
-                            resultHandler.handleResultComplete();
-                        } catch (Exception e) {
-                            throw new OperationFailedException(new ModelNode().set("failed to get metrics" + e.getMessage()));
+                    final ModelNode result = new ModelNode();
+                    final AbstractDataSourceService dataSourceService = getDataSourceService(context, jndiName);
+                    if (dataSourceService != null) {
+                        final PoolConfiguration pc = dataSourceService.getPoolConfiguration();
+                        if (pc != null) {
+                            readPoolConfiguration(pc, attributeName, result);
+                            readStatistics(dataSourceService.getStatistics(), pc, attributeName, result);
+                            readStatementStatistics(dataSourceService.getStatementStatistics(), attributeName, result);
                         }
                     }
+                    resultHandler.handleResultFragment(NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
                 }
             });
         } else {
@@ -127,4 +122,93 @@ class DataSourcesMetrics implements ModelQueryOperationHandler {
         }
         return new BasicOperationResult();
     }
+
+    /**
+     * Get the service of a data-source.
+     * @param context the runtime task context
+     * @param jndiName the jndi name of the data-source
+     * @return the service, or {@code null} if the data-source is not installed
+     */
+    static AbstractDataSourceService getDataSourceService(final RuntimeTaskContext context, final String jndiName) {
+        final ServiceController<?> controller = context.getServiceRegistry().getService(
+                AbstractDataSourceService.SERVICE_NAME_BASE.append(jndiName));
+        return controller != null ? (AbstractDataSourceService) controller.getService() : null;
+    }
+
+    private static void readPoolConfiguration(final PoolConfiguration pc, final String attributeName, final ModelNode result) {
+        if (MAX_POOL_SIZE.equals(attributeName)) {
+            result.set("" + pc.getMaxSize());
+        } else if (MIN_POOL_SIZE.equals(attributeName)) {
+            result.set("" + pc.getMinSize());
+        } else if (BLOCKING_TIMEOUT.equals(attributeName)) {
+            result.set("" + pc.getBlockingTimeout());
+        } else if (IDLE_TIMEOUT_MINUTES.equals(attributeName)) {
+            result.set("" + pc.getIdleTimeout());
+        } else if (BACKGROUND_VALIDATION.equals(attributeName)) {
+            result.set("" + pc.isBackgroundValidation());
+        } else if (BACKGROUND_VALIDATION_MINUTES.equals(attributeName)) {
+            result.set("" + pc.getBackgroundValidationMinutes());
+        } else if (POOL_PREFILL.equals(attributeName)) {
+            result.set("" + pc.isPrefill());
+        } else if (POOL_USE_STRICT_MIN.equals(attributeName)) {
+            result.set("" + pc.isStrictMin());
+        } else if (USE_FAST_FAIL.equals(attributeName)) {
+            result.set("" + pc.isUseFastFail());
+        }
+    }
+
+    private static void readStatistics(final DataSourceStatistics statistics, final PoolConfiguration pc,
+            final String attributeName, final ModelNode result) {
+        if (AVAILABLE_COUNT.equals(attributeName)) {
+            result.set((long) Math.max(0, pc.getMaxSize() - statistics.getInUseCount()));
+        } else if (IN_USE_COUNT.equals(attributeName)) {
+            result.set((long) statistics.getInUseCount());
+        } else if (MAX_USED_COUNT.equals(attributeName)) {
+            result.set((long) statistics.getMaxUsedCount());
+        } else if (AVERAGE_BLOCKING_TIME.equals(attributeName)) {
+            result.set(statistics.getAverageBlockingTime());
+        } else if (MAX_BLOCKING_TIME.equals(attributeName)) {
+            result.set(statistics.getMaxBlockingTime());
+        } else if (TOTAL_BLOCKING_TIME.equals(attributeName)) {
+            result.set(statistics.getTotalBlockingTime());
+        } else if (CREATED_COUNT.equals(attributeName)) {
+            result.set(statistics.getCreatedCount());
+        } else if (TIMED_OUT_COUNT.equals(attributeName)) {
+            result.set(statistics.getTimedOutCount());
+        }
+    }
+
+    private static void readStatementStatistics(final StatementStatistics statistics, final String attributeName,
+            final ModelNode result) {
+        if (PREPARED_STATEMENT_CACHE_HIT_COUNT.equals(attributeName)) {
+            result.set(statistics.getCacheHitCount());
+        } else if (PREPARED_STATEMENT_CACHE_MISS_COUNT.equals(attributeName)) {
+            result.set(statistics.getCacheMissCount());
+        } else if (PREPARED_STATEMENT_CACHE_EVICTION_COUNT.equals(attributeName)) {
+            result.set(statistics.getCacheEvictionCount());
+        } else if (STATEMENT_EXECUTION_COUNT.equals(attributeName)) {
+            result.set(statistics.getExecutionCount());
+        } else if (AVERAGE_STATEMENT_EXECUTION_TIME.equals(attributeName)) {
+            result.set(statistics.getAverageExecutionTime());
+        } else if (MAX_STATEMENT_EXECUTION_TIME.equals(attributeName)) {
+            result.set(statistics.getMaxExecutionTime());
+        } else if (TOTAL_STATEMENT_EXECUTION_TIME.equals(attributeName)) {
+            result.set(statistics.getTotalExecutionTime());
+        } else if (STATEMENT_EXECUTION_TIME_HISTOGRAM.equals(attributeName)) {
+            final long[] histogram = statistics.getExecutionTimeHistogram();
+            for (int i = 0; i < histogram.length; i++) {
+                final String bucket = i < StatementStatistics.HISTOGRAM_BOUNDS.length ? String
+                        .valueOf(StatementStatistics.HISTOGRAM_BOUNDS[i]) : UNBOUNDED;
+                result.get(bucket).set(histogram[i]);
+            }
+        } else if (SLOWEST_STATEMENTS.equals(attributeName)) {
+            result.setEmptyList();
+            for (StatementStatistics.SlowStatement statement : statistics.getSlowestStatements()) {
+                final ModelNode entry = new ModelNode();
+                entry.get(SQL).set(statement.getSql());
+                entry.get(EXECUTION_TIME).set(statement.getExecutionTime());
+                result.add(entry);
+            }
+        }
+    }
 }
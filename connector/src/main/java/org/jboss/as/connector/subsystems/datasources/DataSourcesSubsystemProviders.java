@@ -33,6 +33,7 @@ import org.jboss.as.controller.descriptions.DescriptionProvider;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DISABLE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ENABLE;
@@ -45,6 +46,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -177,6 +179,7 @@ class DataSourcesSubsystemProviders {
                 node.get(ATTRIBUTES, propertyType.getName(), TYPE).set(propertyType.getModelType());
                 node.get(ATTRIBUTES, propertyType.getName(), REQUIRED).set(propertyType.isRequired());
             }
+            addStatisticsDescriptions(node, bundle);
             return node;
         }
     };
@@ -232,6 +235,17 @@ class DataSourcesSubsystemProviders {
         }
     };
 
+    static DescriptionProvider RESET_STATISTICS_DATA_SOURCE_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(DataSourceResetStatistics.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.reset-statistics"));
+            return operation;
+        }
+    };
+
     static DescriptionProvider XA_DATA_SOURCE_DESC = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(final Locale locale) {
@@ -247,6 +261,7 @@ class DataSourcesSubsystemProviders {
                 node.get(ATTRIBUTES, propertyType.getName(), TYPE).set(propertyType.getModelType());
                 node.get(ATTRIBUTES, propertyType.getName(), REQUIRED).set(propertyType.isRequired());
             }
+            addStatisticsDescriptions(node, bundle);
             return node;
         }
     };
@@ -301,6 +316,55 @@ class DataSourcesSubsystemProviders {
         }
     };
 
+    static DescriptionProvider RESET_STATISTICS_XA_DATA_SOURCE_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(DataSourceResetStatistics.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("xa-data-source.reset-statistics"));
+            return operation;
+        }
+    };
+
+    private static void addStatisticsDescriptions(final ModelNode node, final ResourceBundle bundle) {
+        for (String statistic : DataSourcesMetrics.STATISTICS) {
+            node.get(ATTRIBUTES, statistic, DESCRIPTION).set(bundle.getString(statistic));
+            node.get(ATTRIBUTES, statistic, TYPE).set(ModelType.LONG);
+        }
+        for (String statistic : DataSourcesMetrics.STATEMENT_STATISTICS) {
+            node.get(ATTRIBUTES, statistic, DESCRIPTION).set(bundle.getString(statistic));
+            node.get(ATTRIBUTES, statistic, TYPE).set(ModelType.LONG);
+        }
+
+        final String histogram = DataSourcesMetrics.STATEMENT_EXECUTION_TIME_HISTOGRAM;
+        node.get(ATTRIBUTES, histogram, DESCRIPTION).set(bundle.getString(histogram));
+        node.get(ATTRIBUTES, histogram, TYPE).set(ModelType.OBJECT);
+        node.get(ATTRIBUTES, histogram, VALUE_TYPE).set(ModelType.LONG);
+
+        final String slowest = DataSourcesMetrics.SLOWEST_STATEMENTS;
+        node.get(ATTRIBUTES, slowest, DESCRIPTION).set(bundle.getString(slowest));
+        node.get(ATTRIBUTES, slowest, TYPE).set(ModelType.LIST);
+        node.get(ATTRIBUTES, slowest, VALUE_TYPE, DataSourcesMetrics.SQL, DESCRIPTION).set(
+                bundle.getString(slowest + "." + DataSourcesMetrics.SQL));
+        node.get(ATTRIBUTES, slowest, VALUE_TYPE, DataSourcesMetrics.SQL, TYPE).set(ModelType.STRING);
+        node.get(ATTRIBUTES, slowest, VALUE_TYPE, DataSourcesMetrics.EXECUTION_TIME, DESCRIPTION).set(
+                bundle.getString(slowest + "." + DataSourcesMetrics.EXECUTION_TIME));
+        node.get(ATTRIBUTES, slowest, VALUE_TYPE, DataSourcesMetrics.EXECUTION_TIME, TYPE).set(ModelType.LONG);
+
+        final String enabled = StatementStatisticsRWHandler.STATISTICS_ENABLED;
+        node.get(ATTRIBUTES, enabled, DESCRIPTION).set(bundle.getString(enabled));
+        node.get(ATTRIBUTES, enabled, TYPE).set(ModelType.BOOLEAN);
+        node.get(ATTRIBUTES, enabled, REQUIRED).set(false);
+        node.get(ATTRIBUTES, enabled, DEFAULT).set(false);
+
+        final String threshold = StatementStatisticsRWHandler.SLOW_STATEMENT_THRESHOLD;
+        node.get(ATTRIBUTES, threshold, DESCRIPTION).set(bundle.getString(threshold));
+        node.get(ATTRIBUTES, threshold, TYPE).set(ModelType.LONG);
+        node.get(ATTRIBUTES, threshold, REQUIRED).set(false);
+        node.get(ATTRIBUTES, threshold, DEFAULT).set(StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
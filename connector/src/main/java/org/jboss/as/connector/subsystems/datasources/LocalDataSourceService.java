@@ -24,8 +24,12 @@ package org.jboss.as.connector.subsystems.datasources;
 
 import java.sql.Driver;
 
+import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
 import javax.resource.spi.ManagedConnectionFactory;
 import javax.resource.spi.TransactionSupport;
+import javax.security.auth.Subject;
 
 import org.jboss.jca.adapters.jdbc.BaseWrapperManagedConnectionFactory;
 import org.jboss.jca.adapters.jdbc.local.LocalManagedConnectionFactory;
@@ -59,7 +63,7 @@ public class LocalDataSourceService extends AbstractDataSourceService {
     protected final BaseWrapperManagedConnectionFactory createManagedConnectionFactory(final String jndiName,
             final Driver driver) {
 
-        final LocalManagedConnectionFactory managedConnectionFactory = new LocalManagedConnectionFactory();
+        final LocalManagedConnectionFactory managedConnectionFactory = new StatisticsLocalManagedConnectionFactory(getStatistics());
         managedConnectionFactory.setClassLoaderPlugin(new ClassLoaderPlugin() {
 
             @Override
@@ -210,4 +214,25 @@ public class LocalDataSourceService extends AbstractDataSourceService {
         return cm;
     }
 
+
+    /**
+     * Managed connection factory reporting the physical connections it creates to the pool statistics.
+     */
+    private static class StatisticsLocalManagedConnectionFactory extends LocalManagedConnectionFactory {
+
+        private static final long serialVersionUID = 4310983522384612107L;
+
+        private final transient DataSourceStatistics statistics;
+
+        StatisticsLocalManagedConnectionFactory(final DataSourceStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cri) throws ResourceException {
+            final ManagedConnection managedConnection = super.createManagedConnection(subject, cri);
+            statistics.connectionCreated();
+            return managedConnection;
+        }
+    }
 }
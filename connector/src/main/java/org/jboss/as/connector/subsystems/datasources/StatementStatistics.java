@@ -0,0 +1,394 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.jboss.jca.adapters.jdbc.WrappedConnection;
+
+/**
+ * Runtime statistics of the statements executed through a data-source. The counters are maintained by a proxy around
+ * the data-source, which wraps the connections and statements it hands out.
+ * <p>
+ * The prepared statement cache lives inside each managed connection and does not report its activity, so it is
+ * mirrored here: every physical connection gets an LRU map of the statements prepared on it, bounded by the size of
+ * the cache, and a statement found in that map is counted as a hit.
+ *
+ * @author agent
+ */
+final class StatementStatistics {
+
+    /** The default execution time in milliseconds above which a statement is recorded as slow. */
+    static final long DEFAULT_SLOW_STATEMENT_THRESHOLD = 1000;
+
+    /** The number of slowest statements kept. */
+    static final int SLOWEST_STATEMENTS = 10;
+
+    /** The upper bounds in milliseconds of the buckets of the execution time histogram. */
+    static final long[] HISTOGRAM_BOUNDS = new long[] { 1, 5, 10, 50, 100, 500, 1000, 5000 };
+
+    private final int cacheSize;
+    private final Map<Object, Map<String, Boolean>> cachedStatements = new WeakHashMap<Object, Map<String, Boolean>>();
+    private final AtomicLong cacheHitCount = new AtomicLong();
+    private final AtomicLong cacheMissCount = new AtomicLong();
+    private final AtomicLong cacheEvictionCount = new AtomicLong();
+    private final AtomicLong executionCount = new AtomicLong();
+    private final AtomicLong totalExecutionTime = new AtomicLong();
+    private final AtomicLong maxExecutionTime = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BOUNDS.length + 1);
+    private final List<SlowStatement> slowestStatements = new ArrayList<SlowStatement>();
+    private volatile long slowStatementThreshold;
+    private volatile boolean enabled;
+
+    /**
+     * Create the statistics.
+     *
+     * @param cacheSize the size of the prepared statement cache of each connection, {@code 0} if there is no cache
+     * @param slowStatementThreshold the execution time in milliseconds above which a statement is recorded as slow
+     */
+    StatementStatistics(final int cacheSize, final long slowStatementThreshold) {
+        this.cacheSize = cacheSize;
+        this.slowStatementThreshold = slowStatementThreshold;
+    }
+
+    /**
+     * Wraps a data-source so that the statements executed through it are counted while the statistics are enabled.
+     * Connections handed out while they are disabled are not wrapped, so they can still be cast to the connection class
+     * of the data-source.
+     *
+     * @param dataSource the data-source
+     * @return the counting data-source
+     */
+    DataSource createStatisticsDataSource(final DataSource dataSource) {
+        return (DataSource) createProxy(dataSource, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                final Object result = invokeTarget(dataSource, method, args, proxy);
+                if (enabled && result instanceof Connection && "getConnection".equals(method.getName())) {
+                    return createStatisticsConnection((Connection) result);
+                }
+                return result;
+            }
+        });
+    }
+
+    private Connection createStatisticsConnection(final Connection connection) {
+        return (Connection) createProxy(connection, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                final String name = method.getName();
+                // lets the application get at the connection class of the data-source, e.g. WrappedConnection
+                if ("unwrap".equals(name) && args != null && args.length == 1 && ((Class<?>) args[0]).isInstance(connection)) {
+                    return connection;
+                }
+                if ("isWrapperFor".equals(name) && args != null && args.length == 1
+                        && ((Class<?>) args[0]).isInstance(connection)) {
+                    return Boolean.TRUE;
+                }
+                final Object result = invokeTarget(connection, method, args, proxy);
+                if (result instanceof Statement) {
+                    String sql = null;
+                    if (args != null && args.length > 0 && args[0] instanceof String) {
+                        sql = (String) args[0];
+                        if (isCachedPrepare(name, args)) {
+                            statementPrepared(physicalConnection(connection), cacheKey(name, args));
+                        }
+                    }
+                    return createStatisticsStatement((Statement) result, (Connection) proxy, sql);
+                }
+                return result;
+            }
+        });
+    }
+
+    private Statement createStatisticsStatement(final Statement statement, final Connection connection, final String sql) {
+        return (Statement) createProxy(statement, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                final String name = method.getName();
+                if ("getConnection".equals(name) && (args == null || args.length == 0)) {
+                    return connection;
+                }
+                if (!name.startsWith("execute")) {
+                    return invokeTarget(statement, method, args, proxy);
+                }
+                final long start = System.nanoTime();
+                try {
+                    return invokeTarget(statement, method, args, proxy);
+                } finally {
+                    final String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                            : sql;
+                    statementExecuted(executed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether a call on a connection goes through the prepared statement cache. Only the plain forms of
+     * {@code prepareStatement} and {@code prepareCall} are cached by the managed connection.
+     */
+    private boolean isCachedPrepare(final String name, final Object[] args) {
+        if (cacheSize <= 0 || !("prepareStatement".equals(name) || "prepareCall".equals(name))) {
+            return false;
+        }
+        return args.length == 1 || (args.length == 3 && args[1] instanceof Integer && args[2] instanceof Integer);
+    }
+
+    private static String cacheKey(final String name, final Object[] args) {
+        final StringBuilder key = new StringBuilder(name);
+        if (args.length == 3) {
+            key.append(':').append(args[1]).append(':').append(args[2]);
+        }
+        return key.append(':').append(args[0]).toString();
+    }
+
+    private static Object physicalConnection(final Connection connection) {
+        if (connection instanceof WrappedConnection) {
+            try {
+                return ((WrappedConnection) connection).getUnderlyingConnection();
+            } catch (SQLException ignored) {
+                // the connection is closed, the prepare call has failed already
+            }
+        }
+        return connection;
+    }
+
+    void statementPrepared(final Object physicalConnection, final String key) {
+        synchronized (cachedStatements) {
+            Map<String, Boolean> statements = cachedStatements.get(physicalConnection);
+            if (statements == null) {
+                statements = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                    private static final long serialVersionUID = -1795356591093826862L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        if (size() > cacheSize) {
+                            cacheEvictionCount.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+                cachedStatements.put(physicalConnection, statements);
+            }
+            // a lookup in an access ordered map moves the statement to the most recently used position
+            if (statements.get(key) != null) {
+                cacheHitCount.incrementAndGet();
+            } else {
+                cacheMissCount.incrementAndGet();
+                statements.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    void statementExecuted(final String sql, final long executionTime) {
+        executionCount.incrementAndGet();
+        totalExecutionTime.addAndGet(executionTime);
+        long max;
+        while (executionTime > (max = maxExecutionTime.get())) {
+            if (maxExecutionTime.compareAndSet(max, executionTime))
+                break;
+        }
+        int bucket = 0;
+        while (bucket < HISTOGRAM_BOUNDS.length && executionTime > HISTOGRAM_BOUNDS[bucket]) {
+            bucket++;
+        }
+        histogram.incrementAndGet(bucket);
+        if (executionTime >= slowStatementThreshold && sql != null) {
+            synchronized (slowestStatements) {
+                if (slowestStatements.size() < SLOWEST_STATEMENTS
+                        || executionTime > slowestStatements.get(slowestStatements.size() - 1).executionTime) {
+                    if (slowestStatements.size() == SLOWEST_STATEMENTS) {
+                        slowestStatements.remove(slowestStatements.size() - 1);
+                    }
+                    slowestStatements.add(new SlowStatement(sql, executionTime));
+                    Collections.sort(slowestStatements, SlowStatement.SLOWEST_FIRST);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets the accumulated counters. The mirrored content of the prepared statement caches reflects the current state
+     * of the connections and is kept.
+     */
+    void reset() {
+        cacheHitCount.set(0);
+        cacheMissCount.set(0);
+        cacheEvictionCount.set(0);
+        executionCount.set(0);
+        totalExecutionTime.set(0);
+        maxExecutionTime.set(0);
+        for (int i = 0; i < histogram.length(); i++) {
+            histogram.set(i, 0);
+        }
+        synchronized (slowestStatements) {
+            slowestStatements.clear();
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    long getSlowStatementThreshold() {
+        return slowStatementThreshold;
+    }
+
+    void setSlowStatementThreshold(final long slowStatementThreshold) {
+        this.slowStatementThreshold = slowStatementThreshold;
+    }
+
+    long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    long getCacheMissCount() {
+        return cacheMissCount.get();
+    }
+
+    long getCacheEvictionCount() {
+        return cacheEvictionCount.get();
+    }
+
+    long getExecutionCount() {
+        return executionCount.get();
+    }
+
+    long getTotalExecutionTime() {
+        return totalExecutionTime.get();
+    }
+
+    long getMaxExecutionTime() {
+        return maxExecutionTime.get();
+    }
+
+    long getAverageExecutionTime() {
+        final long executions = executionCount.get();
+        return executions > 0 ? totalExecutionTime.get() / executions : 0;
+    }
+
+    /**
+     * Get the execution time histogram.
+     *
+     * @return the number of statements per bucket, the bucket at index {@code i} counts the statements which took at
+     *         most {@code HISTOGRAM_BOUNDS[i]} milliseconds, the last one counts the slower statements
+     */
+    long[] getExecutionTimeHistogram() {
+        final long[] result = new long[histogram.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = histogram.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Get the slowest statements which took at least the slow statement threshold to execute.
+     *
+     * @return the statements, slowest first
+     */
+    List<SlowStatement> getSlowestStatements() {
+        synchronized (slowestStatements) {
+            return new ArrayList<SlowStatement>(slowestStatements);
+        }
+    }
+
+    private static Object createProxy(final Object target, final InvocationHandler handler) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> clazz = target.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for (Class<?> type : clazz.getInterfaces()) {
+                interfaces.add(type);
+            }
+        }
+        if (target instanceof CallableStatement) {
+            interfaces.add(CallableStatement.class);
+        } else if (target instanceof PreparedStatement) {
+            interfaces.add(PreparedStatement.class);
+        }
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]),
+                handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args, Object proxy) throws Throwable {
+        if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A statement whose execution took at least the slow statement threshold.
+     */
+    static final class SlowStatement {
+
+        static final Comparator<SlowStatement> SLOWEST_FIRST = new Comparator<SlowStatement>() {
+            public int compare(SlowStatement o1, SlowStatement o2) {
+                return o1.executionTime < o2.executionTime ? 1 : (o1.executionTime == o2.executionTime ? 0 : -1);
+            }
+        };
+
+        private final String sql;
+        private final long executionTime;
+
+        SlowStatement(final String sql, final long executionTime) {
+            this.sql = sql;
+            this.executionTime = executionTime;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        long getExecutionTime() {
+            return executionTime;
+        }
+    }
+}
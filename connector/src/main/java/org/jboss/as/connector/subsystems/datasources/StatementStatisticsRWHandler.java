@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.operations.validation.ParameterValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Handlers for the attributes controlling the statement statistics of a data-source: whether they are collected, and
+ * the execution time above which a statement is recorded as slow. The data-source elements are parsed by IronJacamar,
+ * which has no place for them, so they are runtime attributes: they apply to the running data-source, survive its
+ * restarts, but are not persisted.
+ *
+ * @author agent
+ */
+class StatementStatisticsRWHandler {
+
+    static final String STATISTICS_ENABLED = "statistics-enabled";
+    static final String SLOW_STATEMENT_THRESHOLD = "slow-statement-threshold";
+
+    static final String[] ATTRIBUTES = new String[] { STATISTICS_ENABLED, SLOW_STATEMENT_THRESHOLD };
+
+    static class StatementStatisticsReadHandler implements ModelQueryOperationHandler {
+        static StatementStatisticsReadHandler INSTANCE = new StatementStatisticsReadHandler();
+
+        /** {@inheritDoc} */
+        @Override
+        public OperationResult execute(final OperationContext context, final ModelNode operation,
+                final ResultHandler resultHandler) throws OperationFailedException {
+            final String attributeName = operation.require(NAME).asString();
+            if (context.getRuntimeContext() != null) {
+                context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                    public void execute(RuntimeTaskContext runtimeCtx) throws OperationFailedException {
+                        final AbstractDataSourceService dataSourceService = DataSourcesMetrics.getDataSourceService(
+                                runtimeCtx, getJndiName(operation));
+                        final ModelNode currentValue = new ModelNode();
+                        if (STATISTICS_ENABLED.equals(attributeName)) {
+                            currentValue.set(dataSourceService != null && dataSourceService.isStatisticsEnabled());
+                        } else {
+                            currentValue.set(dataSourceService != null ? dataSourceService.getSlowStatementThreshold()
+                                    : StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+                        }
+                        resultHandler.handleResultFragment(new String[0], currentValue);
+                        resultHandler.handleResultComplete();
+                    }
+                });
+            } else {
+                final ModelNode defaultValue = new ModelNode();
+                if (STATISTICS_ENABLED.equals(attributeName)) {
+                    defaultValue.set(false);
+                } else {
+                    defaultValue.set(StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+                }
+                resultHandler.handleResultFragment(new String[0], defaultValue);
+                resultHandler.handleResultComplete();
+            }
+            return new BasicOperationResult();
+        }
+    }
+
+    static class StatementStatisticsWriteHandler implements ModelQueryOperationHandler {
+        static StatementStatisticsWriteHandler INSTANCE = new StatementStatisticsWriteHandler();
+
+        private final ParameterValidator enabledValidator = new ModelTypeValidator(ModelType.BOOLEAN);
+        private final ParameterValidator thresholdValidator = new ThresholdValidator();
+
+        /** {@inheritDoc} */
+        @Override
+        public OperationResult execute(final OperationContext context, final ModelNode operation,
+                final ResultHandler resultHandler) throws OperationFailedException {
+            final String attributeName = operation.require(NAME).asString();
+            final ModelNode newValue = operation.require(VALUE);
+            if (STATISTICS_ENABLED.equals(attributeName)) {
+                enabledValidator.validateParameter(VALUE, newValue);
+            } else {
+                thresholdValidator.validateParameter(VALUE, newValue);
+            }
+            if (context.getRuntimeContext() != null) {
+                context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                    public void execute(RuntimeTaskContext runtimeCtx) throws OperationFailedException {
+                        final String jndiName = getJndiName(operation);
+                        final AbstractDataSourceService dataSourceService = DataSourcesMetrics.getDataSourceService(
+                                runtimeCtx, jndiName);
+                        if (dataSourceService == null) {
+                            throw new OperationFailedException(new ModelNode().set("Data-source service [" + jndiName
+                                    + "] is not available"));
+                        }
+                        if (STATISTICS_ENABLED.equals(attributeName)) {
+                            dataSourceService.setStatisticsEnabled(newValue.asBoolean());
+                        } else {
+                            dataSourceService.setSlowStatementThreshold(newValue.asLong());
+                        }
+                        resultHandler.handleResultComplete();
+                    }
+                });
+            } else {
+                resultHandler.handleResultComplete();
+            }
+            return new BasicOperationResult();
+        }
+    }
+
+    static class ThresholdValidator extends ModelTypeValidator {
+
+        ThresholdValidator() {
+            super(ModelType.LONG);
+        }
+
+        @Override
+        public void validateParameter(String parameterName, ModelNode value) throws OperationFailedException {
+            super.validateParameter(parameterName, value);
+            if (value.asLong() < 0) {
+                throw new OperationFailedException(new ModelNode().set("Invalid " + parameterName + ": " + value.asLong()
+                        + ", it must not be negative"));
+            }
+        }
+    }
+
+    private static String getJndiName(final ModelNode operation) {
+        return PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+    }
+}
@@ -25,8 +25,11 @@ package org.jboss.as.connector.subsystems.datasources;
 import java.sql.Driver;
 
 import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
 import javax.resource.spi.ManagedConnectionFactory;
 import javax.resource.spi.TransactionSupport;
+import javax.security.auth.Subject;
 
 import org.jboss.jca.adapters.jdbc.BaseWrapperManagedConnectionFactory;
 import org.jboss.jca.adapters.jdbc.spi.ClassLoaderPlugin;
@@ -59,7 +62,7 @@ public class XaDataSourceService extends AbstractDataSourceService {
 
     protected final BaseWrapperManagedConnectionFactory createManagedConnectionFactory(final String jndiName,
             final Driver driver) throws ResourceException, StartException {
-        final XAManagedConnectionFactory xaManagedConnectionFactory = new XAManagedConnectionFactory();
+        final XAManagedConnectionFactory xaManagedConnectionFactory = new StatisticsXAManagedConnectionFactory(getStatistics());
 
         try {
             xaManagedConnectionFactory.setClassLoaderPlugin(new ClassLoaderPlugin() {
@@ -229,4 +232,25 @@ public class XaDataSourceService extends AbstractDataSourceService {
 
         return cm;
     }
+
+    /**
+     * Managed connection factory reporting the physical connections it creates to the pool statistics.
+     */
+    private static class StatisticsXAManagedConnectionFactory extends XAManagedConnectionFactory {
+
+        private static final long serialVersionUID = -6226913284107931634L;
+
+        private final transient DataSourceStatistics statistics;
+
+        StatisticsXAManagedConnectionFactory(final DataSourceStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cri) throws ResourceException {
+            final ManagedConnection managedConnection = super.createManagedConnection(subject, cri);
+            statistics.connectionCreated();
+            return managedConnection;
+        }
+    }
 }
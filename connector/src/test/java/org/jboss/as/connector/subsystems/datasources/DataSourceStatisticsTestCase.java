@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests the counters of {@link DataSourceStatistics}.
+ *
+ * @author agent
+ */
+public class DataSourceStatisticsTestCase {
+
+    private final DataSourceStatistics statistics = new DataSourceStatistics();
+
+    @Test
+    public void testInUse() {
+        final Object first = new Object();
+        final Object second = new Object();
+        statistics.connectionRequested(first, 0, 0);
+        statistics.connectionRequested(second, 0, 0);
+        assertEquals(2, statistics.getInUseCount());
+        assertEquals(2, statistics.getMaxUsedCount());
+
+        statistics.connectionReturned(first);
+        assertEquals(1, statistics.getInUseCount());
+        assertEquals(2, statistics.getMaxUsedCount());
+        statistics.connectionReturned(second);
+        assertEquals(0, statistics.getInUseCount());
+    }
+
+    @Test
+    public void testTrackByTransaction() {
+        // every request of a transaction gets the connection listener of the transaction, which is returned once
+        final Object listener = new Object();
+        statistics.connectionRequested(listener, 0, 0);
+        statistics.connectionRequested(listener, 0, 0);
+        statistics.connectionRequested(listener, 0, 0);
+        assertEquals(1, statistics.getInUseCount());
+        assertEquals(1, statistics.getMaxUsedCount());
+
+        statistics.connectionReturned(listener);
+        assertEquals(0, statistics.getInUseCount());
+    }
+
+    @Test
+    public void testReturnOfUnknownConnection() {
+        statistics.connectionReturned(new Object());
+        assertEquals(0, statistics.getInUseCount());
+    }
+
+    @Test
+    public void testBlockingTime() {
+        statistics.connectionRequested(new Object(), 10, 100);
+        statistics.connectionRequested(new Object(), 30, 100);
+        // failed after waiting for the blocking timeout
+        statistics.connectionRequested(null, 110, 100);
+        // failed right away
+        statistics.connectionRequested(null, 2, 100);
+        assertEquals(152, statistics.getTotalBlockingTime());
+        assertEquals(110, statistics.getMaxBlockingTime());
+        assertEquals(38, statistics.getAverageBlockingTime());
+        assertEquals(1, statistics.getTimedOutCount());
+        assertEquals(2, statistics.getInUseCount());
+    }
+
+    @Test
+    public void testReset() {
+        final Object first = new Object();
+        final Object second = new Object();
+        statistics.connectionCreated();
+        statistics.connectionCreated();
+        statistics.connectionRequested(first, 20, 10);
+        statistics.connectionRequested(second, 0, 10);
+        statistics.connectionRequested(null, 20, 10);
+        statistics.connectionReturned(first);
+
+        statistics.reset();
+        assertEquals(0, statistics.getCreatedCount());
+        assertEquals(0, statistics.getTimedOutCount());
+        assertEquals(0, statistics.getTotalBlockingTime());
+        assertEquals(0, statistics.getMaxBlockingTime());
+        assertEquals(0, statistics.getAverageBlockingTime());
+        // the connection still handed out is kept
+        assertEquals(1, statistics.getInUseCount());
+        assertEquals(1, statistics.getMaxUsedCount());
+
+        statistics.connectionReturned(second);
+        assertEquals(0, statistics.getInUseCount());
+        assertEquals(1, statistics.getMaxUsedCount());
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link StatementStatistics} against an in-memory H2 database.
+ *
+ * @author agent
+ */
+public class StatementStatisticsTestCase {
+
+    private JdbcDataSource h2;
+    private Connection keepAlive;
+
+    @Before
+    public void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        keepAlive = h2.getConnection();
+        final Statement statement = keepAlive.createStatement();
+        statement.execute("create table item (id int primary key, name varchar(20))");
+        statement.close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        final Statement statement = keepAlive.createStatement();
+        statement.execute("drop table item");
+        statement.close();
+        keepAlive.close();
+    }
+
+    @Test
+    public void testPreparedStatementCache() throws Exception {
+        final StatementStatistics statistics = createStatistics(2, StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+        final DataSource dataSource = statistics.createStatisticsDataSource(h2);
+        final Connection connection = dataSource.getConnection();
+        try {
+            prepare(connection, "select id from item");
+            prepare(connection, "select id from item");
+            prepare(connection, "select name from item");
+            prepare(connection, "select id, name from item");
+            prepare(connection, "select id from item");
+        } finally {
+            connection.close();
+        }
+        assertEquals(1, statistics.getCacheHitCount());
+        assertEquals(4, statistics.getCacheMissCount());
+        assertEquals(2, statistics.getCacheEvictionCount());
+    }
+
+    @Test
+    public void testPreparedStatementCacheIsPerConnection() throws Exception {
+        final StatementStatistics statistics = createStatistics(10, StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+        final DataSource dataSource = statistics.createStatisticsDataSource(h2);
+        final Connection first = dataSource.getConnection();
+        final Connection second = dataSource.getConnection();
+        try {
+            prepare(first, "select id from item");
+            prepare(second, "select id from item");
+            prepare(first, "select id from item");
+        } finally {
+            first.close();
+            second.close();
+        }
+        assertEquals(1, statistics.getCacheHitCount());
+        assertEquals(2, statistics.getCacheMissCount());
+        assertEquals(0, statistics.getCacheEvictionCount());
+    }
+
+    @Test
+    public void testWithoutPreparedStatementCache() throws Exception {
+        final StatementStatistics statistics = createStatistics(0, StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+        final Connection connection = statistics.createStatisticsDataSource(h2).getConnection();
+        try {
+            prepare(connection, "select id from item");
+            prepare(connection, "select id from item");
+        } finally {
+            connection.close();
+        }
+        assertEquals(0, statistics.getCacheHitCount());
+        assertEquals(0, statistics.getCacheMissCount());
+    }
+
+    @Test
+    public void testStatementExecution() throws Exception {
+        final StatementStatistics statistics = createStatistics(0, StatementStatistics.DEFAULT_SLOW_STATEMENT_THRESHOLD);
+        final Connection connection = statistics.createStatisticsDataSource(h2).getConnection();
+        try {
+            final PreparedStatement insert = connection.prepareStatement("insert into item values (?, ?)");
+            assertSame(connection, insert.getConnection());
+            for (int i = 0; i < 5; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "item" + i);
+                insert.executeUpdate();
+            }
+            insert.close();
+
+            final Statement statement = connection.createStatement();
+            final ResultSet resultSet = statement.executeQuery("select count(*) from item");
+            resultSet.next();
+            assertEquals(5, resultSet.getInt(1));
+            resultSet.close();
+            statement.close();
+        } finally {
+            connection.close();
+        }
+
+        assertEquals(6, statistics.getExecutionCount());
+        long histogramTotal = 0;
+        for (long count : statistics.getExecutionTimeHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(6, histogramTotal);
+        assertEquals(StatementStatistics.HISTOGRAM_BOUNDS.length + 1, statistics.getExecutionTimeHistogram().length);
+        assertTrue(statistics.getMaxExecutionTime() <= statistics.getTotalExecutionTime());
+        assertTrue(statistics.getSlowestStatements().isEmpty());
+    }
+
+    @Test
+    public void testSlowestStatements() throws Exception {
+        final StatementStatistics statistics = createStatistics(0, 0);
+        final Connection connection = statistics.createStatisticsDataSource(h2).getConnection();
+        try {
+            final Statement statement = connection.createStatement();
+            for (int i = 0; i < StatementStatistics.SLOWEST_STATEMENTS + 5; i++) {
+                statement.executeUpdate("insert into item values (" + i + ", 'item" + i + "')");
+            }
+            statement.close();
+        } finally {
+            connection.close();
+        }
+
+        final List<StatementStatistics.SlowStatement> slowest = statistics.getSlowestStatements();
+        assertEquals(StatementStatistics.SLOWEST_STATEMENTS, slowest.size());
+        for (int i = 1; i < slowest.size(); i++) {
+            assertTrue(slowest.get(i - 1).getExecutionTime() >= slowest.get(i).getExecutionTime());
+        }
+        assertTrue(slowest.get(0).getSql().startsWith("insert into item"));
+
+        statistics.setSlowStatementThreshold(Long.MAX_VALUE);
+        statistics.reset();
+        statistics.statementExecuted("select id from item", 10);
+        assertTrue(statistics.getSlowestStatements().isEmpty());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        final StatementStatistics statistics = createStatistics(10, 0);
+        final Connection connection = statistics.createStatisticsDataSource(h2).getConnection();
+        try {
+            final PreparedStatement statement = connection.prepareStatement("select id from item");
+            statement.executeQuery().close();
+            statement.close();
+
+            statistics.reset();
+            assertEquals(0, statistics.getCacheMissCount());
+            assertEquals(0, statistics.getExecutionCount());
+            assertEquals(0, statistics.getTotalExecutionTime());
+            assertTrue(statistics.getSlowestStatements().isEmpty());
+
+            // the cached statements of the connection survive the reset
+            prepare(connection, "select id from item");
+            assertEquals(1, statistics.getCacheHitCount());
+            assertEquals(0, statistics.getCacheMissCount());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final StatementStatistics statistics = new StatementStatistics(10, 0);
+        final Connection connection = statistics.createStatisticsDataSource(h2).getConnection();
+        try {
+            assertFalse(Proxy.isProxyClass(connection.getClass()));
+            prepare(connection, "select id from item");
+            assertEquals(0, statistics.getCacheMissCount());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testUnwrap() throws Exception {
+        final StatementStatistics statistics = createStatistics(10, 0);
+        final Connection connection = statistics.createStatisticsDataSource(h2).getConnection();
+        try {
+            assertTrue(Proxy.isProxyClass(connection.getClass()));
+            assertTrue(connection.isWrapperFor(JdbcConnection.class));
+            final JdbcConnection underlying = connection.unwrap(JdbcConnection.class);
+            assertFalse(Proxy.isProxyClass(underlying.getClass()));
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static StatementStatistics createStatistics(final int preparedStatementCacheSize, final long slowStatementThreshold) {
+        final StatementStatistics statistics = new StatementStatistics(preparedStatementCacheSize, slowStatementThreshold);
+        statistics.setEnabled(true);
+        return statistics;
+    }
+
+    private static void prepare(final Connection connection, final String sql) throws Exception {
+        connection.prepareStatement(sql).close();
+    }
+}
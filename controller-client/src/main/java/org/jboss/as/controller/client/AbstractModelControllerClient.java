@@ -82,13 +82,16 @@ abstract class AbstractModelControllerClient implements ModelControllerClient {
         executorService.execute (new Runnable() {
             @Override
             public void run() {
+                final ManagementRequestConnectionStrategy connectionStrategy = getConnectionStrategy();
+                boolean success = false;
                 try {
-                    Future<Void> f = new ExecuteAsynchronousRequest(result, operation, handler).execute(getConnectionStrategy());
+                    Future<Void> f = new ExecuteAsynchronousRequest(result, operation, handler).execute(connectionStrategy);
 
                     while (true) {
                         try {
                             //Avoid this thread hanging forever if the client gets shut down
                             f.get(500, TimeUnit.MILLISECONDS);
+                            success = true;
                             break;
                         } catch (TimeoutException e) {
                             if (executorService.isShutdown()) {
@@ -102,6 +105,8 @@ abstract class AbstractModelControllerClient implements ModelControllerClient {
                     handler.handleFailed(new ModelNode().set("Failed to execute operation: " + cause.toString()));
                 } catch (Exception e) {
                     handler.handleFailed(new ModelNode().set("Failed to execute operation: " + e.toString()));
+                } finally {
+                    requestFinished(connectionStrategy, success);
                 }
             }
         });
@@ -123,8 +128,12 @@ abstract class AbstractModelControllerClient implements ModelControllerClient {
         if (operation == null) {
             throw new IllegalArgumentException("Null operation");
         }
+        final ManagementRequestConnectionStrategy connectionStrategy = getConnectionStrategy();
+        boolean success = false;
         try {
-            return new ExecuteSynchronousRequest(operation).executeForResult(getConnectionStrategy());
+            final ModelNode result = new ExecuteSynchronousRequest(operation).executeForResult(connectionStrategy);
+            success = true;
+            return result;
         } catch (ExecutionException e) {
             if (e.getCause() instanceof IOException) {
                 throw new IOException(e);
@@ -137,6 +146,8 @@ abstract class AbstractModelControllerClient implements ModelControllerClient {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to execute operation ", e);
+        } finally {
+            requestFinished(connectionStrategy, success);
         }
     }
 
@@ -147,6 +158,15 @@ abstract class AbstractModelControllerClient implements ModelControllerClient {
 
     abstract ManagementRequestConnectionStrategy getConnectionStrategy();
 
+    /**
+     * Called once a request using a strategy obtained from {@link #getConnectionStrategy()} is over.
+     *
+     * @param connectionStrategy the strategy used by the request
+     * @param success {@code false} if the request failed to complete, in which case its connection must not be reused
+     */
+    void requestFinished(ManagementRequestConnectionStrategy connectionStrategy, boolean success) {
+    }
+
     private ModelNode readNode(InputStream in) throws IOException {
         ModelNode node = new ModelNode();
         node.readExternal(in);
@@ -347,7 +367,15 @@ abstract class AbstractModelControllerClient implements ModelControllerClient {
             try {
                 int i = asynchronousId.get().intValue();
                 if (i >= 0) {
-                    return new CancelAsynchronousOperationRequest(i).executeForResult(getConnectionStrategy());
+                    final ManagementRequestConnectionStrategy connectionStrategy = getConnectionStrategy();
+                    boolean success = false;
+                    try {
+                        final Boolean cancelled = new CancelAsynchronousOperationRequest(i).executeForResult(connectionStrategy);
+                        success = true;
+                        return cancelled;
+                    } finally {
+                        requestFinished(connectionStrategy, success);
+                    }
                 }
                 else return false;
             } catch (IOException e) {
@@ -0,0 +1,380 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.security.AccessController;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.SocketFactory;
+
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.ProtocolClient;
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.as.protocol.mgmt.ManagementRequestConnectionStrategy;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Keeps connections to a controller open between requests.  Each request borrows a connection for its whole
+ * exchange; a connection goes back to the pool only once the request finished cleanly, otherwise it is closed.
+ * While a connection is idle its message handler is a sentinel, so a controller that shuts the connection down
+ * or a connection that fails marks it as broken; broken connections and connections idle for too long are never
+ * reused, and are closed by an evictor thread shared by all pools.
+ *
+ * @author agent
+ */
+final class ConnectionPool {
+    private final ConnectionFactory connectionFactory;
+    private final int maxIdle;
+    private final long idleTimeout;
+    private final ScheduledFuture<?> evictionTask;
+    private final ModelControllerClientStatistics statistics = new ModelControllerClientStatistics();
+
+    // GuardedBy this, most recently used last
+    private final Deque<PooledConnection> idle = new ArrayDeque<PooledConnection>();
+    // GuardedBy this
+    private boolean closed;
+
+    /**
+     * Create a new pool.
+     *
+     * @param address the controller address
+     * @param connectTimeout the connect timeout in milliseconds
+     * @param maxIdle the maximum number of idle connections to keep; {@code 0} closes every connection after use
+     * @param idleTimeout the time in milliseconds after which an idle connection is closed
+     * @param readExecutor the executor used to handle incoming messages
+     */
+    ConnectionPool(final InetSocketAddress address, final int connectTimeout, final int maxIdle, final long idleTimeout, final Executor readExecutor) {
+        this(new ProtocolClientConnectionFactory(address, connectTimeout, readExecutor), maxIdle, idleTimeout);
+    }
+
+    /**
+     * Create a new pool.
+     *
+     * @param connectionFactory the factory opening new connections
+     * @param maxIdle the maximum number of idle connections to keep; {@code 0} closes every connection after use
+     * @param idleTimeout the time in milliseconds after which an idle connection is closed
+     */
+    ConnectionPool(final ConnectionFactory connectionFactory, final int maxIdle, final long idleTimeout) {
+        this.connectionFactory = connectionFactory;
+        this.maxIdle = maxIdle;
+        this.idleTimeout = idleTimeout;
+        if (maxIdle > 0) {
+            final long period = Math.max(idleTimeout / 2, 1000L);
+            evictionTask = Evictor.INSTANCE.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    evictIdleConnections();
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictionTask = null;
+        }
+    }
+
+    ModelControllerClientStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Create the connection strategy for one request.
+     *
+     * @return the strategy
+     */
+    PooledConnectionStrategy createStrategy() {
+        return new PooledConnectionStrategy();
+    }
+
+    /**
+     * Close the idle connections.  Connections still in use are closed when their request finishes.
+     */
+    void close() {
+        final List<PooledConnection> connections;
+        synchronized (this) {
+            closed = true;
+            connections = new ArrayList<PooledConnection>(idle);
+            idle.clear();
+        }
+        for (PooledConnection connection : connections) {
+            connection.invalidate();
+        }
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+            Evictor.INSTANCE.purge();
+        }
+    }
+
+    private PooledConnection borrow() throws IOException {
+        for (;;) {
+            final PooledConnection pooled;
+            synchronized (this) {
+                if (closed) {
+                    throw new IOException("Client is closed");
+                }
+                pooled = idle.pollLast();
+            }
+            if (pooled == null) {
+                break;
+            }
+            if (pooled.isUsable(System.currentTimeMillis())) {
+                statistics.connectionReused();
+                return pooled;
+            }
+            pooled.invalidate();
+        }
+        final PooledConnection pooled = new PooledConnection();
+        pooled.connection = connectionFactory.connect(pooled, pooled);
+        statistics.connectionEstablished();
+        return pooled;
+    }
+
+    private void release(final PooledConnection pooled) {
+        if (!pooled.valid) {
+            pooled.invalidate();
+            return;
+        }
+        pooled.lastUsed = System.currentTimeMillis();
+        synchronized (this) {
+            if (!closed && idle.size() < maxIdle) {
+                idle.addLast(pooled);
+                return;
+            }
+        }
+        pooled.invalidate();
+    }
+
+    /**
+     * Close the connections which are broken or have been idle for too long.
+     */
+    void evictIdleConnections() {
+        final long now = System.currentTimeMillis();
+        final List<PooledConnection> evicted = new ArrayList<PooledConnection>();
+        synchronized (this) {
+            final Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                final PooledConnection pooled = it.next();
+                if (!pooled.isUsable(now)) {
+                    it.remove();
+                    evicted.add(pooled);
+                }
+            }
+        }
+        for (PooledConnection pooled : evicted) {
+            pooled.invalidate();
+        }
+    }
+
+    /**
+     * Get the number of idle connections.
+     *
+     * @return the number of idle connections
+     */
+    synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Opens the connections of a pool.
+     */
+    interface ConnectionFactory {
+
+        /**
+         * Open a new connection.
+         *
+         * @param handler the initial message handler of the connection
+         * @param callback the callback to notify once the connection is closed
+         * @return the connection
+         * @throws IOException if the connection could not be opened
+         */
+        Connection connect(MessageHandler handler, Connection.ClosedCallback callback) throws IOException;
+    }
+
+    private static final class ProtocolClientConnectionFactory implements ConnectionFactory {
+        private final InetSocketAddress address;
+        private final int connectTimeout;
+        private final Executor readExecutor;
+        private final ThreadFactory threadFactory;
+
+        ProtocolClientConnectionFactory(final InetSocketAddress address, final int connectTimeout, final Executor readExecutor) {
+            this.address = address;
+            this.connectTimeout = connectTimeout;
+            this.readExecutor = readExecutor;
+            // Idle connections must not keep the VM alive
+            threadFactory = new JBossThreadFactory(new ThreadGroup("ModelControllerClient-connection"), Boolean.TRUE, Thread.NORM_PRIORITY, "%G - %t", null, null, AccessController.getContext());
+        }
+
+        @Override
+        public Connection connect(final MessageHandler handler, final Connection.ClosedCallback callback) throws IOException {
+            final ProtocolClient.Configuration config = new ProtocolClient.Configuration();
+            config.setMessageHandler(handler);
+            config.setClosedCallback(callback);
+            config.setConnectTimeout(connectTimeout);
+            config.setReadExecutor(readExecutor);
+            config.setSocketFactory(SocketFactory.getDefault());
+            config.setServerAddress(address);
+            config.setThreadFactory(threadFactory);
+            return new ProtocolClient(config).connect();
+        }
+    }
+
+    /**
+     * The evictor shared by all pools, created when the first pool keeping idle connections is.
+     */
+    private static final class Evictor {
+        static final ScheduledThreadPoolExecutor INSTANCE;
+
+        static {
+            final ThreadFactory threadFactory = new JBossThreadFactory(new ThreadGroup("ModelControllerClient-evictor"), Boolean.TRUE, Thread.NORM_PRIORITY, "%G - %t", null, null, AccessController.getContext());
+            INSTANCE = new ScheduledThreadPoolExecutor(1, threadFactory);
+        }
+    }
+
+    /**
+     * A pooled connection.  While idle the connection's message handler is this object, so anything the
+     * controller sends or any end of the connection at that point means the connection can no longer be used.
+     */
+    private final class PooledConnection implements MessageHandler, Connection.ClosedCallback {
+        private volatile Connection connection;
+        private volatile boolean valid = true;
+        private volatile long lastUsed;
+
+        boolean isUsable(final long now) {
+            return valid && now - lastUsed < idleTimeout;
+        }
+
+        void invalidate() {
+            valid = false;
+            StreamUtils.safeClose(connection);
+        }
+
+        @Override
+        public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+            invalidate();
+            dataStream.close();
+        }
+
+        @Override
+        public void handleShutdown(final Connection connection) throws IOException {
+            invalidate();
+        }
+
+        @Override
+        public void handleFailure(final Connection connection, final IOException e) throws IOException {
+            invalidate();
+        }
+
+        @Override
+        public void handleFinished(final Connection connection) throws IOException {
+            invalidate();
+        }
+
+        @Override
+        public void connectionClosed() {
+            valid = false;
+        }
+    }
+
+    /**
+     * Strategy handing one request a pooled connection.  The connection is returned once the request has both
+     * completed its exchange and been reported as successful, in whichever order the two happen.
+     */
+    final class PooledConnectionStrategy implements ManagementRequestConnectionStrategy {
+        private final long start = System.nanoTime();
+        // GuardedBy this
+        private PooledConnection pooled;
+        // GuardedBy this
+        private boolean complete;
+        // GuardedBy this
+        private boolean succeeded;
+        // GuardedBy this
+        private boolean finished;
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized Connection getConnection() throws IOException {
+            if (finished) {
+                throw new IOException("Request already finished");
+            }
+            if (pooled == null) {
+                pooled = borrow();
+            }
+            return pooled.connection;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void complete() {
+            final PooledConnection toRelease;
+            synchronized (this) {
+                complete = true;
+                toRelease = finished && succeeded ? pooled : null;
+                if (toRelease != null) {
+                    pooled = null;
+                }
+            }
+            if (toRelease != null) {
+                release(toRelease);
+            }
+        }
+
+        /**
+         * Record the outcome of the request.
+         *
+         * @param success {@code false} if the request failed, in which case the connection is closed
+         */
+        void requestFinished(final boolean success) {
+            final PooledConnection toRelease;
+            final PooledConnection toClose;
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                succeeded = success;
+                toRelease = success && complete ? pooled : null;
+                toClose = success ? null : pooled;
+                if (toRelease != null || toClose != null) {
+                    pooled = null;
+                }
+            }
+            statistics.requestFinished(System.nanoTime() - start, success);
+            if (toRelease != null) {
+                release(toRelease);
+            } else if (toClose != null) {
+                toClose.invalidate();
+            }
+        }
+    }
+}
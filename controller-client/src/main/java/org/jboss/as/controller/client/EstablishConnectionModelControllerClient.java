@@ -21,28 +21,71 @@
 */
 package org.jboss.as.controller.client;
 
+import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.protocol.mgmt.ManagementRequestConnectionStrategy;
 
 /**
+ * Client which connects to the controller on its own.  Connections are kept open and reused by later requests;
+ * concurrent requests each use their own connection.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  * @version $Revision: 1.1 $
  */
 public class EstablishConnectionModelControllerClient extends AbstractModelControllerClient {
     private static final long CONNECTION_TIMEOUT = TimeUnit.SECONDS.toMillis(5L);
-    private final InetAddress address;
-    private final int port;
+    private static final int MAX_IDLE_CONNECTIONS = 4;
+    private static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(60L);
+    private final ConnectionPool pool;
 
     public EstablishConnectionModelControllerClient(InetAddress address, int port) {
-        this.address = address;
-        this.port = port;
+        this(address, port, MAX_IDLE_CONNECTIONS, IDLE_TIMEOUT);
     }
 
+    /**
+     * Create a client with specific pooling settings.
+     *
+     * @param address the controller address
+     * @param port the controller port
+     * @param maxIdleConnections the maximum number of connections kept open between requests; {@code 0} opens a
+     *                           new connection for every request
+     * @param idleTimeout the time in milliseconds after which an unused connection is closed
+     */
+    public EstablishConnectionModelControllerClient(InetAddress address, int port, int maxIdleConnections, long idleTimeout) {
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("maxIdleConnections is negative");
+        }
+        pool = new ConnectionPool(new InetSocketAddress(address, port), (int) CONNECTION_TIMEOUT, maxIdleConnections, idleTimeout, executorService);
+    }
+
+    /**
+     * Get the connection and request statistics of this client.
+     *
+     * @return the statistics
+     */
+    public ModelControllerClientStatistics getStatistics() {
+        return pool.getStatistics();
+    }
+
+    @Override
     ManagementRequestConnectionStrategy getConnectionStrategy() {
-        return new ManagementRequestConnectionStrategy.EstablishConnectingStrategy(address, port, CONNECTION_TIMEOUT, executorService, threadFactory);
+        return pool.createStrategy();
     }
 
+    @Override
+    void requestFinished(ManagementRequestConnectionStrategy connectionStrategy, boolean success) {
+        ((ConnectionPool.PooledConnectionStrategy) connectionStrategy).requestFinished(success);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            pool.close();
+        } finally {
+            super.close();
+        }
+    }
 }
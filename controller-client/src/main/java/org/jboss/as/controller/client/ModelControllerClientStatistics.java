@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection and request statistics of a {@link ModelControllerClient} which establishes its own connections.
+ *
+ * @author agent
+ */
+public final class ModelControllerClientStatistics {
+    private final AtomicLong connectCount = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failedRequestCount = new AtomicLong();
+    private final AtomicLong totalRequestTime = new AtomicLong();
+    private final AtomicLong maxRequestTime = new AtomicLong();
+
+    ModelControllerClientStatistics() {
+    }
+
+    void connectionEstablished() {
+        connectCount.incrementAndGet();
+    }
+
+    void connectionReused() {
+        reuseCount.incrementAndGet();
+    }
+
+    void requestFinished(final long nanos, final boolean success) {
+        requestCount.incrementAndGet();
+        if (!success) {
+            failedRequestCount.incrementAndGet();
+        }
+        totalRequestTime.addAndGet(nanos);
+        long max;
+        do {
+            max = maxRequestTime.get();
+        } while (nanos > max && !maxRequestTime.compareAndSet(max, nanos));
+    }
+
+    /**
+     * Get the number of connections opened to the controller.
+     *
+     * @return the connect count
+     */
+    public long getConnectCount() {
+        return connectCount.get();
+    }
+
+    /**
+     * Get the number of requests which were sent over an already open connection.
+     *
+     * @return the reuse count
+     */
+    public long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    /**
+     * Get the fraction of requests which did not need a new connection.
+     *
+     * @return the reuse ratio, between 0 and 1
+     */
+    public double getReuseRatio() {
+        final long reused = reuseCount.get();
+        final long total = reused + connectCount.get();
+        return total == 0 ? 0 : (double) reused / total;
+    }
+
+    /**
+     * Get the number of finished requests, including failed ones.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Get the number of requests which failed with a communication error.  Operations which the controller
+     * executed unsuccessfully are not counted here.
+     *
+     * @return the failed request count
+     */
+    public long getFailedRequestCount() {
+        return failedRequestCount.get();
+    }
+
+    /**
+     * Get the average request time, from acquiring a connection to receiving the response.
+     *
+     * @return the average request time in milliseconds
+     */
+    public double getAverageRequestTime() {
+        final long count = requestCount.get();
+        return count == 0 ? 0 : (double) totalRequestTime.get() / count / TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    /**
+     * Get the longest request time.
+     *
+     * @return the maximum request time in milliseconds
+     */
+    public long getMaxRequestTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRequestTime.get());
+    }
+
+    @Override
+    public String toString() {
+        return "ModelControllerClientStatistics[connects=" + getConnectCount() + ", reuses=" + getReuseCount()
+                + ", requests=" + getRequestCount() + ", failed=" + getFailedRequestCount()
+                + ", avgTime=" + getAverageRequestTime() + "ms, maxTime=" + getMaxRequestTime() + "ms]";
+    }
+}
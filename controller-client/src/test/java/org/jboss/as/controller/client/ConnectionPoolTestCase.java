@@ -0,0 +1,244 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.client.ConnectionPool.PooledConnectionStrategy;
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.MessageHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ConnectionPool}.
+ *
+ * @author agent
+ */
+public class ConnectionPoolTestCase {
+
+    private final List<TestConnection> connections = new ArrayList<TestConnection>();
+    private ConnectionPool pool;
+
+    @Before
+    public void setup() {
+        pool = createPool(2, 60000L);
+    }
+
+    @After
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Test
+    public void testConnectionReused() throws Exception {
+        final Connection first = execute(true);
+        final Connection second = execute(true);
+
+        assertSame(first, second);
+        assertEquals(1, connections.size());
+        assertFalse(connections.get(0).closed);
+        assertEquals(1, pool.getStatistics().getConnectCount());
+        assertEquals(1, pool.getStatistics().getReuseCount());
+        assertEquals(2, pool.getStatistics().getRequestCount());
+    }
+
+    @Test
+    public void testConnectionReturnedOnlyOnceComplete() throws Exception {
+        final PooledConnectionStrategy strategy = pool.createStrategy();
+        strategy.getConnection();
+        strategy.requestFinished(true);
+        assertEquals(0, pool.getIdleCount());
+        strategy.complete();
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testFailedRequestClosesConnection() throws Exception {
+        final Connection first = execute(false);
+        assertTrue(connections.get(0).closed);
+        assertEquals(0, pool.getIdleCount());
+
+        final Connection second = execute(true);
+        assertNotSame(first, second);
+        assertEquals(1, pool.getStatistics().getFailedRequestCount());
+    }
+
+    @Test
+    public void testConcurrentRequestsUseOwnConnections() throws Exception {
+        final PooledConnectionStrategy one = pool.createStrategy();
+        final PooledConnectionStrategy two = pool.createStrategy();
+        final PooledConnectionStrategy three = pool.createStrategy();
+        assertNotSame(one.getConnection(), two.getConnection());
+        three.getConnection();
+        for (PooledConnectionStrategy strategy : new PooledConnectionStrategy[] {one, two, three}) {
+            strategy.complete();
+            strategy.requestFinished(true);
+        }
+
+        // Only maxIdle connections are kept
+        assertEquals(3, connections.size());
+        assertEquals(2, pool.getIdleCount());
+        assertTrue(connections.get(2).closed);
+    }
+
+    @Test
+    public void testBrokenIdleConnectionNotReused() throws Exception {
+        final Connection first = execute(true);
+        // The controller goes away while the connection is idle
+        connections.get(0).handler.handleShutdown(first);
+
+        final Connection second = execute(true);
+        assertNotSame(first, second);
+        assertTrue(connections.get(0).closed);
+        assertEquals(0, pool.getStatistics().getReuseCount());
+    }
+
+    @Test
+    public void testClosedIdleConnectionEvicted() throws Exception {
+        execute(true);
+        connections.get(0).close();
+
+        pool.evictIdleConnections();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testIdleConnectionEvicted() throws Exception {
+        pool.close();
+        pool = createPool(2, 1L);
+        execute(true);
+        assertEquals(1, pool.getIdleCount());
+        Thread.sleep(10);
+
+        pool.evictIdleConnections();
+        assertEquals(0, pool.getIdleCount());
+        assertTrue(connections.get(0).closed);
+    }
+
+    @Test
+    public void testNoIdleConnections() throws Exception {
+        pool.close();
+        pool = createPool(0, 60000L);
+        execute(true);
+        execute(true);
+        assertEquals(2, connections.size());
+        assertTrue(connections.get(0).closed);
+        assertTrue(connections.get(1).closed);
+    }
+
+    @Test
+    public void testCloseClosesIdleConnections() throws Exception {
+        execute(true);
+        pool.close();
+        assertTrue(connections.get(0).closed);
+        try {
+            pool.createStrategy().getConnection();
+            fail("Pool is closed");
+        } catch (IOException expected) {
+        }
+    }
+
+    private Connection execute(final boolean success) throws IOException {
+        final PooledConnectionStrategy strategy = pool.createStrategy();
+        final Connection connection = strategy.getConnection();
+        strategy.complete();
+        strategy.requestFinished(success);
+        return connection;
+    }
+
+    private ConnectionPool createPool(final int maxIdle, final long idleTimeout) {
+        return new ConnectionPool(new ConnectionPool.ConnectionFactory() {
+            @Override
+            public Connection connect(MessageHandler handler, Connection.ClosedCallback callback) throws IOException {
+                final TestConnection connection = new TestConnection(handler, callback);
+                connections.add(connection);
+                return connection;
+            }
+        }, maxIdle, idleTimeout);
+    }
+
+    private static class TestConnection implements Connection {
+        private final MessageHandler handler;
+        private final ClosedCallback callback;
+        private volatile boolean closed;
+
+        TestConnection(final MessageHandler handler, final ClosedCallback callback) {
+            this.handler = handler;
+            this.callback = callback;
+        }
+
+        @Override
+        public OutputStream writeMessage() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void shutdownWrites() throws IOException {
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            callback.connectionClosed();
+        }
+
+        @Override
+        public void setMessageHandler(MessageHandler messageHandler) {
+        }
+
+        @Override
+        public InetAddress getPeerAddress() {
+            return null;
+        }
+
+        @Override
+        public void attach(Object attachment) {
+        }
+
+        @Override
+        public Object getAttachment() {
+            return null;
+        }
+
+        @Override
+        public void backupMessageHandler() {
+        }
+
+        @Override
+        public void restoreMessageHandler() {
+        }
+    }
+}
@@ -92,6 +92,14 @@ public class BasicModelController extends AbstractModelController<OperationContr
             return BasicModelController.this.model;
         }
     };
+    private final ModelProvider snapshotSource = new ModelProvider() {
+        @Override
+        public ModelNode getModel() {
+            return getModelSnapshot();
+        }
+    };
+    /** Copy of the last committed model shared by read-only operations; {@code null} once a write has invalidated it */
+    private volatile ModelNode modelSnapshot;
     private final OperationContextFactory contextFactory = new OperationContextFactory() {
         @Override
         public OperationContext getOperationContext(final ModelProvider modelSource, final PathAddress address,
@@ -267,11 +275,15 @@ public class BasicModelController extends AbstractModelController<OperationContr
             }
 
             final OperationHandler operationHandler = getHandlerForOperation(operation.getOperation(), address);
+            ModelProvider modelProvider = operationExecutionContext.getModelProvider();
             if (!isReadOnly(operationHandler)) {
                 locked = acquireWriteLock(operationExecutionContext);
+            } else if (modelProvider == modelSource) {
+                // Reads against the live model are served from the last committed snapshot without locking
+                modelProvider = snapshotSource;
             }
 
-            final OperationContext context = operationExecutionContext.getOperationContextFactory().getOperationContext(operationExecutionContext.getModelProvider(), address, operationHandler, operation);
+            final OperationContext context = operationExecutionContext.getOperationContextFactory().getOperationContext(modelProvider, address, operationHandler, operation);
 
             return doExecute(context, operation, operationHandler, handler, address, operationExecutionContext);
         } catch (OperationFailedException e) {
@@ -320,8 +332,13 @@ public class BasicModelController extends AbstractModelController<OperationContr
         } else if (operationHandler instanceof ModelQueryOperationHandler) {
             // or model update operation handler...
             final ModelNode model = modelSource.getModel();
-            synchronized (model) {
+            if (modelSource == snapshotSource) {
+                // Snapshots are never modified once published
                 subModel = address.navigate(model, false).clone();
+            } else {
+                synchronized (model) {
+                    subModel = address.navigate(model, false).clone();
+                }
             }
         } else {
             subModel = null;
@@ -329,6 +346,35 @@ public class BasicModelController extends AbstractModelController<OperationContr
         return subModel;
     }
 
+    /**
+     * Gets a copy of the last committed model. The copy is taken lazily by the first read
+     * following a change and is then shared by all readers until the next change, so
+     * callers must not modify it.
+     *
+     * @return the model snapshot
+     */
+    protected ModelNode getModelSnapshot() {
+        ModelNode snapshot = modelSnapshot;
+        if (snapshot == null) {
+            synchronized (model) {
+                snapshot = modelSnapshot;
+                if (snapshot == null) {
+                    snapshot = model.clone();
+                    modelSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discards the current model snapshot after the model has been changed. Must be called
+     * while holding the model's monitor, before it is released.
+     */
+    protected final void invalidateModelSnapshot() {
+        modelSnapshot = null;
+    }
+
     protected boolean isMultiStepOperation(ModelNode operation, PathAddress address) {
         return address.size() == 0 && COMPOSITE.equals(operation.require(OP).asString());
     }
@@ -409,6 +455,7 @@ public class BasicModelController extends AbstractModelController<OperationContr
                 } else {
                     address.navigate(model, true).set(operationHandlerContext.getSubModel());
                 }
+                invalidateModelSnapshot();
                 persistConfiguration(model, operationControllerContext.getConfigurationPersisterProvider());
             }
         }
@@ -759,6 +806,7 @@ public class BasicModelController extends AbstractModelController<OperationContr
             final ModelNode model = modelSource.getModel();
             synchronized (model) {
                 model.set(localModel);
+                invalidateModelSnapshot();
                 BasicModelController.this.persistConfiguration(model, injectedConfigPersisterProvider);
             }
 
@@ -112,11 +112,12 @@ public class GlobalOperationHandlers {
         protected ModelNode readModel(final OperationContext context, final ModelNode readOperation,
                 final ResultHandler resultHandler, final PathAddress address) throws OperationFailedException {
             final ModelNodeRegistration registry = context.getRegistry();
+            // The context hands out a private copy of the submodel, so it can be used as is
             final ModelNode model = context.getSubModel(address);
             final ModelNode result;
                 if (readOperation.get(RECURSIVE).asBoolean(false)) {
                     // FIXME security checks JBAS-8842
-                    result = model.clone();
+                    result = model;
                     if(readOperation.get(PROXIES).asBoolean(true)) {
                         addProxyNodes(context, address, readOperation, result, registry);
                     }
@@ -125,7 +126,7 @@ public class GlobalOperationHandlers {
 
                     final Set<String> childNames = registry.getChildNames(address);
 
-                    final ModelNode subModel = model.clone();
+                    final ModelNode subModel = model;
                     for (final String key : subModel.keys()) {
                         final ModelNode child = subModel.get(key);
                         if (childNames.contains(key)) {
@@ -292,7 +293,7 @@ public class GlobalOperationHandlers {
 
             String childName = operation.require(CHILD_TYPE).asString();
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -332,7 +333,7 @@ public class GlobalOperationHandlers {
 
             String childName = operation.require(CHILD_TYPE).asString();
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -401,7 +402,7 @@ public class GlobalOperationHandlers {
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
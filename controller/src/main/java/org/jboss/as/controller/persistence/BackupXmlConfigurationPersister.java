@@ -57,7 +57,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
     }
 
     @Override
-    public void store(final ModelNode model) throws ConfigurationPersistenceException {
+    protected void write(final ModelNode model) throws ConfigurationPersistenceException {
         configurationFile.backup();
         store(model, configurationFile.getMainFile());
         configurationFile.fileWritten();
@@ -65,6 +65,13 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
 
     @Override
     public String snapshot() throws ConfigurationPersistenceException {
+        try {
+            // Make sure the snapshot includes all changes stored so far
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationPersistenceException("Interrupted waiting for pending configuration changes to be written", e);
+        }
         return configurationFile.snapshot();
     }
 
@@ -30,6 +30,8 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
@@ -43,7 +45,13 @@ import org.jboss.staxmapper.XMLMapper;
 
 /**
  * A configuration persister which uses an XML file for backing storage.
- *
+ * <p>
+ * By default each {@link #store(ModelNode)} marshals and writes the file before returning. Once
+ * {@link #enableWriteBehind(Executor) write-behind} is enabled, {@code store} only records that the
+ * model is dirty; the file is then written on the given executor, and any stores that arrive while
+ * a write is pending are coalesced into a single write of the latest model. Callers needing
+ * durability can use {@link #flush()}.
+ * </p>
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public class XmlConfigurationPersister extends AbstractConfigurationPersister {
@@ -54,6 +62,22 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final QName rootElement;
     private final XMLElementReader<List<ModelNode>> rootParser;
 
+    private final Object writeBehindLock = new Object();
+    private final Runnable writeBehindTask = new Runnable() {
+        @Override
+        public void run() {
+            writeBehind();
+        }
+    };
+    private volatile boolean syncOnWrite;
+    // The following are guarded by writeBehindLock
+    private Executor writeBehindExecutor;
+    private ModelNode pendingModel;
+    private long requestedGeneration;
+    private long writtenGeneration;
+    private boolean writeScheduled;
+    private ConfigurationPersistenceException writeFailure;
+
     /**
      * Construct a new instance.
      *
@@ -69,24 +93,189 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         this.rootParser = rootParser;
     }
 
+    /**
+     * Switches this persister to write-behind mode, writing the configuration on the given executor
+     * rather than on the calling thread.
+     * <p>
+     * In this mode the model passed to {@link #store(ModelNode)} is copied when the write actually
+     * happens, synchronizing on the model while doing so; callers must therefore only modify the model
+     * while holding its monitor, as the model controllers do.
+     * </p>
+     *
+     * @param executor the executor to write on. Should not be shared with request processing
+     */
+    public void enableWriteBehind(final Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+        synchronized (writeBehindLock) {
+            writeBehindExecutor = executor;
+        }
+    }
+
+    /**
+     * Switches this persister back to writing on the calling thread, first writing any pending change.
+     * Stores that arrive while a write is still pending are handed to that write, so a change is never
+     * overwritten by an older one.
+     *
+     * @throws ConfigurationPersistenceException if the pending change could not be written
+     * @throws InterruptedException if interrupted while waiting for the pending write
+     */
+    public void disableWriteBehind() throws ConfigurationPersistenceException, InterruptedException {
+        synchronized (writeBehindLock) {
+            writeBehindExecutor = null;
+        }
+        flush();
+    }
+
+    /**
+     * Sets whether each write is forced to the storage device before the new file replaces the old one.
+     *
+     * @param syncOnWrite {@code true} to sync each write
+     */
+    public void setSyncOnWrite(final boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void store(final ModelNode model) throws ConfigurationPersistenceException {
+        final Executor executor;
+        synchronized (writeBehindLock) {
+            executor = writeBehindExecutor;
+            if (executor != null || writeScheduled) {
+                pendingModel = model;
+                requestedGeneration++;
+                if (writeScheduled) {
+                    // The pending write will pick up this change
+                    return;
+                }
+                writeScheduled = true;
+            }
+        }
+        if (executor == null) {
+            write(model);
+            return;
+        }
+        try {
+            executor.execute(writeBehindTask);
+        } catch (RejectedExecutionException e) {
+            log.debugf(e, "Write-behind executor rejected configuration write; writing synchronously");
+            writeBehind();
+        }
+    }
+
+    /**
+     * Waits until every change passed to {@link #store(ModelNode)} before this call has been written.
+     * Returns immediately if write-behind is not enabled. Must not be called while holding the monitor
+     * of the model being stored.
+     *
+     * @throws ConfigurationPersistenceException if the last write failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws ConfigurationPersistenceException, InterruptedException {
+        synchronized (writeBehindLock) {
+            final long generation = requestedGeneration;
+            while (writtenGeneration < generation) {
+                writeBehindLock.wait();
+            }
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of changes that have been stored but not yet written.
+     *
+     * @return the size of the pending write backlog
+     */
+    public long getPendingWriteCount() {
+        synchronized (writeBehindLock) {
+            return requestedGeneration - writtenGeneration;
+        }
+    }
+
+    /**
+     * Writes the given model, replacing the current configuration file.
+     *
+     * @param model the model
+     * @throws ConfigurationPersistenceException if the model could not be written
+     */
+    protected void write(final ModelNode model) throws ConfigurationPersistenceException {
         store(model, fileName);
     }
 
+    private void writeBehind() {
+        for (;;) {
+            final ModelNode model;
+            final long generation;
+            synchronized (writeBehindLock) {
+                if (writtenGeneration == requestedGeneration) {
+                    writeScheduled = false;
+                    pendingModel = null;
+                    return;
+                }
+                model = pendingModel;
+                generation = requestedGeneration;
+            }
+            final ModelNode copy;
+            synchronized (model) {
+                copy = model.clone();
+            }
+            ConfigurationPersistenceException failure = null;
+            try {
+                write(copy);
+            } catch (ConfigurationPersistenceException e) {
+                log.warnf(e, "Failed to persist configuration change: %s", e);
+                failure = e;
+            } catch (RuntimeException e) {
+                log.warnf(e, "Failed to persist configuration change: %s", e);
+                failure = new ConfigurationPersistenceException("Failed to store configuration", e);
+            }
+            synchronized (writeBehindLock) {
+                writtenGeneration = generation;
+                writeFailure = failure;
+                writeBehindLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes the given model to a temporary file next to {@code file}, then renames it over {@code file}
+     * so that readers never see a partially written configuration.
+     *
+     * @param model the model
+     * @param file the file to replace
+     * @throws ConfigurationPersistenceException if the model could not be written
+     */
     protected void store(final ModelNode model, final File file) throws ConfigurationPersistenceException {
+        final File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
         try {
-            final FileOutputStream fos = new FileOutputStream(file);
+            final FileOutputStream fos = new FileOutputStream(tmp);
             try {
                 BufferedOutputStream output = new BufferedOutputStream(fos);
                 marshallAsXml(model, output);
+                output.flush();
+                if (syncOnWrite) {
+                    fos.getFD().sync();
+                }
                 output.close();
                 fos.close();
             } finally {
                 safeClose(fos);
             }
+            if (!tmp.renameTo(file)) {
+                // Some platforms won't rename over an existing file
+                if (!file.delete() && file.exists() || !tmp.renameTo(file)) {
+                    throw new ConfigurationPersistenceException("Failed to rename " + tmp + " to " + file);
+                }
+            }
+        } catch (ConfigurationPersistenceException e) {
+            tmp.delete();
+            throw e;
         } catch (Exception e) {
+            tmp.delete();
             throw new ConfigurationPersistenceException("Failed to store configuration", e);
         }
     }
@@ -77,6 +77,24 @@ public class BaseModelControllerUnitTestCase {
         assertEquals(1, result.get("result").asInt());
     }
 
+    @Test
+    public void testReadSeesCommittedChanges() throws Exception {
+        ModelNode result = controller.execute(getOperation("read", "attr1", 0));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(1, result.get(RESULT).asInt());
+
+        // The read handler scribbles on its submodel; that must not leak into the model
+        result = controller.execute(getOperation("read", "attr1", 0));
+        assertEquals(1, result.get(RESULT).asInt());
+
+        result = controller.execute(getOperation("good", "attr1", 5));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+
+        result = controller.execute(getOperation("read", "attr1", 0));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(5, result.get(RESULT).asInt());
+    }
+
     public static ModelNode createTestNode() {
         ModelNode model = new ModelNode();
 
@@ -145,6 +163,20 @@ public class BaseModelControllerUnitTestCase {
         }
     }
 
+    public static class ReadHandler implements ModelQueryOperationHandler {
+        @Override
+        public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler)
+                throws OperationFailedException {
+
+            String name = operation.require(NAME).asString();
+            ModelNode attr = context.getSubModel().get(name);
+            resultHandler.handleResultFragment(new String[0], attr.clone());
+            attr.set(operation.require(VALUE));
+            resultHandler.handleResultComplete();
+            return new BasicOperationResult();
+        }
+    }
+
     public static final DescriptionProvider DESC_PROVIDER = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(Locale locale) {
@@ -159,6 +191,7 @@ public class BaseModelControllerUnitTestCase {
             getRegistry().registerOperationHandler("good", new GoodHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("bad", new BadHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("evil", new EvilHandler(), DESC_PROVIDER, false);
+            getRegistry().registerOperationHandler("read", new ReadHandler(), DESC_PROVIDER, false);
         }
     }
 
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link XmlConfigurationPersister}.
+ */
+public class XmlConfigurationPersisterUnitTestCase {
+
+    private File file;
+    private final AtomicInteger writes = new AtomicInteger();
+    private final List<Runnable> queued = new ArrayList<Runnable>();
+    private XmlConfigurationPersister persister;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("persister", ".xml");
+        persister = new XmlConfigurationPersister(file, new QName("root"), null, new CountingWriter());
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void testSynchronousStore() throws Exception {
+        persister.store(createModel(1));
+        assertEquals(1, writes.get());
+        assertTrue(read().contains("value=\"1\""));
+        assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+    }
+
+    @Test
+    public void testWriteBehindCoalesces() throws Exception {
+        persister.enableWriteBehind(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queued.add(command);
+            }
+        });
+
+        final ModelNode model = createModel(1);
+        persister.store(model);
+        for (int i = 2; i <= 5; i++) {
+            synchronized (model) {
+                model.get("value").set(i);
+            }
+            persister.store(model);
+        }
+        assertEquals(0, writes.get());
+        assertEquals(1, queued.size());
+        assertEquals(5, persister.getPendingWriteCount());
+
+        queued.remove(0).run();
+
+        assertEquals(1, writes.get());
+        assertEquals(0, persister.getPendingWriteCount());
+        assertTrue(read().contains("value=\"5\""));
+        persister.flush();
+    }
+
+    @Test
+    public void testDisableWriteBehindKeepsPendingStores() throws Exception {
+        persister.enableWriteBehind(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                synchronized (queued) {
+                    queued.add(command);
+                }
+            }
+        });
+        persister.store(createModel(1));
+
+        final Thread disabler = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    persister.disableWriteBehind();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        disabler.start();
+        while (disabler.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+
+        // Write-behind is now off but a write is still pending; this store must not be overtaken by it
+        persister.store(createModel(2));
+        assertEquals(0, writes.get());
+        assertEquals(2, persister.getPendingWriteCount());
+
+        final Runnable task;
+        synchronized (queued) {
+            task = queued.remove(0);
+        }
+        task.run();
+        disabler.join();
+        assertEquals(1, writes.get());
+        assertTrue(read().contains("value=\"2\""));
+
+        persister.store(createModel(3));
+        assertEquals(2, writes.get());
+        assertEquals(0, persister.getPendingWriteCount());
+        assertTrue(read().contains("value=\"3\""));
+    }
+
+    private ModelNode createModel(int value) {
+        final ModelNode model = new ModelNode();
+        model.get("value").set(value);
+        return model;
+    }
+
+    private String read() throws IOException {
+        final BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            final StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+            return sb.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private class CountingWriter implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter streamWriter, ModelMarshallingContext value) throws XMLStreamException {
+            writes.incrementAndGet();
+            streamWriter.writeStartElement("root");
+            streamWriter.writeAttribute("value", value.getModelNode().get("value").asString());
+            streamWriter.writeEndElement();
+        }
+    }
+}
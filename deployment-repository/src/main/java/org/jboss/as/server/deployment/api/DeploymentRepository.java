@@ -42,6 +42,18 @@ public interface DeploymentRepository {
      */
     byte[] addDeploymentContent(InputStream stream) throws IOException;
 
+    /**
+     * Add the given content to the repository, unless content with the expected hash is already present, in
+     * which case the stream is not read at all.
+     *
+     * @param stream stream from which the content can be read. Cannot be <code>null</code>
+     * @param expectedHash the hash the caller expects the content to have, or <code>null</code> if unknown
+     * @return the hash of the content that will be used as an internal identifier
+     *         for the content. Will not be <code>null</code>
+     * @throws IOException if the content cannot be stored, or does not match <code>expectedHash</code>
+     */
+    byte[] addDeploymentContent(InputStream stream, byte[] expectedHash) throws IOException;
+
     /**
      * Gets whether content with the given hash is stored in the repository.
      *
@@ -51,6 +51,15 @@ public interface ServerDeploymentRepository extends DeploymentRepository {
      */
     byte[] addExternalFileReference(File file) throws IOException;
 
+    /**
+     * Gets whether the content with the given hash is an external file reference. The referenced file can
+     * change after it was added, so its hash does not identify its current content.
+     *
+     * @param hash the hash. Cannot be <code>null</code>
+     * @return <code>true</code> if the hash identifies an external file reference
+     */
+    boolean isExternalFileReference(byte[] hash);
+
     /**
      * Requests that the content with the given unique name and hash be mounted
      * in VFS at the given {@code mountPoint}.
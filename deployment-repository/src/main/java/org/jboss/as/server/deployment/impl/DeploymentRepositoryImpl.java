@@ -22,15 +22,16 @@
 
 package org.jboss.as.server.deployment.impl;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.DigestOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -45,8 +46,9 @@ public class DeploymentRepositoryImpl implements DeploymentRepository {
     private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
 
     protected static final String CONTENT = "content";
+    /** Size of the buffer used when copying content into the repository */
+    private static final int BUFFER_SIZE = 65536;
     private final File repoRoot;
-    protected final MessageDigest messageDigest;
 
     protected DeploymentRepositoryImpl(final File repoRoot) {
         if (repoRoot == null)
@@ -63,9 +65,19 @@ public class DeploymentRepositoryImpl implements DeploymentRepository {
             throw new IllegalStateException("Failed to create a directory at " + repoRoot.getAbsolutePath());
         }
         this.repoRoot = repoRoot;
+        // Fail early rather than on the first deployment
+        createMessageDigest();
+    }
 
+    /**
+     * Creates the digest used to compute a content hash. Digests are not thread safe, so every hash
+     * computation uses its own and concurrent additions do not contend with each other.
+     *
+     * @return a new SHA-1 digest
+     */
+    protected static MessageDigest createMessageDigest() {
         try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("Cannot obtain SHA-1 " + MessageDigest.class.getSimpleName(), e);
         }
@@ -73,38 +85,58 @@ public class DeploymentRepositoryImpl implements DeploymentRepository {
 
     @Override
     public byte[] addDeploymentContent(InputStream stream) throws IOException {
-        byte[] sha1Bytes = null;
-        File tmp = File.createTempFile(CONTENT, "tmp", repoRoot);
-        FileOutputStream fos = new FileOutputStream(tmp);
-        synchronized (messageDigest) {
-            messageDigest.reset();
-            try {
-                DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    dos.write(bytes, 0, read);
-                }
+        return addDeploymentContent(stream, null);
+    }
+
+    @Override
+    public byte[] addDeploymentContent(InputStream stream, byte[] expectedHash) throws IOException {
+        if (expectedHash != null && hasDeploymentContent(expectedHash)) {
+            log.debugf("Content with hash %s is already present in repository", HashUtil.bytesToHexString(expectedHash));
+            return expectedHash;
+        }
+        final MessageDigest messageDigest = createMessageDigest();
+        final File tmp = File.createTempFile(CONTENT, "tmp", repoRoot);
+        try {
+            copyContent(stream, tmp, messageDigest);
+            final byte[] sha1Bytes = messageDigest.digest();
+            if (expectedHash != null && !MessageDigest.isEqual(expectedHash, sha1Bytes)) {
+                throw new IOException("Content hash " + HashUtil.bytesToHexString(sha1Bytes) + " does not match expected hash " + HashUtil.bytesToHexString(expectedHash));
             }
-            finally {
-                safeClose(fos);
+            final File realFile = getDeploymentContentFile(sha1Bytes, true);
+            if(hasDeploymentContent(sha1Bytes)) {
+                // we've already got this content
+                log.debugf("Content was already present in repository at location %s", realFile.getAbsolutePath());
+            } else {
+                moveTempToPermanent(tmp, realFile);
+                log.infof("Content added at location %s",realFile.getAbsolutePath());
             }
-            sha1Bytes = messageDigest.digest();
-        }
-        final File realFile = getDeploymentContentFile(sha1Bytes, true);
-        if(hasDeploymentContent(sha1Bytes)) {
-            // we've already got this content
-            if (!tmp.delete()) {
+            return sha1Bytes;
+        } finally {
+            if (tmp.exists() && !tmp.delete()) {
                 tmp.deleteOnExit();
             }
-            log.debugf("Content was already present in repository at location %s", realFile.getAbsolutePath());
-        } else {
-            moveTempToPermanent(tmp, realFile);
-            log.infof("Content added at location %s",realFile.getAbsolutePath());
         }
+    }
 
-        return sha1Bytes;
+    private static void copyContent(final InputStream stream, final File target, final MessageDigest messageDigest) throws IOException {
+        // For a plain file stream this is its own channel, so no intermediate stream buffering is involved
+        final ReadableByteChannel in = Channels.newChannel(stream);
+        final FileOutputStream fos = new FileOutputStream(target);
+        try {
+            final FileChannel out = fos.getChannel();
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                messageDigest.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            fos.close();
+        } finally {
+            safeClose(fos);
+        }
     }
 
     @Override
@@ -155,26 +187,26 @@ public class DeploymentRepositoryImpl implements DeploymentRepository {
     private void moveTempToPermanent(File tmpFile, File permanentFile) throws IOException {
 
         if (!tmpFile.renameTo(permanentFile)) {
-            FileOutputStream fos = null;
-            BufferedOutputStream bos = null;
+            if (permanentFile.exists()) {
+                // added concurrently by someone else
+                return;
+            }
             FileInputStream fis = null;
+            FileOutputStream fos = null;
             try {
-                fos = new FileOutputStream(permanentFile);
-                bos = new BufferedOutputStream(fos);
                 fis = new FileInputStream(tmpFile);
-                BufferedInputStream bis = new BufferedInputStream(fis);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    bos.write(bytes, 0, read);
+                fos = new FileOutputStream(permanentFile);
+                final FileChannel in = fis.getChannel();
+                final FileChannel out = fos.getChannel();
+                final long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
                 }
+                fos.close();
             } finally {
-                safeClose(bos);
                 safeClose(fos);
                 safeClose(fis);
-                if (!tmpFile.delete()) {
-                    tmpFile.deleteOnExit();
-                }
             }
         }
     }
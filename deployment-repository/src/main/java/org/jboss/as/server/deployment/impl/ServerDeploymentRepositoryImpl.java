@@ -79,23 +79,19 @@ public class ServerDeploymentRepositoryImpl extends DeploymentRepositoryImpl imp
     /** {@inheritDoc} */
     @Override
     public byte[] addExternalFileReference(File file) throws IOException {
-        byte[] sha1Bytes = null;
         final String fileName = file.getAbsolutePath();
-        final MessageDigest messageDigest = this.messageDigest;
-        synchronized(messageDigest) {
-            messageDigest.reset();
-            if(! file.exists()) {
-                throw new FileNotFoundException(fileName);
-            }
-            final OutputStream os = new OutputStream() {
-                public void write(int b) throws IOException {
-                    //
-                }
-            };
-            final DigestOutputStream dos = new DigestOutputStream(os, messageDigest);
-            calculateHash(file, dos);
-            sha1Bytes = messageDigest.digest();
+        if(! file.exists()) {
+            throw new FileNotFoundException(fileName);
         }
+        final MessageDigest messageDigest = createMessageDigest();
+        final OutputStream nullStream = new OutputStream() {
+            public void write(int b) throws IOException {
+                //
+            }
+        };
+        final DigestOutputStream dos = new DigestOutputStream(nullStream, messageDigest);
+        calculateHash(file, dos);
+        final byte[] sha1Bytes = messageDigest.digest();
         final File content = getExternalFileReference(sha1Bytes, true);
         final OutputStream os = new FileOutputStream(content);
         try {
@@ -132,6 +128,12 @@ public class ServerDeploymentRepositoryImpl extends DeploymentRepositoryImpl imp
         return super.hasDeploymentContent(hash);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean isExternalFileReference(byte[] hash) {
+        return getExternalFileReference(hash, false).exists();
+    }
+
     private File getExternalFileReference(byte[] deploymentHash, boolean validate) {
         final File hashDir = getDeploymentHashDir(deploymentHash, validate);
         return new File(hashDir, EXTERNAL);
@@ -0,0 +1,295 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeploymentRepositoryImpl}.
+ *
+ * @author agent
+ */
+public class DeploymentRepositoryImplUnitTestCase {
+
+    private static final int ARCHIVES = 16;
+    private static final int ARCHIVE_SIZE = 256 * 1024;
+    private static final int BENCHMARK_ARCHIVE_SIZE = 2 * 1024 * 1024;
+    /** Set to {@code true} to run {@link #testConcurrentAddThroughput()}. */
+    private static final String BENCHMARK_PROPERTY = "jboss.as.test.benchmark";
+
+    private File root;
+    private DeploymentRepositoryImpl repository;
+
+    @Before
+    public void setUp() throws Exception {
+        root = File.createTempFile("repository", "test");
+        assertTrue(root.delete());
+        repository = new DeploymentRepositoryImpl(root);
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void testAddContent() throws Exception {
+        final byte[] content = createContent(1, 100000);
+        final byte[] hash = repository.addDeploymentContent(new ByteArrayInputStream(content));
+        assertArrayEquals(sha1(content), hash);
+        assertTrue(repository.hasDeploymentContent(hash));
+        assertArrayEquals(content, read(repository.getDeploymentContentFile(hash)));
+
+        // adding the same content again keeps the stored copy
+        assertArrayEquals(hash, repository.addDeploymentContent(new ByteArrayInputStream(content)));
+        assertArrayEquals(content, read(repository.getDeploymentContentFile(hash)));
+    }
+
+    @Test
+    public void testExpectedHashSkipsExistingContent() throws Exception {
+        final byte[] content = createContent(2, 1000);
+        final byte[] hash = repository.addDeploymentContent(new ByteArrayInputStream(content));
+        final InputStream unreadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Content should not be read");
+            }
+        };
+        assertArrayEquals(hash, repository.addDeploymentContent(unreadable, hash));
+    }
+
+    @Test
+    public void testExpectedHashOfNewContent() throws Exception {
+        final byte[] content = createContent(5, 1000);
+        final byte[] hash = sha1(content);
+        assertArrayEquals(hash, repository.addDeploymentContent(new ByteArrayInputStream(content), hash));
+        assertArrayEquals(content, read(repository.getDeploymentContentFile(hash)));
+    }
+
+    @Test
+    public void testExpectedHashMismatch() throws Exception {
+        final byte[] content = createContent(3, 1000);
+        final byte[] wrongHash = sha1(createContent(4, 1000));
+        try {
+            repository.addDeploymentContent(new ByteArrayInputStream(content), wrongHash);
+            fail("Content with a different hash was accepted");
+        } catch (IOException expected) {
+        }
+        assertFalse(repository.hasDeploymentContent(sha1(content)));
+        assertFalse(repository.hasDeploymentContent(wrongHash));
+    }
+
+    /**
+     * Adds {@value #ARCHIVES} distinct archives, each of them twice, from as many threads as there are processors,
+     * and checks every archive ends up stored once and intact.
+     */
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final List<File> archives = new ArrayList<File>();
+        final List<byte[]> hashes = new ArrayList<byte[]>();
+        for (int i = 0; i < ARCHIVES; i++) {
+            final byte[] content = createContent(100 + i, ARCHIVE_SIZE);
+            final File archive = new File(root, "archive" + i + ".jar");
+            final FileOutputStream fos = new FileOutputStream(archive);
+            try {
+                fos.write(content);
+            } finally {
+                fos.close();
+            }
+            archives.add(archive);
+            archives.add(archive);
+            hashes.add(sha1(content));
+            hashes.add(sha1(content));
+        }
+
+        final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<byte[]>> results = new ArrayList<Future<byte[]>>();
+            for (final File archive : archives) {
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        start.await();
+                        final InputStream in = new FileInputStream(archive);
+                        try {
+                            return repository.addDeploymentContent(in);
+                        } finally {
+                            in.close();
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < results.size(); i++) {
+                assertArrayEquals(hashes.get(i), results.get(i).get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < archives.size(); i++) {
+            assertArrayEquals(read(archives.get(i)), read(repository.getDeploymentContentFile(hashes.get(i))));
+        }
+        // No temporary files are left behind
+        for (File file : root.listFiles()) {
+            assertTrue(file.getName(), file.isDirectory() || file.getName().startsWith("archive"));
+        }
+    }
+
+    /**
+     * Adds {@value #ARCHIVES} archives from as many threads as there are processors and reports the ingestion
+     * rate, comparing it with adding the same archives one after the other. Only run when the
+     * {@value #BENCHMARK_PROPERTY} system property is {@code true}.
+     */
+    @Test
+    public void testConcurrentAddThroughput() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+        final File archiveDir = new File(root, "archives");
+        assertTrue(archiveDir.mkdirs());
+        final List<File> archives = new ArrayList<File>();
+        final List<byte[]> hashes = new ArrayList<byte[]>();
+        for (int i = 0; i < ARCHIVES; i++) {
+            final byte[] content = createContent(200 + i, BENCHMARK_ARCHIVE_SIZE);
+            final File archive = new File(archiveDir, "archive" + i + ".jar");
+            final FileOutputStream fos = new FileOutputStream(archive);
+            try {
+                fos.write(content);
+            } finally {
+                fos.close();
+            }
+            archives.add(archive);
+            hashes.add(sha1(content));
+        }
+
+        final long serial = addAll(archives, hashes, 1, archiveDir);
+        final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final long concurrent = addAll(archives, hashes, threads, archiveDir);
+
+        final double megabytes = (double) ARCHIVES * BENCHMARK_ARCHIVE_SIZE / (1024 * 1024);
+        System.out.printf("Added %d archives (%.0f MB): 1 thread %.1f MB/s, %d threads %.1f MB/s%n", ARCHIVES, megabytes,
+                megabytes / toSeconds(serial), threads, megabytes / toSeconds(concurrent));
+    }
+
+    private long addAll(final List<File> archives, final List<byte[]> hashes, final int threads, final File archiveDir) throws Exception {
+        // start from an empty repository so that every archive is stored
+        for (File dir : root.listFiles()) {
+            if (dir.isDirectory() && !dir.equals(archiveDir)) {
+                delete(dir);
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<Future<byte[]>>();
+            final long start = System.nanoTime();
+            for (final File archive : archives) {
+                results.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        final InputStream in = new FileInputStream(archive);
+                        try {
+                            return repository.addDeploymentContent(in);
+                        } finally {
+                            in.close();
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertArrayEquals(hashes.get(i), results.get(i).get());
+            }
+            final long elapsed = System.nanoTime() - start;
+            for (byte[] hash : hashes) {
+                assertEquals(BENCHMARK_ARCHIVE_SIZE, repository.getDeploymentContentFile(hash).length());
+            }
+            return elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double toSeconds(final long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1L);
+    }
+
+    private static byte[] createContent(final long seed, final int size) {
+        final byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] sha1(final byte[] content) throws Exception {
+        return MessageDigest.getInstance("SHA-1").digest(content);
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final byte[] bytes = new byte[(int) file.length()];
+        final InputStream in = new FileInputStream(file);
+        try {
+            int pos = 0;
+            int read;
+            while (pos < bytes.length && (read = in.read(bytes, pos, bytes.length - pos)) != -1) {
+                pos += read;
+            }
+        } finally {
+            in.close();
+        }
+        return bytes;
+    }
+
+    private static void delete(final File file) {
+        if (file.isDirectory()) {
+            for (File child : file.listFiles()) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
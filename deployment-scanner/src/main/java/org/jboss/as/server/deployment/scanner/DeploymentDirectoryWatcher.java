@@ -0,0 +1,220 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Tracks changes below a deployment directory using the {@code java.nio.file.WatchService} of Java 7 and later,
+ * so that a scan only needs to look again at what actually changed. The API is accessed reflectively since the
+ * scanner must still run on Java 6; where it is missing, or the platform cannot watch the whole tree (e.g. the
+ * inotify watch limit is reached), {@link #create(File)} returns {@code null} and the scanner keeps polling.
+ *
+ * @author agent
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.deployment");
+
+    private static final Nio2 NIO2 = Nio2.lookup();
+
+    private final Closeable watchService;
+    /** Watched directory for each watch key */
+    private final Map<Object, File> keys = new HashMap<Object, File>();
+    private boolean broken;
+
+    private DeploymentDirectoryWatcher(final Closeable watchService) {
+        this.watchService = watchService;
+    }
+
+    /**
+     * Start watching a directory tree.
+     *
+     * @param root the root of the tree
+     * @return the watcher, or {@code null} if the tree cannot be watched
+     */
+    static DeploymentDirectoryWatcher create(final File root) {
+        if (NIO2 == null) {
+            log.debugf("File system watch service is not available; %s will be polled", root);
+            return null;
+        }
+        Closeable watchService = null;
+        try {
+            watchService = (Closeable) NIO2.newWatchService.invoke(NIO2.fileSystem);
+            final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(watchService);
+            watcher.registerTree(root);
+            return watcher;
+        } catch (Exception e) {
+            log.debugf(e, "Cannot watch %s for changes; it will be polled", root);
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Whether the watcher failed to register part of the tree, in which case it can no longer be relied upon.
+     *
+     * @return {@code true} if the watcher is broken
+     */
+    boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Collect the changes reported since the previous call.
+     *
+     * @return the files and directories which were created, modified or deleted, or {@code null} if changes
+     *         may have been lost and everything has to be looked at again
+     */
+    Set<File> takeChanges() {
+        final Set<File> changes = new HashSet<File>();
+        boolean lost = broken;
+        try {
+            Object key;
+            while ((key = NIO2.poll.invoke(watchService)) != null) {
+                final File dir = keys.get(key);
+                for (Object event : (List<?>) NIO2.pollEvents.invoke(key)) {
+                    final Object kind = NIO2.kind.invoke(event);
+                    if (kind == NIO2.overflow || dir == null) {
+                        lost = true;
+                        continue;
+                    }
+                    final File file = new File(dir, NIO2.context.invoke(event).toString());
+                    changes.add(file);
+                    if (kind == NIO2.entryCreate && file.isDirectory()) {
+                        // a change to the new directory itself covers anything created in it before this point
+                        registerTree(file);
+                    }
+                }
+                if (!((Boolean) NIO2.reset.invoke(key)).booleanValue()) {
+                    // the directory is gone
+                    keys.remove(key);
+                }
+            }
+        } catch (Exception e) {
+            log.debugf(e, "Failed to collect file system changes");
+            broken = true;
+            lost = true;
+        }
+        return lost ? null : changes;
+    }
+
+    @Override
+    public void close() {
+        keys.clear();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debugf(e, "Failed to close file system watch service");
+        }
+    }
+
+    private void registerTree(final File dir) throws Exception {
+        final Object key;
+        try {
+            key = NIO2.register.invoke(NIO2.toPath.invoke(dir), watchService, NIO2.kinds);
+        } catch (InvocationTargetException e) {
+            broken = true;
+            final Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+        keys.put(key, dir);
+        final File[] children = dir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    registerTree(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * The reflectively resolved parts of the {@code java.nio.file} API.
+     */
+    private static final class Nio2 {
+        Object fileSystem;
+        Method newWatchService;
+        Method toPath;
+        Method register;
+        Method poll;
+        Method pollEvents;
+        Method reset;
+        Method kind;
+        Method context;
+        Object kinds;
+        Object entryCreate;
+        Object overflow;
+
+        static Nio2 lookup() {
+            try {
+                final ClassLoader cl = File.class.getClassLoader();
+                final Class<?> fileSystems = Class.forName("java.nio.file.FileSystems", true, cl);
+                final Class<?> fileSystem = Class.forName("java.nio.file.FileSystem", true, cl);
+                final Class<?> path = Class.forName("java.nio.file.Path", true, cl);
+                final Class<?> watchService = Class.forName("java.nio.file.WatchService", true, cl);
+                final Class<?> watchKey = Class.forName("java.nio.file.WatchKey", true, cl);
+                final Class<?> watchEvent = Class.forName("java.nio.file.WatchEvent", true, cl);
+                final Class<?> kind = Class.forName("java.nio.file.WatchEvent$Kind", true, cl);
+                final Class<?> standardKinds = Class.forName("java.nio.file.StandardWatchEventKinds", true, cl);
+
+                final Nio2 nio2 = new Nio2();
+                nio2.fileSystem = fileSystems.getMethod("getDefault").invoke(null);
+                nio2.newWatchService = fileSystem.getMethod("newWatchService");
+                nio2.toPath = File.class.getMethod("toPath");
+                final Object kinds = Array.newInstance(kind, 3);
+                nio2.register = path.getMethod("register", watchService, kinds.getClass());
+                nio2.poll = watchService.getMethod("poll");
+                nio2.pollEvents = watchKey.getMethod("pollEvents");
+                nio2.reset = watchKey.getMethod("reset");
+                nio2.kind = watchEvent.getMethod("kind");
+                nio2.context = watchEvent.getMethod("context");
+                nio2.entryCreate = standardKinds.getField("ENTRY_CREATE").get(null);
+                nio2.overflow = standardKinds.getField("OVERFLOW").get(null);
+                Array.set(kinds, 0, nio2.entryCreate);
+                Array.set(kinds, 1, standardKinds.getField("ENTRY_DELETE").get(null));
+                Array.set(kinds, 2, standardKinds.getField("ENTRY_MODIFY").get(null));
+                nio2.kinds = kinds;
+                return nio2;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
@@ -53,6 +53,8 @@ import org.jboss.threads.JBossThreadFactory;
 public class DeploymentScannerService implements Service<DeploymentScanner> {
 
     private static final int DEFAULT_INTERVAL = 5000;
+    /** System property which can be set to "false" to always poll the deployment directory */
+    static final String WATCH_PROPERTY = "jboss.deployment.scanner.watch";
     private long interval;
     private TimeUnit unit = TimeUnit.MILLISECONDS;
     private boolean enabled;
@@ -128,6 +130,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
             scanner.setScanInterval(unit.toMillis(interval));
             scanner.setAutoDeployExplodedContent(autoDeployExploded);
             scanner.setAutoDeployZippedContent(autoDeployZipped);
+            scanner.setWatchEnabled(Boolean.parseBoolean(System.getProperty(WATCH_PROPERTY, "true")));
             if(deploymentTimeout != null) {
                 scanner.setDeploymentTimeout(deploymentTimeout);
             }
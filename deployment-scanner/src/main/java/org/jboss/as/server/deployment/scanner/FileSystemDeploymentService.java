@@ -103,6 +103,9 @@ class FileSystemDeploymentService implements DeploymentScanner {
     /** Default timeout for deployments to execute in seconds*/
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 60;
 
+    /** Max period between scans of the whole tree when watching the deployment directory for changes */
+    static final long FULL_SCAN_INTERVAL = 60000;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -127,6 +130,14 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
 
+    private volatile boolean watchEnabled;
+    /** Reports changes below deploymentDir when watchEnabled; guarded by scanLock */
+    private DeploymentDirectoryWatcher watcher;
+    private long lastFullScan;
+    private long lastWatchAttempt;
+    /** Timestamps of exploded deployments computed by the previous scan; guarded by scanLock */
+    private Map<File, Long> explodedTimestamps = new HashMap<File, Long>();
+
     private final Runnable scanRunnable = new Runnable() {
         @Override
         public void run() {
@@ -240,6 +251,23 @@ class FileSystemDeploymentService implements DeploymentScanner {
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        scanLock.lock();
+        try {
+            closeWatcher();
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    /**
+     * Sets whether file system change notifications should be used, where the platform supports them, to avoid
+     * walking the deployment directory tree when nothing in it has changed. A full scan is still done every
+     * {@link #FULL_SCAN_INTERVAL} ms.
+     *
+     * @param watchEnabled {@code true} to watch the deployment directory
+     */
+    void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
     }
 
     /** Hook solely for unit test to control how long deployments with no progress can exist without failing */
@@ -284,8 +312,15 @@ class FileSystemDeploymentService implements DeploymentScanner {
             if (scanEnabled) { // confirm the scan is still wanted
                 log.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
 
-                ScanContext scanContext = new ScanContext();
+                final Set<File> changes = takeWatchedChanges();
+                if (changes != null && changes.isEmpty() && incompleteDeployments.isEmpty()) {
+                    log.tracef("No changes in directory %s since the previous scan", deploymentDir.getAbsolutePath());
+                    return;
+                }
+
+                ScanContext scanContext = new ScanContext(changes);
                 scanDirectory(deploymentDir, scanContext);
+                explodedTimestamps = scanContext.explodedTimestamps;
 
                 // WARN about markers with no associated content. Do this first in case any auto-deploy issue
                 // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -425,7 +460,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
                     scanContext.ignoredMissingDeployments.add(deploymentName);
                     continue;
                 }
-                long timestamp = getDeploymentTimestamp(deploymentFile);
+                long timestamp = getDeploymentTimestamp(deploymentFile, scanContext);
                 addContentAddingTask(deploymentName, deploymentFile, timestamp, scanContext);
             }
             else if (fileName.endsWith(FAILED_DEPLOY)) {
@@ -449,7 +484,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
                         }
 
                         DeploymentMarker marker = deployed.get(fileName);
-                        long timestamp = getDeploymentTimestamp(child);
+                        long timestamp = getDeploymentTimestamp(child, scanContext);
                         if (marker == null || marker.lastModified != timestamp) {
                             try {
                                 if (isZipComplete(child)) {
@@ -529,6 +564,22 @@ class FileSystemDeploymentService implements DeploymentScanner {
         return new File(parent, name + SKIP_DEPLOY).exists() || new File(parent, name + DO_DEPLOY).exists();
     }
 
+    /**
+     * Get the timestamp of deployment content, reusing the result of the previous scan for an exploded deployment
+     * if the watcher reported no changes in it.
+     */
+    private long getDeploymentTimestamp(File deploymentFile, ScanContext scanContext) {
+        if (!deploymentFile.isDirectory()) {
+            return deploymentFile.lastModified();
+        }
+        Long timestamp = scanContext.changedPaths == null ? null : explodedTimestamps.get(deploymentFile);
+        if (timestamp == null || scanContext.changedPaths.contains(deploymentFile)) {
+            timestamp = Long.valueOf(getDeploymentTimestamp(deploymentFile));
+        }
+        scanContext.explodedTimestamps.put(deploymentFile, timestamp);
+        return timestamp.longValue();
+    }
+
     private long getDeploymentTimestamp(File deploymentFile) {
         if (deploymentFile.isDirectory()) {
             // Scan for most recent file
@@ -546,6 +597,45 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
     }
 
+    /**
+     * Collect the changes reported by the watcher, setting it up if needed.
+     *
+     * @return the changed files, or {@code null} if the whole tree has to be scanned
+     */
+    private Set<File> takeWatchedChanges() {
+        if (!watchEnabled) {
+            closeWatcher();
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        Set<File> changes = null;
+        if (watcher != null) {
+            changes = watcher.takeChanges();
+            if (watcher.isBroken()) {
+                log.debugf("Stopped watching %s for changes; it will be polled", deploymentDir.getAbsolutePath());
+                closeWatcher();
+            }
+        }
+        if (changes != null && now - lastFullScan < FULL_SCAN_INTERVAL) {
+            return changes;
+        }
+        lastFullScan = now;
+        if (watcher == null && now - lastWatchAttempt >= FULL_SCAN_INTERVAL) {
+            // Set up before the full scan so no change made during it is missed
+            lastWatchAttempt = now;
+            watcher = DeploymentDirectoryWatcher.create(deploymentDir);
+        }
+        return null;
+    }
+
+    private void closeWatcher() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        lastWatchAttempt = 0;
+    }
+
     private boolean isEEArchive(String fileName) {
         return ARCHIVE_PATTERN.matcher(fileName).matches();
     }
@@ -1030,6 +1120,23 @@ class FileSystemDeploymentService implements DeploymentScanner {
         private final HashSet<String> nonDeployable = new HashSet<String>();
         /** Auto-deployable files detected by the scan where ZipScanner threw a NonScannableZipException */
         private final Map<File, NonScannableZipException> nonscannable = new HashMap<File, NonScannableZipException>();
+        /** Changed files and their ancestors, or null if everything must be treated as changed */
+        private final Set<File> changedPaths;
+        /** Timestamps of the exploded deployments seen by the scan */
+        private final Map<File, Long> explodedTimestamps = new HashMap<File, Long>();
+
+        private ScanContext(final Set<File> changes) {
+            if (changes == null) {
+                changedPaths = null;
+            } else {
+                changedPaths = new HashSet<File>();
+                for (File file : changes) {
+                    while (file != null && changedPaths.add(file) && !file.equals(deploymentDir)) {
+                        file = file.getParentFile();
+                    }
+                }
+            }
+        }
     }
 
     private class IncompleteDeploymentStatus {
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ *
+ * @author agent
+ */
+public class DeploymentDirectoryWatcherUnitTestCase {
+
+    private static AutoDeployTestSupport testSupport;
+
+    @BeforeClass
+    public static void createTestSupport() throws Exception {
+        testSupport = new AutoDeployTestSupport(DeploymentDirectoryWatcherUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void cleanup() throws Exception {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Test
+    public void testChangesInNestedDirectories() throws Exception {
+        final File root = new File(testSupport.getTempDir(), "watched");
+        final File exploded = new File(root, "foo.war");
+        assertTrue(new File(exploded, "WEB-INF").mkdirs());
+
+        final DeploymentDirectoryWatcher watcher = DeploymentDirectoryWatcher.create(root);
+        // Not all platforms can watch the file system; the scanner simply polls there
+        Assume.assumeTrue(watcher != null);
+        try {
+            Set<File> changes = watcher.takeChanges();
+            assertNotNull(changes);
+            assertTrue(changes.isEmpty());
+
+            final File webXml = new File(exploded, "WEB-INF/web.xml");
+            touch(webXml);
+            final File newDir = new File(root, "nested");
+            assertTrue(newDir.mkdir());
+
+            awaitChanges(watcher, webXml, newDir);
+
+            // Directories created after the watcher are watched as well
+            final File nestedArchive = new File(newDir, "bar.jar");
+            touch(nestedArchive);
+            awaitChanges(watcher, nestedArchive);
+            assertFalse(watcher.isBroken());
+        } finally {
+            watcher.close();
+        }
+    }
+
+    private static void awaitChanges(final DeploymentDirectoryWatcher watcher, final File... expected) throws Exception {
+        // Some watch service implementations poll themselves, so allow plenty of time
+        final long end = System.currentTimeMillis() + 30000;
+        final Set<File> changes = new HashSet<File>();
+        final List<File> expectedList = Arrays.asList(expected);
+        do {
+            Thread.sleep(50);
+            final Set<File> batch = watcher.takeChanges();
+            assertNotNull(batch);
+            changes.addAll(batch);
+        } while (!changes.containsAll(expectedList) && System.currentTimeMillis() < end);
+        assertTrue(expectedList + " not reported in " + changes, changes.containsAll(expectedList));
+    }
+
+    private static void touch(final File file) throws Exception {
+        final FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(1);
+        } finally {
+            fos.close();
+        }
+    }
+}
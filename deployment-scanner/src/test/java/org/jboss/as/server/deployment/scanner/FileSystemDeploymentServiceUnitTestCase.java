@@ -1018,6 +1018,15 @@ public class FileSystemDeploymentServiceUnitTestCase {
             return bytes;
         }
 
+        @Override
+        public byte[] addDeploymentContent(InputStream stream, byte[] expectedHash) throws IOException {
+            if (expectedHash == null) {
+                return addDeploymentContent(stream);
+            }
+            content.add(expectedHash);
+            return expectedHash;
+        }
+
         @Override
         public boolean hasDeploymentContent(byte[] hash) {
             return content.contains(hash);
@@ -1036,6 +1045,12 @@ public class FileSystemDeploymentServiceUnitTestCase {
             return bytes;
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean isExternalFileReference(byte[] hash) {
+            return false;
+        }
+
         /** {@inheritDoc} */
         @Override
         public Closeable mountDeploymentContent(String name, String runtimeName, byte[] deploymentHash, VirtualFile mountPoint) throws IOException {
@@ -220,7 +220,10 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
         alwaysProvideRuntimeContext = false;
 
         ModelNode ourModel = super.getModel();
-        DomainModelUtil.updateCoreModel(ourModel);
+        synchronized (ourModel) {
+            DomainModelUtil.updateCoreModel(ourModel);
+            invalidateModelSnapshot();
+        }
         master = true;
         domainPersister.setDelegate(configurationPersister);
         ModelNodeRegistration registry = getRegistry();
@@ -438,10 +441,13 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
 
     void setInitialDomainModel(ModelNode domainModel) {
         ModelNode root = getModel();
-        // Preserve the "host" subtree
-        ModelNode host = root.get(HOST);
-        root.set(domainModel);
-        root.get(HOST).set(host);
+        synchronized (root) {
+            // Preserve the "host" subtree
+            ModelNode host = root.get(HOST);
+            root.set(domainModel);
+            root.get(HOST).set(host);
+            invalidateModelSnapshot();
+        }
         // Now we know what extensions are needed
         initializeExtensions(domainModel, extensionContext);
     }
@@ -1107,6 +1113,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
             final ModelNode model = modelSource.getModel();
             synchronized (model) {
                 model.set(localModel);
+                invalidateModelSnapshot();
                 if (modelUpdated) {
                     DomainModelImpl.this.persistConfiguration(model, injectedConfigPersisterProvider);
                 }
@@ -1151,6 +1158,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
                     } else {
                         address.navigate(model, true).set(subModel);
                     }
+                    invalidateModelSnapshot();
                     persistConfiguration(model, operationControllerContext.getConfigurationPersisterProvider());
                 }
 
@@ -18,6 +18,8 @@
  */
 package org.jboss.as.domain.controller.operations.deployment;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -57,7 +59,9 @@ public abstract class AbstractDeploymentUploadHandler implements OperationHandle
             try {
                 InputStream is = getContentInputStream(context, operation);
                 try {
-                    byte[] hash = deploymentRepository.addDeploymentContent(is);
+                    // content the caller already knows the hash of is not stored twice
+                    final byte[] expectedHash = operation.hasDefined(HASH) ? operation.get(HASH).asBytes() : null;
+                    byte[] hash = deploymentRepository.addDeploymentContent(is, expectedHash);
                     resultHandler.handleResultFragment(EMPTY, new ModelNode().set(hash));
                 }
                 finally {
@@ -32,6 +32,7 @@ import org.jboss.invocation.InterceptorFactoryContext;
 import org.jboss.invocation.InterceptorInstanceFactory;
 import org.jboss.invocation.Interceptors;
 import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.value.InjectedValue;
 
@@ -40,10 +41,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import static org.jboss.as.ee.component.SecurityActions.getContextClassLoader;
 import static org.jboss.as.ee.component.SecurityActions.setContextClassLoader;
@@ -80,11 +79,11 @@ public abstract class AbstractComponent implements Component {
     private final List<ComponentInjector> componentInjectors;
     private Interceptor componentInterceptor;
     private final Map<Method, InterceptorFactory> interceptorFactoryMap;
+    private volatile InterceptorChainTable interceptorChainTable;
     private final InjectedValue<NamespaceContextSelector> namespaceContextSelectorInjector = new InjectedValue<NamespaceContextSelector>();
     private final Map<Class<?>, ServiceName> viewServices;
     private final Map<Class<?>, ComponentView> views = new HashMap<Class<?>, ComponentView>();
-    @Deprecated
-    private final Collection<Method> componentMethods;
+    private final Map<MethodIdentifier, Method> componentMethods;
 
     private volatile boolean gate;
 
@@ -100,7 +99,7 @@ public abstract class AbstractComponent implements Component {
         interceptorFactoryMap = configuration.getInterceptorFactoryMap();
         this.componentInjectors = configuration.getComponentInjectors();
         this.viewServices = new HashMap<Class<?>, ServiceName>(configuration.getViewServices());
-        this.componentMethods = configuration.getComponentMethods();
+        this.componentMethods = indexComponentMethods(configuration.getComponentMethods());
 
 
         //get the lifecycle interceptor chains
@@ -113,6 +112,24 @@ public abstract class AbstractComponent implements Component {
      * {@inheritDoc}
      */
     public ComponentInstance createInstance() {
+        awaitStart();
+        return createInstance(createObjectInstance(), true);
+    }
+
+    /**
+     * Create a component instance around an object instance which was constructed and initialized before, for
+     * example one restored from passivation.  Injections are applied again, but the post-construct lifecycle is
+     * not invoked.
+     *
+     * @param objectInstance the object instance
+     * @return the component instance
+     */
+    protected ComponentInstance activateInstance(final Object objectInstance) {
+        awaitStart();
+        return createInstance(objectInstance, false);
+    }
+
+    private void awaitStart() {
         if (!gate) {
             // Block until successful start
             synchronized (this) {
@@ -127,11 +144,12 @@ public abstract class AbstractComponent implements Component {
                 }
             }
         }
+    }
+
+    private ComponentInstance createInstance(final Object objectInstance, final boolean invokePostConstruct) {
         //we must use the same context over the life of the instance
         SimpleInterceptorFactoryContext interceptorContext = new SimpleInterceptorFactoryContext();
 
-        Object objectInstance = createObjectInstance();
-
 
         //apply injections, and add the clean up interceptors to the pre destroy chain
         //we want interceptors that clean up injections to be last in the interceptor chain
@@ -146,20 +164,15 @@ public abstract class AbstractComponent implements Component {
         interceptorContext.getContextData().put(AbstractComponent.INSTANCE_KEY, objectInstance);
         interceptorContext.getContextData().put(AbstractComponent.COMPONENT_INSTANCE_KEY, instance);
 
-        performLifecycle(instance, postConstruct, interceptorContext);
+        if (invokePostConstruct) {
+            performLifecycle(instance, postConstruct, interceptorContext);
+        }
 
         // process the interceptors bound to individual methods
-        // the interceptors are tied to the lifecycle of the instance
-        final Map<Method, InterceptorFactory> factoryMap = getInterceptorFactoryMap();
-        final Map<Method, Interceptor> methodMap = new IdentityHashMap<Method, Interceptor>(factoryMap.size());
-        for (Map.Entry<Method, InterceptorFactory> entry : factoryMap.entrySet()) {
-            Method method = entry.getKey();
-            PerViewMethodInterceptorFactory.populate(interceptorContext, this, instance, method);
-            InterceptorFactory interceptorFactory = entry.getValue();
-            assert interceptorFactory != null : "Can't find interceptor factory for " + method;
-            methodMap.put(method, interceptorFactory.create(interceptorContext));
-        }
-        instance.setMethodMap(methodMap);
+        // the interceptors are tied to the lifecycle of the instance, but are only created once per
+        // distinct chain rather than once per view method, and the stateless chains are shared by all instances
+        final InterceptorChainTable table = getInterceptorChainTable();
+        instance.setInterceptorChains(table, table.createChains(interceptorContext, this, instance));
         return instance;
     }
 
@@ -281,16 +294,9 @@ public abstract class AbstractComponent implements Component {
             throw new IllegalArgumentException("Non-existent view " + viewClass + " requested");
         }
         final ManagedReference managedReference = view.getReference();
-        final Method[] methods = view.getProxyFactory().getCachedMethods();
-        final IdentityHashMap<Method, Interceptor> interceptorMap = new IdentityHashMap<Method, Interceptor>();
-        final SimpleInterceptorFactoryContext interceptorFactoryContext = new SimpleInterceptorFactoryContext();
-        for (Method method : methods) {
-            final InterceptorFactory interceptorFactory = interceptorFactoryMap.get(method);
-            if (interceptorFactory != null) {
-                interceptorMap.put(method, interceptorFactory.create(interceptorFactoryContext));
-            }
-        }
-        final Set<Method> allowedMethods = Collections.unmodifiableSet(interceptorFactoryMap.keySet());
+        final InterceptorChainTable table = getInterceptorChainTable();
+        final Interceptor[] chains = table.createChains(new SimpleInterceptorFactoryContext(), view.getProxyFactory().getCachedMethods());
+        final Collection<Method> allowedMethods = table.getMethods();
         return new ComponentEntry() {
             public Component getComponent() {
                 return AbstractComponent.this;
@@ -305,15 +311,16 @@ public abstract class AbstractComponent implements Component {
             }
 
             public Interceptor getEntryPoint(final Method method) throws IllegalArgumentException {
-                Interceptor interceptor = interceptorMap.get(method);
-                if (interceptor == null) {
+                final int slot = table.getSlot(method);
+                if (slot < 0 || chains[slot] == null) {
                     throw new IllegalArgumentException("No entry point found for " + method);
                 }
-                return interceptor;
+                return chains[slot];
             }
 
             public boolean isAsynchronous(final Method method) throws IllegalArgumentException {
-                if (! interceptorMap.containsKey(method)) {
+                final int slot = table.getSlot(method);
+                if (slot < 0 || chains[slot] == null) {
                     throw new IllegalArgumentException("No entry point found for " + method);
                 }
                 return false;
@@ -326,7 +333,7 @@ public abstract class AbstractComponent implements Component {
     }
 
     public NamespaceContextSelector getNamespaceContextSelector() {
-        return namespaceContextSelectorInjector.getValue();
+        return namespaceContextSelectorInjector.getOptionalValue();
     }
 
     // TODO: Jaikiran - Temporary to avoid compilation errors
@@ -338,6 +345,7 @@ public abstract class AbstractComponent implements Component {
      * {@inheritDoc}
      */
     public void start() {
+        getInterceptorChainTable();
         synchronized (this) {
             gate = true;
             notifyAll();
@@ -357,6 +365,21 @@ public abstract class AbstractComponent implements Component {
         return interceptorFactoryMap;
     }
 
+    /**
+     * Get the compiled interceptor chains of this component, compiling them on first use, which normally happens
+     * when the component is started.
+     *
+     * @return the interceptor chain table
+     */
+    InterceptorChainTable getInterceptorChainTable() {
+        InterceptorChainTable table = interceptorChainTable;
+        if (table == null) {
+            // compiling twice concurrently is harmless, both results are equivalent
+            interceptorChainTable = table = InterceptorChainTable.compile(interceptorFactoryMap, componentClass);
+        }
+        return table;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -378,21 +401,41 @@ public abstract class AbstractComponent implements Component {
         views.put(view.getViewClass(), view);
     }
 
+    private static Map<MethodIdentifier, Method> indexComponentMethods(final Collection<Method> methods) {
+        if (methods == null) {
+            return Collections.emptyMap();
+        }
+        final Map<MethodIdentifier, Method> index = new HashMap<MethodIdentifier, Method>(methods.size() * 2);
+        for (Method method : methods) {
+            index.put(MethodIdentifier.getIdentifierForMethod(method), method);
+        }
+        return index;
+    }
+
     /**
      * Because interceptors are bound to a methods identity, you need the exact method
-     * so find the interceptor. This should really be done during deployment via
-     * reflection index and not during runtime operations.
+     * so find the interceptor. Callers on an invocation path should resolve the method once
+     * and keep the result rather than calling this per invocation.
      *
-     * @param other     another method with the exact same signature
+     * @param other     another method with the same name and parameter types, for example one declared on a view
      * @return the method to which interceptors have been bound
+     * @throws IllegalArgumentException if the component has no such method
      */
-    @Deprecated
     public Method getComponentMethod(Method other) {
-        for (Method id : componentMethods) {
-            if (other.equals(id))
-                return id;
-        }
-        throw new IllegalArgumentException("Can't find method " + other);
+        final Method method = componentMethods.get(MethodIdentifier.getIdentifierForMethod(other));
+        if (method == null)
+            throw new IllegalArgumentException("Can't find method " + other);
+        return method;
+    }
+
+    /**
+     * Get the method to which interceptors have been bound for the given identifier.
+     *
+     * @param identifier the method identifier
+     * @return the component method, or {@code null} if the component has no such method
+     */
+    public Method getComponentMethod(MethodIdentifier identifier) {
+        return componentMethods.get(identifier);
     }
 
     public ComponentView getComponentView(Class<?> viewClass) {
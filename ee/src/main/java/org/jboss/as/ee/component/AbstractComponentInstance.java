@@ -26,7 +26,6 @@ import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactoryContext;
 
 import java.lang.reflect.Method;
-import java.util.Map;
 
 /**
  * An abstract base component instance.
@@ -42,10 +41,11 @@ public abstract class AbstractComponentInstance implements ComponentInstance {
     private final InterceptorFactoryContext factoryContext;
 
     /**
-     * This is an identity map.  This means that only <b>certain</b> {@code Method} objects will
-     * match - specifically, they must equal the objects provided to the proxy.
+     * The slots of the interceptor chains.  This is an identity map.  This means that only <b>certain</b>
+     * {@code Method} objects will match - specifically, they must equal the objects provided to the proxy.
      */
-    private Map<Method, Interceptor> methodMap;
+    private InterceptorChainTable chainTable;
+    private Interceptor[] chains;
 
     /**
      * Construct a new instance.
@@ -71,18 +71,19 @@ public abstract class AbstractComponentInstance implements ComponentInstance {
 
     /** {@inheritDoc} */
     public Interceptor getInterceptor(final Method method) throws IllegalStateException {
-        Interceptor interceptor = methodMap.get(method);
-        if (interceptor == null) {
+        final int slot = chainTable.getSlot(method);
+        if (slot < 0) {
             throw new IllegalStateException("Method does not exist " + method);
         }
-        return interceptor;
+        return chains[slot];
     }
 
     public InterceptorFactoryContext getInterceptorFactoryContext() {
         return factoryContext;
     }
 
-    void setMethodMap(Map<Method, Interceptor> methodMap) {
-        this.methodMap = methodMap;
+    void setInterceptorChains(InterceptorChainTable chainTable, Interceptor[] chains) {
+        this.chainTable = chainTable;
+        this.chains = chains;
     }
 }
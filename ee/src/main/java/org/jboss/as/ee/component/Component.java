@@ -122,7 +122,7 @@ public interface Component {
     /**
      * Get the naming context selector for this component.
      *
-     * @return the selector
+     * @return the selector, or {@code null} if the component has none (yet)
      */
     NamespaceContextSelector getNamespaceContextSelector();
 
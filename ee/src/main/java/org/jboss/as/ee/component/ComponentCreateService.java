@@ -64,6 +64,8 @@ public final class ComponentCreateService implements Service<Component> {
 
         // First, system interceptors (one of which should associate)
         final ArrayList<Interceptor> rootInterceptors = new ArrayList<Interceptor>();
+        // the invocation context of the component encloses everything else
+        rootInterceptors.add(new ContextSelectorInterceptor(component));
         final SimpleInterceptorFactoryContext interceptorFactoryContext = new SimpleInterceptorFactoryContext();
         // TODO: a contract for ComponentInterceptorFactory
         interceptorFactoryContext.getContextData().put(Component.class, component);
@@ -166,6 +166,7 @@ public final class ComponentInstallProcessor implements DeploymentUnitProcessor
 
         // START depends on CREATE
         startBuilder.addDependency(createServiceName, AbstractComponent.class, startService.getComponentInjector());
+        startBuilder.addDependency(selectorServiceName, NamespaceContextSelector.class, startService.getNamespaceContextSelectorInjector());
         //add dependencies on the injector services
         startBuilder.addDependencies(additionalDependencies);
 
@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.component;
+
+import org.jboss.as.naming.context.NamespaceContextSelector;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.jboss.as.ee.component.SecurityActions.getContextClassLoader;
+import static org.jboss.as.ee.component.SecurityActions.setContextClassLoader;
+
+/**
+ * The per-thread carrier of the context of the component invocations in progress on a thread: the component,
+ * its naming context selector, the thread context class loader to restore and the component instance.
+ * <p/>
+ * Every {@link #enter(Component, NamespaceContextSelector)} must be matched by an {@link #exit(int)} in a
+ * {@code finally} block.  The frames are reused by the thread, so balanced invocations allocate nothing once a
+ * thread has reached its deepest nesting.  An unbalanced exit is counted and the frames left behind by it are
+ * unwound, so a missing exit can not make the stack of a pooled thread grow forever.
+ *
+ * @author agent
+ */
+public final class ComponentInvocationContext {
+
+    private static final Logger log = Logger.getLogger(ComponentInvocationContext.class);
+
+    private static final int INITIAL_FRAMES = 8;
+
+    private static final ThreadLocal<ComponentInvocationContext> CURRENT = new ThreadLocal<ComponentInvocationContext>() {
+        @Override
+        protected ComponentInvocationContext initialValue() {
+            return new ComponentInvocationContext();
+        }
+    };
+
+    private static final AtomicInteger maxDepth = new AtomicInteger();
+    private static final AtomicLong unbalancedExitCount = new AtomicLong();
+
+    private static final class Frame {
+        Component component;
+        NamespaceContextSelector selector;
+        ClassLoader previousClassLoader;
+        ComponentInstance instance;
+
+        void clear() {
+            component = null;
+            selector = null;
+            previousClassLoader = null;
+            instance = null;
+        }
+    }
+
+    private Frame[] frames = new Frame[INITIAL_FRAMES];
+    private int depth;
+
+    private ComponentInvocationContext() {
+    }
+
+    /**
+     * Get the invocation context of the current thread.
+     *
+     * @return the invocation context
+     */
+    public static ComponentInvocationContext getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Enter an invocation of a component: push its naming context selector, if any, and make its class loader
+     * the thread context class loader.
+     *
+     * @param component the component
+     * @param selector the naming context selector of the component, may be null
+     * @return the depth to pass to {@link #exit(int)}
+     */
+    public int enter(final Component component, final NamespaceContextSelector selector) {
+        if (depth == frames.length) {
+            final Frame[] newFrames = new Frame[depth << 1];
+            System.arraycopy(frames, 0, newFrames, 0, depth);
+            frames = newFrames;
+        }
+        Frame frame = frames[depth];
+        if (frame == null) {
+            frames[depth] = frame = new Frame();
+        }
+        frame.component = component;
+        frame.selector = selector;
+        frame.previousClassLoader = getContextClassLoader();
+        setContextClassLoader(component.getComponentClass().getClassLoader());
+        if (selector != null) {
+            NamespaceContextSelector.pushCurrentSelector(selector);
+        }
+        final int newDepth = ++depth;
+        int max = maxDepth.get();
+        while (newDepth > max && !maxDepth.compareAndSet(max, newDepth)) {
+            max = maxDepth.get();
+        }
+        return newDepth;
+    }
+
+    /**
+     * Exit an invocation entered with {@link #enter(Component, NamespaceContextSelector)}, restoring the
+     * naming context selector and thread context class loader in effect before it.
+     *
+     * @param enteredDepth the depth returned by {@code enter}
+     */
+    public void exit(final int enteredDepth) {
+        if (enteredDepth != depth) {
+            unbalancedExitCount.incrementAndGet();
+            log.warnf("Unbalanced exit of component invocation at depth %d, current depth is %d", enteredDepth, depth);
+            if (enteredDepth > depth) {
+                // already unwound
+                return;
+            }
+        }
+        while (depth >= enteredDepth && depth > 0) {
+            final Frame frame = frames[--depth];
+            if (frame.selector != null) {
+                NamespaceContextSelector.popCurrentSelector();
+            }
+            setContextClassLoader(frame.previousClassLoader);
+            frame.clear();
+        }
+    }
+
+    /**
+     * @return the component of the current invocation, or null if there is none
+     */
+    public Component getComponent() {
+        return depth == 0 ? null : frames[depth - 1].component;
+    }
+
+    /**
+     * @return the component instance of the current invocation, or null if none is associated yet
+     */
+    public ComponentInstance getComponentInstance() {
+        return depth == 0 ? null : frames[depth - 1].instance;
+    }
+
+    /**
+     * Associate the component instance with the current invocation.
+     *
+     * @param instance the component instance
+     */
+    public void setComponentInstance(final ComponentInstance instance) {
+        if (depth > 0) {
+            frames[depth - 1].instance = instance;
+        }
+    }
+
+    /**
+     * @return the number of invocations in progress on this thread
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the deepest nesting of component invocations seen on any thread
+     */
+    public static int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * @return the number of unbalanced exits seen on any thread, each of which would have leaked frames
+     */
+    public static long getUnbalancedExitCount() {
+        return unbalancedExitCount.get();
+    }
+}
@@ -22,13 +22,12 @@
 
 package org.jboss.as.ee.component;
 
-import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 
 /**
- * Naming context selector interceptor used for an EE component.  This will setup the correct namespace selector for the
- * component.
+ * Naming context selector interceptor used for an EE component.  This will setup the correct namespace selector and
+ * thread context class loader for the component, through the {@link ComponentInvocationContext} of the thread.
  *
  * @author John Bailey
  */
@@ -43,11 +42,12 @@ public class ContextSelectorInterceptor implements Interceptor {
      * {@inheritDoc}
      */
     public Object processInvocation(final InterceptorContext invocationContext) throws Exception {
-        NamespaceContextSelector.pushCurrentSelector(component.getNamespaceContextSelector());
+        final ComponentInvocationContext context = ComponentInvocationContext.getCurrent();
+        final int depth = context.enter(component, component.getNamespaceContextSelector());
         try {
             return invocationContext.proceed();
         } finally {
-            NamespaceContextSelector.getCurrentSelector();
+            context.exit(depth);
         }
     }
 }
@@ -43,6 +43,7 @@ class DispatcherInterceptor implements Interceptor {
             throw new CannotProceedException("No instance is associated with this component class");
         }
         context.setTarget(instance.getInstance());
+        ComponentInvocationContext.getCurrent().setComponentInstance(instance);
         final Interceptor interceptor = instance.getInterceptor(context.getMethod());
         return interceptor.processInvocation(context);
     }
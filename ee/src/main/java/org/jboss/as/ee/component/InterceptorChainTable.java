@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.component;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The per-method interceptor chains of a component, compiled once per component.  Every view method of a
+ * component method shares the interceptor factory of that component method, so the distinct factories are
+ * numbered and every method is mapped to the slot of its factory.  A component instance then only creates one
+ * chain per slot, instead of one per view method, and looks its chains up by slot.  The chains of the factories
+ * holding no per-instance state, the {@link ImmediateInterceptorFactory} ones, are created once when the table is
+ * compiled, and shared by all the instances and clients.
+ *
+ * @author agent
+ */
+final class InterceptorChainTable {
+
+    private final InterceptorFactory[] factories;
+    /**
+     * A method of every slot, for the factories which need one.  The component method is preferred over
+     * view methods.
+     */
+    private final Method[] slotMethods;
+    /**
+     * The chain shared by all the instances of every slot, or null for the slots needing a chain per instance.
+     */
+    private final Interceptor[] sharedChains;
+    /**
+     * This is an identity map, like the interceptor factory map it is compiled from.
+     */
+    private final Map<Method, Integer> slots;
+
+    private InterceptorChainTable(final InterceptorFactory[] factories, final Method[] slotMethods, final Map<Method, Integer> slots) {
+        this.factories = factories;
+        this.slotMethods = slotMethods;
+        this.slots = slots;
+        sharedChains = new Interceptor[factories.length];
+        for (int i = 0; i < factories.length; i++) {
+            if (factories[i] instanceof ImmediateInterceptorFactory) {
+                sharedChains[i] = factories[i].create(new SimpleInterceptorFactoryContext());
+            }
+        }
+    }
+
+    /**
+     * Compile the table of an interceptor factory map.
+     *
+     * @param factoryMap the interceptor factory for every method, by method identity
+     * @param componentClass the component class
+     * @return the table
+     */
+    static InterceptorChainTable compile(final Map<Method, InterceptorFactory> factoryMap, final Class<?> componentClass) {
+        final Map<InterceptorFactory, Integer> factorySlots = new IdentityHashMap<InterceptorFactory, Integer>();
+        final List<InterceptorFactory> factories = new ArrayList<InterceptorFactory>();
+        final List<Method> slotMethods = new ArrayList<Method>();
+        final Map<Method, Integer> slots = new IdentityHashMap<Method, Integer>(factoryMap.size());
+        for (Map.Entry<Method, InterceptorFactory> entry : factoryMap.entrySet()) {
+            final Method method = entry.getKey();
+            final InterceptorFactory factory = entry.getValue();
+            assert factory != null : "Can't find interceptor factory for " + method;
+            Integer slot = factorySlots.get(factory);
+            if (slot == null) {
+                slot = Integer.valueOf(factories.size());
+                factorySlots.put(factory, slot);
+                factories.add(factory);
+                slotMethods.add(method);
+            } else if (slotMethods.get(slot.intValue()).getDeclaringClass().isInterface()
+                    && !method.getDeclaringClass().isInterface() && method.getDeclaringClass().isAssignableFrom(componentClass)) {
+                slotMethods.set(slot.intValue(), method);
+            }
+            slots.put(method, slot);
+        }
+        return new InterceptorChainTable(factories.toArray(new InterceptorFactory[factories.size()]), slotMethods.toArray(new Method[slotMethods.size()]), slots);
+    }
+
+    /**
+     * Create the interceptor chain of every slot for a component instance.
+     *
+     * @param context the per-instance interceptor factory context
+     * @param component the component
+     * @param instance the component instance
+     * @return the chains, by slot
+     */
+    Interceptor[] createChains(final InterceptorFactoryContext context, final Component component, final ComponentInstance instance) {
+        final Interceptor[] chains = new Interceptor[factories.length];
+        for (int i = 0; i < factories.length; i++) {
+            if (sharedChains[i] != null) {
+                chains[i] = sharedChains[i];
+            } else {
+                PerViewMethodInterceptorFactory.populate(context, component, instance, slotMethods[i]);
+                chains[i] = factories[i].create(context);
+            }
+        }
+        return chains;
+    }
+
+    /**
+     * Create the interceptor chains of some methods for a client, which has no component instance.  Methods
+     * sharing a slot share their chain.
+     *
+     * @param context the per-client interceptor factory context
+     * @param methods the methods
+     * @return the chains, by slot, with null for the slots of none of the methods
+     */
+    Interceptor[] createChains(final InterceptorFactoryContext context, final Method[] methods) {
+        final Interceptor[] chains = new Interceptor[factories.length];
+        for (Method method : methods) {
+            final int slot = getSlot(method);
+            if (slot >= 0 && chains[slot] == null) {
+                chains[slot] = sharedChains[slot] != null ? sharedChains[slot] : factories[slot].create(context);
+            }
+        }
+        return chains;
+    }
+
+    /**
+     * Returns the slot of a method.
+     *
+     * @param method the method, which must be identical to a method of the table
+     * @return the slot, or -1 if the method has no interceptor chain
+     */
+    int getSlot(final Method method) {
+        final Integer slot = slots.get(method);
+        return slot == null ? -1 : slot.intValue();
+    }
+
+    Set<Method> getMethods() {
+        return Collections.unmodifiableSet(slots.keySet());
+    }
+}
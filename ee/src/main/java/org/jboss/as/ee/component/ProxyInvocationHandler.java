@@ -41,6 +41,10 @@ public final class ProxyInvocationHandler implements InvocationHandler {
 
     private final Interceptor interceptor;
     private volatile Map<Class<?>, Object> initialPrivateData = Collections.emptyMap();
+    // flat snapshot of initialPrivateData as alternating keys and values, so an invocation does not iterate the map
+    private volatile Object[] initialPrivateDataEntries = NO_ENTRIES;
+
+    private static final Object[] NO_ENTRIES = new Object[0];
 
     /**
      * Construct a new instance.
@@ -65,11 +69,9 @@ public final class ProxyInvocationHandler implements InvocationHandler {
     public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
         final InterceptorContext context = new InterceptorContext();
         // snapshot
-        final Map<Class<?>, Object> privateData = initialPrivateData;
-        for (Map.Entry<Class<?>, Object> entry : privateData.entrySet()) {
-            final Class<?> key = entry.getKey();
-            Object value = entry.getValue();
-            putPrivate(context, key, value);
+        final Object[] entries = initialPrivateDataEntries;
+        for (int i = 0; i < entries.length; i += 2) {
+            putPrivate(context, (Class<?>) entries[i], entries[i + 1]);
         }
         // special location for original proxy
         context.putPrivateData(Object.class, proxy);
@@ -95,15 +97,26 @@ public final class ProxyInvocationHandler implements InvocationHandler {
             if (value == null) try {
                 return key.cast(newMap.remove(key));
             } finally {
-                initialPrivateData = newMap;
+                setInitialPrivateData(newMap);
             } else try {
                 return key.cast(newMap.put(key, value));
             } finally {
-                initialPrivateData = newMap;
+                setInitialPrivateData(newMap);
             }
         }
     }
 
+    private void setInitialPrivateData(final Map<Class<?>, Object> newMap) {
+        final Object[] entries = new Object[newMap.size() << 1];
+        int i = 0;
+        for (Map.Entry<Class<?>, Object> entry : newMap.entrySet()) {
+            entries[i++] = entry.getKey();
+            entries[i++] = entry.getValue();
+        }
+        initialPrivateData = newMap;
+        initialPrivateDataEntries = entries;
+    }
+
     /**
      * Get the initial value for the interceptor context private data with the given key.
      *
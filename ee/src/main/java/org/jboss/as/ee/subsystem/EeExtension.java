@@ -75,6 +75,8 @@ public class EeExtension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(EeSubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, EeSubsystemAdd.INSTANCE, EeSubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, EESubsystemDescribeHandler.INSTANCE, EESubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
+        registration.registerMetric(EeSubsystemMetrics.MAX_INVOCATION_DEPTH, EeSubsystemMetrics.INSTANCE);
+        registration.registerMetric(EeSubsystemMetrics.UNBALANCED_INVOCATION_EXIT_COUNT, EeSubsystemMetrics.INSTANCE);
         subsystem.registerXMLElementWriter(parser);
     }
 
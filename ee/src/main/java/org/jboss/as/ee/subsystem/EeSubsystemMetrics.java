@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.subsystem;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ee.component.ComponentInvocationContext;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Metrics of the ee subsystem.
+ *
+ * @author agent
+ */
+class EeSubsystemMetrics implements ModelQueryOperationHandler {
+
+    static final String MAX_INVOCATION_DEPTH = "max-invocation-depth";
+    static final String UNBALANCED_INVOCATION_EXIT_COUNT = "unbalanced-invocation-exit-count";
+
+    static final EeSubsystemMetrics INSTANCE = new EeSubsystemMetrics();
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode result = new ModelNode();
+        if (MAX_INVOCATION_DEPTH.equals(attributeName)) {
+            result.set(ComponentInvocationContext.getMaxDepth());
+        } else if (UNBALANCED_INVOCATION_EXIT_COUNT.equals(attributeName)) {
+            result.set(ComponentInvocationContext.getUnbalancedExitCount());
+        }
+        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+}
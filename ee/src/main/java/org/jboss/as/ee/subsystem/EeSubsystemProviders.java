@@ -23,17 +23,20 @@
 package org.jboss.as.ee.subsystem;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * @author Emanuel Muckenhuber
@@ -52,6 +55,10 @@ class EeSubsystemProviders {
             subsystem.get(HEAD_COMMENT_ALLOWED).set(true);
             subsystem.get(TAIL_COMMENT_ALLOWED).set(true);
             subsystem.get(NAMESPACE).set(EeExtension.NAMESPACE);
+            subsystem.get(ATTRIBUTES, EeSubsystemMetrics.MAX_INVOCATION_DEPTH, DESCRIPTION).set(bundle.getString("ee.max-invocation-depth"));
+            subsystem.get(ATTRIBUTES, EeSubsystemMetrics.MAX_INVOCATION_DEPTH, TYPE).set(ModelType.INT);
+            subsystem.get(ATTRIBUTES, EeSubsystemMetrics.UNBALANCED_INVOCATION_EXIT_COUNT, DESCRIPTION).set(bundle.getString("ee.unbalanced-invocation-exit-count"));
+            subsystem.get(ATTRIBUTES, EeSubsystemMetrics.UNBALANCED_INVOCATION_EXIT_COUNT, TYPE).set(ModelType.LONG);
 
             return subsystem;
         }
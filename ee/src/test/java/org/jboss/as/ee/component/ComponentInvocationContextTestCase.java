@@ -0,0 +1,226 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.component;
+
+import org.jboss.as.naming.context.NamespaceContextSelector;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.naming.Context;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent
+ */
+public class ComponentInvocationContextTestCase {
+
+    private static class TestSelector extends NamespaceContextSelector {
+        public Context getContext(final String identifier) {
+            return null;
+        }
+    }
+
+    private final NamespaceContextSelector baselineSelector = new TestSelector();
+    private final ClassLoader baselineLoader = new URLClassLoader(new URL[0]);
+
+    private ClassLoader originalLoader;
+
+    private static Component component(final ClassLoader loader, final NamespaceContextSelector selector) {
+        // a class defined by the given loader, so that entering the component switches to it
+        final Class<?> componentClass = Proxy.getProxyClass(loader, Runnable.class);
+        return (Component) Proxy.newProxyInstance(Component.class.getClassLoader(), new Class<?>[] { Component.class }, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getName().equals("getComponentClass")) {
+                    return componentClass;
+                }
+                if (method.getName().equals("getNamespaceContextSelector")) {
+                    return selector;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Before
+    public void setUp() {
+        originalLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(baselineLoader);
+        NamespaceContextSelector.pushCurrentSelector(baselineSelector);
+    }
+
+    @After
+    public void tearDown() {
+        NamespaceContextSelector.popCurrentSelector();
+        Thread.currentThread().setContextClassLoader(originalLoader);
+    }
+
+    private void assertBaseline(final ComponentInvocationContext context) {
+        assertEquals(0, context.getDepth());
+        assertNull(context.getComponent());
+        assertSame(baselineLoader, Thread.currentThread().getContextClassLoader());
+        assertSame(baselineSelector, NamespaceContextSelector.getCurrentSelector());
+    }
+
+    /**
+     * Every balanced exit restores exactly what its enter replaced, however often the same thread is reused.
+     */
+    @Test
+    public void testRepeatedAndNestedEnterExit() {
+        final ClassLoader loaderA = new URLClassLoader(new URL[0]);
+        final ClassLoader loaderB = new URLClassLoader(new URL[0]);
+        final NamespaceContextSelector selectorA = new TestSelector();
+        final NamespaceContextSelector selectorB = new TestSelector();
+        final Component a = component(loaderA, selectorA);
+        final Component b = component(loaderB, selectorB);
+        final Component c = component(loaderA, null);
+        final ComponentInvocationContext context = ComponentInvocationContext.getCurrent();
+        final long unbalanced = ComponentInvocationContext.getUnbalancedExitCount();
+
+        for (int i = 0; i < 20; i++) {
+            final int depthA = context.enter(a, selectorA);
+            assertEquals(1, depthA);
+            assertSame(a, context.getComponent());
+            assertSame(loaderA, Thread.currentThread().getContextClassLoader());
+            assertSame(selectorA, NamespaceContextSelector.getCurrentSelector());
+
+            final int depthB = context.enter(b, selectorB);
+            assertEquals(2, depthB);
+            assertSame(loaderB, Thread.currentThread().getContextClassLoader());
+            assertSame(selectorB, NamespaceContextSelector.getCurrentSelector());
+
+            // no selector of its own, the one of the caller stays current
+            final int depthC = context.enter(c, null);
+            assertEquals(3, depthC);
+            assertSame(loaderA, Thread.currentThread().getContextClassLoader());
+            assertSame(selectorB, NamespaceContextSelector.getCurrentSelector());
+
+            context.exit(depthC);
+            assertSame(b, context.getComponent());
+            assertSame(loaderB, Thread.currentThread().getContextClassLoader());
+            assertSame(selectorB, NamespaceContextSelector.getCurrentSelector());
+
+            context.exit(depthB);
+            assertSame(a, context.getComponent());
+            assertSame(loaderA, Thread.currentThread().getContextClassLoader());
+            assertSame(selectorA, NamespaceContextSelector.getCurrentSelector());
+
+            context.exit(depthA);
+            assertBaseline(context);
+        }
+        assertEquals(unbalanced, ComponentInvocationContext.getUnbalancedExitCount());
+    }
+
+    /**
+     * An exit that skips the exits of nested invocations is counted and unwinds their frames, and the exits that
+     * come late do nothing but get counted.
+     */
+    @Test
+    public void testUnbalancedExit() {
+        final Component a = component(new URLClassLoader(new URL[0]), new TestSelector());
+        final Component b = component(new URLClassLoader(new URL[0]), new TestSelector());
+        final Component c = component(new URLClassLoader(new URL[0]), new TestSelector());
+        final ComponentInvocationContext context = ComponentInvocationContext.getCurrent();
+        final long unbalanced = ComponentInvocationContext.getUnbalancedExitCount();
+
+        final int depthA = context.enter(a, a.getNamespaceContextSelector());
+        final int depthB = context.enter(b, b.getNamespaceContextSelector());
+        final int depthC = context.enter(c, c.getNamespaceContextSelector());
+        context.exit(depthA);
+        assertEquals(unbalanced + 1, ComponentInvocationContext.getUnbalancedExitCount());
+        assertBaseline(context);
+
+        context.exit(depthC);
+        context.exit(depthB);
+        assertEquals(unbalanced + 3, ComponentInvocationContext.getUnbalancedExitCount());
+        assertBaseline(context);
+
+        // the thread is still usable afterwards
+        assertEquals(1, context.enter(a, a.getNamespaceContextSelector()));
+        assertSame(a.getNamespaceContextSelector(), NamespaceContextSelector.getCurrentSelector());
+        context.exit(1);
+        assertBaseline(context);
+        assertEquals(unbalanced + 3, ComponentInvocationContext.getUnbalancedExitCount());
+    }
+
+    /**
+     * The interceptor restores the context on the way out of nested invocations, also when they fail.
+     */
+    @Test
+    public void testInterceptorRestoresContext() throws Exception {
+        final ClassLoader loaderA = new URLClassLoader(new URL[0]);
+        final ClassLoader loaderB = new URLClassLoader(new URL[0]);
+        final NamespaceContextSelector selectorA = new TestSelector();
+        final NamespaceContextSelector selectorB = new TestSelector();
+        final Component a = component(loaderA, selectorA);
+        final Component b = component(loaderB, selectorB);
+        final ComponentInvocationContext context = ComponentInvocationContext.getCurrent();
+        final long unbalanced = ComponentInvocationContext.getUnbalancedExitCount();
+
+        final Interceptor failing = new Interceptor() {
+            public Object processInvocation(final InterceptorContext invocation) throws Exception {
+                assertEquals(2, context.getDepth());
+                assertSame(loaderB, Thread.currentThread().getContextClassLoader());
+                assertSame(selectorB, NamespaceContextSelector.getCurrentSelector());
+                throw new IllegalStateException("inner");
+            }
+        };
+        final Interceptor callsB = new Interceptor() {
+            public Object processInvocation(final InterceptorContext invocation) throws Exception {
+                assertEquals(1, context.getDepth());
+                assertSame(loaderA, Thread.currentThread().getContextClassLoader());
+                assertSame(selectorA, NamespaceContextSelector.getCurrentSelector());
+                final InterceptorContext nested = new InterceptorContext();
+                nested.setInterceptors(Arrays.asList(new ContextSelectorInterceptor(b), failing));
+                try {
+                    nested.proceed();
+                    fail("the nested invocation should have failed");
+                } catch (IllegalStateException expected) {
+                }
+                assertEquals(1, context.getDepth());
+                assertSame(loaderA, Thread.currentThread().getContextClassLoader());
+                assertSame(selectorA, NamespaceContextSelector.getCurrentSelector());
+                return "done";
+            }
+        };
+
+        for (int i = 0; i < 5; i++) {
+            final InterceptorContext invocation = new InterceptorContext();
+            invocation.setInterceptors(Arrays.asList(new ContextSelectorInterceptor(a), callsB));
+            assertEquals("done", invocation.proceed());
+            assertBaseline(context);
+        }
+        assertEquals(unbalanced, ComponentInvocationContext.getUnbalancedExitCount());
+    }
+}
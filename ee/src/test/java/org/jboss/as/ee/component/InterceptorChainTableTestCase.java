@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.component;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author agent
+ */
+public class InterceptorChainTableTestCase {
+
+    public interface View {
+        String foo();
+
+        String bar();
+    }
+
+    public interface OtherView {
+        String foo();
+    }
+
+    public static class Bean implements View, OtherView {
+        public String foo() {
+            return "foo";
+        }
+
+        public String bar() {
+            return "bar";
+        }
+
+        public String baz() {
+            return "baz";
+        }
+    }
+
+    private static class RecordingInterceptor implements Interceptor {
+        final RecordingFactory factory;
+        final ComponentInstance instance;
+        final Method method;
+
+        RecordingInterceptor(final RecordingFactory factory, final ComponentInstance instance, final Method method) {
+            this.factory = factory;
+            this.instance = instance;
+            this.method = method;
+        }
+
+        @Override
+        public Object processInvocation(final InterceptorContext context) throws Exception {
+            return factory.name;
+        }
+    }
+
+    private static class RecordingFactory extends PerViewMethodInterceptorFactory {
+        final String name;
+        int created;
+
+        RecordingFactory(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected Interceptor create(final Component component, final ComponentInstance instance, final Method method, final InterceptorFactoryContext context) {
+            created++;
+            return new RecordingInterceptor(this, instance, method);
+        }
+    }
+
+    private static class ClientFactory implements InterceptorFactory {
+        int created;
+
+        @Override
+        public Interceptor create(final InterceptorFactoryContext context) {
+            created++;
+            return new RecordingInterceptor(null, null, null);
+        }
+    }
+
+    private static <T> T dummy(final Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return null;
+            }
+        }));
+    }
+
+    private final Component component = dummy(Component.class);
+
+    private Method viewFoo;
+    private Method viewBar;
+    private Method otherViewFoo;
+    private Method beanFoo;
+    private Method beanBar;
+    private Method beanBaz;
+
+    @Before
+    public void before() throws Exception {
+        viewFoo = View.class.getMethod("foo");
+        viewBar = View.class.getMethod("bar");
+        otherViewFoo = OtherView.class.getMethod("foo");
+        beanFoo = Bean.class.getMethod("foo");
+        beanBar = Bean.class.getMethod("bar");
+        beanBaz = Bean.class.getMethod("baz");
+    }
+
+    private static InterceptorChainTable compile(final Map<Method, InterceptorFactory> factoryMap) {
+        return InterceptorChainTable.compile(factoryMap, Bean.class);
+    }
+
+    @Test
+    public void testViewMethodsShareSlot() {
+        final RecordingFactory foo = new RecordingFactory("foo");
+        final RecordingFactory bar = new RecordingFactory("bar");
+        final Map<Method, InterceptorFactory> factoryMap = new IdentityHashMap<Method, InterceptorFactory>();
+        factoryMap.put(viewFoo, foo);
+        factoryMap.put(otherViewFoo, foo);
+        factoryMap.put(beanFoo, foo);
+        factoryMap.put(viewBar, bar);
+        factoryMap.put(beanBar, bar);
+        final InterceptorChainTable table = compile(factoryMap);
+
+        assertEquals(5, table.getMethods().size());
+        assertEquals(table.getSlot(beanFoo), table.getSlot(viewFoo));
+        assertEquals(table.getSlot(beanFoo), table.getSlot(otherViewFoo));
+        assertEquals(table.getSlot(beanBar), table.getSlot(viewBar));
+        assertFalse(table.getSlot(beanFoo) == table.getSlot(beanBar));
+        assertEquals(-1, table.getSlot(beanBaz));
+    }
+
+    @Test
+    public void testInstanceChains() {
+        final RecordingFactory foo = new RecordingFactory("foo");
+        final RecordingFactory bar = new RecordingFactory("bar");
+        final Map<Method, InterceptorFactory> factoryMap = new IdentityHashMap<Method, InterceptorFactory>();
+        // the view methods come first, yet the chains are created for the component methods
+        factoryMap.put(viewFoo, foo);
+        factoryMap.put(otherViewFoo, foo);
+        factoryMap.put(viewBar, bar);
+        factoryMap.put(beanFoo, foo);
+        factoryMap.put(beanBar, bar);
+        final InterceptorChainTable table = compile(factoryMap);
+
+        final ComponentInstance first = dummy(ComponentInstance.class);
+        final Interceptor[] firstChains = table.createChains(new SimpleInterceptorFactoryContext(), component, first);
+        // one chain per component method, not per view method
+        assertEquals(2, firstChains.length);
+        assertEquals(1, foo.created);
+        assertEquals(1, bar.created);
+
+        final RecordingInterceptor firstFoo = (RecordingInterceptor) firstChains[table.getSlot(viewFoo)];
+        assertSame(firstFoo, firstChains[table.getSlot(otherViewFoo)]);
+        assertSame(firstFoo, firstChains[table.getSlot(beanFoo)]);
+        assertSame(foo, firstFoo.factory);
+        assertSame(first, firstFoo.instance);
+        assertSame(beanFoo, firstFoo.method);
+        final RecordingInterceptor firstBar = (RecordingInterceptor) firstChains[table.getSlot(viewBar)];
+        assertSame(bar, firstBar.factory);
+        assertSame(beanBar, firstBar.method);
+
+        // every instance gets chains of its own
+        final ComponentInstance second = dummy(ComponentInstance.class);
+        final Interceptor[] secondChains = table.createChains(new SimpleInterceptorFactoryContext(), component, second);
+        assertEquals(2, foo.created);
+        assertEquals(2, bar.created);
+        final RecordingInterceptor secondFoo = (RecordingInterceptor) secondChains[table.getSlot(viewFoo)];
+        assertNotSame(firstFoo, secondFoo);
+        assertSame(second, secondFoo.instance);
+        assertSame(beanFoo, secondFoo.method);
+    }
+
+    @Test
+    public void testClientChains() {
+        final ClientFactory foo = new ClientFactory();
+        final ClientFactory bar = new ClientFactory();
+        final Map<Method, InterceptorFactory> factoryMap = new IdentityHashMap<Method, InterceptorFactory>();
+        factoryMap.put(viewFoo, foo);
+        factoryMap.put(otherViewFoo, foo);
+        factoryMap.put(viewBar, bar);
+        final InterceptorChainTable table = compile(factoryMap);
+
+        final Interceptor[] chains = table.createChains(new SimpleInterceptorFactoryContext(), new Method[] { viewFoo, otherViewFoo, beanBaz });
+        assertEquals(1, foo.created);
+        assertEquals(0, bar.created);
+        assertSame(chains[table.getSlot(viewFoo)], chains[table.getSlot(otherViewFoo)]);
+        assertNull(chains[table.getSlot(viewBar)]);
+    }
+
+    @Test
+    public void testStatelessChainsCreatedOnce() {
+        final RecordingFactory foo = new RecordingFactory("foo");
+        final Interceptor shared = new RecordingInterceptor(null, null, null);
+        final InterceptorFactory bar = new ImmediateInterceptorFactory(shared);
+        final Map<Method, InterceptorFactory> factoryMap = new IdentityHashMap<Method, InterceptorFactory>();
+        factoryMap.put(viewFoo, foo);
+        factoryMap.put(beanFoo, foo);
+        factoryMap.put(viewBar, bar);
+        factoryMap.put(beanBar, bar);
+        final InterceptorChainTable table = compile(factoryMap);
+
+        for (int i = 1; i <= 3; i++) {
+            final ComponentInstance instance = dummy(ComponentInstance.class);
+            final Interceptor[] chains = table.createChains(new SimpleInterceptorFactoryContext(), component, instance);
+            // only the factory with per-instance state runs for every instance, and only once
+            assertEquals(i, foo.created);
+            assertSame(instance, ((RecordingInterceptor) chains[table.getSlot(viewFoo)]).instance);
+            assertSame(shared, chains[table.getSlot(viewBar)]);
+            assertSame(shared, chains[table.getSlot(beanBar)]);
+        }
+
+        final Interceptor[] clientChains = table.createChains(new SimpleInterceptorFactoryContext(), new Method[] { viewBar });
+        assertSame(shared, clientChains[table.getSlot(viewBar)]);
+        assertEquals(3, foo.created);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+/**
+ * @author agent
+ */
+interface CommonAttributes {
+
+    String BEAN_CACHE_STATISTICS = "bean-cache-statistics";
+    String BEAN_POOL_STATISTICS = "bean-pool-statistics";
+    String DEFAULT_MDB_POOL = "default-mdb-pool";
+    String DEFAULT_SLSB_POOL = "default-slsb-pool";
+    String IDLE_TIMEOUT = "idle-timeout";
+    String INSTANCE_ACQUISITION_TIMEOUT = "instance-acquisition-timeout";
+    String INSTANCE_ACQUISITION_TIMEOUT_UNIT = "instance-acquisition-timeout-unit";
+    String MAX_POOL_SIZE = "max-pool-size";
+    String MAX_SIZE = "max-size";
+    String PASSIVATION_ENABLED = "passivation-enabled";
+    String POOL = "pool";
+    String POOLS = "pools";
+    String REMOVAL_TIMEOUT = "removal-timeout";
+    String STATEFUL_CACHE = "stateful-cache";
+    String STRATEGY = "strategy";
+    String STRICT_MAX_POOL = "strict-max-pool";
+    String STRIPED_POOL = "striped-pool";
+}
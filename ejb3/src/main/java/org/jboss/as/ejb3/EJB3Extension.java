@@ -34,18 +34,10 @@ import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
-import org.jboss.as.controller.parsing.ParseUtils;
-import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.dmr.ModelNode;
-import org.jboss.staxmapper.XMLElementReader;
-import org.jboss.staxmapper.XMLElementWriter;
-import org.jboss.staxmapper.XMLExtendedStreamReader;
-import org.jboss.staxmapper.XMLExtendedStreamWriter;
 
-import javax.xml.stream.XMLStreamException;
-import java.util.List;
 import java.util.Locale;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
@@ -58,7 +50,7 @@ public class EJB3Extension implements Extension {
     public static final String SUBSYSTEM_NAME = "ejb3";
     public static final String NAMESPACE = "urn:jboss:domain:ejb3:1.0";
 
-    private static final EJB3SubsystemParser parser = new EJB3SubsystemParser();
+    private static final EJB3SubsystemParser parser = EJB3SubsystemParser.getInstance();
 
     /** {@inheritDoc} */
     @Override
@@ -67,6 +59,8 @@ public class EJB3Extension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(EJB3SubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, Ejb3SubsystemAdd.INSTANCE, EJB3SubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, SubsystemDescribeHandler.INSTANCE, SubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
+        registration.registerMetric(CommonAttributes.BEAN_POOL_STATISTICS, EJB3SubsystemMetrics.INSTANCE);
+        registration.registerMetric(CommonAttributes.BEAN_CACHE_STATISTICS, EJB3SubsystemMetrics.INSTANCE);
         subsystem.registerXMLElementWriter(parser);
     }
 
@@ -76,33 +70,15 @@ public class EJB3Extension implements Extension {
         context.setSubsystemXmlMapping(NAMESPACE, parser);
     }
 
-    static class EJB3SubsystemParser implements XMLElementReader<List<ModelNode>>, XMLElementWriter<SubsystemMarshallingContext> {
-
-        /** {@inheritDoc} */
-        @Override
-        public void writeContent(final XMLExtendedStreamWriter writer, final SubsystemMarshallingContext context) throws XMLStreamException {
-            // //TODO seems to be a problem with empty elements cleaning up the queue in FormattingXMLStreamWriter.runAttrQueue
-            //context.startSubsystemElement(NewManagedBeansExtension.NAMESPACE, true);
-            context.startSubsystemElement(NAMESPACE, false);
-            writer.writeEndElement();
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> list) throws XMLStreamException {
-            ParseUtils.requireNoAttributes(reader);
-            ParseUtils.requireNoContent(reader);
-            final ModelNode update = new ModelNode();
-            update.get(OP).set(ADD);
-            update.get(OP_ADDR).add(SUBSYSTEM, SUBSYSTEM_NAME);
-            list.add(update);
-        }
-    }
-
-    private static ModelNode createAddSubSystemOperation() {
+    private static ModelNode createAddSubSystemOperation(final ModelNode model) {
         final ModelNode subsystem = new ModelNode();
         subsystem.get(OP).set(ADD);
         subsystem.get(OP_ADDR).add(ModelDescriptionConstants.SUBSYSTEM, SUBSYSTEM_NAME);
+        for (String attribute : new String[] {CommonAttributes.DEFAULT_SLSB_POOL, CommonAttributes.DEFAULT_MDB_POOL, CommonAttributes.POOL, CommonAttributes.STATEFUL_CACHE}) {
+            if (model.hasDefined(attribute)) {
+                subsystem.get(attribute).set(model.get(attribute));
+            }
+        }
         return subsystem;
     }
 
@@ -111,7 +87,7 @@ public class EJB3Extension implements Extension {
         @Override
         public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler) {
             ModelNode node = new ModelNode();
-            node.add(createAddSubSystemOperation());
+            node.add(createAddSubSystemOperation(context.getSubModel()));
 
             resultHandler.handleResultFragment(Util.NO_LOCATION, node);
             resultHandler.handleResultComplete();
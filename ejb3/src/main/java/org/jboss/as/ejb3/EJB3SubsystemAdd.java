@@ -32,6 +32,10 @@ import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.ejb3.component.EJBUtilities;
+import org.jboss.as.ejb3.component.cache.StatefulCacheService;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.as.ejb3.component.pool.StripedPoolConfig;
 import org.jboss.as.ejb3.deployment.processors.AccessTimeoutAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ApplicationExceptionAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.AsynchronousAnnotationProcessor;
@@ -49,6 +53,7 @@ import org.jboss.as.ejb3.deployment.processors.EjbResourceInjectionAnnotationPro
 import org.jboss.as.ejb3.deployment.processors.ImplicitLocalViewProcessor;
 import org.jboss.as.ejb3.deployment.processors.LockAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.MessageDrivenAnnotationProcessor;
+import org.jboss.as.ejb3.deployment.processors.PoolAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ResourceAdapterAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.StartupAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.TransactionAttributeAnnotationProcessor;
@@ -58,17 +63,38 @@ import org.jboss.as.ejb3.deployment.processors.dd.MessageDrivenBeanXmlDescriptor
 import org.jboss.as.ejb3.deployment.processors.dd.SessionBeanXmlDescriptorProcessor;
 import org.jboss.as.server.BootOperationContext;
 import org.jboss.as.server.BootOperationHandler;
+import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.deployment.Phase;
+import org.jboss.as.server.services.path.AbstractPathService;
+import org.jboss.as.server.services.path.RelativePathService;
 import org.jboss.as.txn.TxnServices;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.ValueService;
+import org.jboss.msc.value.ImmediateValue;
 
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_MDB_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_SLSB_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.IDLE_TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.INSTANCE_ACQUISITION_TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.INSTANCE_ACQUISITION_TIMEOUT_UNIT;
+import static org.jboss.as.ejb3.CommonAttributes.MAX_POOL_SIZE;
+import static org.jboss.as.ejb3.CommonAttributes.MAX_SIZE;
+import static org.jboss.as.ejb3.CommonAttributes.PASSIVATION_ENABLED;
+import static org.jboss.as.ejb3.CommonAttributes.POOL;
+import static org.jboss.as.ejb3.CommonAttributes.REMOVAL_TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.STATEFUL_CACHE;
+import static org.jboss.as.ejb3.CommonAttributes.STRATEGY;
 
 /**
  * @author Emanuel Muckenhuber
@@ -77,6 +103,28 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
 
     static final Ejb3SubsystemAdd INSTANCE = new Ejb3SubsystemAdd();
 
+    /**
+     * The built-in pool definitions, which are used unless redefined and preserve the historical 20 instances
+     * with a 5 minute acquisition timeout.
+     */
+    static final String DEFAULT_SLSB_POOL_NAME = "slsb-strict-max-pool";
+    static final String DEFAULT_MDB_POOL_NAME = "mdb-strict-max-pool";
+    static final int DEFAULT_MAX_POOL_SIZE = 20;
+    static final long DEFAULT_TIMEOUT = 5;
+    static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
+
+    /**
+     * The stateful session bean cache defaults: passivate after 10 minutes idle or beyond 10000 active instances
+     * of a bean, and never remove idle instances.
+     */
+    static final boolean DEFAULT_PASSIVATION_ENABLED = true;
+    static final int DEFAULT_CACHE_MAX_SIZE = 10000;
+    static final long DEFAULT_IDLE_TIMEOUT = 600;
+    static final long DEFAULT_REMOVAL_TIMEOUT = 0;
+
+    private static final String INTERNAL_PASSIVATION_PATH = "jboss.ejb3.passivation.path";
+    private static final String PASSIVATION_PATH = "ejb3-passivation";
+
     private Ejb3SubsystemAdd() {
         //
     }
@@ -85,10 +133,15 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
      * {@inheritDoc}
      */
     @Override
-    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
         final ModelNode compensatingOperation = Util.getResourceRemoveOperation(operation.require(OP_ADDR));
 
+        final Map<String, PoolConfig> poolConfigs = createPoolConfigs(operation);
+        final PoolConfig defaultSlsbPoolConfig = getPoolConfig(poolConfigs, operation, DEFAULT_SLSB_POOL, DEFAULT_SLSB_POOL_NAME);
+        final PoolConfig defaultMdbPoolConfig = getPoolConfig(poolConfigs, operation, DEFAULT_MDB_POOL, DEFAULT_MDB_POOL_NAME);
+        final StatefulCacheService statefulCacheService = createStatefulCacheService(operation);
+
         if (context instanceof BootOperationContext) {
             final BootOperationContext updateContext = (BootOperationContext) context;
 
@@ -103,6 +156,18 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
                             .addDependency(TxnServices.JBOSS_TXN_USER_TRANSACTION, UserTransaction.class, utilities.getUserTransactionInjector())
                             .setInitialMode(ServiceController.Mode.ACTIVE)
                             .install();
+                    for (PoolConfig poolConfig : poolConfigs.values()) {
+                        serviceTarget.addService(PoolConfig.SERVICE_NAME.append(poolConfig.getName()), new ValueService<PoolConfig>(new ImmediateValue<PoolConfig>(poolConfig)))
+                                .install();
+                    }
+                    serviceTarget.addService(PoolConfig.DEFAULT_SLSB_POOL_CONFIG_SERVICE_NAME, new ValueService<PoolConfig>(new ImmediateValue<PoolConfig>(defaultSlsbPoolConfig)))
+                            .install();
+                    serviceTarget.addService(PoolConfig.DEFAULT_MDB_POOL_CONFIG_SERVICE_NAME, new ValueService<PoolConfig>(new ImmediateValue<PoolConfig>(defaultMdbPoolConfig)))
+                            .install();
+                    RelativePathService.addService(INTERNAL_PASSIVATION_PATH, PASSIVATION_PATH, ServerEnvironment.SERVER_DATA_DIR, serviceTarget);
+                    serviceTarget.addService(StatefulCacheService.SERVICE_NAME, statefulCacheService)
+                            .addDependency(AbstractPathService.pathNameOf(INTERNAL_PASSIVATION_PATH), String.class, statefulCacheService.getPassivationPathInjector())
+                            .install();
                     resultHandler.handleResultComplete(); // TODO: Listener
                 }
             });
@@ -127,6 +192,7 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_TRANSACTION_ATTR_ANNOTATION, new TransactionAttributeAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_RESOURCE_ADAPTER_ANNOTATION, new ResourceAdapterAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_ASYNCHRONOUS_ANNOTATION, new AsynchronousAnnotationProcessor());
+            updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_POOL_ANNOTATION, new PoolAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_APPLICATION_EXCEPTION_ANNOTATION, new ApplicationExceptionAnnotationProcessor());
 
             updateContext.addDeploymentProcessor(Phase.DEPENDENCIES, Phase.DEPENDENCIES_EJB, new EjbDependencyDeploymentUnitProcessor());
@@ -143,9 +209,69 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
             // updateContext.addDeploymentProcessor(processor, priority);
         }
 
-        context.getSubModel().setEmptyObject();
+        final ModelNode subModel = context.getSubModel();
+        subModel.setEmptyObject();
+        for (String attribute : new String[] {DEFAULT_SLSB_POOL, DEFAULT_MDB_POOL, POOL, STATEFUL_CACHE}) {
+            if (operation.hasDefined(attribute)) {
+                subModel.get(attribute).set(operation.get(attribute));
+            }
+        }
         resultHandler.handleResultComplete();
         return new BasicOperationResult(compensatingOperation);
     }
 
+    /**
+     * Creates the pool definitions of the operation, on top of the built-in ones.
+     */
+    private static Map<String, PoolConfig> createPoolConfigs(final ModelNode operation) throws OperationFailedException {
+        final Map<String, PoolConfig> poolConfigs = new LinkedHashMap<String, PoolConfig>();
+        poolConfigs.put(DEFAULT_SLSB_POOL_NAME, new StrictMaxPoolConfig(DEFAULT_SLSB_POOL_NAME, DEFAULT_MAX_POOL_SIZE, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT));
+        poolConfigs.put(DEFAULT_MDB_POOL_NAME, new StrictMaxPoolConfig(DEFAULT_MDB_POOL_NAME, DEFAULT_MAX_POOL_SIZE, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT));
+        if (!operation.hasDefined(POOL)) {
+            return poolConfigs;
+        }
+        for (Property property : operation.get(POOL).asPropertyList()) {
+            final String name = property.getName();
+            final ModelNode pool = property.getValue();
+            try {
+                final int maxPoolSize = pool.hasDefined(MAX_POOL_SIZE) ? pool.get(MAX_POOL_SIZE).asInt() : DEFAULT_MAX_POOL_SIZE;
+                final long timeout = pool.hasDefined(INSTANCE_ACQUISITION_TIMEOUT) ? pool.get(INSTANCE_ACQUISITION_TIMEOUT).asLong() : DEFAULT_TIMEOUT;
+                final TimeUnit timeoutUnit = pool.hasDefined(INSTANCE_ACQUISITION_TIMEOUT_UNIT) ? TimeUnit.valueOf(pool.get(INSTANCE_ACQUISITION_TIMEOUT_UNIT).asString()) : DEFAULT_TIMEOUT_UNIT;
+                final String strategy = pool.hasDefined(STRATEGY) ? pool.get(STRATEGY).asString() : StrictMaxPoolConfig.STRATEGY;
+                if (StrictMaxPoolConfig.STRATEGY.equals(strategy)) {
+                    poolConfigs.put(name, new StrictMaxPoolConfig(name, maxPoolSize, timeout, timeoutUnit));
+                } else if (StripedPoolConfig.STRATEGY.equals(strategy)) {
+                    poolConfigs.put(name, new StripedPoolConfig(name, maxPoolSize, timeout, timeoutUnit));
+                } else {
+                    throw new OperationFailedException(new ModelNode().set("Unknown strategy " + strategy + " of pool " + name));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new OperationFailedException(new ModelNode().set("Invalid definition of pool " + name + ": " + e.getLocalizedMessage()));
+            }
+        }
+        return poolConfigs;
+    }
+
+    private static StatefulCacheService createStatefulCacheService(final ModelNode operation) throws OperationFailedException {
+        final ModelNode cache = operation.hasDefined(STATEFUL_CACHE) ? operation.get(STATEFUL_CACHE) : new ModelNode();
+        final boolean passivationEnabled = cache.hasDefined(PASSIVATION_ENABLED) ? cache.get(PASSIVATION_ENABLED).asBoolean() : DEFAULT_PASSIVATION_ENABLED;
+        final int maxSize = cache.hasDefined(MAX_SIZE) ? cache.get(MAX_SIZE).asInt() : DEFAULT_CACHE_MAX_SIZE;
+        final long idleTimeout = cache.hasDefined(IDLE_TIMEOUT) ? cache.get(IDLE_TIMEOUT).asLong() : DEFAULT_IDLE_TIMEOUT;
+        final long removalTimeout = cache.hasDefined(REMOVAL_TIMEOUT) ? cache.get(REMOVAL_TIMEOUT).asLong() : DEFAULT_REMOVAL_TIMEOUT;
+        try {
+            return new StatefulCacheService(passivationEnabled, maxSize, idleTimeout, removalTimeout);
+        } catch (IllegalArgumentException e) {
+            throw new OperationFailedException(new ModelNode().set("Invalid stateful cache definition: " + e.getLocalizedMessage()));
+        }
+    }
+
+    private static PoolConfig getPoolConfig(final Map<String, PoolConfig> poolConfigs, final ModelNode operation, final String attribute, final String defaultName) throws OperationFailedException {
+        final String name = operation.hasDefined(attribute) ? operation.get(attribute).asString() : defaultName;
+        final PoolConfig poolConfig = poolConfigs.get(name);
+        if (poolConfig == null) {
+            throw new OperationFailedException(new ModelNode().set("No pool named " + name + " is defined for " + attribute));
+        }
+        return poolConfig;
+    }
+
 }
@@ -21,20 +21,39 @@
  */
 package org.jboss.as.ejb3;
 
+import org.jboss.as.controller.parsing.ParseUtils;
 import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.as.ejb3.component.pool.StripedPoolConfig;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
 import org.jboss.staxmapper.XMLExtendedStreamWriter;
 
 import javax.xml.stream.XMLStreamException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_MDB_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_SLSB_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.IDLE_TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.INSTANCE_ACQUISITION_TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.INSTANCE_ACQUISITION_TIMEOUT_UNIT;
+import static org.jboss.as.ejb3.CommonAttributes.MAX_POOL_SIZE;
+import static org.jboss.as.ejb3.CommonAttributes.MAX_SIZE;
+import static org.jboss.as.ejb3.CommonAttributes.PASSIVATION_ENABLED;
+import static org.jboss.as.ejb3.CommonAttributes.POOL;
+import static org.jboss.as.ejb3.CommonAttributes.REMOVAL_TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.STATEFUL_CACHE;
+import static org.jboss.as.ejb3.CommonAttributes.STRATEGY;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
 
 /**
  * Create a subsystem add directive from the given XML input.
@@ -60,24 +79,137 @@ class EJB3SubsystemParser implements XMLElementReader<List<ModelNode>>, XMLEleme
         subsystem.get(OP_ADDR).add(SUBSYSTEM, EJB3Extension.SUBSYSTEM_NAME);
         list.add(subsystem);
 
-        /*
+        ParseUtils.requireNoAttributes(reader);
         while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
-            switch (Namespace.forUri(reader.getNamespaceURI())) {
-                case EJB3_1_0:
-                    final Element element = Element.forName(reader.getLocalName());
-                    switch (element) {
-                        case ASSEMBLY_DESCRIPTOR:
-                            subsystem.get(ASSEMBLY_DESCRIPTOR).set(parseAssemblyDescriptor(reader));
-                            break;
-                        default:
-                            throw ParseUtils.unexpectedElement(reader);
-                    }
+            final Element element = Element.forName(reader.getLocalName());
+            switch (element) {
+                case POOLS:
+                    parsePools(reader, subsystem);
+                    break;
+                case STATEFUL_CACHE:
+                    parseStatefulCache(reader, subsystem);
                     break;
                 default:
                     throw ParseUtils.unexpectedElement(reader);
             }
         }
-        */
+    }
+
+    private static void parsePools(final XMLExtendedStreamReader reader, final ModelNode subsystem) throws XMLStreamException {
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            ParseUtils.requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case DEFAULT_SLSB_POOL:
+                    subsystem.get(DEFAULT_SLSB_POOL).set(value);
+                    break;
+                case DEFAULT_MDB_POOL:
+                    subsystem.get(DEFAULT_MDB_POOL).set(value);
+                    break;
+                default:
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+            }
+        }
+        final ModelNode pools = subsystem.get(POOL);
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            switch (element) {
+                case STRICT_MAX_POOL:
+                    parsePool(reader, StrictMaxPoolConfig.STRATEGY, pools);
+                    break;
+                case STRIPED_POOL:
+                    parsePool(reader, StripedPoolConfig.STRATEGY, pools);
+                    break;
+                default:
+                    throw ParseUtils.unexpectedElement(reader);
+            }
+        }
+    }
+
+    private static void parsePool(final XMLExtendedStreamReader reader, final String strategy, final ModelNode pools) throws XMLStreamException {
+        String name = null;
+        final ModelNode pool = new ModelNode();
+        pool.get(STRATEGY).set(strategy);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            ParseUtils.requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case NAME:
+                    name = value;
+                    break;
+                case MAX_POOL_SIZE:
+                    pool.get(MAX_POOL_SIZE).set(ParseUtils.parseBoundedIntegerAttribute(reader, i, 1, Integer.MAX_VALUE));
+                    break;
+                case INSTANCE_ACQUISITION_TIMEOUT:
+                    try {
+                        pool.get(INSTANCE_ACQUISITION_TIMEOUT).set(Long.parseLong(value));
+                    } catch (NumberFormatException e) {
+                        throw ParseUtils.invalidAttributeValue(reader, i);
+                    }
+                    break;
+                case INSTANCE_ACQUISITION_TIMEOUT_UNIT:
+                    try {
+                        pool.get(INSTANCE_ACQUISITION_TIMEOUT_UNIT).set(TimeUnit.valueOf(value).name());
+                    } catch (IllegalArgumentException e) {
+                        throw ParseUtils.invalidAttributeValue(reader, i);
+                    }
+                    break;
+                default:
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+            }
+        }
+        if (name == null) {
+            throw ParseUtils.missingRequired(reader, Collections.singleton(Attribute.NAME));
+        }
+        ParseUtils.requireNoContent(reader);
+        if (pools.has(name)) {
+            throw ParseUtils.duplicateNamedElement(reader, name);
+        }
+        pools.get(name).set(pool);
+    }
+
+    private static void parseStatefulCache(final XMLExtendedStreamReader reader, final ModelNode subsystem) throws XMLStreamException {
+        final ModelNode cache = subsystem.get(STATEFUL_CACHE);
+        cache.setEmptyObject();
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            ParseUtils.requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case PASSIVATION_ENABLED:
+                    cache.get(PASSIVATION_ENABLED).set(Boolean.parseBoolean(value));
+                    break;
+                case MAX_SIZE:
+                    cache.get(MAX_SIZE).set(ParseUtils.parseBoundedIntegerAttribute(reader, i, 0, Integer.MAX_VALUE));
+                    break;
+                case IDLE_TIMEOUT:
+                    cache.get(IDLE_TIMEOUT).set(parseTimeout(reader, i));
+                    break;
+                case REMOVAL_TIMEOUT:
+                    cache.get(REMOVAL_TIMEOUT).set(parseTimeout(reader, i));
+                    break;
+                default:
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+            }
+        }
+        ParseUtils.requireNoContent(reader);
+    }
+
+    private static long parseTimeout(final XMLExtendedStreamReader reader, final int index) throws XMLStreamException {
+        try {
+            final long timeout = Long.parseLong(reader.getAttributeValue(index));
+            if (timeout < 0) {
+                throw ParseUtils.invalidAttributeValue(reader, index);
+            }
+            return timeout;
+        } catch (NumberFormatException e) {
+            throw ParseUtils.invalidAttributeValue(reader, index);
+        }
     }
 
     /*
@@ -103,6 +235,43 @@ class EJB3SubsystemParser implements XMLElementReader<List<ModelNode>>, XMLEleme
         // //TODO seems to be a problem with empty elements cleaning up the queue in FormattingXMLStreamWriter.runAttrQueue
         //context.startSubsystemElement(NewManagedBeansExtension.NAMESPACE, true);
         context.startSubsystemElement(NAMESPACE, false);
+        final ModelNode node = context.getModelNode();
+        if (node.hasDefined(POOL) || node.hasDefined(DEFAULT_SLSB_POOL) || node.hasDefined(DEFAULT_MDB_POOL)) {
+            writer.writeStartElement(Element.POOLS.getLocalName());
+            if (node.hasDefined(DEFAULT_SLSB_POOL)) {
+                writer.writeAttribute(Attribute.DEFAULT_SLSB_POOL.getLocalName(), node.get(DEFAULT_SLSB_POOL).asString());
+            }
+            if (node.hasDefined(DEFAULT_MDB_POOL)) {
+                writer.writeAttribute(Attribute.DEFAULT_MDB_POOL.getLocalName(), node.get(DEFAULT_MDB_POOL).asString());
+            }
+            if (node.hasDefined(POOL)) {
+                for (Property property : node.get(POOL).asPropertyList()) {
+                    final ModelNode pool = property.getValue();
+                    final Element element = StripedPoolConfig.STRATEGY.equals(pool.get(STRATEGY).asString()) ? Element.STRIPED_POOL : Element.STRICT_MAX_POOL;
+                    writer.writeEmptyElement(element.getLocalName());
+                    writer.writeAttribute(Attribute.NAME.getLocalName(), property.getName());
+                    if (pool.hasDefined(MAX_POOL_SIZE)) {
+                        writer.writeAttribute(Attribute.MAX_POOL_SIZE.getLocalName(), pool.get(MAX_POOL_SIZE).asString());
+                    }
+                    if (pool.hasDefined(INSTANCE_ACQUISITION_TIMEOUT)) {
+                        writer.writeAttribute(Attribute.INSTANCE_ACQUISITION_TIMEOUT.getLocalName(), pool.get(INSTANCE_ACQUISITION_TIMEOUT).asString());
+                    }
+                    if (pool.hasDefined(INSTANCE_ACQUISITION_TIMEOUT_UNIT)) {
+                        writer.writeAttribute(Attribute.INSTANCE_ACQUISITION_TIMEOUT_UNIT.getLocalName(), pool.get(INSTANCE_ACQUISITION_TIMEOUT_UNIT).asString());
+                    }
+                }
+            }
+            writer.writeEndElement();
+        }
+        if (node.hasDefined(STATEFUL_CACHE)) {
+            final ModelNode cache = node.get(STATEFUL_CACHE);
+            writer.writeEmptyElement(Element.STATEFUL_CACHE.getLocalName());
+            for (Attribute attribute : new Attribute[] {Attribute.PASSIVATION_ENABLED, Attribute.MAX_SIZE, Attribute.IDLE_TIMEOUT, Attribute.REMOVAL_TIMEOUT}) {
+                if (cache.hasDefined(attribute.getLocalName())) {
+                    writer.writeAttribute(attribute.getLocalName(), cache.get(attribute.getLocalName()).asString());
+                }
+            }
+        }
         writer.writeEndElement();
     }
 }
@@ -23,17 +23,29 @@
 package org.jboss.as.ejb3;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+import static org.jboss.as.ejb3.CommonAttributes.BEAN_CACHE_STATISTICS;
+import static org.jboss.as.ejb3.CommonAttributes.BEAN_POOL_STATISTICS;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_MDB_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_SLSB_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.POOL;
+import static org.jboss.as.ejb3.CommonAttributes.STATEFUL_CACHE;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * @author Emanuel Muckenhuber
@@ -51,6 +63,11 @@ class EJB3SubsystemProviders {
             subsystem.get(HEAD_COMMENT_ALLOWED).set(true);
             subsystem.get(TAIL_COMMENT_ALLOWED).set(true);
             subsystem.get(NAMESPACE).set(EJB3Extension.NAMESPACE);
+            addPoolAttributes(subsystem.get(ATTRIBUTES), bundle);
+            subsystem.get(ATTRIBUTES, BEAN_POOL_STATISTICS, DESCRIPTION).set(bundle.getString("ejb3.bean-pool-statistics"));
+            subsystem.get(ATTRIBUTES, BEAN_POOL_STATISTICS, TYPE).set(ModelType.OBJECT);
+            subsystem.get(ATTRIBUTES, BEAN_CACHE_STATISTICS, DESCRIPTION).set(bundle.getString("ejb3.bean-cache-statistics"));
+            subsystem.get(ATTRIBUTES, BEAN_CACHE_STATISTICS, TYPE).set(ModelType.OBJECT);
 
             return subsystem;
         }
@@ -64,11 +81,28 @@ class EJB3SubsystemProviders {
             final ModelNode op = new ModelNode();
             op.get(OPERATION_NAME).set(ADD);
             op.get(DESCRIPTION).set(bundle.getString("ejb3.add"));
+            addPoolAttributes(op.get(REQUEST_PROPERTIES), bundle);
 
             return op;
         }
     };
 
+    private static void addPoolAttributes(final ModelNode attributes, final ResourceBundle bundle) {
+        attributes.get(DEFAULT_SLSB_POOL, DESCRIPTION).set(bundle.getString("ejb3.default-slsb-pool"));
+        attributes.get(DEFAULT_SLSB_POOL, TYPE).set(ModelType.STRING);
+        attributes.get(DEFAULT_SLSB_POOL, REQUIRED).set(false);
+        attributes.get(DEFAULT_MDB_POOL, DESCRIPTION).set(bundle.getString("ejb3.default-mdb-pool"));
+        attributes.get(DEFAULT_MDB_POOL, TYPE).set(ModelType.STRING);
+        attributes.get(DEFAULT_MDB_POOL, REQUIRED).set(false);
+        attributes.get(POOL, DESCRIPTION).set(bundle.getString("ejb3.pool"));
+        attributes.get(POOL, TYPE).set(ModelType.OBJECT);
+        attributes.get(POOL, VALUE_TYPE).set(ModelType.OBJECT);
+        attributes.get(POOL, REQUIRED).set(false);
+        attributes.get(STATEFUL_CACHE, DESCRIPTION).set(bundle.getString("ejb3.stateful-cache"));
+        attributes.get(STATEFUL_CACHE, TYPE).set(ModelType.OBJECT);
+        attributes.get(STATEFUL_CACHE, REQUIRED).set(false);
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
@@ -25,9 +25,11 @@ import org.jboss.as.ee.component.AbstractComponent;
 import org.jboss.ejb3.tx2.spi.TransactionalComponent;
 import org.jboss.logging.Logger;
 
+import javax.ejb.AccessTimeout;
 import javax.ejb.ApplicationException;
 import javax.ejb.EJBHome;
 import javax.ejb.EJBLocalHome;
+import javax.ejb.LockType;
 import javax.ejb.TimerService;
 import javax.ejb.TransactionAttributeType;
 import javax.ejb.TransactionManagementType;
@@ -36,6 +38,8 @@ import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
@@ -52,6 +56,13 @@ public abstract class EJBComponent extends AbstractComponent implements org.jbos
     private static volatile boolean youHaveBeenWarnedEJBTHREE2120 = false;
     private Map<Class<?>, ApplicationException> applicationExceptions;
 
+    /**
+     * The invocation metadata of every bean and view method, keyed by method. The map is built on start and never
+     * modified afterwards; {@link Method#equals(Object)} and {@link Method#hashCode()} don't allocate, so a lookup
+     * is free of garbage whichever copy of the method the caller holds.
+     */
+    private volatile Map<Method, EJBMethodMetadata> methodMetadata = Collections.emptyMap();
+
     /**
      * Construct a new instance.
      *
@@ -128,6 +139,12 @@ public abstract class EJBComponent extends AbstractComponent implements org.jbos
     }
 
     public TransactionAttributeType getTransactionAttributeType(MethodIntf methodIntf, Method method) {
+        final EJBMethodMetadata metadata = methodMetadata.get(method);
+        if (metadata != null) {
+            final TransactionAttributeType txAttr = metadata.getTransactionAttributeType(methodIntf);
+            if (txAttr != null)
+                return txAttr;
+        }
         ConcurrentMap<String, ConcurrentMap<ArrayKey, TransactionAttributeType>> perMethodIntf = txAttrs.get(methodIntf);
         if (perMethodIntf == null)
             throw new IllegalStateException("Can't find tx attrs for " + methodIntf);
@@ -140,6 +157,101 @@ public abstract class EJBComponent extends AbstractComponent implements org.jbos
         return txAttr;
     }
 
+    /**
+     * Returns the invocation metadata of a method. Methods of the bean class and its views are answered from the
+     * table built on start; any other method is resolved against the configuration on the spot.
+     *
+     * @param method the invoked method
+     * @return the metadata of the method
+     */
+    public EJBMethodMetadata getMethodMetadata(final Method method) {
+        final EJBMethodMetadata metadata = methodMetadata.get(method);
+        if (metadata != null) {
+            return metadata;
+        }
+        return createMethodMetadata(method);
+    }
+
+    private EJBMethodMetadata createMethodMetadata(final Method method) {
+        final MethodIntf[] methodIntfs = MethodIntf.values();
+        final TransactionAttributeType[] methodTxAttrs = new TransactionAttributeType[methodIntfs.length];
+        for (MethodIntf methodIntf : methodIntfs) {
+            methodTxAttrs[methodIntf.ordinal()] = resolveTransactionAttributeType(methodIntf, method);
+        }
+        return new EJBMethodMetadata(methodTxAttrs, resolveAsynchronous(method), resolveLockType(method), resolveAccessTimeout(method));
+    }
+
+    private TransactionAttributeType resolveTransactionAttributeType(final MethodIntf methodIntf, final Method method) {
+        final ConcurrentMap<String, ConcurrentMap<ArrayKey, TransactionAttributeType>> perMethodIntf = txAttrs.get(methodIntf);
+        if (perMethodIntf == null)
+            return null;
+        final ConcurrentMap<ArrayKey, TransactionAttributeType> perMethod = perMethodIntf.get(method.getName());
+        if (perMethod == null)
+            return null;
+        return perMethod.get(new ArrayKey((Object[]) method.getParameterTypes()));
+    }
+
+    /**
+     * Determines from the configuration whether a method is to be invoked asynchronously. Only consulted while
+     * building the method metadata.
+     *
+     * @param method the method
+     * @return true if invocations on the method are asynchronous
+     */
+    protected boolean resolveAsynchronous(final Method method) {
+        return false;
+    }
+
+    /**
+     * Determines from the configuration the lock type of a method. Only consulted while building the method metadata.
+     *
+     * @param method the method
+     * @return the lock type, or {@code null} if the component does not use container managed concurrency
+     */
+    protected LockType resolveLockType(final Method method) {
+        return null;
+    }
+
+    /**
+     * Determines from the configuration the access timeout of a method. Only consulted while building the method
+     * metadata.
+     *
+     * @param method the method
+     * @return the access timeout, or {@code null} if none applies
+     */
+    protected AccessTimeout resolveAccessTimeout(final Method method) {
+        return null;
+    }
+
+    private Map<Method, EJBMethodMetadata> buildMethodMetadata() {
+        final Map<Method, EJBMethodMetadata> table = new HashMap<Method, EJBMethodMetadata>();
+        for (Class<?> c = getComponentClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                table.put(method, createMethodMetadata(method));
+            }
+        }
+        for (Class<?> view : getViewServices().keySet()) {
+            for (Method method : view.getMethods()) {
+                if (!table.containsKey(method)) {
+                    table.put(method, createMethodMetadata(method));
+                }
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public void start() {
+        methodMetadata = buildMethodMetadata();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        methodMetadata = Collections.emptyMap();
+    }
+
     @Override
     public TransactionManager getTransactionManager() {
         return utilities.getTransactionManager();
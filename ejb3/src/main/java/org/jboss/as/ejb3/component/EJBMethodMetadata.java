@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component;
+
+import javax.ejb.AccessTimeout;
+import javax.ejb.LockType;
+import javax.ejb.TransactionAttributeType;
+
+/**
+ * The invocation metadata of a single bean or view method, resolved once when the component starts
+ * so the invocation path does not have to consult the deployment configuration on every call.
+ * <p/>
+ * Instances are immutable.
+ *
+ * @author agent
+ */
+public final class EJBMethodMetadata {
+
+    private static final MethodIntf[] METHOD_INTFS = MethodIntf.values();
+
+    private final TransactionAttributeType[] txAttrs;
+    private final boolean asynchronous;
+    private final LockType lockType;
+    private final AccessTimeout accessTimeout;
+
+    EJBMethodMetadata(final TransactionAttributeType[] txAttrs, final boolean asynchronous, final LockType lockType, final AccessTimeout accessTimeout) {
+        if (txAttrs.length != METHOD_INTFS.length) {
+            throw new IllegalArgumentException("Expected a transaction attribute slot for each of " + METHOD_INTFS.length + " method interfaces");
+        }
+        this.txAttrs = txAttrs;
+        this.asynchronous = asynchronous;
+        this.lockType = lockType;
+        this.accessTimeout = accessTimeout;
+    }
+
+    /**
+     * Returns the transaction attribute applicable to the method when invoked through the given view type.
+     *
+     * @param methodIntf the view type
+     * @return the transaction attribute, or {@code null} if none has been configured
+     */
+    public TransactionAttributeType getTransactionAttributeType(final MethodIntf methodIntf) {
+        return txAttrs[methodIntf.ordinal()];
+    }
+
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
+
+    /**
+     * @return the lock type of the method, or {@code null} if the component is not lockable
+     */
+    public LockType getLockType() {
+        return lockType;
+    }
+
+    /**
+     * @return the access timeout of the method, or {@code null} if none applies
+     */
+    public AccessTimeout getAccessTimeout() {
+        return accessTimeout;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import org.jboss.dmr.ModelNode;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The caches of the started stateful session beans, by bean, for reporting their statistics through the
+ * management model.
+ *
+ * @author agent
+ */
+public final class CacheStatistics {
+
+    public static final String CACHE_SIZE = "cache-size";
+    public static final String ACTIVE_COUNT = "active-count";
+    public static final String PASSIVATION_COUNT = "passivation-count";
+    public static final String ACTIVATION_COUNT = "activation-count";
+    public static final String TIMEOUT_REMOVAL_COUNT = "timeout-removal-count";
+
+    private static final ConcurrentMap<String, PassivatingCache<?>> caches = new ConcurrentHashMap<String, PassivatingCache<?>>();
+
+    private CacheStatistics() {
+    }
+
+    public static void register(final String name, final PassivatingCache<?> cache) {
+        caches.put(name, cache);
+    }
+
+    public static void unregister(final String name, final PassivatingCache<?> cache) {
+        caches.remove(name, cache);
+    }
+
+    /**
+     * Returns the statistics of every registered cache, keyed by statistics name.
+     *
+     * @return the statistics
+     */
+    public static ModelNode getStatistics() {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<String, PassivatingCache<?>> entry : caches.entrySet()) {
+            final PassivatingCache<?> cache = entry.getValue();
+            final ModelNode node = result.get(entry.getKey());
+            node.get(CACHE_SIZE).set(cache.getCacheSize());
+            node.get(ACTIVE_COUNT).set(cache.getActiveCount());
+            node.get(PASSIVATION_COUNT).set(cache.getPassivationCount());
+            node.get(ACTIVATION_COUNT).set(cache.getActivationCount());
+            node.get(TIMEOUT_REMOVAL_COUNT).set(cache.getTimeoutRemovalCount());
+        }
+        return result;
+    }
+}
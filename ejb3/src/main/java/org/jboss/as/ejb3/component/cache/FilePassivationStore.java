@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import org.jboss.logging.Logger;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.SimpleClassResolver;
+import org.jboss.marshalling.Unmarshaller;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A {@link PassivationStore} writing every passivated state to its own file in a directory, using JBoss
+ * Marshalling.
+ *
+ * @author agent
+ */
+public class FilePassivationStore implements PassivationStore {
+
+    private static final Logger log = Logger.getLogger(FilePassivationStore.class);
+
+    private static final String SUFFIX = ".ser";
+
+    private final File directory;
+    private final MarshallerFactory marshallerFactory;
+    private final MarshallingConfiguration configuration;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param directory the directory holding the files, which is created on demand
+     * @param classLoader the class loader resolving the classes of the stored state
+     */
+    public FilePassivationStore(final File directory, final ClassLoader classLoader) {
+        this.directory = directory;
+        this.marshallerFactory = Marshalling.getMarshallerFactory("river", FilePassivationStore.class.getClassLoader());
+        if (marshallerFactory == null) {
+            throw new IllegalStateException("JBoss Marshalling river implementation is not available");
+        }
+        this.configuration = new MarshallingConfiguration();
+        this.configuration.setClassResolver(new SimpleClassResolver(classLoader));
+    }
+
+    @Override
+    public void store(final long key, final Object state) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Cannot create passivation directory " + directory);
+        }
+        final File file = getFile(key);
+        final OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        boolean written = false;
+        try {
+            final Marshaller marshaller = marshallerFactory.createMarshaller(configuration);
+            marshaller.start(Marshalling.createByteOutput(out));
+            marshaller.writeObject(state);
+            marshaller.finish();
+            written = true;
+        } finally {
+            safeClose(out);
+            if (!written) {
+                file.delete();
+            }
+        }
+    }
+
+    @Override
+    public Object load(final long key) throws IOException, ClassNotFoundException {
+        final File file = getFile(key);
+        final InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            final Unmarshaller unmarshaller = marshallerFactory.createUnmarshaller(configuration);
+            unmarshaller.start(Marshalling.createByteInput(in));
+            final Object state = unmarshaller.readObject();
+            unmarshaller.finish();
+            return state;
+        } finally {
+            safeClose(in);
+            file.delete();
+        }
+    }
+
+    @Override
+    public void remove(final long key) {
+        getFile(key).delete();
+    }
+
+    @Override
+    public void clear() {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.getName().endsWith(SUFFIX) && !file.delete()) {
+                log.debugf("Could not delete passivated state %s", file);
+            }
+        }
+        // the directory is created again on demand, and is not left behind once the cache is stopped
+        directory.delete();
+    }
+
+    private File getFile(final long key) {
+        return new File(directory, Long.toHexString(key) + SUFFIX);
+    }
+
+    private static void safeClose(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debugf(e, "Failed to close %s", closeable);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import org.jboss.ejb3.cache.Cache;
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.StatefulObjectFactory;
+import org.jboss.logging.Logger;
+
+import javax.ejb.NoSuchEJBException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A stateful instance cache which bounds the number of instances held in memory.  Instances idle for longer than
+ * the idle timeout, and the least recently used idle instances once there are more than the maximum size, are
+ * passivated to a {@link PassivationStore}; they are activated again on their next use.  Instances idle for
+ * longer than the removal timeout are removed altogether.
+ * <p/>
+ * Eviction runs on the given scheduled executor, never on an invoking thread.  Instances which are in use or
+ * associated with a transaction, or for which the {@link Passivator} returns no state, are never passivated.
+ *
+ * @param <T> the type of the cached instances
+ * @author agent
+ */
+public class PassivatingCache<T extends Identifiable> implements Cache<T> {
+
+    private static final Logger log = Logger.getLogger(PassivatingCache.class);
+
+    private enum State {
+        ACTIVE,
+        PASSIVATING,
+        PASSIVATED,
+        REMOVED,
+    }
+
+    private static final class Entry<T> {
+        final Serializable id;
+        final long storeKey;
+        // guarded by this
+        T instance;
+        State state = State.ACTIVE;
+        int useCount;
+        boolean passivationCapable = true;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Entry(final Serializable id, final long storeKey, final T instance) {
+            this.id = id;
+            this.storeKey = storeKey;
+            this.instance = instance;
+        }
+    }
+
+    private final String name;
+    private final Passivator<T> passivator;
+    private final PassivationStore store;
+    private final ScheduledExecutorService executor;
+    private final int maxSize;
+    private final long idleTimeout;
+    private final long removalTimeout;
+
+    private final ConcurrentMap<Serializable, Entry<T>> entries = new ConcurrentHashMap<Serializable, Entry<T>>();
+    private final AtomicLong storeKeys = new AtomicLong();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicBoolean evictionPending = new AtomicBoolean();
+    private final Object evictionLock = new Object();
+    private final AtomicLong passivationCount = new AtomicLong();
+    private final AtomicLong activationCount = new AtomicLong();
+    private final AtomicLong timeoutRemovalCount = new AtomicLong();
+    private final Runnable evictionTask = new Runnable() {
+        @Override
+        public void run() {
+            evictionPending.set(false);
+            try {
+                evict();
+            } catch (Throwable t) {
+                log.errorf(t, "Eviction of stateful cache %s failed", name);
+            }
+        }
+    };
+
+    private volatile StatefulObjectFactory<T> factory;
+    private ScheduledFuture<?> evictionFuture;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the name of the cache, used for logging
+     * @param passivator the passivator of the instances
+     * @param store the store for passivated instances
+     * @param executor the executor running the eviction
+     * @param maxSize the maximum number of active instances, or 0 for no limit
+     * @param idleTimeout the idle time in milliseconds after which an instance is passivated, or 0 for never
+     * @param removalTimeout the idle time in milliseconds after which an instance is removed, or 0 for never
+     */
+    public PassivatingCache(final String name, final Passivator<T> passivator, final PassivationStore store, final ScheduledExecutorService executor,
+                            final int maxSize, final long idleTimeout, final long removalTimeout) {
+        this.name = name;
+        this.passivator = passivator;
+        this.store = store;
+        this.executor = executor;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.removalTimeout = removalTimeout;
+    }
+
+    @Override
+    public T create() {
+        final T instance = factory.createInstance();
+        final Serializable id = instance.getId();
+        entries.put(id, new Entry<T>(id, storeKeys.incrementAndGet(), instance));
+        if (activeCount.incrementAndGet() > maxSize && maxSize > 0) {
+            scheduleEviction();
+        }
+        return instance;
+    }
+
+    @Override
+    public void discard(final Serializable key) {
+        final Entry<T> entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        final State previous;
+        synchronized (entry) {
+            previous = entry.state;
+            entry.state = State.REMOVED;
+            entry.instance = null;
+            entry.notifyAll();
+        }
+        if (previous == State.PASSIVATED) {
+            store.remove(entry.storeKey);
+        } else if (previous != State.REMOVED) {
+            activeCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    public T get(final Serializable key) throws NoSuchEJBException {
+        final Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            throw new NoSuchEJBException("Could not find stateful bean: " + key);
+        }
+        synchronized (entry) {
+            awaitPassivation(entry);
+            if (entry.state == State.REMOVED) {
+                throw new NoSuchEJBException("Could not find stateful bean: " + key);
+            }
+            if (entry.state == State.PASSIVATED) {
+                activate(entry);
+            }
+            entry.useCount++;
+            entry.lastUsed = System.currentTimeMillis();
+            return entry.instance;
+        }
+    }
+
+    @Override
+    public void release(final T instance) {
+        final Entry<T> entry = entries.get(instance.getId());
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.useCount > 0) {
+                entry.useCount--;
+            }
+            entry.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void remove(final Serializable key) {
+        final Entry<T> entry = entries.remove(key);
+        if (entry == null) {
+            throw new NoSuchEJBException("Could not find stateful bean: " + key);
+        }
+        final T instance;
+        synchronized (entry) {
+            awaitPassivation(entry);
+            if (entry.state == State.REMOVED) {
+                throw new NoSuchEJBException("Could not find stateful bean: " + key);
+            }
+            if (entry.state == State.PASSIVATED) {
+                // the instance has to be active again for its pre-destroy lifecycle
+                activate(entry);
+            }
+            instance = entry.instance;
+            entry.state = State.REMOVED;
+            entry.instance = null;
+            entry.notifyAll();
+        }
+        activeCount.decrementAndGet();
+        factory.destroyInstance(instance);
+    }
+
+    @Override
+    public void setStatefulObjectFactory(final StatefulObjectFactory<T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public synchronized void start() {
+        store.clear();
+        final long interval = getEvictionInterval();
+        if (interval > 0) {
+            evictionFuture = executor.scheduleWithFixedDelay(evictionTask, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (evictionFuture != null) {
+            evictionFuture.cancel(false);
+            evictionFuture = null;
+        }
+        entries.clear();
+        activeCount.set(0);
+        store.clear();
+    }
+
+    /**
+     * @return the number of instances in the cache, both active and passivated
+     */
+    public int getCacheSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of instances held in memory
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public long getPassivationCount() {
+        return passivationCount.get();
+    }
+
+    public long getActivationCount() {
+        return activationCount.get();
+    }
+
+    public long getTimeoutRemovalCount() {
+        return timeoutRemovalCount.get();
+    }
+
+    /**
+     * Run an eviction pass: remove the instances idle past the removal timeout, passivate the ones idle past the
+     * idle timeout, then passivate the least recently used idle instances until the maximum size is respected.
+     */
+    void evict() {
+        // passes are serialized, concurrent ones would each passivate down to the maximum size
+        synchronized (evictionLock) {
+            evictLocked();
+        }
+    }
+
+    private void evictLocked() {
+        final long now = System.currentTimeMillis();
+        final List<Candidate<T>> candidates = new ArrayList<Candidate<T>>();
+        for (Entry<T> entry : entries.values()) {
+            final long lastUsed = entry.lastUsed;
+            final long idleTime = now - lastUsed;
+            if (removalTimeout > 0 && idleTime >= removalTimeout && removeIdle(entry)) {
+                continue;
+            }
+            if (idleTimeout > 0 && idleTime >= idleTimeout) {
+                passivate(entry);
+            } else if (maxSize > 0) {
+                candidates.add(new Candidate<T>(entry, lastUsed));
+            }
+        }
+        if (maxSize > 0 && activeCount.get() > maxSize) {
+            Collections.sort(candidates);
+            for (Candidate<T> candidate : candidates) {
+                if (activeCount.get() <= maxSize) {
+                    break;
+                }
+                passivate(candidate.entry);
+            }
+        }
+    }
+
+    private long getEvictionInterval() {
+        long interval = 0;
+        for (long timeout : new long[] {idleTimeout, removalTimeout}) {
+            if (timeout > 0 && (interval == 0 || timeout < interval)) {
+                interval = timeout;
+            }
+        }
+        // check twice per timeout, but not more than once a second
+        return interval == 0 ? 0 : Math.max(interval / 2, 1000L);
+    }
+
+    private void scheduleEviction() {
+        if (evictionPending.compareAndSet(false, true)) {
+            try {
+                executor.execute(evictionTask);
+            } catch (RejectedExecutionException e) {
+                evictionPending.set(false);
+                log.debugf(e, "Could not schedule eviction of stateful cache %s", name);
+            }
+        }
+    }
+
+    private void passivate(final Entry<T> entry) {
+        final T instance;
+        synchronized (entry) {
+            if (entry.state != State.ACTIVE || entry.useCount > 0 || !entry.passivationCapable
+                    || passivator.isInTransaction(entry.instance)) {
+                return;
+            }
+            entry.state = State.PASSIVATING;
+            instance = entry.instance;
+        }
+        boolean passivated = false;
+        boolean capable = true;
+        try {
+            final Object state = passivator.getPassivatedState(instance);
+            if (state == null) {
+                capable = false;
+            } else {
+                store.store(entry.storeKey, state);
+                passivated = true;
+            }
+        } catch (Throwable t) {
+            log.warnf(t, "Failed to passivate stateful bean %s of %s, keeping it in memory", entry.id, name);
+        }
+        synchronized (entry) {
+            if (entry.state == State.REMOVED) {
+                // discarded in the meantime
+                if (passivated) {
+                    store.remove(entry.storeKey);
+                }
+            } else if (passivated) {
+                entry.instance = null;
+                entry.state = State.PASSIVATED;
+                activeCount.decrementAndGet();
+                passivationCount.incrementAndGet();
+            } else {
+                entry.state = State.ACTIVE;
+                entry.passivationCapable = capable;
+                entry.lastUsed = System.currentTimeMillis();
+            }
+            entry.notifyAll();
+        }
+    }
+
+    // must be called while holding the lock on the entry
+    private void activate(final Entry<T> entry) {
+        try {
+            entry.instance = passivator.activate(entry.id, store.load(entry.storeKey));
+        } catch (Exception e) {
+            entry.state = State.REMOVED;
+            entries.remove(entry.id, entry);
+            throw new NoSuchEJBException("Could not activate stateful bean " + entry.id + " of " + name, e);
+        }
+        entry.state = State.ACTIVE;
+        activeCount.incrementAndGet();
+        activationCount.incrementAndGet();
+    }
+
+    // must be called while holding the lock on the entry
+    private static void awaitPassivation(final Entry<?> entry) {
+        boolean interrupted = false;
+        try {
+            while (entry.state == State.PASSIVATING) {
+                try {
+                    entry.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean removeIdle(final Entry<T> entry) {
+        final T instance;
+        final State previous;
+        synchronized (entry) {
+            if (entry.useCount > 0 || entry.state == State.PASSIVATING || entry.state == State.REMOVED) {
+                return false;
+            }
+            if (entry.state == State.ACTIVE && passivator.isInTransaction(entry.instance)) {
+                return false;
+            }
+            previous = entry.state;
+            instance = entry.instance;
+            entry.state = State.REMOVED;
+            entry.instance = null;
+        }
+        entries.remove(entry.id, entry);
+        timeoutRemovalCount.incrementAndGet();
+        if (previous == State.PASSIVATED) {
+            // a passivated instance is removed without its pre-destroy lifecycle
+            store.remove(entry.storeKey);
+        } else {
+            activeCount.decrementAndGet();
+            try {
+                factory.destroyInstance(instance);
+            } catch (Throwable t) {
+                log.warnf(t, "Failed to destroy timed out stateful bean %s of %s", entry.id, name);
+            }
+        }
+        return true;
+    }
+
+    private static final class Candidate<T> implements Comparable<Candidate<T>> {
+        final Entry<T> entry;
+        final long lastUsed;
+
+        Candidate(final Entry<T> entry, final long lastUsed) {
+            this.entry = entry;
+            this.lastUsed = lastUsed;
+        }
+
+        @Override
+        public int compareTo(final Candidate<T> other) {
+            return lastUsed < other.lastUsed ? -1 : (lastUsed == other.lastUsed ? 0 : 1);
+        }
+    }
+}
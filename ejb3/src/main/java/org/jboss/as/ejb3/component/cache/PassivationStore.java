@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import java.io.IOException;
+
+/**
+ * Storage for the state of passivated instances.
+ *
+ * @author agent
+ */
+public interface PassivationStore {
+
+    /**
+     * Store state under a key, replacing any state stored under it before.
+     *
+     * @param key the key
+     * @param state the serializable state
+     * @throws IOException if the state cannot be written
+     */
+    void store(long key, Object state) throws IOException;
+
+    /**
+     * Load and remove the state stored under a key.
+     *
+     * @param key the key
+     * @return the state
+     * @throws IOException if the state cannot be read
+     * @throws ClassNotFoundException if a class of the state cannot be resolved
+     */
+    Object load(long key) throws IOException, ClassNotFoundException;
+
+    /**
+     * Remove the state stored under a key, if any.
+     *
+     * @param key the key
+     */
+    void remove(long key);
+
+    /**
+     * Remove all stored state.
+     */
+    void clear();
+}
@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import java.io.Serializable;
+
+/**
+ * Converts cached instances to and from the state written to a {@link PassivationStore}.
+ *
+ * @param <T> the type of the cached instances
+ * @author agent
+ */
+public interface Passivator<T> {
+
+    /**
+     * Returns the state to passivate for an instance.
+     *
+     * @param instance the instance
+     * @return the serializable state, or null if the instance cannot be passivated
+     */
+    Object getPassivatedState(T instance);
+
+    /**
+     * Returns whether an instance is associated with a transaction.  Such an instance is neither passivated nor
+     * removed, even between the invocations of its transaction.
+     *
+     * @param instance the instance
+     * @return true if the instance is associated with a transaction
+     */
+    boolean isInTransaction(T instance);
+
+    /**
+     * Recreate an instance from its passivated state.
+     *
+     * @param id the id of the passivated instance
+     * @param state the state as returned by {@link #getPassivatedState(Object)}
+     * @return the activated instance, having the same id
+     */
+    T activate(Serializable id, Object state);
+}
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import org.jboss.ejb3.cache.Cache;
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.NoPassivationCache;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
+
+import java.io.File;
+import java.security.AccessController;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stateful session bean cache settings of the ejb3 subsystem, from which every stateful session bean gets its
+ * own cache.  Also owns the thread running the eviction of all those caches.
+ *
+ * @author agent
+ */
+public class StatefulCacheService implements Service<StatefulCacheService> {
+
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "stateful-cache");
+
+    private final boolean passivationEnabled;
+    private final int maxSize;
+    private final long idleTimeout;
+    private final long removalTimeout;
+    private final InjectedValue<String> passivationPath = new InjectedValue<String>();
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param passivationEnabled whether instances are passivated
+     * @param maxSize the maximum number of active instances per bean, or 0 for no limit
+     * @param idleTimeout the idle time in seconds after which an instance is passivated, or 0 for never
+     * @param removalTimeout the idle time in seconds after which an instance is removed, or 0 for never
+     */
+    public StatefulCacheService(final boolean passivationEnabled, final int maxSize, final long idleTimeout, final long removalTimeout) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size of the stateful cache cannot be negative: " + maxSize);
+        }
+        if (idleTimeout < 0 || removalTimeout < 0) {
+            throw new IllegalArgumentException("Timeouts of the stateful cache cannot be negative");
+        }
+        this.passivationEnabled = passivationEnabled;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.removalTimeout = removalTimeout;
+    }
+
+    @Override
+    public synchronized void start(final StartContext context) throws StartException {
+        if (isEvicting()) {
+            final ThreadGroup threadGroup = new ThreadGroup("EJB3 stateful cache eviction");
+            executor = Executors.newSingleThreadScheduledExecutor(new JBossThreadFactory(threadGroup, Boolean.TRUE, null, "%G - %t", null, null, AccessController.getContext()));
+        }
+    }
+
+    @Override
+    public synchronized void stop(final StopContext context) {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public StatefulCacheService getValue() throws IllegalStateException, IllegalArgumentException {
+        return this;
+    }
+
+    /**
+     * Create a new cache for a stateful session bean.
+     *
+     * @param name the name of the cache, made of the application, module and bean names
+     * @param passivator the passivator of the instances
+     * @param classLoader the class loader of the bean
+     * @param <T> the type of the cached instances
+     * @return a new cache
+     */
+    public <T extends Identifiable> Cache<T> createCache(final String name, final Passivator<T> passivator, final ClassLoader classLoader) {
+        final ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            return new NoPassivationCache<T>();
+        }
+        // every cache gets a directory of its own, so that caches of beans with the same name never share their files
+        final File directory = new File(new File(passivationPath.getValue(), name), UUID.randomUUID().toString());
+        final PassivationStore store = new FilePassivationStore(directory, classLoader);
+        if (passivationEnabled) {
+            return new PassivatingCache<T>(name, passivator, store, executor, maxSize, TimeUnit.SECONDS.toMillis(idleTimeout), TimeUnit.SECONDS.toMillis(removalTimeout));
+        }
+        return new PassivatingCache<T>(name, passivator, store, executor, 0, 0, TimeUnit.SECONDS.toMillis(removalTimeout));
+    }
+
+    public Injector<String> getPassivationPathInjector() {
+        return passivationPath;
+    }
+
+    public boolean isPassivationEnabled() {
+        return passivationEnabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public long getRemovalTimeout() {
+        return removalTimeout;
+    }
+
+    private boolean isEvicting() {
+        return (passivationEnabled && (maxSize > 0 || idleTimeout > 0)) || removalTimeout > 0;
+    }
+}
@@ -23,13 +23,14 @@ package org.jboss.as.ejb3.component.messagedriven;
 
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ejb3.component.EJBComponent;
+import org.jboss.as.ejb3.component.pool.InstrumentedPool;
+import org.jboss.as.ejb3.component.pool.PoolStatistics;
 import org.jboss.as.ejb3.component.pool.PooledComponent;
 import org.jboss.as.ejb3.inflow.JBossMessageEndpointFactory;
 import org.jboss.as.ejb3.inflow.MessageEndpointService;
 import org.jboss.ejb3.context.spi.MessageDrivenBeanComponent;
 import org.jboss.ejb3.pool.Pool;
 import org.jboss.ejb3.pool.StatelessObjectFactory;
-import org.jboss.ejb3.pool.strictmax.StrictMaxPool;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactoryContext;
@@ -50,7 +51,8 @@ import static org.jboss.as.ejb3.component.MethodIntf.BEAN;
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class MessageDrivenComponent extends EJBComponent implements MessageDrivenBeanComponent, PooledComponent<MessageDrivenComponentInstance> {
-    private final Pool<MessageDrivenComponentInstance> pool;
+    private final InstrumentedPool<MessageDrivenComponentInstance> pool;
+    private final String poolStatisticsName;
 
     // TODO: implement creation of ActivationSpec
     private final ActivationSpec activationSpec = null;
@@ -77,7 +79,8 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
                 destroyInstance(obj);
             }
         };
-        this.pool = new StrictMaxPool<MessageDrivenComponentInstance>(factory, 20, 5, TimeUnit.MINUTES);
+        this.pool = new InstrumentedPool<MessageDrivenComponentInstance>(configuration.getPoolConfig().createPool(factory));
+        this.poolStatisticsName = configuration.getPoolStatisticsName();
 
         this.messageListenerInterface = configuration.getMessageListenerInterface();
         final MessageEndpointService<?> service = new MessageEndpointService<Object>() {
@@ -151,6 +154,7 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
     @Override
     public void start() {
         super.start();
+        PoolStatistics.register(poolStatisticsName, pool);
 
         try {
             resourceAdapter.endpointActivation(endpointFactory, activationSpec);
@@ -162,6 +166,7 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
     @Override
     public void stop() {
         resourceAdapter.endpointDeactivation(endpointFactory, activationSpec);
+        PoolStatistics.unregister(poolStatisticsName, pool);
 
         super.stop();
     }
@@ -22,6 +22,8 @@
 package org.jboss.as.ejb3.component.messagedriven;
 
 import org.jboss.as.ejb3.component.EJBComponentConfiguration;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolStatistics;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
@@ -37,6 +39,8 @@ public class MessageDrivenComponentConfiguration extends EJBComponentConfigurati
     private Class<?> messageListenerInterface;
     private final String resourceAdapterName;
     private final ServiceName raServiceName;
+    private final ServiceName poolConfigServiceName;
+    private final String poolStatisticsName;
 
     /**
      * Construct a new instance.
@@ -56,6 +60,11 @@ public class MessageDrivenComponentConfiguration extends EJBComponentConfigurati
         this.raServiceName = ServiceName.of(deploymentName);
         description.addDependency(raServiceName, ServiceBuilder.DependencyType.REQUIRED);
 
+        this.poolConfigServiceName = PoolConfig.getServiceName(description.getPoolConfigName(), PoolConfig.DEFAULT_MDB_POOL_CONFIG_SERVICE_NAME);
+        description.addDependency(poolConfigServiceName, ServiceBuilder.DependencyType.REQUIRED);
+        this.poolStatisticsName = PoolStatistics.getStatisticsName(description.getApplicationName(), description.getModuleName(),
+                description.getComponentName());
+
         addComponentSystemInterceptorFactory(pooled());
     }
 
@@ -71,6 +80,14 @@ public class MessageDrivenComponentConfiguration extends EJBComponentConfigurati
         return component;
     }
 
+    PoolConfig getPoolConfig() {
+        return getInjectionValue(poolConfigServiceName, PoolConfig.class);
+    }
+
+    String getPoolStatisticsName() {
+        return poolStatisticsName;
+    }
+
     Class<?> getMessageListenerInterface() {
         return messageListenerInterface;
     }
@@ -24,6 +24,7 @@ package org.jboss.as.ejb3.component.messagedriven;
 import org.jboss.as.ee.component.AbstractComponentConfiguration;
 import org.jboss.as.ejb3.component.EJBComponentDescription;
 import org.jboss.as.ejb3.component.MethodIntf;
+import org.jboss.as.ejb3.component.pool.PooledComponentDescription;
 import org.jboss.as.ejb3.deployment.EjbJarDescription;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -33,9 +34,10 @@ import org.jboss.modules.Module;
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
-public class MessageDrivenComponentDescription extends EJBComponentDescription {
+public class MessageDrivenComponentDescription extends EJBComponentDescription implements PooledComponentDescription {
     private String messageListenerInterfaceName;
     private String resourceAdapterName;
+    private String poolConfigName;
 
     /**
      * Construct a new instance.
@@ -67,6 +69,16 @@ public class MessageDrivenComponentDescription extends EJBComponentDescription {
         return resourceAdapterName;
     }
 
+    @Override
+    public String getPoolConfigName() {
+        return poolConfigName;
+    }
+
+    @Override
+    public void setPoolConfigName(String poolConfigName) {
+        this.poolConfigName = poolConfigName;
+    }
+
     @Override
     protected void prepareComponentConfiguration(AbstractComponentConfiguration configuration, DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         super.prepareComponentConfiguration(configuration, phaseContext);
@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.Pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool decorator keeping the runtime statistics of a bean pool.
+ * <p/>
+ * An acquisition is counted as a wait when the pool had no permit left at the time it was asked for an instance.
+ *
+ * @param <T> the type of the pooled instances
+ * @author agent
+ */
+public class InstrumentedPool<T> implements Pool<T> {
+
+    private final Pool<T> delegate;
+    private final AtomicInteger inUseCount = new AtomicInteger();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+
+    public InstrumentedPool(final Pool<T> delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public T get() {
+        if (delegate.getAvailableCount() > 0) {
+            final T instance = delegate.get();
+            inUseCount.incrementAndGet();
+            return instance;
+        }
+        final long start = System.nanoTime();
+        try {
+            final T instance = delegate.get();
+            inUseCount.incrementAndGet();
+            return instance;
+        } finally {
+            waitTime.addAndGet(System.nanoTime() - start);
+            waitCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void release(final T obj) {
+        inUseCount.decrementAndGet();
+        delegate.release(obj);
+    }
+
+    @Override
+    public void discard(final T obj) {
+        inUseCount.decrementAndGet();
+        delegate.discard(obj);
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return delegate.getAvailableCount();
+    }
+
+    @Override
+    public int getCreateCount() {
+        return delegate.getCreateCount();
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return delegate.getCurrentSize();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return delegate.getMaxSize();
+    }
+
+    @Override
+    public int getRemoveCount() {
+        return delegate.getRemoveCount();
+    }
+
+    @Override
+    public void setMaxSize(final int maxSize) {
+        delegate.setMaxSize(maxSize);
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+    }
+
+    /**
+     * @return the number of instances currently handed out by the pool
+     */
+    public int getInUseCount() {
+        return inUseCount.get();
+    }
+
+    /**
+     * @return the number of acquisitions which had to wait for an instance to be released
+     */
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    /**
+     * @return the average time in milliseconds an acquisition that had to wait spent waiting
+     */
+    public long getAverageWaitTime() {
+        final long count = waitCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.get() / count);
+    }
+}
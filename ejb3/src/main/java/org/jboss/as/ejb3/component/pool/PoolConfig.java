@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.Pool;
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+import org.jboss.msc.service.ServiceName;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named bean instance pool definition of the ejb3 subsystem, from which every stateless session and
+ * message driven bean referencing it gets its own pool.
+ *
+ * @author agent
+ */
+public abstract class PoolConfig {
+
+    /**
+     * Base service name of the pool definitions, which are installed by pool name.
+     */
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "pool-config");
+
+    /**
+     * The pool definition used by stateless session beans which don't name one.
+     */
+    public static final ServiceName DEFAULT_SLSB_POOL_CONFIG_SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "default-pool-config", "slsb");
+
+    /**
+     * The pool definition used by message driven beans which don't name one.
+     */
+    public static final ServiceName DEFAULT_MDB_POOL_CONFIG_SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "default-pool-config", "mdb");
+
+    private final String name;
+    private final int maxPoolSize;
+    private final long timeout;
+    private final TimeUnit timeoutUnit;
+
+    protected PoolConfig(final String name, final int maxPoolSize, final long timeout, final TimeUnit timeoutUnit) {
+        if (name == null) {
+            throw new IllegalArgumentException("Pool name cannot be null");
+        }
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("Max pool size of pool " + name + " must be positive: " + maxPoolSize);
+        }
+        if (timeoutUnit == null) {
+            throw new IllegalArgumentException("Timeout unit of pool " + name + " cannot be null");
+        }
+        this.name = name;
+        this.maxPoolSize = maxPoolSize;
+        this.timeout = timeout;
+        this.timeoutUnit = timeoutUnit;
+    }
+
+    /**
+     * Returns the name of the service holding the pool definition of the given name, or the default service name
+     * if no name is given.
+     *
+     * @param poolName the pool name, may be null
+     * @param defaultServiceName the service name to use without a pool name
+     * @return the service name
+     */
+    public static ServiceName getServiceName(final String poolName, final ServiceName defaultServiceName) {
+        return poolName == null ? defaultServiceName : SERVICE_NAME.append(poolName);
+    }
+
+    /**
+     * Create a new pool from this definition.
+     *
+     * @param factory the factory creating the pooled instances
+     * @param <T> the type of the pooled instances
+     * @return a new pool
+     */
+    public abstract <T> Pool<T> createPool(StatelessObjectFactory<T> factory);
+
+    /**
+     * @return the strategy name used for this definition in the management model
+     */
+    public abstract String getStrategy();
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public TimeUnit getTimeoutUnit() {
+        return timeoutUnit;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[name=" + name + ", maxPoolSize=" + maxPoolSize + ", timeout=" + timeout + " " + timeoutUnit + "]";
+    }
+}
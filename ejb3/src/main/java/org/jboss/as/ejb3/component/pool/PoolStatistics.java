@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.dmr.ModelNode;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The pools of the started pooled beans, by bean, for reporting their statistics through the management model.
+ *
+ * @author agent
+ */
+public final class PoolStatistics {
+
+    public static final String CURRENT_SIZE = "current-size";
+    public static final String IN_USE_COUNT = "in-use-count";
+    public static final String WAIT_COUNT = "wait-count";
+    public static final String AVERAGE_WAIT_TIME = "average-wait-time";
+    public static final String CREATE_COUNT = "create-count";
+
+    private static final ConcurrentMap<String, InstrumentedPool<?>> pools = new ConcurrentHashMap<String, InstrumentedPool<?>>();
+
+    private PoolStatistics() {
+    }
+
+    /**
+     * Returns the name under which the statistics of a bean are reported. The application name is part of it, since
+     * the same module and bean names can be deployed in several applications.
+     *
+     * @param applicationName the name of the application containing the bean
+     * @param moduleName the name of the module containing the bean
+     * @param beanName the ejb-name of the bean
+     * @return the statistics name
+     */
+    public static String getStatisticsName(final String applicationName, final String moduleName, final String beanName) {
+        return applicationName + "/" + moduleName + "/" + beanName;
+    }
+
+    public static void register(final String name, final InstrumentedPool<?> pool) {
+        pools.put(name, pool);
+    }
+
+    public static void unregister(final String name, final InstrumentedPool<?> pool) {
+        pools.remove(name, pool);
+    }
+
+    /**
+     * Returns the statistics of every registered pool, keyed by statistics name.
+     *
+     * @return the statistics
+     */
+    public static ModelNode getStatistics() {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<String, InstrumentedPool<?>> entry : pools.entrySet()) {
+            final InstrumentedPool<?> pool = entry.getValue();
+            final ModelNode node = result.get(entry.getKey());
+            node.get(CURRENT_SIZE).set(pool.getCurrentSize());
+            node.get(IN_USE_COUNT).set(pool.getInUseCount());
+            node.get(WAIT_COUNT).set(pool.getWaitCount());
+            node.get(AVERAGE_WAIT_TIME).set(pool.getAverageWaitTime());
+            node.get(CREATE_COUNT).set(pool.getCreateCount());
+        }
+        return result;
+    }
+}
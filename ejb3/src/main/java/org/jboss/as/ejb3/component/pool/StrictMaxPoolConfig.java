@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.Pool;
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+import org.jboss.ejb3.pool.strictmax.StrictMaxPool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool definition creating {@link StrictMaxPool}s, which hold their idle instances in a single lock protected list.
+ *
+ * @author agent
+ */
+public class StrictMaxPoolConfig extends PoolConfig {
+
+    public static final String STRATEGY = "strict-max";
+
+    public StrictMaxPoolConfig(final String name, final int maxPoolSize, final long timeout, final TimeUnit timeoutUnit) {
+        super(name, maxPoolSize, timeout, timeoutUnit);
+    }
+
+    @Override
+    public <T> Pool<T> createPool(final StatelessObjectFactory<T> factory) {
+        return new StrictMaxPool<T>(factory, getMaxPoolSize(), getTimeout(), getTimeoutUnit());
+    }
+
+    @Override
+    public String getStrategy() {
+        return STRATEGY;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.Pool;
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+import javax.ejb.EJBException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool which bounds the number of instances in use like {@link org.jboss.ejb3.pool.strictmax.StrictMaxPool}, but
+ * keeps its idle instances in several lock-free stripes selected by the calling thread. Threads which keep using
+ * the same bean therefore mostly hit their own stripe and don't contend on a shared list.
+ *
+ * @param <T> the type of the pooled instances
+ * @author agent
+ */
+public class StripedPool<T> implements Pool<T> {
+
+    private final StatelessObjectFactory<T> factory;
+    private final Queue<T>[] stripes;
+    private final int mask;
+    private final ResizableSemaphore semaphore;
+    private final long timeout;
+    private final TimeUnit timeoutUnit;
+    private final AtomicInteger createCount = new AtomicInteger();
+    private final AtomicInteger removeCount = new AtomicInteger();
+    private volatile int maxSize;
+
+    @SuppressWarnings("unchecked")
+    public StripedPool(final StatelessObjectFactory<T> factory, final int maxSize, final long timeout, final TimeUnit timeoutUnit) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeoutUnit = timeoutUnit;
+        this.semaphore = new ResizableSemaphore(maxSize);
+        // a power of two close to the number of processors, but not more than there can be instances
+        int stripeCount = 1;
+        final int limit = Math.min(Runtime.getRuntime().availableProcessors(), maxSize);
+        while (stripeCount < limit) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Queue[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentLinkedQueue<T>();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    private int homeStripe() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 32)) & mask;
+    }
+
+    @Override
+    public T get() {
+        try {
+            if (!semaphore.tryAcquire(timeout, timeoutUnit)) {
+                throw new EJBException("Failed to acquire a pooled instance within " + timeout + " " + timeoutUnit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EJBException("Interrupted while acquiring a pooled instance");
+        }
+        boolean acquired = false;
+        try {
+            final int home = homeStripe();
+            for (int i = 0; i < stripes.length; i++) {
+                final T instance = stripes[(home + i) & mask].poll();
+                if (instance != null) {
+                    acquired = true;
+                    return instance;
+                }
+            }
+            final T instance = factory.create();
+            createCount.incrementAndGet();
+            acquired = true;
+            return instance;
+        } finally {
+            if (!acquired) {
+                semaphore.release();
+            }
+        }
+    }
+
+    @Override
+    public void release(final T obj) {
+        stripes[homeStripe()].offer(obj);
+        semaphore.release();
+    }
+
+    @Override
+    public void discard(final T obj) {
+        try {
+            factory.destroy(obj);
+        } finally {
+            removeCount.incrementAndGet();
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return semaphore.availablePermits();
+    }
+
+    @Override
+    public int getCreateCount() {
+        return createCount.get();
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return createCount.get() - removeCount.get();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public int getRemoveCount() {
+        return removeCount.get();
+    }
+
+    @Override
+    public synchronized void setMaxSize(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        final int delta = maxSize - this.maxSize;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reducePermits(-delta);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void start() {
+        // nothing to do, instances are created on demand
+    }
+
+    @Override
+    public void stop() {
+        for (Queue<T> stripe : stripes) {
+            T instance;
+            while ((instance = stripe.poll()) != null) {
+                factory.destroy(instance);
+                removeCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(final int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
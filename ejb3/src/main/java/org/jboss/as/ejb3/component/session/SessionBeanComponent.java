@@ -157,6 +157,11 @@ public abstract class SessionBeanComponent extends EJBComponent implements org.j
     }
 
     protected boolean isAsynchronous(final Method method) {
+        return getMethodMetadata(method).isAsynchronous();
+    }
+
+    @Override
+    protected boolean resolveAsynchronous(final Method method) {
         final Set<Method> asyncMethods = this.asynchronousMethods;
         if (asyncMethods == null) {
             return false;
@@ -118,6 +118,16 @@ public class SingletonComponent extends SessionBeanComponent implements Lockable
 
     @Override
     public LockType getLockType(Method method) {
+        return getMethodMetadata(method).getLockType();
+    }
+
+    @Override
+    public AccessTimeout getAccessTimeout(Method method) {
+        return getMethodMetadata(method).getAccessTimeout();
+    }
+
+    @Override
+    protected LockType resolveLockType(Method method) {
         EJBBusinessMethod beanMethod = new EJBBusinessMethod(method.getName(), method.getParameterTypes());
         LockType lockType = this.methodLockTypes.get(beanMethod);
         if (lockType != null) {
@@ -132,7 +142,7 @@ public class SingletonComponent extends SessionBeanComponent implements Lockable
     }
 
     @Override
-    public AccessTimeout getAccessTimeout(Method method) {
+    protected AccessTimeout resolveAccessTimeout(Method method) {
         EJBBusinessMethod beanMethod = new EJBBusinessMethod(method.getName(), method.getParameterTypes());
         AccessTimeout accessTimeout = this.methodAccessTimeouts.get(beanMethod);
         if (accessTimeout != null) {
@@ -23,9 +23,11 @@ package org.jboss.as.ejb3.component.stateful;
 
 import org.jboss.as.ee.component.AbstractComponentInstance;
 import org.jboss.as.ee.component.Component;
+import org.jboss.as.ejb3.component.cache.CacheStatistics;
+import org.jboss.as.ejb3.component.cache.PassivatingCache;
+import org.jboss.as.ejb3.component.cache.Passivator;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.ejb3.cache.Cache;
-import org.jboss.ejb3.cache.NoPassivationCache;
 import org.jboss.ejb3.cache.StatefulObjectFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
@@ -43,7 +45,8 @@ import java.util.Map;
  */
 public class StatefulSessionComponent extends SessionBeanComponent {
 
-    private Cache<StatefulSessionComponentInstance> cache;
+    private final Cache<StatefulSessionComponentInstance> cache;
+    private final String cacheName;
 
     /**
      * Construct a new instance.
@@ -53,8 +56,27 @@ public class StatefulSessionComponent extends SessionBeanComponent {
     protected StatefulSessionComponent(final StatefulSessionComponentConfiguration configuration) {
         super(configuration);
 
+        this.cacheName = configuration.getCacheName();
+        cache = configuration.getCacheService().createCache(cacheName, new Passivator<StatefulSessionComponentInstance>() {
+            @Override
+            public Object getPassivatedState(StatefulSessionComponentInstance instance) {
+                // only the bean instance itself is passivated, a bean which isn't serializable stays in memory
+                final Object bean = instance.getInstance();
+                return bean instanceof Serializable ? bean : null;
+            }
 
-        cache = new NoPassivationCache<StatefulSessionComponentInstance>();
+            @Override
+            public boolean isInTransaction(StatefulSessionComponentInstance instance) {
+                return instance.isInTransaction();
+            }
+
+            @Override
+            public StatefulSessionComponentInstance activate(Serializable id, Object state) {
+                final StatefulSessionComponentInstance instance = (StatefulSessionComponentInstance) activateInstance(state);
+                instance.setId(id);
+                return instance;
+            }
+        }, getComponentClass().getClassLoader());
         cache.setStatefulObjectFactory(new StatefulObjectFactory<StatefulSessionComponentInstance>() {
             @Override
             public StatefulSessionComponentInstance createInstance() {
@@ -68,6 +90,24 @@ public class StatefulSessionComponent extends SessionBeanComponent {
         });
     }
 
+    @Override
+    public void start() {
+        super.start();
+        cache.start();
+        if (cache instanceof PassivatingCache) {
+            CacheStatistics.register(cacheName, (PassivatingCache<?>) cache);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (cache instanceof PassivatingCache) {
+            CacheStatistics.unregister(cacheName, (PassivatingCache<?>) cache);
+        }
+        cache.stop();
+        super.stop();
+    }
+
     @Override
     public Interceptor createClientInterceptor(Class<?> view) {
         final Serializable sessionId = createSession();
@@ -24,11 +24,14 @@ package org.jboss.as.ejb3.component.stateful;
 import org.jboss.as.ee.component.AbstractComponent;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentInterceptorFactory;
+import org.jboss.as.ejb3.component.cache.StatefulCacheService;
+import org.jboss.as.ejb3.component.pool.PoolStatistics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentConfiguration;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.msc.service.ServiceBuilder;
 
 import javax.ejb.TransactionManagementType;
 
@@ -37,9 +40,15 @@ import javax.ejb.TransactionManagementType;
  */
 public class StatefulSessionComponentConfiguration extends SessionBeanComponentConfiguration {
 
+    private final String cacheName;
+
     public StatefulSessionComponentConfiguration(final StatefulComponentDescription description) {
         super(description);
 
+        description.addDependency(StatefulCacheService.SERVICE_NAME, ServiceBuilder.DependencyType.REQUIRED);
+        this.cacheName = PoolStatistics.getStatisticsName(description.getApplicationName(), description.getModuleName(),
+                description.getComponentName());
+
         addComponentSystemInterceptorFactory(new ImmediateInterceptorFactory(new ComponentInstanceInterceptor()));
 
         if(description.getTransactionManagementType().equals(TransactionManagementType.BEAN)) {
@@ -63,4 +72,12 @@ public class StatefulSessionComponentConfiguration extends SessionBeanComponentC
     public AbstractComponent constructComponent() {
         return new StatefulSessionComponent(this);
     }
+
+    StatefulCacheService getCacheService() {
+        return getInjectionValue(StatefulCacheService.SERVICE_NAME, StatefulCacheService.class);
+    }
+
+    String getCacheName() {
+        return cacheName;
+    }
 }
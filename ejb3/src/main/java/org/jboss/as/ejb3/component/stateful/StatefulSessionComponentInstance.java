@@ -32,7 +32,8 @@ import java.io.Serializable;
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class StatefulSessionComponentInstance extends SessionBeanComponentInstance implements Identifiable {
-    private final GUID id;
+    private volatile Serializable id;
+    private volatile boolean inTransaction;
 
     protected StatefulSessionComponentInstance(final StatefulSessionComponent component, final Object instance, InterceptorFactoryContext context) {
         super(component, instance, context);
@@ -47,4 +48,22 @@ public class StatefulSessionComponentInstance extends SessionBeanComponentInstan
     public Serializable getId() {
         return id;
     }
+
+    /**
+     * Restore the id of an instance activated from passivation.
+     */
+    void setId(final Serializable id) {
+        this.id = id;
+    }
+
+    /**
+     * @return true if the instance is associated with a transaction which has not completed yet
+     */
+    boolean isInTransaction() {
+        return inTransaction;
+    }
+
+    void setInTransaction(final boolean inTransaction) {
+        this.inTransaction = inTransaction;
+    }
 }
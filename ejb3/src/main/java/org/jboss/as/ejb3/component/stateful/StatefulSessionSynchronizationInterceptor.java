@@ -69,25 +69,28 @@ public class StatefulSessionSynchronizationInterceptor extends AbstractEJBInterc
                     @Override
                     public void afterCompletion(int status) {
                         // TODO: afterCompletion callbacks on SessionSynchronization
-                        release(instance);
+                        instance.setInTransaction(false);
+                        release();
                     }
                 });
                 // TODO: afterBegin callbacks on SessionSynchronization
                 transactionKey = currentTransactionKey;
+                // keeps the instance from being passivated until the transaction completes
+                instance.setInTransaction(true);
             }
         }
         try {
             return context.proceed();
         }
         finally {
+            // the instance is no longer in use, though it stays associated with any transaction
+            component.getCache().release(instance);
             if(currentTransactionKey == null)
-                release(instance);
+                release();
         }
     }
 
-    private void release(final StatefulSessionComponentInstance instance) {
-        // TODO: remove
-        instance.getComponent().getCache().release(instance);
+    private void release() {
         transactionKey = null;
         lock.unlock();
     }
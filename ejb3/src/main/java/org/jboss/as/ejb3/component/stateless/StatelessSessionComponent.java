@@ -25,11 +25,12 @@ package org.jboss.as.ejb3.component.stateless;
 import org.jboss.as.ee.component.AbstractComponentInstance;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentInstance;
+import org.jboss.as.ejb3.component.pool.InstrumentedPool;
+import org.jboss.as.ejb3.component.pool.PoolStatistics;
 import org.jboss.as.ejb3.component.pool.PooledComponent;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.ejb3.pool.Pool;
 import org.jboss.ejb3.pool.StatelessObjectFactory;
-import org.jboss.ejb3.pool.strictmax.StrictMaxPool;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactoryContext;
@@ -38,7 +39,6 @@ import org.jboss.invocation.Interceptors;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * {@link org.jboss.as.ee.component.Component} responsible for managing EJB3 stateless session beans
@@ -49,7 +49,8 @@ import java.util.concurrent.TimeUnit;
 public class StatelessSessionComponent extends SessionBeanComponent implements PooledComponent<StatelessSessionComponentInstance> {
     // some more injectable resources
     // @Resource
-    private Pool<StatelessSessionComponentInstance> pool;
+    private final InstrumentedPool<StatelessSessionComponentInstance> pool;
+    private final String poolStatisticsName;
 
     /**
      * Constructs a StatelessEJBComponent for a stateless session bean
@@ -70,7 +71,8 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
                 destroyInstance(obj);
             }
         };
-        this.pool = new StrictMaxPool<StatelessSessionComponentInstance>(factory, 20, 5, TimeUnit.MINUTES);
+        this.pool = new InstrumentedPool<StatelessSessionComponentInstance>(configuration.getPoolConfig().createPool(factory));
+        this.poolStatisticsName = configuration.getPoolStatisticsName();
     }
 
     //TODO: This should be getInstance()
@@ -90,6 +92,18 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
         return pool;
     }
 
+    @Override
+    public void start() {
+        super.start();
+        PoolStatistics.register(poolStatisticsName, pool);
+    }
+
+    @Override
+    public void stop() {
+        PoolStatistics.unregister(poolStatisticsName, pool);
+        super.stop();
+    }
+
     @Override
     public Object invoke(Serializable sessionId, Map<String, Object> contextData, Class<?> invokedBusinessInterface, Method beanMethod, Object[] args) throws Exception {
         if (sessionId != null)
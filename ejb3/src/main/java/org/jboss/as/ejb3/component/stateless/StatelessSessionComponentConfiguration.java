@@ -25,9 +25,13 @@ package org.jboss.as.ejb3.component.stateless;
 import org.jboss.as.ee.component.AbstractComponent;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentInterceptorFactory;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolStatistics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentConfiguration;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
 
 import javax.ejb.TransactionManagementType;
 
@@ -38,6 +42,9 @@ import static org.jboss.as.ejb3.component.pool.PooledInstanceInterceptor.pooled;
  */
 public class StatelessSessionComponentConfiguration extends SessionBeanComponentConfiguration {
 
+    private final ServiceName poolConfigServiceName;
+    private final String poolStatisticsName;
+
     /**
      * Construct a new instance.
      *
@@ -46,6 +53,11 @@ public class StatelessSessionComponentConfiguration extends SessionBeanComponent
     public StatelessSessionComponentConfiguration(final StatelessComponentDescription description) {
         super(description);
 
+        this.poolConfigServiceName = PoolConfig.getServiceName(description.getPoolConfigName(), PoolConfig.DEFAULT_SLSB_POOL_CONFIG_SERVICE_NAME);
+        description.addDependency(poolConfigServiceName, ServiceBuilder.DependencyType.REQUIRED);
+        this.poolStatisticsName = PoolStatistics.getStatisticsName(description.getApplicationName(), description.getModuleName(),
+                description.getComponentName());
+
         addComponentSystemInterceptorFactory(pooled());
 
         if(description.getTransactionManagementType().equals(TransactionManagementType.BEAN)) {
@@ -62,4 +74,12 @@ public class StatelessSessionComponentConfiguration extends SessionBeanComponent
     public AbstractComponent constructComponent() {
         return new StatelessSessionComponent(this);
     }
+
+    PoolConfig getPoolConfig() {
+        return getInjectionValue(poolConfigServiceName, PoolConfig.class);
+    }
+
+    String getPoolStatisticsName() {
+        return poolStatisticsName;
+    }
 }
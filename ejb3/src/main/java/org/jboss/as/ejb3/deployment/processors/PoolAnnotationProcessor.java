@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.deployment.processors;
+
+import org.jboss.as.ejb3.component.EJBComponentDescription;
+import org.jboss.as.ejb3.component.pool.PooledComponentDescription;
+import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Processes the {@code @org.jboss.ejb3.annotation.Pool} annotation on a stateless session or message driven bean,
+ * whose value names the pool definition of the ejb3 subsystem the bean uses.
+ *
+ * @author agent
+ */
+public class PoolAnnotationProcessor extends AbstractAnnotationEJBProcessor<EJBComponentDescription> {
+
+    private static final Logger logger = Logger.getLogger(PoolAnnotationProcessor.class);
+
+    // matched by name, the annotation is optional on the deployment's class path
+    private static final DotName POOL_ANNOTATION_NAME = DotName.createSimple("org.jboss.ejb3.annotation.Pool");
+
+    @Override
+    protected Class<EJBComponentDescription> getComponentDescriptionType() {
+        return EJBComponentDescription.class;
+    }
+
+    @Override
+    protected void processAnnotations(ClassInfo beanClass, CompositeIndex index, EJBComponentDescription componentDescription) throws DeploymentUnitProcessingException {
+        final Map<DotName, List<AnnotationInstance>> classAnnotations = beanClass.annotations();
+        if (classAnnotations == null) {
+            return;
+        }
+        final List<AnnotationInstance> annotations = classAnnotations.get(POOL_ANNOTATION_NAME);
+        if (annotations == null || annotations.isEmpty()) {
+            return;
+        }
+        final AnnotationInstance annotation = annotations.get(0);
+        if (annotations.size() > 1 || annotation.target() instanceof ClassInfo == false) {
+            throw new DeploymentUnitProcessingException("@Pool can appear only once, on the bean class of " + componentDescription.getComponentName());
+        }
+        if (componentDescription instanceof PooledComponentDescription == false) {
+            throw new DeploymentUnitProcessingException("@Pool is only applicable to stateless session and message driven beans, not " + componentDescription.getComponentName());
+        }
+        final AnnotationValue value = annotation.value();
+        if (value == null) {
+            throw new DeploymentUnitProcessingException("@Pool on " + componentDescription.getComponentName() + " does not name a pool");
+        }
+        ((PooledComponentDescription) componentDescription).setPoolConfigName(value.asString());
+        logger.debug(componentDescription.getComponentName() + " bean uses pool " + value.asString());
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.cache;
+
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.StatefulObjectFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ejb.NoSuchEJBException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent
+ */
+public class PassivatingCacheTestCase {
+    private static class Bean implements Identifiable {
+        final Integer id;
+        final boolean serializable;
+        volatile boolean inTransaction;
+
+        Bean(final Integer id, final boolean serializable) {
+            this.id = id;
+            this.serializable = serializable;
+        }
+
+        @Override
+        public Serializable getId() {
+            return id;
+        }
+    }
+
+    private static class BeanFactory implements StatefulObjectFactory<Bean>, Passivator<Bean> {
+        final AtomicInteger ids = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+        volatile boolean serializable = true;
+
+        @Override
+        public Bean createInstance() {
+            return new Bean(ids.incrementAndGet(), serializable);
+        }
+
+        @Override
+        public void destroyInstance(Bean instance) {
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        public Object getPassivatedState(Bean instance) {
+            return instance.serializable ? instance.id : null;
+        }
+
+        @Override
+        public boolean isInTransaction(Bean instance) {
+            return instance.inTransaction;
+        }
+
+        @Override
+        public Bean activate(Serializable id, Object state) {
+            assertEquals(id, state);
+            return new Bean((Integer) state, true);
+        }
+    }
+
+    private static class MapStore implements PassivationStore {
+        final Map<Long, Object> states = new HashMap<Long, Object>();
+
+        @Override
+        public synchronized void store(long key, Object state) {
+            states.put(key, state);
+        }
+
+        @Override
+        public synchronized Object load(long key) throws IOException {
+            final Object state = states.remove(key);
+            if (state == null) {
+                throw new IOException("No state " + key);
+            }
+            return state;
+        }
+
+        @Override
+        public synchronized void remove(long key) {
+            states.remove(key);
+        }
+
+        @Override
+        public synchronized void clear() {
+            states.clear();
+        }
+    }
+
+    private final BeanFactory factory = new BeanFactory();
+    private final MapStore store = new MapStore();
+    private ScheduledExecutorService executor;
+
+    @Before
+    public void before() {
+        // the tests run the eviction themselves, so the cache must not schedule any
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.shutdown();
+    }
+
+    private PassivatingCache<Bean> createCache(final int maxSize, final long idleTimeout, final long removalTimeout) {
+        final PassivatingCache<Bean> cache = new PassivatingCache<Bean>("test", factory, store, executor, maxSize, idleTimeout, removalTimeout);
+        cache.setStatefulObjectFactory(factory);
+        return cache;
+    }
+
+    @Test
+    public void testPassivateLeastRecentlyUsed() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(2, 0, 0);
+        final Bean first = cache.create();
+        Thread.sleep(5);
+        final Bean second = cache.create();
+        Thread.sleep(5);
+        final Bean third = cache.create();
+        cache.evict();
+        assertEquals(3, cache.getCacheSize());
+        assertEquals(2, cache.getActiveCount());
+        assertEquals(1, cache.getPassivationCount());
+        assertEquals(1, store.states.size());
+
+        final Bean activated = cache.get(first.getId());
+        assertNotSame(first, activated);
+        assertEquals(first.getId(), activated.getId());
+        assertEquals(1, cache.getActivationCount());
+        assertEquals(3, cache.getActiveCount());
+        cache.release(activated);
+
+        cache.evict();
+        assertEquals(2, cache.getActiveCount());
+        // second is the least recently used now
+        assertEquals(1, store.states.size());
+        cache.get(third.getId());
+        cache.get(first.getId());
+        assertEquals(1, cache.getActivationCount());
+        cache.stop();
+    }
+
+    @Test
+    public void testInUseIsNotPassivated() {
+        final PassivatingCache<Bean> cache = createCache(1, 0, 0);
+        final Bean first = cache.get(cache.create().getId());
+        final Bean second = cache.get(cache.create().getId());
+        cache.evict();
+        assertEquals(0, cache.getPassivationCount());
+        cache.release(first);
+        cache.evict();
+        assertEquals(1, cache.getPassivationCount());
+        cache.release(second);
+        cache.stop();
+    }
+
+    @Test
+    public void testInTransactionIsNotPassivated() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(0, 1, 0);
+        final Bean bean = cache.get(cache.create().getId());
+        bean.inTransaction = true;
+        // between two invocations of the same transaction
+        cache.release(bean);
+        Thread.sleep(5);
+        cache.evict();
+        assertEquals(0, cache.getPassivationCount());
+        assertEquals(1, cache.getActiveCount());
+
+        bean.inTransaction = false;
+        cache.evict();
+        assertEquals(1, cache.getPassivationCount());
+        cache.stop();
+    }
+
+    @Test
+    public void testInTransactionIsNotRemoved() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(0, 0, 1);
+        final Bean bean = cache.create();
+        bean.inTransaction = true;
+        Thread.sleep(5);
+        cache.evict();
+        assertEquals(0, cache.getTimeoutRemovalCount());
+        assertEquals(1, cache.getCacheSize());
+        cache.stop();
+    }
+
+    @Test
+    public void testIdleTimeout() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(0, 1, 0);
+        final Bean bean = cache.create();
+        Thread.sleep(5);
+        cache.evict();
+        assertEquals(1, cache.getPassivationCount());
+        assertEquals(0, cache.getActiveCount());
+        cache.remove(bean.getId());
+        // activated for its pre-destroy
+        assertEquals(1, cache.getActivationCount());
+        assertEquals(1, factory.destroyed.get());
+        assertEquals(0, cache.getCacheSize());
+        cache.stop();
+    }
+
+    @Test
+    public void testRemovalTimeout() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(0, 0, 1);
+        final Bean bean = cache.create();
+        Thread.sleep(5);
+        cache.evict();
+        assertEquals(1, cache.getTimeoutRemovalCount());
+        assertEquals(1, factory.destroyed.get());
+        assertEquals(0, cache.getCacheSize());
+        try {
+            cache.get(bean.getId());
+            fail("Expected NoSuchEJBException");
+        } catch (NoSuchEJBException e) {
+            // good
+        }
+        cache.stop();
+    }
+
+    @Test
+    public void testNotSerializable() throws Exception {
+        factory.serializable = false;
+        final PassivatingCache<Bean> cache = createCache(0, 1, 0);
+        final Bean bean = cache.create();
+        Thread.sleep(5);
+        cache.evict();
+        assertEquals(0, cache.getPassivationCount());
+        assertEquals(1, cache.getActiveCount());
+        cache.get(bean.getId());
+        cache.stop();
+    }
+
+    @Test
+    public void testDiscardPassivated() throws Exception {
+        final PassivatingCache<Bean> cache = createCache(0, 1, 0);
+        final Bean bean = cache.create();
+        Thread.sleep(5);
+        cache.evict();
+        assertEquals(1, store.states.size());
+        cache.discard(bean.getId());
+        assertEquals(0, store.states.size());
+        assertEquals(0, cache.getCacheSize());
+        assertEquals(0, factory.destroyed.get());
+        cache.stop();
+    }
+}
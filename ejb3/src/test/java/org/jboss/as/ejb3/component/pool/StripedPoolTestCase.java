@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+import org.junit.Test;
+
+import javax.ejb.EJBException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent
+ */
+public class StripedPoolTestCase {
+    private static class CountingFactory implements StatelessObjectFactory<Object> {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create() {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object obj) {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testReuse() {
+        final CountingFactory factory = new CountingFactory();
+        final StripedPool<Object> pool = new StripedPool<Object>(factory, 2, 1, TimeUnit.SECONDS);
+        final Object first = pool.get();
+        pool.release(first);
+        assertSame(first, pool.get());
+        assertEquals(1, factory.created.get());
+        assertEquals(1, pool.getCurrentSize());
+        assertEquals(1, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testMaxSize() {
+        final CountingFactory factory = new CountingFactory();
+        final StripedPool<Object> pool = new StripedPool<Object>(factory, 2, 10, TimeUnit.MILLISECONDS);
+        final Object first = pool.get();
+        final Object second = pool.get();
+        assertNotSame(first, second);
+        try {
+            pool.get();
+            fail("Expected the pool to be exhausted");
+        } catch (EJBException e) {
+            // good
+        }
+        pool.discard(second);
+        assertEquals(1, factory.destroyed.get());
+        pool.get();
+        assertEquals(3, pool.getCreateCount());
+        assertEquals(1, pool.getRemoveCount());
+    }
+
+    @Test
+    public void testStatistics() {
+        final InstrumentedPool<Object> pool = new InstrumentedPool<Object>(new StripedPool<Object>(new CountingFactory(), 1, 10, TimeUnit.MILLISECONDS));
+        final Object instance = pool.get();
+        assertEquals(1, pool.getInUseCount());
+        try {
+            pool.get();
+            fail("Expected the pool to be exhausted");
+        } catch (EJBException e) {
+            // good
+        }
+        assertEquals(1, pool.getWaitCount());
+        pool.release(instance);
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(1, pool.getCreateCount());
+    }
+}
@@ -128,6 +128,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         config.setServerAddress(new InetSocketAddress(host, port));
         config.setThreadFactory(threadFactory); //TODO inject
         config.setClosedCallback(this);
+        config.setMultiplexed(true);
         final InetAddress callbackAddress = getCallbackAddress(ourAddress, host);
         final ProtocolClient protocolClient = new ProtocolClient(config);
 
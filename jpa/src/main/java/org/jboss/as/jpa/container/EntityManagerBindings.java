@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transaction;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per thread cache of the underlying entity manager that each transaction scoped entity manager resolved to.
+ * A binding is only valid for the transaction it was made in and for the current invocation; all bindings of a
+ * thread are dropped whenever a session bean (or web) invocation starts or ends, since that changes the SFSB call
+ * stack and closes entity managers which were created without a transaction.  Bindings are only made while such
+ * an invocation is in progress, so that the end of the invocation always drops them and a pooled thread never
+ * keeps an entity manager (and its factory and class loader) reachable.
+ *
+ * @author agent
+ */
+final class EntityManagerBindings {
+
+    private static final ThreadLocal<Map<TransactionScopedEntityManager, Binding>> bindings = new ThreadLocal<Map<TransactionScopedEntityManager, Binding>>() {
+        protected Map<TransactionScopedEntityManager, Binding> initialValue() {
+            return new IdentityHashMap<TransactionScopedEntityManager, Binding>(4);
+        }
+    };
+
+    private EntityManagerBindings() {
+    }
+
+    /**
+     * Return the entity manager bound for the specified transaction scoped entity manager
+     *
+     * @param owner the transaction scoped entity manager
+     * @param tx the active transaction or null if there is none
+     * @return the bound entity manager or null if there is no binding for this transaction
+     */
+    static EntityManager get(TransactionScopedEntityManager owner, Transaction tx) {
+        final Binding binding = bindings.get().get(owner);
+        if (binding != null && binding.tx == tx) {
+            return binding.entityManager;
+        }
+        return null;
+    }
+
+    static void bind(TransactionScopedEntityManager owner, Transaction tx, EntityManager entityManager) {
+        final Map<TransactionScopedEntityManager, Binding> map = bindings.get();
+        final Binding binding = map.get(owner);
+        if (binding != null) {
+            binding.tx = tx;
+            binding.entityManager = entityManager;
+        } else {
+            map.put(owner, new Binding(tx, entityManager));
+        }
+    }
+
+    /**
+     * Drop all bindings of the current thread, called at invocation start and end.
+     */
+    static void invalidate() {
+        final Map<TransactionScopedEntityManager, Binding> map = bindings.get();
+        if (!map.isEmpty()) {
+            map.clear();
+        }
+    }
+
+    private static final class Binding {
+        private Transaction tx;
+        private EntityManager entityManager;
+
+        private Binding(Transaction tx, EntityManager entityManager) {
+            this.tx = tx;
+            this.entityManager = entityManager;
+        }
+    }
+}
@@ -45,6 +45,7 @@ public class NonTxEmCloser {
      * without a JTA transaction.
      */
     public static void pushCall() {
+        EntityManagerBindings.invalidate();
         nonTxStack.push(new HashMap <String,EntityManager>());
     }
 
@@ -53,11 +54,19 @@ public class NonTxEmCloser {
      * transaction.
      */
     public static void popCall() {
+        EntityManagerBindings.invalidate();
         for (EntityManager entityManager: nonTxStack.pop().values()) {
             entityManager.close();
         }
     }
 
+    /**
+     * @return true if a session bean (or web) invocation is in progress on the current thread
+     */
+    public static boolean isInCall() {
+        return nonTxStack.get() != null;
+    }
+
     /**
      * Return the transactional entity manager for the specified scoped persistence unit name
      * @param puScopedName
@@ -71,10 +80,20 @@ public class NonTxEmCloser {
         return null;
     }
 
-    public static void add(String puScopedName, EntityManager entityManager) {
+    /**
+     * Track the transactional entity manager for the specified scoped persistence unit name, so that it is closed
+     * at the end of the current invocation.
+     *
+     * @param puScopedName
+     * @param entityManager
+     * @return true if the entity manager will be closed at invocation end, false if there is no invocation in progress
+     */
+    public static boolean add(String puScopedName, EntityManager entityManager) {
         Map<String,EntityManager> map = nonTxStack.get();
         if (map != null) {
-            nonTxStack.get().put(puScopedName, entityManager);
+            map.put(puScopedName, entityManager);
+            return true;
         }
+        return false;
     }
 }
@@ -85,6 +85,7 @@ public class SFSBCallStack {
      * @param beanContextHandle
      */
     public static void pushCall(SFSBContextHandle beanContextHandle) {
+        EntityManagerBindings.invalidate();
         currentSFSBCallStack().add(beanContextHandle);
     }
 
@@ -94,6 +95,7 @@ public class SFSBCallStack {
      * @return the popped SFSB context handle
      */
     public static SFSBContextHandle popCall() {
+        EntityManagerBindings.invalidate();
         ArrayList<SFSBContextHandle> stack = currentSFSBCallStack();
         SFSBContextHandle result = stack.remove(stack.size() - 1);
         stack.trimToSize();
@@ -28,6 +28,7 @@ import org.jboss.logging.Logger;
 import javax.ejb.EJBException;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transaction;
 import java.util.Map;
 
 /**
@@ -56,10 +57,17 @@ public class TransactionScopedEntityManager extends AbstractEntityManager {
 
     @Override
     protected EntityManager getEntityManager() {
-        EntityManager result = null;
-        boolean isInTx;
+        final Transaction tx = TransactionUtil.getInstance().getActiveTransaction();
 
-        isInTx = TransactionUtil.getInstance().isInTx();
+        // repeated calls within the same transaction and invocation reuse the entity manager resolved by the first one
+        EntityManager result = EntityManagerBindings.get(this, tx);
+        if (result != null) {
+            return result;
+        }
+
+        final boolean isInTx = tx != null;
+        // only an invocation in progress drops the binding again, outside of one nothing is remembered
+        boolean bind = NonTxEmCloser.isInCall();
 
         // try to get EM from XPC and return it if puScopedName is found
         if (isInTx && (result = SFSBCallStack.findPersistenceContext(puScopedName)) != null) {
@@ -89,10 +97,14 @@ public class TransactionScopedEntityManager extends AbstractEntityManager {
                 result = NonTxEmCloser.get(puScopedName);
                 if (result == null) {
                     result = EntityManagerUtil.createEntityManager(emf, properties);
-                    NonTxEmCloser.add(puScopedName, result);
+                    // an entity manager nobody will close must not be remembered either
+                    bind = NonTxEmCloser.add(puScopedName, result);
                 }
             }
         }
+        if (bind) {
+            EntityManagerBindings.bind(this, tx, result);
+        }
         return result;
     }
 
@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.hibernate;
+
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.jboss.as.jpa.config.PersistenceUnitMetadata;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.SharedCacheMode;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wires the Hibernate second level cache of a persistence unit to a cache container of the infinispan subsystem,
+ * and keeps track of the per region cache statistics.
+ *
+ * @author agent
+ */
+public final class HibernateSecondLevelCache {
+
+    public static final String PROVIDER_CLASS = "org.hibernate.ejb.HibernatePersistence";
+
+    private static final String USE_SECOND_LEVEL_CACHE = "hibernate.cache.use_second_level_cache";
+    private static final String REGION_FACTORY = "hibernate.cache.region.factory_class";
+
+    private static final String HIT_COUNT = "hit-count";
+    private static final String MISS_COUNT = "miss-count";
+    private static final String PUT_COUNT = "put-count";
+    private static final String ELEMENT_COUNT = "element-count";
+
+    private static final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+
+    private HibernateSecondLevelCache() {
+    }
+
+    /**
+     * Get the name of the cache container that should back the second level cache of the persistence unit.
+     *
+     * @param pu the persistence unit
+     * @param defaultCacheContainer the default cache container of the jpa subsystem, may be null
+     * @return the cache container name, or null if the persistence unit does not use Hibernate, has no second level
+     *         cache or configures its own region factory
+     */
+    public static String getCacheContainerName(PersistenceUnitMetadata pu, String defaultCacheContainer) {
+        if (!PROVIDER_CLASS.equals(pu.getPersistenceProviderClassName())) {
+            return null;
+        }
+        final Properties properties = pu.getProperties();
+        if (properties.getProperty(REGION_FACTORY) != null) {
+            return null;
+        }
+        final String useSecondLevelCache = properties.getProperty(USE_SECOND_LEVEL_CACHE);
+        final SharedCacheMode mode = pu.getSharedCacheMode();
+        final boolean enabled = "true".equalsIgnoreCase(useSecondLevelCache) ||
+            (useSecondLevelCache == null && mode != null && mode != SharedCacheMode.NONE && mode != SharedCacheMode.UNSPECIFIED);
+        if (!enabled) {
+            return null;
+        }
+        final String name = properties.getProperty(SharedInfinispanRegionFactory.CACHE_CONTAINER, defaultCacheContainer);
+        return name != null && name.length() > 0 ? name : null;
+    }
+
+    /**
+     * Add the properties which make Hibernate use the specified cache container for its second level cache.
+     *
+     * @param properties the integration properties passed to the persistence provider
+     * @param cacheContainer the cache container name
+     */
+    public static void addSecondLevelCacheProperties(Map properties, String cacheContainer) {
+        properties.put(USE_SECOND_LEVEL_CACHE, "true");
+        properties.put(REGION_FACTORY, SharedInfinispanRegionFactory.class.getName());
+        properties.put(SharedInfinispanRegionFactory.CACHE_CONTAINER, cacheContainer);
+    }
+
+    /**
+     * Get the class loader to use as thread context class loader while the persistence provider creates the entity
+     * manager factory.  Hibernate loads the region factory by class name through the thread context class loader,
+     * which can't see {@link SharedInfinispanRegionFactory} on its own.
+     *
+     * @param properties the integration properties passed to the persistence provider
+     * @param parent the thread context class loader to use otherwise
+     * @return a class loader which also loads the region factory, or the parent if the region factory isn't used
+     */
+    public static ClassLoader getProviderClassLoader(Map properties, ClassLoader parent) {
+        if (!SharedInfinispanRegionFactory.class.getName().equals(properties.get(REGION_FACTORY))) {
+            return parent;
+        }
+        return new RegionFactoryClassLoader(parent);
+    }
+
+    /**
+     * Get the name of the service of the specified infinispan cache container.
+     *
+     * @param cacheContainer the cache container name
+     * @return the service name
+     */
+    public static ServiceName getCacheContainerServiceName(String cacheContainer) {
+        return ServiceName.JBOSS.append("infinispan", cacheContainer);
+    }
+
+    /**
+     * Track the second level cache statistics of the entity manager factory, if it is a Hibernate one with
+     * statistics enabled.  Statistics are only enabled if the persistence unit sets hibernate.generate_statistics,
+     * as gathering them has a cost on every session.
+     *
+     * @param scopedPuName the scoped persistence unit name
+     * @param emf the entity manager factory
+     */
+    public static void registerStatistics(String scopedPuName, EntityManagerFactory emf) {
+        if (emf instanceof HibernateEntityManagerFactory) {
+            final Statistics stats = ((HibernateEntityManagerFactory) emf).getSessionFactory().getStatistics();
+            if (stats.isStatisticsEnabled()) {
+                statistics.put(scopedPuName, stats);
+            }
+        }
+    }
+
+    public static void unregisterStatistics(String scopedPuName) {
+        statistics.remove(scopedPuName);
+    }
+
+    /**
+     * Get the second level cache statistics of all tracked persistence units, by scoped persistence unit name
+     * and region name.
+     *
+     * @return the statistics
+     */
+    public static ModelNode getStatistics() {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<String, Statistics> entry : statistics.entrySet()) {
+            final ModelNode pu = result.get(entry.getKey());
+            pu.setEmptyObject();
+            final Statistics stats = entry.getValue();
+            for (String region : stats.getSecondLevelCacheRegionNames()) {
+                final SecondLevelCacheStatistics regionStats = stats.getSecondLevelCacheStatistics(region);
+                if (regionStats == null) {
+                    continue;
+                }
+                final ModelNode node = pu.get(region);
+                node.get(HIT_COUNT).set(regionStats.getHitCount());
+                node.get(MISS_COUNT).set(regionStats.getMissCount());
+                node.get(PUT_COUNT).set(regionStats.getPutCount());
+                node.get(ELEMENT_COUNT).set(regionStats.getElementCountInMemory());
+            }
+        }
+        return result;
+    }
+
+    private static final class RegionFactoryClassLoader extends ClassLoader {
+
+        RegionFactoryClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            if (SharedInfinispanRegionFactory.class.getName().equals(name)) {
+                return SharedInfinispanRegionFactory.class;
+            }
+            throw new ClassNotFoundException(name);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.hibernate;
+
+import org.hibernate.cache.CacheDataDescription;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.CollectionRegion;
+import org.hibernate.cache.EntityRegion;
+import org.hibernate.cache.QueryResultsRegion;
+import org.hibernate.cache.TimestampsRegion;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.infinispan.Cache;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.jboss.msc.inject.InjectionException;
+import org.jboss.msc.inject.Injector;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Infinispan region factory that uses a cache container of the infinispan subsystem, instead of starting a cache
+ * manager of its own for every persistence unit.  The container is selected by name with the
+ * {@link #CACHE_CONTAINER} property; regions are mapped to the caches of that container as configured by the
+ * usual hibernate.cache.infinispan.* properties (by default entity, local-query and timestamps).
+ *
+ * @author agent
+ */
+public class SharedInfinispanRegionFactory extends InfinispanRegionFactory {
+
+    public static final String CACHE_CONTAINER = "hibernate.cache.infinispan.container";
+
+    /**
+     * Cache containers available to region factories, by name.  A container is registered for as long as at
+     * least one persistence unit service depends on it.
+     */
+    private static final Map<String, Registration> cacheContainers = new HashMap<String, Registration>();
+
+    private volatile EmbeddedCacheManager cacheManager;
+
+    /**
+     * Names of the caches backing the regions built by this factory, a cache per region.
+     */
+    private final Set<String> regionNames = new HashSet<String>();
+
+    public SharedInfinispanRegionFactory() {
+        super();
+    }
+
+    public SharedInfinispanRegionFactory(Properties props) {
+        super(props);
+    }
+
+    @Override
+    protected EmbeddedCacheManager createCacheManager(Properties properties) throws CacheException {
+        final String name = properties.getProperty(CACHE_CONTAINER);
+        if (name == null) {
+            throw new CacheException(CACHE_CONTAINER + " must be set to use " + getClass().getName());
+        }
+        final EmbeddedCacheManager cacheManager = getCacheContainer(name);
+        if (cacheManager == null) {
+            throw new CacheException("Cache container '" + name + "' is not available");
+        }
+        this.cacheManager = cacheManager;
+        return cacheManager;
+    }
+
+    @Override
+    public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata) throws CacheException {
+        final EntityRegion region = super.buildEntityRegion(regionName, properties, metadata);
+        addRegion(regionName);
+        return region;
+    }
+
+    @Override
+    public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata) throws CacheException {
+        final CollectionRegion region = super.buildCollectionRegion(regionName, properties, metadata);
+        addRegion(regionName);
+        return region;
+    }
+
+    @Override
+    public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+        final QueryResultsRegion region = super.buildQueryResultsRegion(regionName, properties);
+        addRegion(regionName);
+        return region;
+    }
+
+    @Override
+    public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+        final TimestampsRegion region = super.buildTimestampsRegion(regionName, properties);
+        addRegion(regionName);
+        return region;
+    }
+
+    private void addRegion(String regionName) {
+        synchronized (regionNames) {
+            regionNames.add(regionName);
+        }
+    }
+
+    /**
+     * The cache container is owned by the infinispan subsystem and outlives the session factory, so it is not
+     * stopped here.  The region caches are cleared instead, which drops the state cached for the persistence unit
+     * and with it the references to its classes.  They are not stopped, since a persistence unit of another
+     * deployment may use a region of the same name in the same container.
+     */
+    @Override
+    public void stop() {
+        final EmbeddedCacheManager cacheManager = this.cacheManager;
+        this.cacheManager = null;
+        synchronized (regionNames) {
+            if (cacheManager != null && cacheManager.getStatus().allowInvocations()) {
+                for (String regionName : regionNames) {
+                    final Cache<Object, Object> cache = cacheManager.getCache(regionName);
+                    if (cache.getStatus().allowInvocations()) {
+                        cache.clear();
+                    }
+                }
+            }
+            regionNames.clear();
+        }
+    }
+
+    /**
+     * Get an injector which makes the injected cache container available to region factories under the
+     * specified name.
+     *
+     * @param name the cache container name
+     * @return the injector
+     */
+    public static Injector<EmbeddedCacheManager> getCacheContainerInjector(final String name) {
+        return new Injector<EmbeddedCacheManager>() {
+            private EmbeddedCacheManager value;
+
+            public void inject(final EmbeddedCacheManager value) throws InjectionException {
+                this.value = value;
+                register(name, value);
+            }
+
+            public void uninject() {
+                unregister(name, value);
+                value = null;
+            }
+        };
+    }
+
+    static EmbeddedCacheManager getCacheContainer(String name) {
+        synchronized (cacheContainers) {
+            final Registration registration = cacheContainers.get(name);
+            return registration != null ? registration.cacheManager : null;
+        }
+    }
+
+    private static void register(String name, EmbeddedCacheManager cacheManager) {
+        synchronized (cacheContainers) {
+            final Registration registration = cacheContainers.get(name);
+            if (registration != null && registration.cacheManager == cacheManager) {
+                registration.references++;
+            } else {
+                // first use, or the container was replaced by a restart of the infinispan subsystem
+                cacheContainers.put(name, new Registration(cacheManager));
+            }
+        }
+    }
+
+    private static void unregister(String name, EmbeddedCacheManager cacheManager) {
+        synchronized (cacheContainers) {
+            final Registration registration = cacheContainers.get(name);
+            if (registration != null && registration.cacheManager == cacheManager && --registration.references == 0) {
+                cacheContainers.remove(name);
+            }
+        }
+    }
+
+    private static final class Registration {
+        private final EmbeddedCacheManager cacheManager;
+        private int references = 1;
+
+        private Registration(EmbeddedCacheManager cacheManager) {
+            this.cacheManager = cacheManager;
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 package org.jboss.as.jpa.processor;
 
+import org.infinispan.manager.EmbeddedCacheManager;
 import org.jboss.as.connector.subsystems.datasources.AbstractDataSourceService;
 import org.jboss.as.ee.beanvalidation.BeanValidationAttachments;
 import org.jboss.as.ee.structure.DeploymentType;
@@ -29,6 +30,8 @@ import org.jboss.as.ee.structure.DeploymentTypeMarker;
 import org.jboss.as.jpa.classloader.TempClassLoader;
 import org.jboss.as.jpa.config.PersistenceUnitMetadata;
 import org.jboss.as.jpa.config.PersistenceUnitMetadataHolder;
+import org.jboss.as.jpa.hibernate.HibernateSecondLevelCache;
+import org.jboss.as.jpa.hibernate.SharedInfinispanRegionFactory;
 import org.jboss.as.jpa.persistenceprovider.PersistenceProviderAdapterRegistry;
 import org.jboss.as.jpa.service.JPAService;
 import org.jboss.as.jpa.service.PersistenceUnitService;
@@ -216,6 +219,10 @@ public class PersistenceUnitDeploymentProcessor implements DeploymentUnitProcess
                             properties.put("javax.persistence.validation.factory", validatorFactory);
                         }
                         addProviderProperties(pu, properties);
+                        final String cacheContainer = HibernateSecondLevelCache.getCacheContainerName(pu, JPAService.getDefaultCacheContainerName());
+                        if (cacheContainer != null) {
+                            HibernateSecondLevelCache.addSecondLevelCacheProperties(properties, cacheContainer);
+                        }
                         final ServiceName serviceName = PersistenceUnitService.getPUServiceName(pu);
 
                         deploymentUnit.addToAttachmentList(Attachments.WEB_DEPENDENCIES,serviceName);
@@ -237,6 +244,10 @@ public class PersistenceUnitDeploymentProcessor implements DeploymentUnitProcess
                             builder.addDependency(AbstractDataSourceService.SERVICE_NAME_BASE.append(JPAService.getDefaultDataSourceName()),new CastingInjector<DataSource>(service.getJtaDataSourceInjector(),DataSource.class));
                             log.trace(serviceName + " is using the default data source '" + JPAService.getDefaultDataSourceName() + "'");
                         }
+                        if (cacheContainer != null) {
+                            builder.addDependency(HibernateSecondLevelCache.getCacheContainerServiceName(cacheContainer), new CastingInjector<EmbeddedCacheManager>(SharedInfinispanRegionFactory.getCacheContainerInjector(cacheContainer), EmbeddedCacheManager.class));
+                            log.trace(serviceName + " is using cache container '" + cacheContainer + "' for the second level cache");
+                        }
                         builder.addDependency(TransactionManagerService.SERVICE_NAME, new CastingInjector<TransactionManager>(transactionManagerInjector, TransactionManager.class))
                             .addDependency(TransactionSynchronizationRegistryService.SERVICE_NAME, new CastingInjector<TransactionSynchronizationRegistry>(transactionRegistryInjector, TransactionSynchronizationRegistry.class))
                             .setInitialMode(ServiceController.Mode.ACTIVE)
@@ -41,14 +41,20 @@ public class JPAService implements Service<Void> {
 
     private static String defaultDataSourceName = null;
 
+    private static String defaultCacheContainerName = null;
 
     public static String getDefaultDataSourceName() {
         return defaultDataSourceName;
     }
 
-    public static void addService(final ServiceTarget target, final String defaultDataSourceName) {
+    public static String getDefaultCacheContainerName() {
+        return defaultCacheContainerName;
+    }
+
+    public static void addService(final ServiceTarget target, final String defaultDataSourceName, final String defaultCacheContainerName) {
         JPAService jpaService = new JPAService();
         JPAService.defaultDataSourceName = defaultDataSourceName;
+        JPAService.defaultCacheContainerName = defaultCacheContainerName;
         target.addService(SERVICE_NAME, jpaService)
                 .setInitialMode(ServiceController.Mode.ACTIVE)
                 .install();
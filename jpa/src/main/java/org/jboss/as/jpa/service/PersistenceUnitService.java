@@ -23,6 +23,7 @@
 package org.jboss.as.jpa.service;
 
 import org.jboss.as.jpa.config.PersistenceUnitMetadata;
+import org.jboss.as.jpa.hibernate.HibernateSecondLevelCache;
 import org.jboss.as.jpa.persistenceprovider.PersistenceProviderAdapterRegistry;
 import org.jboss.as.jpa.spi.PersistenceProviderAdaptor;
 import org.jboss.as.server.deployment.module.ResourceRoot;
@@ -76,6 +77,7 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
             pu.setJtaDataSource(jtaDataSource.getOptionalValue());
             pu.setNonJtaDataSource(nonJtaDataSource.getOptionalValue());
             this.entityManagerFactory = createContainerEntityManagerFactory(provider);
+            HibernateSecondLevelCache.registerStatistics(pu.getScopedPersistenceUnitName(), entityManagerFactory);
 
         } finally {
             pu.setTempClassloader(null);    // release the temp classloader (only needed when creating the EMF)
@@ -85,6 +87,7 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
     @Override
     public void stop(StopContext context) {
         if (entityManagerFactory != null) {
+            HibernateSecondLevelCache.unregisterStatistics(pu.getScopedPersistenceUnitName());
             entityManagerFactory.close();
             entityManagerFactory = null;
         }
@@ -154,7 +157,8 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
 
 
     /**
-     * Attempt Hack around JBTM-828 by setting the TCCL to include arjuna.
+     * Attempt Hack around JBTM-828 by setting the TCCL to include arjuna (and the shared second level cache region
+     * factory, which Hibernate also loads through the TCCL).
      *
      * @param provider
      * @return EntityManagerFactory
@@ -163,8 +167,8 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
 
         PersistenceProviderAdaptor adaptor = PersistenceProviderAdapterRegistry.getPersistenceProviderAdaptor(pu.getPersistenceProviderClassName());
         adaptor.beforeCreateContainerEntityManagerFactory(pu);
-        AccessController.doPrivileged(new SetContextLoaderAction(com.arjuna.ats.jbossatx.jta.TransactionManagerService.class
-            .getClassLoader()));
+        AccessController.doPrivileged(new SetContextLoaderAction(HibernateSecondLevelCache.getProviderClassLoader(
+            properties.getValue(), com.arjuna.ats.jbossatx.jta.TransactionManagerService.class.getClassLoader())));
         try {
             return provider.createContainerEntityManagerFactory(pu, properties.getValue());
         } finally {
@@ -31,6 +31,7 @@ import java.util.Map;
 enum Attribute {
 
     UNKNOWN(null),
+    DEFAULT_CACHE_CONTAINER_NAME(CommonAttributes.DEFAULT_CACHE_CONTAINER),
     DEFAULT_DATASOURCE_NAME(CommonAttributes.DEFAULT_DATASOURCE),
     ;
     private final String name;
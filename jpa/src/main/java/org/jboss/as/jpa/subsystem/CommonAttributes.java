@@ -27,6 +27,8 @@ package org.jboss.as.jpa.subsystem;
  */
 interface CommonAttributes {
 
+    String DEFAULT_CACHE_CONTAINER = "default-cache-container";
     String DEFAULT_DATASOURCE = "default-datasource";
     String JPA = "jpa";
+    String SECOND_LEVEL_CACHE_STATISTICS = "second-level-cache-statistics";
 }
@@ -59,8 +59,12 @@ public class JPADataSourceAdd implements ModelUpdateOperationHandler {
     public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
 
         final String dataSourceName = operation.require(CommonAttributes.DEFAULT_DATASOURCE).asString();
+        final String cacheContainerName = operation.hasDefined(CommonAttributes.DEFAULT_CACHE_CONTAINER) ? operation.get(CommonAttributes.DEFAULT_CACHE_CONTAINER).asString() : null;
 
         context.getSubModel().get(CommonAttributes.DEFAULT_DATASOURCE).set(dataSourceName);
+        if (cacheContainerName != null) {
+            context.getSubModel().get(CommonAttributes.DEFAULT_CACHE_CONTAINER).set(cacheContainerName);
+        }
 
         final ModelNode compensatingOperation = Util.getEmptyOperation(JPADataSourceRemove.OPERATION_NAME, operation.require(OP_ADDR));
 
@@ -68,7 +72,7 @@ public class JPADataSourceAdd implements ModelUpdateOperationHandler {
             context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
                 public void execute(RuntimeTaskContext context) throws OperationFailedException {
                     final ServiceTarget target = context.getServiceTarget();
-                    JPAService.addService(target, dataSourceName);
+                    JPAService.addService(target, dataSourceName, cacheContainerName);
                     resultHandler.handleResultComplete();
                 }
             });
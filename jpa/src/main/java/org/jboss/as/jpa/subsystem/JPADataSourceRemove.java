@@ -63,8 +63,12 @@ public class JPADataSourceRemove implements ModelUpdateOperationHandler {
         compensatingOperation.get(OP).set(JPADataSourceAdd.OPERATION_NAME);
         compensatingOperation.get(OP_ADDR).set(operation.require(OP_ADDR));
         compensatingOperation.get(CommonAttributes.DEFAULT_DATASOURCE).set(subModel.get(CommonAttributes.DEFAULT_DATASOURCE));
+        if (subModel.hasDefined(CommonAttributes.DEFAULT_CACHE_CONTAINER)) {
+            compensatingOperation.get(CommonAttributes.DEFAULT_CACHE_CONTAINER).set(subModel.get(CommonAttributes.DEFAULT_CACHE_CONTAINER));
+        }
 
         subModel.get(CommonAttributes.DEFAULT_DATASOURCE).clear();
+        subModel.get(CommonAttributes.DEFAULT_CACHE_CONTAINER).clear();
 
         if (context.getRuntimeContext() != null) {
             context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
@@ -100,6 +100,11 @@ public class JPAExtension implements Extension {
             op.get(REQUEST_PROPERTIES, CommonAttributes.DEFAULT_DATASOURCE, REQUIRED).set(true);
             op.get(REQUEST_PROPERTIES, CommonAttributes.DEFAULT_DATASOURCE, MIN_OCCURS).set(1);
             op.get(REQUEST_PROPERTIES, CommonAttributes.DEFAULT_DATASOURCE, MAX_OCCURS).set(1);
+            op.get(REQUEST_PROPERTIES,
+                CommonAttributes.DEFAULT_CACHE_CONTAINER,
+                org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("default.cache-container"));
+            op.get(REQUEST_PROPERTIES, CommonAttributes.DEFAULT_CACHE_CONTAINER, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, CommonAttributes.DEFAULT_CACHE_CONTAINER, REQUIRED).set(false);
 
             op.get(REPLY_PROPERTIES).setEmptyObject();
 
@@ -133,11 +138,14 @@ public class JPAExtension implements Extension {
         return update;
     }
 
-    private static ModelNode createAddDefaultDataSourceName(String dataSourceName) {
+    private static ModelNode createAddDefaultDataSourceName(String dataSourceName, String cacheContainerName) {
         final ModelNode jpaModelNode = new ModelNode();
         jpaModelNode.get(OP).set(JPADataSourceAdd.OPERATION_NAME);
         jpaModelNode.get(OP_ADDR).add(SUBSYSTEM, SUBSYSTEM_NAME);
         jpaModelNode.get(CommonAttributes.DEFAULT_DATASOURCE).set(dataSourceName);
+        if (cacheContainerName != null) {
+            jpaModelNode.get(CommonAttributes.DEFAULT_CACHE_CONTAINER).set(cacheContainerName);
+        }
         return jpaModelNode;
     }
 
@@ -150,6 +158,7 @@ public class JPAExtension implements Extension {
         nodeRegistration.registerOperationHandler(DESCRIBE, JPADescribeHandler.INSTANCE, JPADescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
         nodeRegistration.registerOperationHandler(JPADataSourceAdd.OPERATION_NAME, JPADataSourceAdd.INSTANCE, JPA_ADD, false);
         nodeRegistration.registerOperationHandler(JPADataSourceRemove.OPERATION_NAME, JPADataSourceRemove.INSTANCE, JPA_REMOVE, false);
+        nodeRegistration.registerMetric(CommonAttributes.SECOND_LEVEL_CACHE_STATISTICS, JPASubsystemMetrics.INSTANCE);
         registration.registerXMLElementWriter(parser);
 
     }
@@ -206,6 +215,7 @@ public class JPAExtension implements Extension {
         private void parseJPA(XMLExtendedStreamReader reader, List<ModelNode> list) throws
             XMLStreamException {
             String dataSourceName = null;
+            String cacheContainerName = null;
             int count = reader.getAttributeCount();
             for (int i = 0; i < count; i++) {
                 final String value = reader.getAttributeValue(i);
@@ -215,6 +225,10 @@ public class JPAExtension implements Extension {
                         dataSourceName = value;
                         break;
                     }
+                    case DEFAULT_CACHE_CONTAINER_NAME: {
+                        cacheContainerName = value;
+                        break;
+                    }
                     default: {
                         throw ParseUtils.unexpectedAttribute(reader, i);
                     }
@@ -225,7 +239,7 @@ public class JPAExtension implements Extension {
             if (dataSourceName == null) {
                 throw ParseUtils.missingRequired(reader, Collections.singleton(Attribute.DEFAULT_DATASOURCE_NAME));
             }
-            list.add(createAddDefaultDataSourceName(dataSourceName));
+            list.add(createAddDefaultDataSourceName(dataSourceName, cacheContainerName));
         }
 
         /**
@@ -240,6 +254,9 @@ public class JPAExtension implements Extension {
                 context.startSubsystemElement(Namespace.CURRENT.getUriString(), false);
                 writer.writeStartElement(Element.JPA.getLocalName());
                 writer.writeAttribute(Attribute.DEFAULT_DATASOURCE_NAME.getLocalName(), node.get(CommonAttributes.DEFAULT_DATASOURCE).asString());
+                if (node.hasDefined(CommonAttributes.DEFAULT_CACHE_CONTAINER)) {
+                    writer.writeAttribute(Attribute.DEFAULT_CACHE_CONTAINER_NAME.getLocalName(), node.get(CommonAttributes.DEFAULT_CACHE_CONTAINER).asString());
+                }
                 writer.writeEndElement();
                 writer.writeEndElement();
             } else {
@@ -19,6 +19,7 @@
 package org.jboss.as.jpa.subsystem;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACE;
@@ -26,12 +27,14 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  *
@@ -52,6 +55,10 @@ class JPASubsystemProviders {
             subsystem.get(HEAD_COMMENT_ALLOWED).set(true);
             subsystem.get(TAIL_COMMENT_ALLOWED).set(true);
             subsystem.get(NAMESPACE).set(Namespace.JPA_1_0.getUriString());
+            subsystem.get(ATTRIBUTES, CommonAttributes.DEFAULT_CACHE_CONTAINER, DESCRIPTION).set(bundle.getString("default.cache-container"));
+            subsystem.get(ATTRIBUTES, CommonAttributes.DEFAULT_CACHE_CONTAINER, TYPE).set(ModelType.STRING);
+            subsystem.get(ATTRIBUTES, CommonAttributes.SECOND_LEVEL_CACHE_STATISTICS, DESCRIPTION).set(bundle.getString("second-level-cache-statistics"));
+            subsystem.get(ATTRIBUTES, CommonAttributes.SECOND_LEVEL_CACHE_STATISTICS, TYPE).set(ModelType.OBJECT);
 
             return subsystem;
         }
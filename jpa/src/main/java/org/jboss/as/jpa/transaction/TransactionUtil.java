@@ -72,10 +72,19 @@ public class TransactionUtil {
     }
 
     public boolean isInTx() {
+        return getActiveTransaction() != null;
+    }
+
+    /**
+     * Get the transaction associated with the current thread.
+     *
+     * @return the transaction or null if there is no active transaction
+     */
+    public Transaction getActiveTransaction() {
         Transaction tx = getTransaction();
         if (tx == null || !TxUtils.isActive(tx))
-            return false;
-        return true;
+            return null;
+        return tx;
     }
 
     /**
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jpa.container;
+
+import org.jboss.as.jpa.transaction.TransactionUtil;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The bind and invalidate rules of the entity managers resolved by a {@link TransactionScopedEntityManager}.
+ *
+ * @author agent
+ */
+public class TransactionScopedEntityManagerTestCase {
+
+    private static final String PU = "test.ear/test.jar#pu";
+
+    private static Transaction currentTx;
+    private static final Map<Transaction, Map<Object, Object>> resources = new IdentityHashMap<Transaction, Map<Object, Object>>();
+    private static final Set<EntityManager> closed = new HashSet<EntityManager>();
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                }
+                if (method.getName().equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                if (method.getName().equals("toString")) {
+                    return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+                return handler.invoke(proxy, method, args);
+            }
+        }));
+    }
+
+    @BeforeClass
+    public static void setUpTransactions() {
+        TransactionUtil.setTransactionManager(proxy(TransactionManager.class, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getName().equals("getTransaction")) {
+                    return currentTx;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+        TransactionUtil.setTransactionSynchronizationRegistry(proxy(TransactionSynchronizationRegistry.class, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                Map<Object, Object> map = resources.get(currentTx);
+                if (map == null) {
+                    resources.put(currentTx, map = new HashMap<Object, Object>());
+                }
+                if (method.getName().equals("getResource")) {
+                    return map.get(args[0]);
+                }
+                if (method.getName().equals("putResource")) {
+                    map.put(args[0], args[1]);
+                    return null;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+    }
+
+    @After
+    public void tearDown() {
+        currentTx = null;
+        resources.clear();
+        closed.clear();
+        while (NonTxEmCloser.isInCall()) {
+            NonTxEmCloser.popCall();
+        }
+    }
+
+    private static Transaction transaction() {
+        return proxy(Transaction.class, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getName().equals("getStatus")) {
+                    return Status.STATUS_ACTIVE;
+                }
+                if (method.getName().equals("registerSynchronization")) {
+                    return null;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static TransactionScopedEntityManager entityManager() {
+        final EntityManagerFactory emf = proxy(EntityManagerFactory.class, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getName().equals("createEntityManager")) {
+                    return proxy(EntityManager.class, new InvocationHandler() {
+                        public Object invoke(final Object em, final Method method, final Object[] args) throws Throwable {
+                            if (method.getName().equals("close")) {
+                                closed.add((EntityManager) em);
+                                return null;
+                            }
+                            if (method.getName().equals("joinTransaction")) {
+                                return null;
+                            }
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        return new TransactionScopedEntityManager(PU, null, emf);
+    }
+
+    /**
+     * Outside of an invocation nothing would ever invalidate a binding, so none is made.
+     */
+    @Test
+    public void testNoBindingOutsideInvocation() {
+        final TransactionScopedEntityManager tsem = entityManager();
+
+        currentTx = transaction();
+        final EntityManager inTx = tsem.getEntityManager();
+        assertSame(inTx, tsem.getEntityManager());
+        assertNull(EntityManagerBindings.get(tsem, currentTx));
+
+        currentTx = null;
+        final EntityManager noTx = tsem.getEntityManager();
+        assertNotSame(noTx, tsem.getEntityManager());
+        assertNull(EntityManagerBindings.get(tsem, null));
+    }
+
+    /**
+     * Within an invocation the resolution is bound and the end of the invocation drops it again.
+     */
+    @Test
+    public void testBindingWithinInvocation() {
+        final TransactionScopedEntityManager tsem = entityManager();
+
+        NonTxEmCloser.pushCall();
+        currentTx = transaction();
+        final EntityManager inTx = tsem.getEntityManager();
+        assertSame(inTx, EntityManagerBindings.get(tsem, currentTx));
+        assertSame(inTx, tsem.getEntityManager());
+        final Transaction tx = currentTx;
+        NonTxEmCloser.popCall();
+        assertNull(EntityManagerBindings.get(tsem, tx));
+
+        NonTxEmCloser.pushCall();
+        currentTx = null;
+        final EntityManager noTx = tsem.getEntityManager();
+        assertSame(noTx, EntityManagerBindings.get(tsem, null));
+        assertSame(noTx, tsem.getEntityManager());
+        assertFalse(closed.contains(noTx));
+        NonTxEmCloser.popCall();
+        assertTrue(closed.contains(noTx));
+        assertNull(EntityManagerBindings.get(tsem, null));
+    }
+
+    /**
+     * A binding made in one transaction is not used in another, and a nested invocation starts without bindings.
+     */
+    @Test
+    public void testBindingScope() {
+        final TransactionScopedEntityManager tsem = entityManager();
+
+        NonTxEmCloser.pushCall();
+        final Transaction tx1 = currentTx = transaction();
+        final EntityManager em1 = tsem.getEntityManager();
+        final Transaction tx2 = currentTx = transaction();
+        final EntityManager em2 = tsem.getEntityManager();
+        assertNotSame(em1, em2);
+        assertNull(EntityManagerBindings.get(tsem, tx1));
+        assertSame(em2, EntityManagerBindings.get(tsem, tx2));
+
+        NonTxEmCloser.pushCall();
+        assertNull(EntityManagerBindings.get(tsem, tx2));
+        assertSame(em2, tsem.getEntityManager());
+        NonTxEmCloser.popCall();
+        assertNull(EntityManagerBindings.get(tsem, tx2));
+        NonTxEmCloser.popCall();
+    }
+}
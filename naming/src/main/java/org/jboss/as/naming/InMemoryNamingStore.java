@@ -22,7 +22,6 @@
 
 package org.jboss.as.naming;
 
-import java.util.concurrent.locks.ReentrantLock;
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
 import javax.naming.CompositeName;
@@ -56,6 +55,9 @@ import static org.jboss.as.naming.util.NamingUtils.notAContextException;
  * In-memory implementation of the NamingStore.  The backing for the entries is a basic tree structure with either context
  * nodes or binding nodes.  The context nodes are allowed to have children and can be represented by a NamingContext.  A
  * binding node is only allowed to have a normal object binding.
+ * <p>
+ * Each context node holds its children in an immutable map which is atomically replaced on change, so lookups never
+ * block.  Writes lock only the context node they modify, so writes to different contexts proceed in parallel.
  *
  * @author John E. Bailey
  */
@@ -67,7 +69,8 @@ public class InMemoryNamingStore implements NamingStore {
     /* Naming Event Coordinator */
     private final NamingEventCoordinator eventCoordinator;
 
-    private final ReentrantLock writeLock = new ReentrantLock();
+    /* Resolved lookups, invalidated by every write */
+    private final LookupCache lookupCache = new LookupCache();
 
     /**
      * Construct instance with no event support.
@@ -97,11 +100,15 @@ public class InMemoryNamingStore implements NamingStore {
         }
         checkPermissions(name, JndiPermission.Action.BIND);
 
-        writeLock.lock();
-        try {
-            root.accept(new BindVisitor(true, name, object, bindType.getName()));
-        } finally {
-            writeLock.unlock();
+        for (;;) {
+            try {
+                root.accept(new BindVisitor(true, name, object, bindType.getName()));
+                return;
+            } catch (StaleContextException retry) {
+                // a context on the path was removed as it became empty, start again from the root
+            } finally {
+                lookupCache.invalidate();
+            }
         }
     }
 
@@ -117,11 +124,15 @@ public class InMemoryNamingStore implements NamingStore {
         }
         checkPermissions(name, JndiPermission.Action.REBIND);
 
-        writeLock.lock();
-        try {
-            root.accept(new RebindVisitor(name, object, bindType.getName()));
-        } finally {
-            writeLock.unlock();
+        for (;;) {
+            try {
+                root.accept(new RebindVisitor(name, object, bindType.getName()));
+                return;
+            } catch (StaleContextException retry) {
+                // a context on the path was removed as it became empty, start again from the root
+            } finally {
+                lookupCache.invalidate();
+            }
         }
     }
 
@@ -137,11 +148,15 @@ public class InMemoryNamingStore implements NamingStore {
         }
         checkPermissions(name, JndiPermission.Action.UNBIND);
 
-        writeLock.lock();
-        try {
-            root.accept(new UnbindVisitor(name));
-        } finally {
-            writeLock.unlock();
+        for (;;) {
+            try {
+                root.accept(new UnbindVisitor(name));
+                return;
+            } catch (StaleContextException retry) {
+                // a context on the path was removed as it became empty, start again from the root
+            } finally {
+                lookupCache.invalidate();
+            }
         }
     }
 
@@ -162,6 +177,42 @@ public class InMemoryNamingStore implements NamingStore {
         return root.accept(new LookupVisitor(name));
     }
 
+    /**
+     * Get the lookup cached for a name by {@link NamingContext#lookup(String)}.
+     *
+     * @param key The name as passed to the lookup
+     * @return The valid cache entry, or {@code null} if there is none
+     */
+    LookupCache.Entry getCachedLookup(final String key) {
+        final LookupCache.Entry entry = lookupCache.get(key);
+        if (entry != null) {
+            checkPermissions(entry.getName(), JndiPermission.Action.LOOKUP);
+        }
+        return entry;
+    }
+
+    LookupCache getLookupCache() {
+        return lookupCache;
+    }
+
+    /**
+     * Get the number of lookups served from the lookup cache of any store.
+     *
+     * @return The hit count
+     */
+    public static long getLookupCacheHits() {
+        return LookupCache.getTotalHits();
+    }
+
+    /**
+     * Get the number of lookups which could not be served from the lookup cache of any store.
+     *
+     * @return The miss count
+     */
+    public static long getLookupCacheMisses() {
+        return LookupCache.getTotalMisses();
+    }
+
     /**
      * List all NameClassPair instances at a given location in the tree.
      *
@@ -194,12 +245,10 @@ public class InMemoryNamingStore implements NamingStore {
      * @throws NamingException
      */
     public void close() throws NamingException {
-        writeLock.lock();
-        try {
+        synchronized (root) {
             root.clear();
-        } finally {
-            writeLock.unlock();
         }
+        lookupCache.invalidate();
     }
 
     /**
@@ -267,10 +316,15 @@ public class InMemoryNamingStore implements NamingStore {
 
     private static final AtomicMapFieldUpdater<ContextNode, String, TreeNode> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ContextNode.class, Map.class, "children"));
 
+    /**
+     * A context node.  Its children may be read at any time, but are only changed while holding the node's monitor.
+     */
     private class ContextNode extends TreeNode {
         volatile Map<String, TreeNode> children = Collections.emptyMap();
         protected final String name;
         protected final ContextNode parentNode;
+        /* Set once the node is detached from the tree; guarded by this */
+        private boolean removed;
 
         private ContextNode(final ContextNode parentNode, final String name, final Name fullName, final NamingContext context) {
             super(fullName, new Binding(getLastComponent(fullName), Context.class.getName(), context));
@@ -278,27 +332,47 @@ public class InMemoryNamingStore implements NamingStore {
             this.parentNode = parentNode;
         }
 
+        /* Must hold this */
+        private void checkNotRemoved() {
+            if (removed) {
+                throw StaleContextException.INSTANCE;
+            }
+        }
+
+        /* Must hold this */
         private void addChild(final String childName, final TreeNode childNode) throws NamingException {
+            checkNotRemoved();
             if (childrenUpdater.putIfAbsent(this, childName, childNode) != null) {
-                throw nameAlreadyBoundException(fullName.add(childName));
+                throw nameAlreadyBoundException(((Name) fullName.clone()).add(childName));
             }
         }
 
+        /* Must hold this */
         private TreeNode replaceChild(final String childName, final TreeNode childNode) throws NamingException {
+            checkNotRemoved();
             return childrenUpdater.put(this, childName, childNode);
         }
 
+        /* Must hold this */
         private TreeNode removeChild(final String childName) throws NameNotFoundException {
+            checkNotRemoved();
             TreeNode old = childrenUpdater.remove(this, childName);
             if (old == null) {
                 throw nameNotFoundException(childName, fullName);
             }
             if(parentNode != null && children.isEmpty()) {
-                childrenUpdater.remove(parentNode, name);
+                // Always locked child before parent, the other writes only ever hold a single node
+                synchronized (parentNode) {
+                    if (parentNode.children.get(name) == this) {
+                        childrenUpdater.remove(parentNode, name);
+                    }
+                }
+                removed = true;
             }
             return old;
         }
 
+        /* Must hold this */
         private void clear() {
             childrenUpdater.clear(this);
         }
@@ -308,8 +382,11 @@ public class InMemoryNamingStore implements NamingStore {
         }
 
         public TreeNode addOrGetChild(final String childName, final TreeNode childNode) {
-            TreeNode appearing = childrenUpdater.putIfAbsent(this, childName, childNode);
-            return appearing == null ? childNode : appearing;
+            synchronized (this) {
+                checkNotRemoved();
+                TreeNode appearing = childrenUpdater.putIfAbsent(this, childName, childNode);
+                return appearing == null ? childNode : appearing;
+            }
         }
     }
 
@@ -359,8 +436,9 @@ public class InMemoryNamingStore implements NamingStore {
             final TreeNode node = contextNode.children.get(childName);
             if (node == null) {
                 if (createIfMissing) {
-                    final NamingContext subContext = new NamingContext(targetName, InMemoryNamingStore.this, new Hashtable<String, Object>());
-                    return contextNode.addOrGetChild(childName, new ContextNode(contextNode, childName, targetName, subContext)).accept(this);
+                    final Name childFullName = ((Name) contextNode.fullName.clone()).add(childName);
+                    final NamingContext subContext = new NamingContext(childFullName, InMemoryNamingStore.this, new Hashtable<String, Object>());
+                    return contextNode.addOrGetChild(childName, new ContextNode(contextNode, childName, childFullName, subContext)).accept(this);
                 } else {
                     throw nameNotFoundException(childName, contextNode.fullName);
                 }
@@ -417,8 +495,10 @@ public class InMemoryNamingStore implements NamingStore {
             final String childName = getLastComponent(targetName);
             final Binding binding = new Binding(childName, className, object, true);
             final BindingNode bindingNode = new BindingNode(targetName, binding);
-            contextNode.addChild(childName, bindingNode);
-            fireEvent(contextNode, targetName, null, binding, NamingEvent.OBJECT_ADDED, "bind");
+            synchronized (contextNode) {
+                contextNode.addChild(childName, bindingNode);
+                fireEvent(contextNode, targetName, null, binding, NamingEvent.OBJECT_ADDED, "bind");
+            }
             return null;
         }
     }
@@ -437,10 +517,12 @@ public class InMemoryNamingStore implements NamingStore {
             final String childName = getLastComponent(targetName);
             final Binding binding = new Binding(childName, className, object, true);
             final BindingNode bindingNode = new BindingNode(targetName, binding);
-            final TreeNode previous = contextNode.replaceChild(childName, bindingNode);
+            synchronized (contextNode) {
+                final TreeNode previous = contextNode.replaceChild(childName, bindingNode);
 
-            final Binding previousBinding = previous != null ? previous.binding : null;
-            fireEvent(contextNode, targetName, previousBinding, binding, previousBinding != null ? NamingEvent.OBJECT_CHANGED : NamingEvent.OBJECT_ADDED, "rebind");
+                final Binding previousBinding = previous != null ? previous.binding : null;
+                fireEvent(contextNode, targetName, previousBinding, binding, previousBinding != null ? NamingEvent.OBJECT_CHANGED : NamingEvent.OBJECT_ADDED, "rebind");
+            }
             return null;
         }
     }
@@ -452,8 +534,10 @@ public class InMemoryNamingStore implements NamingStore {
         }
 
         protected Void foundBindContext(final ContextNode contextNode) throws NamingException {
-            final TreeNode previous = contextNode.removeChild(getLastComponent(targetName));
-            fireEvent(contextNode, targetName, previous.binding, null, NamingEvent.OBJECT_REMOVED, "unbind");
+            synchronized (contextNode) {
+                final TreeNode previous = contextNode.removeChild(getLastComponent(targetName));
+                fireEvent(contextNode, targetName, previous.binding, null, NamingEvent.OBJECT_REMOVED, "unbind");
+            }
             return null;
         }
     }
@@ -499,6 +583,19 @@ public class InMemoryNamingStore implements NamingStore {
         }
     }
 
+    /**
+     * Thrown by a write which found a context node that was removed from the tree after it was traversed.
+     */
+    private static final class StaleContextException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        static final StaleContextException INSTANCE = new StaleContextException();
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
     private final class ListBindingsVisitor extends NodeTraversingVisitor<List<Binding>> {
         private ListBindingsVisitor(final Name targetName) {
             super(targetName);
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.naming.Name;
+import javax.naming.spi.ObjectFactory;
+
+/**
+ * Cache of resolved lookups for a single {@code InMemoryNamingStore}, keyed on the string name passed to
+ * {@link NamingContext#lookup(String)}.  An entry holds the parsed absolute name, the object bound in the store and
+ * the object factory used to dereference it, so a repeated lookup neither parses the name nor walks the tree.
+ * <p>
+ * Entries are stamped with the generation of the store at the time the tree was read.  Every write to the store
+ * moves to a new generation, which invalidates all entries, including any being added by a lookup that raced with the
+ * write.
+ *
+ * @author agent
+ */
+final class LookupCache {
+
+    /** Limit on the number of entries; lookups of names beyond this are simply not cached */
+    static final int MAX_ENTRIES = 4096;
+
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Get the valid entry for a name.
+     *
+     * @param key the name as passed to the lookup
+     * @return the entry, or {@code null} if there is none
+     */
+    Entry get(final String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.generation == generation.get()) {
+            totalHits.incrementAndGet();
+            return entry;
+        }
+        totalMisses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Get the current generation.  This must be read before the store is, and passed to the entry created from
+     * what was read.
+     *
+     * @return the generation
+     */
+    int getGeneration() {
+        return generation.get();
+    }
+
+    void put(final String key, final Entry entry) {
+        if (entry.generation == generation.get() && entries.size() < MAX_ENTRIES) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Invalidate all entries.  Called after the tree has been modified.
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Get the number of lookups served from the cache of any store.
+     *
+     * @return the hit count
+     */
+    static long getTotalHits() {
+        return totalHits.get();
+    }
+
+    /**
+     * Get the number of lookups which were not served from the cache of any store.
+     *
+     * @return the miss count
+     */
+    static long getTotalMisses() {
+        return totalMisses.get();
+    }
+
+    static final class Entry {
+        private final int generation;
+        private final Name name;
+        private final Object object;
+        private final String remainingName;
+        private volatile FactoryHolder factory;
+
+        /**
+         * Create a new entry.
+         *
+         * @param generation the generation of the store when it was read
+         * @param name the absolute name
+         * @param object the object bound in the store, or the object bound at the point where the name continues into
+         *               another context
+         * @param remainingName the name to look up in that other context, or {@code null} if the name was fully
+         *                      resolved by the store
+         */
+        Entry(final int generation, final Name name, final Object object, final Name remainingName) {
+            this.generation = generation;
+            this.name = name;
+            this.object = object;
+            this.remainingName = remainingName == null ? null : remainingName.toString();
+        }
+
+        Name getName() {
+            return name;
+        }
+
+        Object getObject() {
+            return object;
+        }
+
+        String getRemainingName() {
+            return remainingName;
+        }
+
+        /**
+         * Get the object factory previously created for the bound object.  Factories of non-modular references are
+         * loaded through the thread context class loader, so these are only reused for the same class loader.
+         *
+         * @param classLoader the current thread context class loader
+         * @return the factory, or {@code null} if none has been created for this class loader
+         */
+        ObjectFactory getObjectFactory(final ClassLoader classLoader) {
+            final FactoryHolder holder = factory;
+            return holder != null && holder.classLoader == classLoader ? holder.factory : null;
+        }
+
+        void setObjectFactory(final ClassLoader classLoader, final ObjectFactory factory) {
+            this.factory = new FactoryHolder(classLoader, factory);
+        }
+    }
+
+    private static final class FactoryHolder {
+        private final ClassLoader classLoader;
+        private final ObjectFactory factory;
+
+        private FactoryHolder(final ClassLoader classLoader, final ObjectFactory factory) {
+            this.classLoader = classLoader;
+            this.factory = factory;
+        }
+    }
+}
@@ -107,6 +107,12 @@ public class NamingContext implements EventContext {
     /* The environment configuration */
     private final Hashtable<String, Object> environment;
 
+    /* The store if it caches lookups by string name */
+    private final InMemoryNamingStore cachingStore;
+
+    /* The prefix of lookup cache keys for names relative to this context */
+    private final String cacheKeyPrefix;
+
     /**
      * Create a new naming context with no prefix or naming store.  This will default to a prefix of "" and
      * the active naming store.
@@ -144,6 +150,13 @@ public class NamingContext implements EventContext {
             throw new IllegalArgumentException("NamingStore can not be null");
         }
         this.namingStore = namingStore;
+        if(namingStore instanceof InMemoryNamingStore) {
+            cachingStore = (InMemoryNamingStore) namingStore;
+            cacheKeyPrefix = prefix.isEmpty() ? null : prefix.toString() + "/";
+        } else {
+            cachingStore = null;
+            cacheKeyPrefix = null;
+        }
         if(environment != null) {
             this.environment = new Hashtable<String, Object>(environment);
         } else {
@@ -175,36 +188,44 @@ public class NamingContext implements EventContext {
             final Context continuationContext = NamingManager.getContinuationContext(cpe);
             result = continuationContext.lookup(cpe.getRemainingName());
         }
+        return dereference(result, absoluteName, null);
+    }
 
-        if (result instanceof ResolveResult) {
-            final ResolveResult resolveResult = (ResolveResult) result;
-            final Object resolvedObject = resolveResult.getResolvedObj();
-
-            Object context;
-            if (resolvedObject instanceof LinkRef) {
-                context = resolveLink(resolvedObject);
-            } else {
-                context = getObjectInstance(resolvedObject, absoluteName, environment);
-            }
-            if (!(context instanceof Context)) {
-                throw notAContextException(absoluteName.getPrefix(absoluteName.size() - resolveResult.getRemainingName().size()));
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the naming store is an {@link InMemoryNamingStore}, the parsed name, the bound object and its object factory
+     * are cached by the store under the given name until the store is next modified.
+     */
+    public Object lookup(final String name) throws NamingException {
+        final InMemoryNamingStore cachingStore = this.cachingStore;
+        if (cachingStore == null || name.length() == 0) {
+            return lookup(parseName(name));
+        }
+        final String key = cacheKeyPrefix == null || name.startsWith("java:") || name.startsWith("/") ? name : cacheKeyPrefix + name;
+        LookupCache.Entry entry = cachingStore.getCachedLookup(key);
+        if (entry == null) {
+            final LookupCache lookupCache = cachingStore.getLookupCache();
+            // Read before the store, so a write racing with this lookup invalidates the entry
+            final int generation = lookupCache.getGeneration();
+            final Name parsedName = parseName(name);
+            final Name absoluteName = isEmpty(parsedName) ? null : getAbsoluteName(parsedName);
+            if (absoluteName == null || isEmpty(absoluteName)) {
+                // Resolves to a new context each time
+                return lookup(parsedName);
             }
-            final Context namingContext = (Context) context;
-            return namingContext.lookup(resolveResult.getRemainingName());
-        } else if (result instanceof LinkRef) {
-            result = resolveLink(result);
-        } else if (result instanceof Reference) {
-            result = getObjectInstance(result, absoluteName, environment);
-            if (result instanceof LinkRef) {
-                result = resolveLink(result);
+            final Object result;
+            try {
+                result = namingStore.lookup(absoluteName);
+            } catch(CannotProceedException cpe) {
+                final Context continuationContext = NamingManager.getContinuationContext(cpe);
+                return dereference(continuationContext.lookup(cpe.getRemainingName()), absoluteName, null);
             }
+            final Name remainingName = result instanceof ResolveResult ? ((ResolveResult) result).getRemainingName() : null;
+            entry = new LookupCache.Entry(generation, absoluteName, result, remainingName);
+            lookupCache.put(key, entry);
         }
-        return result;
-    }
-
-    /** {@inheritDoc} */
-    public Object lookup(final String name) throws NamingException {
-        return lookup(parseName(name));
+        return dereference(entry.getObject(), entry.getName(), entry);
     }
 
     /** {@inheritDoc} */
@@ -412,10 +433,64 @@ public class NamingContext implements EventContext {
         }
     }
 
+    /**
+     * Turn the object found in the naming store into the result of a lookup.
+     *
+     * @param result The object returned by the naming store
+     * @param absoluteName The absolute name looked up
+     * @param entry The lookup cache entry for the name, or {@code null} if not cached
+     * @return The result of the lookup
+     * @throws NamingException If the object cannot be dereferenced
+     */
+    private Object dereference(Object result, final Name absoluteName, final LookupCache.Entry entry) throws NamingException {
+        if (result instanceof ResolveResult) {
+            final ResolveResult resolveResult = (ResolveResult) result;
+            final Object resolvedObject = resolveResult.getResolvedObj();
+
+            Object context;
+            if (resolvedObject instanceof LinkRef) {
+                context = resolveLink(resolvedObject);
+            } else {
+                context = getObjectInstance(resolvedObject, absoluteName, environment, entry);
+            }
+            if (!(context instanceof Context)) {
+                throw notAContextException(absoluteName.getPrefix(absoluteName.size() - resolveResult.getRemainingName().size()));
+            }
+            final Context namingContext = (Context) context;
+            if (entry != null) {
+                // Give the continuation context the chance to use its own cache
+                return namingContext.lookup(entry.getRemainingName());
+            }
+            return namingContext.lookup(resolveResult.getRemainingName());
+        } else if (result instanceof LinkRef) {
+            result = resolveLink(result);
+        } else if (result instanceof Reference) {
+            result = getObjectInstance(result, absoluteName, environment, entry);
+            if (result instanceof LinkRef) {
+                result = resolveLink(result);
+            }
+        }
+        return result;
+    }
+
     private Object getObjectInstance(final Object object, final Name name, final Hashtable<?, ?> environment) throws NamingException {
+        return getObjectInstance(object, name, environment, null);
+    }
+
+    private Object getObjectInstance(final Object object, final Name name, final Hashtable<?, ?> environment, final LookupCache.Entry entry) throws NamingException {
         try {
             final ObjectFactoryBuilder factoryBuilder = ObjectFactoryBuilder.INSTANCE;
-            final ObjectFactory objectFactory = factoryBuilder.createObjectFactory(object, environment);
+            ObjectFactory objectFactory;
+            if (entry == null) {
+                objectFactory = factoryBuilder.createObjectFactory(object, environment);
+            } else {
+                final ClassLoader classLoader = SecurityActions.getContextClassLoader();
+                objectFactory = entry.getObjectFactory(classLoader);
+                if (objectFactory == null) {
+                    objectFactory = factoryBuilder.createObjectFactory(object, environment);
+                    entry.setObjectFactory(classLoader, objectFactory);
+                }
+            }
             return objectFactory.getObjectInstance(object, name, this, environment);
         } catch(NamingException e) {
             throw e;
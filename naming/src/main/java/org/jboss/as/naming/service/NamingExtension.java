@@ -75,6 +75,9 @@ public class NamingExtension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(NamingSubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, NamingSubsystemAdd.INSTANCE, NamingSubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, NamingSubsystemDescribeHandler.INSTANCE, NamingSubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
+        for (final String attributeName : NamingSubsystemMetrics.ATTRIBUTES) {
+            registration.registerMetric(attributeName, NamingSubsystemMetrics.INSTANCE);
+        }
         subsystem.registerXMLElementWriter(parser);
     }
 
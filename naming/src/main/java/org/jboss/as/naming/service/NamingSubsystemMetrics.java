@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.naming.service;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.naming.InMemoryNamingStore;
+import org.jboss.dmr.ModelNode;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+/**
+ * Metrics of the naming subsystem.
+ *
+ * @author agent
+ */
+class NamingSubsystemMetrics implements ModelQueryOperationHandler {
+
+    static final NamingSubsystemMetrics INSTANCE = new NamingSubsystemMetrics();
+
+    static final String LOOKUP_CACHE_HITS = "lookup-cache-hits";
+    static final String LOOKUP_CACHE_MISSES = "lookup-cache-misses";
+    static final String[] ATTRIBUTES = new String[] {LOOKUP_CACHE_HITS, LOOKUP_CACHE_MISSES};
+
+    private static final String[] NO_LOCATION = new String[0];
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode result = new ModelNode();
+        if (LOOKUP_CACHE_HITS.equals(attributeName)) {
+            result.set(InMemoryNamingStore.getLookupCacheHits());
+        } else if (LOOKUP_CACHE_MISSES.equals(attributeName)) {
+            result.set(InMemoryNamingStore.getLookupCacheMisses());
+        }
+        resultHandler.handleResultFragment(NO_LOCATION, result);
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+}
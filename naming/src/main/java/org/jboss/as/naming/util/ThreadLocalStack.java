@@ -53,14 +53,11 @@ public class ThreadLocalStack<E> {
 
     public E pop() {
         Deque<E> st = deque.get();
-        if (st == null) {
+        if (st == null || st.isEmpty()) {
             throw new EmptyStackException();
         }
-        E val = st.pop();
-        if (st.isEmpty()) {
-            deque.remove();
-        }
-        return val;
+        // the empty deque is kept for the next push, it references nothing
+        return st.pop();
     }
 
 }
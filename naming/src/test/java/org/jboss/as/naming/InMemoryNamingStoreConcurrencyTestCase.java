@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.naming.CompositeName;
+import javax.naming.Context;
+import javax.naming.Name;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress tests of concurrent writes to an {@link InMemoryNamingStore}.
+ *
+ * @author agent
+ */
+public class InMemoryNamingStoreConcurrencyTestCase {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 500;
+
+    private final InMemoryNamingStore nameStore = new InMemoryNamingStore();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+    @After
+    public void cleanup() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        nameStore.close();
+    }
+
+    @Test
+    public void testConcurrentBind() throws Exception {
+        final Name constant = new CompositeName("global/constant");
+        final Object constantValue = new Object();
+        nameStore.bind(constant, constantValue);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean done = new AtomicBoolean();
+        final List<Future<?>> writers = new ArrayList<Future<?>>();
+        for (int i = 0; i < THREADS; i++) {
+            final int thread = i;
+            writers.add(executor.submit(new Callable<Void>() {
+                public Void call() throws Exception {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        // Contexts private to the thread, shared by two threads, and shared by all
+                        nameStore.bind(new CompositeName("app" + (thread % 2) + "/module" + thread + "/comp/env/entry" + j), thread);
+                        nameStore.bind(new CompositeName("global/entry" + thread + "-" + j), j);
+                    }
+                    return null;
+                }
+            }));
+        }
+        final Future<Void> reader = executor.submit(new Callable<Void>() {
+            public Void call() throws Exception {
+                start.await();
+                while (!done.get()) {
+                    assertTrue(constantValue == nameStore.lookup(constant));
+                }
+                return null;
+            }
+        });
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        done.set(true);
+        reader.get(60, TimeUnit.SECONDS);
+
+        for (int i = 0; i < THREADS; i++) {
+            for (int j = 0; j < ITERATIONS; j++) {
+                assertEquals(i, nameStore.lookup(new CompositeName("app" + (i % 2) + "/module" + i + "/comp/env/entry" + j)));
+                assertEquals(j, nameStore.lookup(new CompositeName("global/entry" + i + "-" + j)));
+            }
+        }
+        assertEquals(ITERATIONS, nameStore.list(new CompositeName("app1/module1/comp/env")).size());
+        assertEquals(THREADS * ITERATIONS + 1, nameStore.list(new CompositeName("global")).size());
+        final Context moduleContext = (Context) nameStore.lookup(new CompositeName("app0/module2"));
+        assertEquals("app0/module2", moduleContext.getNameInNamespace());
+    }
+
+    @Test
+    public void testConcurrentBindAndUnbindOfEmptiedContexts() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> writers = new ArrayList<Future<?>>();
+        for (int i = 0; i < THREADS; i++) {
+            final int thread = i;
+            writers.add(executor.submit(new Callable<Void>() {
+                public Void call() throws Exception {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        // Unbinding the last entry removes the context while other threads bind into it
+                        final Name name = new CompositeName("shared/context" + (j % 4) + "/entry" + thread);
+                        nameStore.bind(name, j);
+                        assertEquals(j, nameStore.lookup(name));
+                        nameStore.rebind(name, -j);
+                        assertEquals(-j, nameStore.lookup(name));
+                        nameStore.unbind(name);
+                    }
+                    nameStore.bind(new CompositeName("shared/context0/final" + thread), thread);
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        for (int i = 0; i < THREADS; i++) {
+            assertEquals(i, nameStore.lookup(new CompositeName("shared/context0/final" + i)));
+        }
+        assertEquals(THREADS, nameStore.list(new CompositeName("shared/context0")).size());
+    }
+}
@@ -140,6 +140,43 @@ public class NamingContextTestCase {
         assertEquals("testValue", result);
     }
 
+    @Test
+    public void testLookupCache() throws Exception {
+        namingStore.bind(new CompositeName("test/value"), "testValue");
+        assertEquals("testValue", namingContext.lookup("test/value"));
+
+        final long hits = InMemoryNamingStore.getLookupCacheHits();
+        assertEquals("testValue", namingContext.lookup("test/value"));
+        assertEquals("testValue", namingContext.lookup("java:test/value"));
+        assertEquals("testValue", namingContext.lookup("java:test/value"));
+        assertEquals(hits + 2, InMemoryNamingStore.getLookupCacheHits());
+
+        final Context subContext = (Context) namingContext.lookup("test");
+        assertEquals("testValue", subContext.lookup("value"));
+
+        namingStore.rebind(new CompositeName("test/value"), "newValue");
+        assertEquals("newValue", namingContext.lookup("test/value"));
+        assertEquals("newValue", subContext.lookup("value"));
+
+        namingStore.unbind(new CompositeName("test/value"));
+        try {
+            namingContext.lookup("test/value");
+            fail("Should have thrown and NameNotFoundException");
+        } catch (NameNotFoundException expected) {
+        }
+    }
+
+    @Test
+    public void testLookupCacheReference() throws Exception {
+        final Reference reference = new Reference(String.class.getName(), new StringRefAddr("blah", "test"), TestObjectFactory.class.getName(), null);
+        namingStore.bind(new CompositeName("test"), reference);
+
+        assertEquals("test", namingContext.lookup("test"));
+        final long hits = InMemoryNamingStore.getLookupCacheHits();
+        assertEquals("test", namingContext.lookup("test"));
+        assertEquals(hits + 1, InMemoryNamingStore.getLookupCacheHits());
+    }
+
 
     @Test
     public void testLookupNameNotFound() throws Exception {
@@ -0,0 +1,958 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import static org.jboss.as.protocol.ProtocolConstants.CHUNK_END;
+import static org.jboss.as.protocol.ProtocolConstants.CHUNK_START;
+import static org.jboss.as.protocol.ProtocolConstants.MUX_CHUNK_END;
+import static org.jboss.as.protocol.ProtocolConstants.MUX_CHUNK_START;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A connection whose I/O is performed by a {@link SelectorWorker} rather than by a dedicated read thread, and
+ * which can carry several messages at once.
+ * <p>
+ * When talking to a multiplexing peer each message is written as a stream of chunks tagged with a stream id, so
+ * concurrently written messages are interleaved on the wire instead of waiting for each other.  Otherwise the
+ * connection falls back to the plain chunk framing understood by {@link ConnectionImpl}, one message at a time.
+ * The framing of received chunks is detected per chunk, so a server can serve both kinds of peers; it starts
+ * multiplexing its own writes as soon as the peer does.
+ * </p>
+ * <p>
+ * Received messages are passed to the message handler in the order in which they started, one at a time, so
+ * handlers which switch the connection's message handler between messages keep working unchanged.
+ * </p>
+ *
+ * @author agent
+ */
+final class MultiplexedConnection implements Connection, SelectorWorker.Handler {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.protocol.connection");
+
+    /** Queued outbound bytes above which writers block */
+    private static final int WRITE_HIGH_WATER = 262144;
+    /** Queued outbound bytes below which blocked writers resume */
+    private static final int WRITE_LOW_WATER = 65536;
+    /** Buffered inbound bytes above which reading from the socket is suspended */
+    private static final int READ_HIGH_WATER = 262144;
+    /** Buffered inbound bytes below which reading from the socket resumes */
+    private static final int READ_LOW_WATER = 65536;
+
+    private static final int LEGACY_HEADER_SIZE = 5;
+    private static final int MUX_HEADER_SIZE = 9;
+
+    /** Marker queued by {@link #shutdownWrites()} */
+    private static final ByteBuffer SHUTDOWN = ByteBuffer.allocate(0);
+
+    private final SocketChannel channel;
+    private final SelectorWorker worker;
+    private final BufferPool bufferPool;
+    private final Executor readExecutor;
+    private final ClosedCallback callback;
+    private final AtomicBoolean closedNotified = new AtomicBoolean();
+
+    private volatile MessageHandler messageHandler;
+    private volatile MessageHandler backupHandler;
+    private volatile Object attachment;
+    private volatile boolean multiplexed;
+
+    private final Object lock = new Object();
+
+    // protected by {@link #lock}
+    private final Queue<ByteBuffer> outbound = new ArrayDeque<ByteBuffer>();
+    // protected by {@link #lock}
+    private int outboundBytes;
+    // protected by {@link #lock}
+    private boolean writeScheduled;
+    // protected by {@link #lock}
+    private FrameOutputStream legacySender;
+    // protected by {@link #lock}
+    private int openSenders;
+    // protected by {@link #lock}
+    private int nextStreamId;
+    // protected by {@link #lock}
+    private boolean readDone;
+    // protected by {@link #lock}
+    private boolean writeDone;
+    // protected by {@link #lock}
+    private boolean closed;
+
+    // the following are only accessed by the worker thread
+    private SelectionKey key;
+    private final Map<Integer, InboundStream> streams = new HashMap<Integer, InboundStream>();
+    private InboundStream legacyStream;
+    private final byte[] header = new byte[MUX_HEADER_SIZE];
+    private int headerPos;
+    private int headerLength;
+    private InboundStream dataStream;
+    private int dataRemaining;
+
+    private final AtomicInteger inboundBytes = new AtomicInteger();
+    private final AtomicBoolean resumeScheduled = new AtomicBoolean();
+    private volatile boolean readSuspended;
+    private volatile InboundStream activeStream;
+
+    // protected by itself
+    private final Queue<Runnable> dispatchQueue = new ArrayDeque<Runnable>();
+    // protected by {@link #dispatchQueue}
+    private boolean dispatching;
+
+    MultiplexedConnection(final SocketChannel channel, final SelectorWorker worker, final MessageHandler handler, final Executor readExecutor, final ClosedCallback callback, final boolean multiplexed) {
+        this.channel = channel;
+        this.worker = worker;
+        bufferPool = worker.getBufferPool();
+        messageHandler = handler;
+        this.readExecutor = readExecutor;
+        this.callback = callback;
+        this.multiplexed = multiplexed;
+    }
+
+    @Override
+    public OutputStream writeMessage() throws IOException {
+        synchronized (lock) {
+            if (writeDone) {
+                throw new IOException("Writes are already shut down");
+            }
+            if (multiplexed) {
+                openSenders++;
+                final int streamId = nextStreamId;
+                // Negative ids mean legacy framing, so wrap back to zero rather than overflowing
+                nextStreamId = streamId == Integer.MAX_VALUE ? 0 : streamId + 1;
+                return new FrameOutputStream(streamId);
+            }
+            while (legacySender != null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                if (writeDone) {
+                    throw new IOException("Writes are already shut down");
+                }
+            }
+            openSenders++;
+            legacySender = new FrameOutputStream(-1);
+            return legacySender;
+        }
+    }
+
+    @Override
+    public void shutdownWrites() throws IOException {
+        final boolean schedule;
+        synchronized (lock) {
+            if (writeDone) return;
+            while (openSenders > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            writeDone = true;
+            outbound.add(SHUTDOWN);
+            schedule = ! writeScheduled;
+            writeScheduled = true;
+            lock.notifyAll();
+        }
+        if (schedule) {
+            scheduleWrite();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            markClosed();
+        }
+        closeChannel();
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                notifyClosed();
+            }
+        });
+    }
+
+    @Override
+    public void setMessageHandler(final MessageHandler messageHandler) {
+        if (messageHandler == null) {
+            throw new IllegalArgumentException("messageHandler is null");
+        }
+        this.messageHandler = messageHandler;
+    }
+
+    @Override
+    public InetAddress getPeerAddress() {
+        return channel.socket().getInetAddress();
+    }
+
+    @Override
+    public void attach(final Object attachment) {
+        this.attachment = attachment;
+    }
+
+    @Override
+    public Object getAttachment() {
+        return attachment;
+    }
+
+    @Override
+    public void backupMessageHandler() {
+        backupHandler = messageHandler;
+    }
+
+    @Override
+    public void restoreMessageHandler() {
+        MessageHandler handler = backupHandler;
+        setMessageHandler(handler == null ? MessageHandler.NULL : handler);
+    }
+
+    // ---------------------- SelectorWorker.Handler
+
+    @Override
+    public void registered(final SelectionKey key) {
+        this.key = key;
+        synchronized (lock) {
+            if (writeScheduled) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    @Override
+    public void handleReady(final SelectionKey key) throws IOException {
+        if (key.isValid() && key.isWritable()) {
+            handleWritable();
+        }
+        if (key.isValid() && key.isReadable()) {
+            handleReadable();
+        }
+    }
+
+    @Override
+    public void closed() {
+        synchronized (lock) {
+            markClosed();
+        }
+        endStreams();
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                safeHandleFinished();
+                notifyClosed();
+            }
+        });
+    }
+
+    // ---------------------- Writing
+
+    private void enqueue(final ByteBuffer frame) throws IOException {
+        final boolean schedule;
+        synchronized (lock) {
+            // the worker thread must never block on its own backlog
+            while (outboundBytes > WRITE_HIGH_WATER && ! closed && ! worker.isWorkerThread()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    bufferPool.free(frame);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            if (closed) {
+                bufferPool.free(frame);
+                throw new IOException("Write channel closed");
+            }
+            outbound.add(frame);
+            outboundBytes += frame.remaining();
+            schedule = ! writeScheduled;
+            writeScheduled = true;
+        }
+        if (schedule) {
+            scheduleWrite();
+        }
+    }
+
+    private void scheduleWrite() throws IOException {
+        if (! worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                final SelectionKey key = MultiplexedConnection.this.key;
+                if (key != null && key.isValid()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                }
+            }
+        })) {
+            throw new IOException("Connection is no longer being serviced");
+        }
+    }
+
+    private void handleWritable() {
+        boolean shutdown = false;
+        boolean done = false;
+        synchronized (lock) {
+            ByteBuffer frame;
+            while ((frame = outbound.peek()) != null) {
+                if (frame == SHUTDOWN) {
+                    outbound.poll();
+                    shutdown = true;
+                    done = readDone;
+                    break;
+                }
+                final int written;
+                try {
+                    written = channel.write(frame);
+                } catch (final IOException e) {
+                    markClosed();
+                    closeChannel();
+                    dispatch(new Runnable() {
+                        @Override
+                        public void run() {
+                            safeHandlerFailure(e);
+                            notifyClosed();
+                        }
+                    });
+                    return;
+                }
+                outboundBytes -= written;
+                if (frame.hasRemaining()) {
+                    break;
+                }
+                outbound.poll();
+                bufferPool.free(frame);
+            }
+            if (outbound.isEmpty()) {
+                writeScheduled = false;
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+            if (outboundBytes <= WRITE_LOW_WATER) {
+                lock.notifyAll();
+            }
+        }
+        if (shutdown) {
+            if (done) {
+                closeChannel();
+            } else {
+                try {
+                    channel.socket().shutdownOutput();
+                } catch (IOException e) {
+                    log.errorf(e, "Failed to shut down connection output");
+                }
+            }
+        }
+    }
+
+    // protected by {@link #lock}
+    private void markClosed() {
+        closed = true;
+        readDone = true;
+        writeDone = true;
+        legacySender = null;
+        openSenders = 0;
+        for (ByteBuffer frame : outbound) {
+            bufferPool.free(frame);
+        }
+        outbound.clear();
+        outboundBytes = 0;
+        lock.notifyAll();
+    }
+
+    private void closeChannel() {
+        StreamUtils.safeClose(channel);
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                final SelectionKey key = MultiplexedConnection.this.key;
+                if (key != null) {
+                    worker.deregister(key);
+                }
+                endStreams();
+            }
+        };
+        if (worker.isWorkerThread()) {
+            task.run();
+        } else {
+            worker.execute(task);
+        }
+    }
+
+    // ---------------------- Reading (worker thread)
+
+    private void handleReadable() {
+        final ByteBuffer buffer = worker.getReadBuffer();
+        buffer.clear();
+        try {
+            final int cnt = channel.read(buffer);
+            if (cnt == -1) {
+                handleEndOfStream();
+                return;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                parse(buffer);
+            }
+        } catch (final IOException e) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            endStreams();
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    safeHandlerFailure(e);
+                    notifyClosed();
+                }
+            });
+            return;
+        }
+        if (shouldSuspendReads()) {
+            readSuspended = true;
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+    }
+
+    private void parse(final ByteBuffer buffer) throws IOException {
+        if (dataRemaining > 0) {
+            final int cnt = Math.min(dataRemaining, buffer.remaining());
+            final byte[] data = new byte[cnt];
+            buffer.get(data);
+            dataRemaining -= cnt;
+            inboundBytes.addAndGet(cnt);
+            dataStream.offer(data);
+            return;
+        }
+        if (headerLength == 0) {
+            final int cmd = buffer.get() & 0xff;
+            header[0] = (byte) cmd;
+            headerPos = 1;
+            switch (cmd) {
+                case CHUNK_START: headerLength = LEGACY_HEADER_SIZE; break;
+                case CHUNK_END: headerLength = 1; break;
+                case MUX_CHUNK_START: headerLength = MUX_HEADER_SIZE; break;
+                case MUX_CHUNK_END: headerLength = 5; break;
+                default: throw new IOException("Invalid command byte read: " + cmd);
+            }
+        }
+        while (headerPos < headerLength && buffer.hasRemaining()) {
+            header[headerPos++] = buffer.get();
+        }
+        if (headerPos < headerLength) {
+            return;
+        }
+        headerLength = 0;
+        switch (header[0] & 0xff) {
+            case CHUNK_START: {
+                if (legacyStream == null) {
+                    legacyStream = newStream();
+                }
+                startData(legacyStream, readInt(1));
+                break;
+            }
+            case CHUNK_END: {
+                log.trace("Received end data marker");
+                if (legacyStream != null) {
+                    legacyStream.end();
+                    legacyStream = null;
+                }
+                break;
+            }
+            case MUX_CHUNK_START: {
+                // the peer multiplexes, so we may as well
+                multiplexed = true;
+                final Integer id = Integer.valueOf(readInt(1));
+                InboundStream stream = streams.get(id);
+                if (stream == null) {
+                    stream = newStream();
+                    streams.put(id, stream);
+                }
+                startData(stream, readInt(5));
+                break;
+            }
+            case MUX_CHUNK_END: {
+                log.trace("Received end data marker");
+                final InboundStream stream = streams.remove(Integer.valueOf(readInt(1)));
+                if (stream != null) {
+                    stream.end();
+                }
+                break;
+            }
+        }
+    }
+
+    private int readInt(final int offset) {
+        final byte[] header = this.header;
+        return (header[offset] & 0xff) << 24 | (header[offset + 1] & 0xff) << 16 | (header[offset + 2] & 0xff) << 8 | (header[offset + 3] & 0xff);
+    }
+
+    private void startData(final InboundStream stream, final int cnt) throws IOException {
+        if (cnt < 0) {
+            throw new IOException("Invalid chunk size " + cnt);
+        }
+        log.tracef("Received data chunk of size %d", Integer.valueOf(cnt));
+        dataStream = stream;
+        dataRemaining = cnt;
+    }
+
+    private InboundStream newStream() {
+        final InboundStream stream = new InboundStream();
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                activeStream = stream;
+                try {
+                    safeHandleMessage(stream);
+                } finally {
+                    activeStream = null;
+                    maybeResumeReads();
+                }
+            }
+        });
+        return stream;
+    }
+
+    private void handleEndOfStream() {
+        log.trace("Received end of stream");
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        endStreams();
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                safeHandleShutdown();
+                final boolean done;
+                synchronized (lock) {
+                    readDone = true;
+                    done = writeDone && outbound.isEmpty();
+                }
+                if (done) {
+                    closeChannel();
+                    safeHandleFinished();
+                }
+                notifyClosed();
+            }
+        });
+    }
+
+    private void endStreams() {
+        if (legacyStream != null) {
+            legacyStream.end();
+            legacyStream = null;
+        }
+        for (InboundStream stream : streams.values()) {
+            stream.end();
+        }
+        streams.clear();
+        dataStream = null;
+        dataRemaining = 0;
+        headerLength = 0;
+    }
+
+    private boolean shouldSuspendReads() {
+        if (inboundBytes.get() <= READ_HIGH_WATER) {
+            return false;
+        }
+        // Only stop reading if the message being handled can make progress without more input
+        final InboundStream active = activeStream;
+        return active != null && active.hasBuffered();
+    }
+
+    private void consumed(final int cnt) {
+        final int remaining = inboundBytes.addAndGet(-cnt);
+        if (readSuspended) {
+            final InboundStream active = activeStream;
+            if (remaining <= READ_LOW_WATER || active == null || ! active.hasBuffered()) {
+                maybeResumeReads();
+            }
+        }
+    }
+
+    private void maybeResumeReads() {
+        if (readSuspended && resumeScheduled.compareAndSet(false, true)) {
+            worker.execute(new Runnable() {
+                @Override
+                public void run() {
+                    resumeScheduled.set(false);
+                    final SelectionKey key = MultiplexedConnection.this.key;
+                    if (readSuspended && ! shouldSuspendReads() && key != null && key.isValid()) {
+                        readSuspended = false;
+                        key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+                    }
+                }
+            });
+        }
+    }
+
+    // ---------------------- Message handler notification
+
+    private void dispatch(final Runnable task) {
+        synchronized (dispatchQueue) {
+            dispatchQueue.add(task);
+            if (dispatching) {
+                return;
+            }
+            dispatching = true;
+        }
+        try {
+            readExecutor.execute(dispatchTask);
+        } catch (RejectedExecutionException e) {
+            log.errorf(e, "Failed to dispatch connection event");
+            synchronized (dispatchQueue) {
+                dispatchQueue.clear();
+                dispatching = false;
+            }
+        }
+    }
+
+    private final Runnable dispatchTask = new Runnable() {
+        @Override
+        public void run() {
+            for (;;) {
+                final Runnable task;
+                synchronized (dispatchQueue) {
+                    task = dispatchQueue.poll();
+                    if (task == null) {
+                        dispatching = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    log.errorf(t, "Failed to handle connection event");
+                }
+            }
+        }
+    };
+
+    void safeHandleMessage(final InputStream pis) {
+        try {
+            messageHandler.handleMessage(this, pis);
+        } catch (RuntimeException e) {
+            log.errorf(e, "Failed to read a message");
+        } catch (IOException e) {
+            log.errorf(e, "Failed to read a message");
+        } catch (NoClassDefFoundError e) {
+            log.errorf(e, "Failed to read a message");
+        } catch (Error e) {
+            log.errorf(e, "Failed to read a message");
+            throw e;
+        } finally {
+            StreamUtils.safeClose(pis);
+        }
+    }
+
+    void safeHandleShutdown() {
+        try {
+            messageHandler.handleShutdown(this);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to handle socket shut down condition");
+        }
+    }
+
+    void safeHandleFinished() {
+        try {
+            messageHandler.handleFinished(this);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to handle socket finished condition");
+        }
+    }
+
+    void safeHandlerFailure(IOException e) {
+        try {
+            messageHandler.handleFailure(this, e);
+        } catch (IOException e1) {
+            log.errorf(e1, "Failed to handle socket failure condition");
+        }
+    }
+
+    private void notifyClosed() {
+        ClosedCallback callback = this.callback;
+        if (callback != null && closedNotified.compareAndSet(false, true)) {
+            callback.connectionClosed();
+        }
+    }
+
+    /**
+     * The data of one received message.  Chunks are appended by the worker thread and consumed by the
+     * message handler.
+     */
+    final class InboundStream extends InputStream {
+
+        // all protected by {@code this}
+        private final Queue<byte[]> chunks = new ArrayDeque<byte[]>();
+        private byte[] current;
+        private int pos;
+        private int buffered;
+        private boolean ended;
+        private boolean discarding;
+
+        void offer(final byte[] data) {
+            synchronized (this) {
+                if (! discarding) {
+                    chunks.add(data);
+                    buffered += data.length;
+                    notifyAll();
+                    return;
+                }
+            }
+            consumed(data.length);
+        }
+
+        void end() {
+            synchronized (this) {
+                ended = true;
+                notifyAll();
+            }
+        }
+
+        synchronized boolean hasBuffered() {
+            return buffered > 0;
+        }
+
+        // protected by {@code this}
+        private boolean awaitData() throws IOException {
+            while (current == null || pos == current.length) {
+                current = chunks.poll();
+                pos = 0;
+                if (current == null) {
+                    if (ended) {
+                        return false;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b;
+            synchronized (this) {
+                if (! awaitData()) {
+                    return -1;
+                }
+                b = current[pos++] & 0xff;
+                buffered--;
+            }
+            consumed(1);
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int cnt;
+            synchronized (this) {
+                if (! awaitData()) {
+                    return -1;
+                }
+                cnt = Math.min(len, current.length - pos);
+                System.arraycopy(current, pos, b, off, cnt);
+                pos += cnt;
+                buffered -= cnt;
+            }
+            consumed(cnt);
+            return cnt;
+        }
+
+        @Override
+        public synchronized int available() {
+            return buffered;
+        }
+
+        /**
+         * Discard the rest of the message, waiting for its end so that the next message is not
+         * handled before this one has been completely received.
+         */
+        @Override
+        public void close() throws IOException {
+            final int cnt;
+            synchronized (this) {
+                discarding = true;
+                cnt = buffered;
+                chunks.clear();
+                current = null;
+                buffered = 0;
+            }
+            consumed(cnt);
+            synchronized (this) {
+                while (! ended) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The sending side of one message.  Data is collected in pooled buffers and queued as chunks, so
+     * concurrent messages interleave at chunk granularity.
+     */
+    final class FrameOutputStream extends OutputStream {
+
+        private final int streamId;
+        private final int headerSize;
+        private ByteBuffer buffer;
+        private boolean done;
+
+        FrameOutputStream(final int streamId) {
+            this.streamId = streamId;
+            headerSize = streamId < 0 ? LEGACY_HEADER_SIZE : MUX_HEADER_SIZE;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            ensureBuffer().put((byte) b);
+            if (! buffer.hasRemaining()) {
+                sendChunk();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                final ByteBuffer buffer = ensureBuffer();
+                final int cnt = Math.min(len, buffer.remaining());
+                buffer.put(b, off, cnt);
+                off += cnt;
+                len -= cnt;
+                if (! buffer.hasRemaining()) {
+                    sendChunk();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer != null && buffer.position() > headerSize) {
+                sendChunk();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (done) {
+                return;
+            }
+            final boolean finished;
+            try {
+                flush();
+                done = true;
+                log.tracef("Sending end of message");
+                final ByteBuffer end;
+                if (streamId < 0) {
+                    end = ByteBuffer.allocate(1);
+                    end.put((byte) CHUNK_END);
+                } else {
+                    end = ByteBuffer.allocate(5);
+                    end.put((byte) MUX_CHUNK_END);
+                    end.putInt(streamId);
+                }
+                end.flip();
+                enqueue(end);
+            } finally {
+                done = true;
+                if (buffer != null) {
+                    bufferPool.free(buffer);
+                    buffer = null;
+                }
+                synchronized (lock) {
+                    if (openSenders > 0) {
+                        openSenders--;
+                    }
+                    if (legacySender == this) {
+                        legacySender = null;
+                    }
+                    // wake up waiters
+                    lock.notifyAll();
+                    finished = readDone && ! closed;
+                }
+            }
+            if (finished) {
+                readExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        safeHandleFinished();
+                    }
+                });
+            }
+        }
+
+        private ByteBuffer ensureBuffer() throws IOException {
+            if (done) {
+                throw new IOException("Message already sent");
+            }
+            if (buffer == null) {
+                buffer = bufferPool.allocate();
+                buffer.position(headerSize);
+            }
+            return buffer;
+        }
+
+        private void sendChunk() throws IOException {
+            final ByteBuffer buffer = this.buffer;
+            this.buffer = null;
+            final int len = buffer.position() - headerSize;
+            if (streamId < 0) {
+                buffer.put(0, (byte) CHUNK_START);
+                buffer.putInt(1, len);
+            } else {
+                buffer.put(0, (byte) MUX_CHUNK_START);
+                buffer.putInt(1, streamId);
+                buffer.putInt(5, len);
+            }
+            buffer.flip();
+            log.tracef("Sending data chunk of size %d", Integer.valueOf(len));
+            enqueue(buffer);
+        }
+    }
+}
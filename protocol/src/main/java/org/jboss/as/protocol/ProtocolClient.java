@@ -25,6 +25,8 @@ package org.jboss.as.protocol;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -50,6 +52,9 @@ public final class ProtocolClient {
     private final int readTimeout;
     private final Executor readExecutor;
     private final ClosedCallback callback;
+    private final boolean multiplexed;
+    // protected by {@code this}
+    private SelectorWorker worker;
 
     public ProtocolClient(final Configuration configuration) {
         threadFactory = configuration.getThreadFactory();
@@ -61,6 +66,7 @@ public final class ProtocolClient {
         readTimeout = configuration.getReadTimeout();
         readExecutor = configuration.getReadExecutor();
         callback = configuration.getClosedCallback();
+        multiplexed = configuration.isMultiplexed();
         if (threadFactory == null) {
             throw new IllegalArgumentException("threadFactory is null");
         }
@@ -80,6 +86,9 @@ public final class ProtocolClient {
 
     public Connection connect() throws IOException {
         log.tracef("Creating connection to %s", serverAddress);
+        if (multiplexed) {
+            return connectMultiplexed();
+        }
         final Socket socket = socketFactory.createSocket();
         final ConnectionImpl connection = new ConnectionImpl(socket, messageHandler, readExecutor, callback);
         final Thread thread = threadFactory.newThread(connection.getReadTask());
@@ -95,6 +104,47 @@ public final class ProtocolClient {
         return connection;
     }
 
+    private Connection connectMultiplexed() throws IOException {
+        final SocketChannel channel = SocketChannel.open();
+        boolean ok = false;
+        try {
+            if (bindAddress != null) channel.socket().bind(bindAddress);
+            channel.socket().connect(serverAddress, connectTimeout);
+            channel.configureBlocking(false);
+            SelectorWorker worker = getWorker(false);
+            MultiplexedConnection connection = new MultiplexedConnection(channel, worker, messageHandler, readExecutor, callback, true);
+            if (! worker.register(channel, SelectionKey.OP_READ, connection)) {
+                // the previous worker went idle and stopped in the meantime
+                worker = getWorker(true);
+                connection = new MultiplexedConnection(channel, worker, messageHandler, readExecutor, callback, true);
+                if (! worker.register(channel, SelectionKey.OP_READ, connection)) {
+                    throw new IOException("Failed to register connection to " + serverAddress);
+                }
+            }
+            log.tracef("Connected to %s", serverAddress);
+            ok = true;
+            return connection;
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(channel);
+            }
+        }
+    }
+
+    /**
+     * Get the selector worker shared by the connections of this client.  The worker exits once it has
+     * no connections left, and is then replaced on the next connect.
+     */
+    private synchronized SelectorWorker getWorker(final boolean replace) throws IOException {
+        SelectorWorker worker = this.worker;
+        if (worker == null || replace) {
+            worker = new SelectorWorker(threadFactory, "Selector thread for " + serverAddress, true);
+            worker.start();
+            this.worker = worker;
+        }
+        return worker;
+    }
+
     public static final class Configuration {
         private ThreadFactory threadFactory;
         private SocketFactory socketFactory;
@@ -105,6 +155,7 @@ public final class ProtocolClient {
         private int connectTimeout = 0;
         private int readTimeout = 0;
         private ClosedCallback closedCallback;
+        private boolean multiplexed;
 
         public Configuration() {
         }
@@ -180,5 +231,21 @@ public final class ProtocolClient {
         public void setClosedCallback(ClosedCallback closedCallback) {
             this.closedCallback = closedCallback;
         }
+
+        public boolean isMultiplexed() {
+            return multiplexed;
+        }
+
+        /**
+         * Use the multiplexed transport, which requires a server configured with
+         * {@link ProtocolServer.Configuration#setMultiplexed(boolean)}.  Connections are then serviced by a
+         * single selector thread and concurrently written messages no longer wait for each other.  The
+         * socket factory and read timeout are not used in this mode.
+         *
+         * @param multiplexed {@code true} to use the multiplexed transport
+         */
+        public void setMultiplexed(final boolean multiplexed) {
+            this.multiplexed = multiplexed;
+        }
     }
 }
@@ -28,6 +28,10 @@ package org.jboss.as.protocol;
 public final class ProtocolConstants {
     public static final int CHUNK_START = 0x98;
     public static final int CHUNK_END = 0x99;
+    /** Start of a data chunk of a multiplexed message, followed by the stream id and the chunk length */
+    public static final int MUX_CHUNK_START = 0x9A;
+    /** End of a multiplexed message, followed by the stream id */
+    public static final int MUX_CHUNK_END = 0x9B;
 
     private ProtocolConstants() {
     }
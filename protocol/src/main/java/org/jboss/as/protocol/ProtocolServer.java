@@ -27,6 +27,9 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -54,6 +57,8 @@ public final class ProtocolServer {
     private volatile ServerSocket serverSocket;
     private volatile InetSocketAddress boundAddress;
     private final ClosedCallback callback;
+    private final boolean multiplexed;
+    private volatile SelectorWorker worker;
 
     public ProtocolServer(final Configuration configuration) throws IOException {
         threadFactory = configuration.getThreadFactory();
@@ -64,6 +69,7 @@ public final class ProtocolServer {
         readTimeout = configuration.getReadTimeout();
         readExecutor = configuration.getReadExecutor();
         callback = configuration.getClosedCallback();
+        multiplexed = configuration.isMultiplexed();
         if (bindAddress == null) {
             throw new IllegalArgumentException("bindAddress is null");
         }
@@ -74,6 +80,10 @@ public final class ProtocolServer {
 
     public void start() throws IOException {
         stop = false;
+        if (multiplexed) {
+            startMultiplexed();
+            return;
+        }
 
         final ServerSocket serverSocket = socketFactory.createServerSocket();
         this.serverSocket = serverSocket;
@@ -132,6 +142,61 @@ public final class ProtocolServer {
             thread.interrupt();
         }
         StreamUtils.safeClose(serverSocket);
+        final SelectorWorker worker = this.worker;
+        this.worker = null;
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    private void startMultiplexed() throws IOException {
+        final ServerSocketChannel channel = ServerSocketChannel.open();
+        boolean ok = false;
+        try {
+            channel.socket().setReuseAddress(true);
+            channel.socket().bind(bindAddress, backlog);
+            channel.configureBlocking(false);
+            final SelectorWorker worker = new SelectorWorker(threadFactory, "Selector thread for " + bindAddress, false);
+            worker.register(channel, SelectionKey.OP_ACCEPT, new SelectorWorker.Handler() {
+                public void registered(final SelectionKey key) {
+                }
+
+                public void handleReady(final SelectionKey key) throws IOException {
+                    SocketChannel accepted;
+                    while ((accepted = channel.accept()) != null) {
+                        safeHandleConnection(accepted, worker);
+                    }
+                }
+
+                public void closed() {
+                }
+            });
+            worker.start();
+            serverSocket = channel.socket();
+            boundAddress = (InetSocketAddress) channel.socket().getLocalSocketAddress();
+            this.worker = worker;
+            ok = true;
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(channel);
+            }
+        }
+    }
+
+    private void safeHandleConnection(final SocketChannel channel, final SelectorWorker worker) {
+        boolean ok = false;
+        try {
+            channel.configureBlocking(false);
+            final MultiplexedConnection connection = new MultiplexedConnection(channel, worker, MessageHandler.NULL, readExecutor, callback, false);
+            connection.setMessageHandler(connectionHandler.handleConnected(connection));
+            ok = worker.register(channel, SelectionKey.OP_READ, connection);
+        } catch (IOException e) {
+            log.errorf(e, "Failed to handle incoming connection");
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(channel);
+            }
+        }
     }
 
     private void safeHandleConnection(final Socket socket) {
@@ -173,6 +238,7 @@ public final class ProtocolServer {
         private int readTimeout;
         private Executor readExecutor;
         private ClosedCallback closedCallback;
+        private boolean multiplexed;
 
         public ThreadFactory getThreadFactory() {
             return threadFactory;
@@ -246,5 +312,19 @@ public final class ProtocolServer {
         public void setCallback(ClosedCallback closedCallback) {
             this.closedCallback = closedCallback;
         }
+
+        public boolean isMultiplexed() {
+            return multiplexed;
+        }
+
+        /**
+         * Serve all connections from a single selector thread, accepting multiplexed as well as plain
+         * connections.  The socket factory and read timeout are not used in this mode.
+         *
+         * @param multiplexed {@code true} to use the multiplexed transport
+         */
+        public void setMultiplexed(final boolean multiplexed) {
+            this.multiplexed = multiplexed;
+        }
     }
 }
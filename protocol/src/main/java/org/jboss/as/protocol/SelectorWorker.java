@@ -0,0 +1,262 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A single selector thread which performs all the I/O for a set of multiplexed connections and,
+ * for servers, accepts new connections.
+ *
+ * @author agent
+ */
+final class SelectorWorker implements Runnable {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.protocol.connection");
+
+    static final int READ_BUFFER_SIZE = 65536;
+    static final int FRAME_BUFFER_SIZE = 8192;
+    static final int MAX_POOLED_BUFFERS = 256;
+
+    private final Selector selector;
+    private final boolean stopWhenIdle;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final BufferPool bufferPool = new BufferPool(FRAME_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+
+    // protected by {@code this}
+    private final Queue<Runnable> tasks = new ArrayDeque<Runnable>();
+    // protected by {@code this}
+    private boolean stopped;
+    // only accessed by the worker thread
+    private int registered;
+
+    private final Thread thread;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param threadFactory the factory for the selector thread
+     * @param name the selector thread name
+     * @param stopWhenIdle {@code true} if the thread should exit once no channels remain registered
+     * @throws IOException if the selector cannot be opened
+     */
+    SelectorWorker(final ThreadFactory threadFactory, final String name, final boolean stopWhenIdle) throws IOException {
+        this.stopWhenIdle = stopWhenIdle;
+        selector = Selector.open();
+        thread = threadFactory.newThread(this);
+        if (thread == null) {
+            safeClose(selector);
+            throw new IllegalStateException("Thread creation was refused");
+        }
+        thread.setName(name);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stop the worker, closing every registered channel.
+     */
+    void stop() {
+        synchronized (this) {
+            stopped = true;
+        }
+        selector.wakeup();
+    }
+
+    boolean isWorkerThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    ByteBuffer getReadBuffer() {
+        return readBuffer;
+    }
+
+    BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Run a task on the worker thread.
+     *
+     * @param task the task
+     * @return {@code true} if the task was accepted, {@code false} if the worker has stopped
+     */
+    boolean execute(final Runnable task) {
+        synchronized (this) {
+            if (stopped) {
+                return false;
+            }
+            tasks.add(task);
+        }
+        selector.wakeup();
+        return true;
+    }
+
+    /**
+     * Register a channel with this worker.  The channel must be in non-blocking mode.
+     *
+     * @param channel the channel
+     * @param ops the initial interest set
+     * @param handler the handler to notify when the channel is ready
+     * @return {@code true} if the registration was accepted, {@code false} if the worker has stopped
+     */
+    boolean register(final SelectableChannel channel, final int ops, final Handler handler) {
+        return execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    handler.registered(channel.register(selector, ops, handler));
+                    registered++;
+                } catch (ClosedChannelException e) {
+                    handler.closed();
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancel the key of a handler which has finished with its channel.  Must be called from the worker thread.
+     *
+     * @param key the key
+     */
+    void deregister(final SelectionKey key) {
+        if (key.attachment() != null) {
+            key.attach(null);
+            key.cancel();
+            registered--;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (;;) {
+                try {
+                    selector.select();
+                } catch (IOException e) {
+                    log.errorf(e, "Selector failed");
+                    return;
+                }
+                for (;;) {
+                    final Runnable task;
+                    synchronized (this) {
+                        if (stopped) {
+                            return;
+                        }
+                        task = tasks.poll();
+                        if (task == null) {
+                            if (stopWhenIdle && registered == 0) {
+                                stopped = true;
+                                return;
+                            }
+                            break;
+                        }
+                    }
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        log.errorf(t, "Selector task failed");
+                    }
+                }
+                final Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    final SelectionKey key = it.next();
+                    it.remove();
+                    final Handler handler = (Handler) key.attachment();
+                    if (handler == null) {
+                        continue;
+                    }
+                    try {
+                        handler.handleReady(key);
+                    } catch (CancelledKeyException e) {
+                        // channel closed under us; the handler has been told
+                    } catch (Throwable t) {
+                        log.errorf(t, "Failed to handle a ready channel");
+                    }
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                final Handler handler = (Handler) key.attachment();
+                StreamUtils.safeClose(key.channel());
+                if (handler != null) {
+                    try {
+                        handler.closed();
+                    } catch (Throwable t) {
+                        log.errorf(t, "Failed to notify a closed channel");
+                    }
+                }
+            }
+            safeClose(selector);
+        }
+    }
+
+    private static void safeClose(final Selector selector) {
+        try {
+            selector.close();
+        } catch (Throwable t) {
+            log.errorf(t, "Failed to close selector");
+        }
+    }
+
+    /**
+     * A participant in the selector loop.
+     */
+    interface Handler {
+
+        /**
+         * Called on the worker thread once the channel has been registered.
+         *
+         * @param key the selection key
+         */
+        void registered(SelectionKey key);
+
+        /**
+         * Called on the worker thread when the channel is ready for one of the operations of interest.
+         *
+         * @param key the selection key
+         * @throws IOException if an I/O error occurs
+         */
+        void handleReady(SelectionKey key) throws IOException;
+
+        /**
+         * Called on the worker thread if the channel is closed by the worker, either because it could not
+         * be registered or because the worker stopped.
+         */
+        void closed();
+    }
+}
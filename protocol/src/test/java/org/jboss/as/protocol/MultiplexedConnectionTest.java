@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ServerSocketFactory;
+import javax.net.SocketFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public final class MultiplexedConnectionTest {
+
+    private static final long SEED = 123L;
+
+    private ExecutorService executor;
+    private ProtocolServer server;
+    private final BlockingQueue<byte[]> replies = new LinkedBlockingQueue<byte[]>();
+
+    @Before
+    public void startServer() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        final ProtocolServer.Configuration config = new ProtocolServer.Configuration();
+        config.setBindAddress(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+        config.setThreadFactory(Executors.defaultThreadFactory());
+        config.setReadExecutor(executor);
+        config.setSocketFactory(ServerSocketFactory.getDefault());
+        config.setBacklog(50);
+        config.setMultiplexed(true);
+        config.setConnectionHandler(new ConnectionHandler() {
+            public MessageHandler handleConnected(final Connection connection) throws IOException {
+                return new EchoHandler();
+            }
+        });
+        server = new ProtocolServer(config);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testMultiplexedEcho() throws Exception {
+        final Connection connection = connect(true);
+        try {
+            final byte[] first = data(200000);
+            final byte[] second = data(70000);
+            final OutputStream out1 = connection.writeMessage();
+            final OutputStream out2 = connection.writeMessage();
+            // interleave the two messages on the wire
+            for (int i = 0; i < second.length; i += 1000) {
+                out1.write(first, i, 1000);
+                out2.write(second, i, 1000);
+                out1.flush();
+                out2.flush();
+            }
+            out2.close();
+            out1.write(first, second.length, first.length - second.length);
+            out1.close();
+
+            final Set<Integer> lengths = new HashSet<Integer>();
+            for (int i = 0; i < 2; i ++) {
+                final byte[] reply = replies.poll(10, TimeUnit.SECONDS);
+                assertNotNull(reply);
+                assertArrayEquals(reply.length == first.length ? first : second, reply);
+                lengths.add(Integer.valueOf(reply.length));
+            }
+            assertEquals(2, lengths.size());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testPlainClient() throws Exception {
+        final Connection connection = connect(false);
+        try {
+            final byte[] data = data(100000);
+            final OutputStream out = connection.writeMessage();
+            out.write(data);
+            out.close();
+            final byte[] reply = replies.poll(10, TimeUnit.SECONDS);
+            assertNotNull(reply);
+            assertArrayEquals(data, reply);
+        } finally {
+            connection.close();
+        }
+    }
+
+    private Connection connect(final boolean multiplexed) throws IOException {
+        final ProtocolClient.Configuration config = new ProtocolClient.Configuration();
+        final ThreadFactory threadFactory = Executors.defaultThreadFactory();
+        config.setThreadFactory(threadFactory);
+        config.setReadExecutor(executor);
+        config.setSocketFactory(SocketFactory.getDefault());
+        config.setServerAddress(server.getBoundAddress());
+        config.setMultiplexed(multiplexed);
+        config.setMessageHandler(new NoopMessageHandler() {
+            public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+                replies.add(readFully(dataStream));
+            }
+        });
+        return new ProtocolClient(config).connect();
+    }
+
+    static byte[] data(final int size) {
+        final byte[] data = new byte[size];
+        new Random(SEED + size).nextBytes(data);
+        return data;
+    }
+
+    static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[4096];
+        int cnt;
+        while ((cnt = in.read(buf)) != -1) {
+            out.write(buf, 0, cnt);
+        }
+        return out.toByteArray();
+    }
+
+    static class EchoHandler extends NoopMessageHandler {
+        public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+            final byte[] data = readFully(dataStream);
+            final OutputStream out = connection.writeMessage();
+            try {
+                out.write(data);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    abstract static class NoopMessageHandler implements MessageHandler {
+        public void handleShutdown(final Connection connection) throws IOException {
+        }
+
+        public void handleFailure(final Connection connection, final IOException e) throws IOException {
+        }
+
+        public void handleFinished(final Connection connection) throws IOException {
+        }
+    }
+}
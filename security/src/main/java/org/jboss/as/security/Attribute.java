@@ -37,6 +37,10 @@ public enum Attribute {
     AUDIT_MANAGER_CLASS_NAME("audit-manager-class-name"),
     AUTHENTICATION_MANAGER_CLASS_NAME("authentication-manager-class-name"),
     AUTHORIZATION_MANAGER_CLASS_NAME("authorization-manager-class-name"),
+    CACHE_CONTAINER("cache-container"),
+    CACHE_LIFESPAN("cache-lifespan"),
+    CACHE_MAX_ENTRIES("cache-max-entries"),
+    CACHE_TYPE("cache-type"),
     CODE("code"),
     DEEP_COPY_SUBJECT_MODE("deep-copy-subject-mode"),
     DEFAULT_CALLBACK_HANDLER_CLASS_NAME("default-callback-handler-class-name"),
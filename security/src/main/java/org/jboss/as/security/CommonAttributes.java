@@ -32,11 +32,20 @@ public interface CommonAttributes {
     String AUDIT_MANAGER_CLASS_NAME = "audit-manager-class-name";
     String AUTHENTICATION_MANAGER_CLASS_NAME = "authentication-manager-class-name";
     String AUTHORIZATION_MANAGER_CLASS_NAME = "authorization-manager-class-name";
+    String CACHE_CONTAINER = "cache-container";
+    String CACHE_HIT_COUNT = "cache-hit-count";
+    String CACHE_LIFESPAN = "cache-lifespan";
+    String CACHE_MAX_ENTRIES = "cache-max-entries";
+    String CACHE_MISS_COUNT = "cache-miss-count";
+    String CACHE_SIZE = "cache-size";
+    String CACHE_TYPE = "cache-type";
     String DEEP_COPY_SUBJECT_MODE = "deep-copy-subject-mode";
     String DEFAULT_CALLBACK_HANDLER_CLASS_NAME = "default-callback-handler-class-name";
+    String FLUSH_CACHE = "flush-cache";
     String IDENTITY_TRUST_MANAGER_CLASS_NAME = "identity-trust-manager-class-name";
     String MAPPING_MANAGER_CLASS_NAME = "mapping-manager-class-name";
     String MODULE_OPTIONS = "module-options";
+    String PRINCIPAL = "principal";
     String SECURITY_MANAGEMENT = "security-management";
     String SECURITY_DOMAIN = "security-domain";
     String SUBJECT_FACTORY = "subject-factory";
@@ -24,16 +24,22 @@ package org.jboss.as.security;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.security.CommonAttributes.CACHE_CONTAINER;
+import static org.jboss.as.security.CommonAttributes.CACHE_LIFESPAN;
+import static org.jboss.as.security.CommonAttributes.CACHE_MAX_ENTRIES;
+import static org.jboss.as.security.CommonAttributes.CACHE_TYPE;
 import static org.jboss.as.security.CommonAttributes.MODULE_OPTIONS;
 
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.login.AppConfigurationEntry;
 import javax.security.auth.login.AppConfigurationEntry.LoginModuleControlFlag;
 
+import org.infinispan.manager.CacheContainer;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelAddOperationHandler;
 import org.jboss.as.controller.OperationContext;
@@ -44,11 +50,16 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.security.service.AuthenticationCacheFactoryService;
 import org.jboss.as.security.service.JaasConfigurationService;
+import org.jboss.as.security.service.SecurityManagementService;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceRegistry;
+import org.jboss.security.ISecurityManagement;
 import org.jboss.security.acl.config.ACLProviderEntry;
 import org.jboss.security.audit.config.AuditProviderEntry;
 import org.jboss.security.auth.container.config.AuthModuleEntry;
@@ -78,6 +89,14 @@ class SecurityDomainAdd implements ModelAddOperationHandler {
 
     static final String OPERATION_NAME = ADD;
 
+    static final String DEFAULT_CACHE_TYPE = "default";
+
+    static final String INFINISPAN_CACHE_TYPE = "infinispan";
+
+    static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+
+    static final long DEFAULT_CACHE_LIFESPAN = 300;
+
     static final ModelNode getRecreateOperation(ModelNode address, ModelNode securityDomain) {
         return Util.getOperation(OPERATION_NAME, address, securityDomain);
     }
@@ -89,10 +108,25 @@ class SecurityDomainAdd implements ModelAddOperationHandler {
     }
 
     @Override
-    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
         ModelNode opAddr = operation.require(OP_ADDR);
         PathAddress address = PathAddress.pathAddress(opAddr);
-        String securityDomain = address.getLastElement().getValue();
+        final String securityDomain = address.getLastElement().getValue();
+
+        final String cacheType = operation.hasDefined(CACHE_TYPE) ? operation.get(CACHE_TYPE).asString() : null;
+        final String cacheContainer = operation.hasDefined(CACHE_CONTAINER) ? operation.get(CACHE_CONTAINER).asString() : null;
+        if (cacheType != null && !DEFAULT_CACHE_TYPE.equals(cacheType) && !INFINISPAN_CACHE_TYPE.equals(cacheType)) {
+            throw new OperationFailedException(new ModelNode().set("Unknown " + CACHE_TYPE + " " + cacheType));
+        }
+        if (INFINISPAN_CACHE_TYPE.equals(cacheType) && cacheContainer == null) {
+            throw new OperationFailedException(new ModelNode().set(CACHE_CONTAINER + " is required for an "
+                    + INFINISPAN_CACHE_TYPE + " " + CACHE_TYPE));
+        }
+        final int cacheMaxEntries = operation.hasDefined(CACHE_MAX_ENTRIES) ? operation.get(CACHE_MAX_ENTRIES).asInt()
+                : DEFAULT_CACHE_MAX_ENTRIES;
+        final long cacheLifespan = operation.hasDefined(CACHE_LIFESPAN) ? operation.get(CACHE_LIFESPAN).asLong()
+                : DEFAULT_CACHE_LIFESPAN;
 
         Util.copyParamsToModel(operation, context.getSubModel());
 
@@ -105,6 +139,21 @@ class SecurityDomainAdd implements ModelAddOperationHandler {
                     // add parsed security domain to the Configuration
                     final ApplicationPolicyRegistration loginConfig = getConfiguration(context.getServiceRegistry());
                     loginConfig.addApplicationPolicy(applicationPolicy.getName(), applicationPolicy);
+
+                    // register the authentication cache of the domain
+                    if (cacheType != null) {
+                        final AuthenticationCacheFactoryService cacheFactoryService = new AuthenticationCacheFactoryService(
+                                securityDomain, cacheMaxEntries, TimeUnit.SECONDS.toMillis(cacheLifespan));
+                        final ServiceBuilder<?> builder = context.getServiceTarget().addService(
+                                AuthenticationCacheFactoryService.getServiceName(securityDomain), cacheFactoryService)
+                                .addDependency(SecurityManagementService.SERVICE_NAME, ISecurityManagement.class,
+                                        cacheFactoryService.getSecurityManagementInjector());
+                        if (INFINISPAN_CACHE_TYPE.equals(cacheType)) {
+                            builder.addDependency(ServiceName.JBOSS.append("infinispan", cacheContainer), CacheContainer.class,
+                                    cacheFactoryService.getCacheContainerInjector());
+                        }
+                        builder.setInitialMode(ServiceController.Mode.ACTIVE).install();
+                    }
                     resultHandler.handleResultComplete();
                 }
             });
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.security.CommonAttributes.CACHE_HIT_COUNT;
+import static org.jboss.as.security.CommonAttributes.CACHE_MISS_COUNT;
+import static org.jboss.as.security.CommonAttributes.CACHE_SIZE;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.security.plugins.AuthenticationCache;
+import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Authentication cache metrics of a security domain.
+ *
+ * @author agent
+ */
+class SecurityDomainMetrics implements ModelQueryOperationHandler {
+
+    static final SecurityDomainMetrics INSTANCE = new SecurityDomainMetrics();
+
+    /** Private to ensure a singleton. */
+    private SecurityDomainMetrics() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final String securityDomain = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+        final String attributeName = operation.require(NAME).asString();
+        final AuthenticationCache cache = JNDIBasedSecurityManagement.getInstance().getAuthenticationCache(securityDomain);
+        final ModelNode result = new ModelNode();
+        if (CACHE_HIT_COUNT.equals(attributeName)) {
+            result.set(cache != null ? cache.getHitCount() : 0L);
+        } else if (CACHE_MISS_COUNT.equals(attributeName)) {
+            result.set(cache != null ? cache.getMissCount() : 0L);
+        } else if (CACHE_SIZE.equals(attributeName)) {
+            result.set(cache != null ? cache.size() : 0);
+        }
+        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+}
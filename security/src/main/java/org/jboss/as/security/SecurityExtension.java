@@ -89,6 +89,11 @@ public class SecurityExtension implements Extension {
                 SecuritySubsystemDescriptions.SECURITY_DOMAIN_ADD, false);
         securityDomain.registerOperationHandler(SecurityDomainRemove.OPERATION_NAME, SecurityDomainRemove.INSTANCE,
                 SecuritySubsystemDescriptions.SECURITY_DOMAIN_REMOVE, false);
+        securityDomain.registerOperationHandler(SecurityDomainFlushCache.OPERATION_NAME, SecurityDomainFlushCache.INSTANCE,
+                SecuritySubsystemDescriptions.SECURITY_DOMAIN_FLUSH_CACHE, false);
+        securityDomain.registerMetric(CommonAttributes.CACHE_HIT_COUNT, SecurityDomainMetrics.INSTANCE);
+        securityDomain.registerMetric(CommonAttributes.CACHE_MISS_COUNT, SecurityDomainMetrics.INSTANCE);
+        securityDomain.registerMetric(CommonAttributes.CACHE_SIZE, SecurityDomainMetrics.INSTANCE);
 
         subsystem.registerXMLElementWriter(PARSER);
     }
@@ -42,11 +42,15 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYP
 import static org.jboss.as.security.CommonAttributes.AUDIT_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.CommonAttributes.AUTHENTICATION_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.CommonAttributes.AUTHORIZATION_MANAGER_CLASS_NAME;
+import static org.jboss.as.security.CommonAttributes.CACHE_HIT_COUNT;
+import static org.jboss.as.security.CommonAttributes.CACHE_MISS_COUNT;
+import static org.jboss.as.security.CommonAttributes.CACHE_SIZE;
 import static org.jboss.as.security.CommonAttributes.DEEP_COPY_SUBJECT_MODE;
 import static org.jboss.as.security.CommonAttributes.DEFAULT_CALLBACK_HANDLER_CLASS_NAME;
 import static org.jboss.as.security.CommonAttributes.IDENTITY_TRUST_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.CommonAttributes.MAPPING_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.CommonAttributes.MODULE_OPTIONS;
+import static org.jboss.as.security.CommonAttributes.PRINCIPAL;
 import static org.jboss.as.security.CommonAttributes.SUBJECT_FACTORY_CLASS_NAME;
 
 import java.util.Locale;
@@ -110,6 +114,13 @@ class SecuritySubsystemDescriptions {
         }
     };
 
+    static final DescriptionProvider SECURITY_DOMAIN_FLUSH_CACHE = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(Locale locale) {
+            return Descriptions.getSecurityDomainFlushCache(locale);
+        }
+    };
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
@@ -251,6 +262,29 @@ class SecuritySubsystemDescriptions {
             op.get(ATTRIBUTES, Attribute.EXTENDS.getLocalName(), DESCRIPTION).set(bundle.getString("extends"));
             op.get(ATTRIBUTES, Attribute.EXTENDS.getLocalName(), TYPE).set(ModelType.STRING);
             op.get(ATTRIBUTES, Attribute.EXTENDS.getLocalName(), REQUIRED).set(false);
+            op.get(ATTRIBUTES, Attribute.CACHE_TYPE.getLocalName(), DESCRIPTION).set(bundle.getString("cache-type"));
+            op.get(ATTRIBUTES, Attribute.CACHE_TYPE.getLocalName(), TYPE).set(ModelType.STRING);
+            op.get(ATTRIBUTES, Attribute.CACHE_TYPE.getLocalName(), REQUIRED).set(false);
+            op.get(ATTRIBUTES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), DESCRIPTION).set(
+                    bundle.getString("cache-max-entries"));
+            op.get(ATTRIBUTES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), TYPE).set(ModelType.INT);
+            op.get(ATTRIBUTES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), REQUIRED).set(false);
+            op.get(ATTRIBUTES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), DEFAULT).set(
+                    SecurityDomainAdd.DEFAULT_CACHE_MAX_ENTRIES);
+            op.get(ATTRIBUTES, Attribute.CACHE_LIFESPAN.getLocalName(), DESCRIPTION).set(bundle.getString("cache-lifespan"));
+            op.get(ATTRIBUTES, Attribute.CACHE_LIFESPAN.getLocalName(), TYPE).set(ModelType.LONG);
+            op.get(ATTRIBUTES, Attribute.CACHE_LIFESPAN.getLocalName(), REQUIRED).set(false);
+            op.get(ATTRIBUTES, Attribute.CACHE_LIFESPAN.getLocalName(), DEFAULT).set(SecurityDomainAdd.DEFAULT_CACHE_LIFESPAN);
+            op.get(ATTRIBUTES, Attribute.CACHE_CONTAINER.getLocalName(), DESCRIPTION).set(
+                    bundle.getString("cache-container"));
+            op.get(ATTRIBUTES, Attribute.CACHE_CONTAINER.getLocalName(), TYPE).set(ModelType.STRING);
+            op.get(ATTRIBUTES, Attribute.CACHE_CONTAINER.getLocalName(), REQUIRED).set(false);
+            op.get(ATTRIBUTES, CACHE_HIT_COUNT, DESCRIPTION).set(bundle.getString("cache-hit-count"));
+            op.get(ATTRIBUTES, CACHE_HIT_COUNT, TYPE).set(ModelType.LONG);
+            op.get(ATTRIBUTES, CACHE_MISS_COUNT, DESCRIPTION).set(bundle.getString("cache-miss-count"));
+            op.get(ATTRIBUTES, CACHE_MISS_COUNT, TYPE).set(ModelType.LONG);
+            op.get(ATTRIBUTES, CACHE_SIZE, DESCRIPTION).set(bundle.getString("cache-size"));
+            op.get(ATTRIBUTES, CACHE_SIZE, TYPE).set(ModelType.INT);
             op.get(CHILDREN, Element.AUTHENTICATION.getLocalName()).set(getAuthentication(locale));
             op.get(CHILDREN, Element.AUTHENTICATION_JASPI.getLocalName()).set(getAuthenticationJaspi(locale));
             op.get(CHILDREN, Element.AUTHORIZATION.getLocalName()).set(getAuthorization(locale));
@@ -271,6 +305,25 @@ class SecuritySubsystemDescriptions {
             op.get(REQUEST_PROPERTIES, Attribute.EXTENDS.getLocalName(), DESCRIPTION).set(bundle.getString("extends"));
             op.get(REQUEST_PROPERTIES, Attribute.EXTENDS.getLocalName(), TYPE).set(ModelType.STRING);
             op.get(REQUEST_PROPERTIES, Attribute.EXTENDS.getLocalName(), REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_TYPE.getLocalName(), DESCRIPTION).set(bundle.getString("cache-type"));
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_TYPE.getLocalName(), TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_TYPE.getLocalName(), REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), DESCRIPTION).set(
+                    bundle.getString("cache-max-entries"));
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), TYPE).set(ModelType.INT);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_MAX_ENTRIES.getLocalName(), DEFAULT).set(
+                    SecurityDomainAdd.DEFAULT_CACHE_MAX_ENTRIES);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_LIFESPAN.getLocalName(), DESCRIPTION).set(
+                    bundle.getString("cache-lifespan"));
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_LIFESPAN.getLocalName(), TYPE).set(ModelType.LONG);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_LIFESPAN.getLocalName(), REQUIRED).set(false);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_LIFESPAN.getLocalName(), DEFAULT).set(
+                    SecurityDomainAdd.DEFAULT_CACHE_LIFESPAN);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_CONTAINER.getLocalName(), DESCRIPTION).set(
+                    bundle.getString("cache-container"));
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_CONTAINER.getLocalName(), TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, Attribute.CACHE_CONTAINER.getLocalName(), REQUIRED).set(false);
             op.get(CHILDREN, Element.AUTHENTICATION.getLocalName()).set(getAuthenticationAdd(locale));
             op.get(CHILDREN, Element.AUTHENTICATION_JASPI.getLocalName()).set(getAuthenticationJaspiAdd(locale));
             op.get(CHILDREN, Element.AUTHORIZATION.getLocalName()).set(getAuthorizationAdd(locale));
@@ -291,6 +344,20 @@ class SecuritySubsystemDescriptions {
             return op;
         }
 
+        static ModelNode getSecurityDomainFlushCache(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode op = new ModelNode();
+            op.get(OPERATION_NAME).set(SecurityDomainFlushCache.OPERATION_NAME);
+            op.get(DESCRIPTION).set(bundle.getString("security-domain.flush-cache"));
+            op.get(REQUEST_PROPERTIES, PRINCIPAL, DESCRIPTION).set(bundle.getString("security-domain.flush-cache.principal"));
+            op.get(REQUEST_PROPERTIES, PRINCIPAL, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, PRINCIPAL, REQUIRED).set(false);
+            op.get(REPLY_PROPERTIES).setEmptyObject();
+
+            return op;
+        }
+
         static ModelNode getModuleOptions(Locale locale) {
             final ResourceBundle bundle = getResourceBundle(locale);
 
@@ -74,6 +74,9 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
 
     private static final SecuritySubsystemParser INSTANCE = new SecuritySubsystemParser();
 
+    private static final Attribute[] CACHE_ATTRIBUTES = { Attribute.CACHE_TYPE, Attribute.CACHE_MAX_ENTRIES,
+            Attribute.CACHE_LIFESPAN, Attribute.CACHE_CONTAINER };
+
     public static SecuritySubsystemParser getInstance() {
         return INSTANCE;
     }
@@ -183,6 +186,11 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
                     writer.writeAttribute(Attribute.EXTENDS.getLocalName(), policyDetails.get(Attribute.EXTENDS.getLocalName())
                             .asString());
                 }
+                for (Attribute attribute : CACHE_ATTRIBUTES) {
+                    if (policyDetails.hasDefined(attribute.getLocalName())) {
+                        writer.writeAttribute(attribute.getLocalName(), policyDetails.get(attribute.getLocalName()).asString());
+                    }
+                }
                 writeSecurityDomainContent(writer, policyDetails);
                 writer.writeEndElement();
             }
@@ -195,6 +203,9 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
         Set<String> keys = new HashSet<String>(policyDetails.keys());
         keys.remove(Attribute.NAME.getLocalName());
         keys.remove(Attribute.EXTENDS.getLocalName());
+        for (Attribute attribute : CACHE_ATTRIBUTES) {
+            keys.remove(attribute.getLocalName());
+        }
 
         for (String key : keys) {
             Element element = Element.forName(key);
@@ -517,10 +528,32 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
                     address.set(parentAddress).add(SECURITY_DOMAIN, value);
                     break;
                 }
-                case EXTENDS: {
+                case EXTENDS:
+                case CACHE_CONTAINER: {
                     op.get(attribute.getLocalName()).set(value);
                     break;
                 }
+                case CACHE_TYPE: {
+                    validateCacheType(value, reader, i);
+                    op.get(attribute.getLocalName()).set(value);
+                    break;
+                }
+                case CACHE_MAX_ENTRIES: {
+                    try {
+                        op.get(attribute.getLocalName()).set(Integer.parseInt(value));
+                    } catch (NumberFormatException e) {
+                        throw invalidAttributeValue(reader, i);
+                    }
+                    break;
+                }
+                case CACHE_LIFESPAN: {
+                    try {
+                        op.get(attribute.getLocalName()).set(Long.parseLong(value));
+                    } catch (NumberFormatException e) {
+                        throw invalidAttributeValue(reader, i);
+                    }
+                    break;
+                }
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -912,6 +945,11 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
             throw invalidAttributeValue(reader, index);
     }
 
+    private void validateCacheType(String type, XMLExtendedStreamReader reader, int index) throws XMLStreamException {
+        if (!(type.equals("default") || type.equals("infinispan")))
+            throw invalidAttributeValue(reader, index);
+    }
+
     private void validateType(String type, XMLExtendedStreamReader reader, int index) throws XMLStreamException {
         if (!(type.equals("attribute") || type.equals("credential") || type.equals("principal") || type.equals("role")))
             throw invalidAttributeValue(reader, index);
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class of the per security domain authentication caches. The cache maps an authenticated {@code Principal} to the
+ * information the authentication manager keeps about its last successful login, so that subsequent requests of the same
+ * principal do not have to run the login modules again.
+ *
+ * @author agent
+ */
+public abstract class AuthenticationCache extends AbstractMap<Principal, Object> implements ConcurrentMap<Principal, Object> {
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Looks up a cached entry, recording a hit or a miss.
+     *
+     * @param key the principal
+     * @return the cached entry or null if the principal is not cached or its entry expired
+     */
+    @Override
+    public Object get(Object key) {
+        final Object value = lookup(key);
+        record(value != null);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return lookup(key) != null;
+    }
+
+    /**
+     * Removes the entries of all principals with the given name.
+     *
+     * @param principalName the name of the principal
+     * @return the number of entries removed
+     */
+    public int flush(String principalName) {
+        final List<Principal> principals = new ArrayList<Principal>();
+        for (Principal principal : keySet()) {
+            if (principalName.equals(principal.getName()))
+                principals.add(principal);
+        }
+        int removed = 0;
+        for (Principal principal : principals) {
+            if (remove(principal) != null)
+                removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void flush() {
+        clear();
+    }
+
+    /**
+     * Records a hit or a miss, for callers which decide themselves whether an entry they looked up can be used.
+     *
+     * @param hit whether the entry was used
+     */
+    void record(boolean hit) {
+        if (hit)
+            hits.incrementAndGet();
+        else
+            misses.incrementAndGet();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Looks up a cached entry without recording statistics.
+     *
+     * @param key the principal
+     * @return the cached entry or null if the principal is not cached or its entry expired
+     */
+    protected abstract Object lookup(Object key);
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.plugins;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.security.auth.Subject;
+
+import org.jboss.security.AuthenticationManager;
+
+/**
+ * Puts an {@code AuthenticationCache} in front of an {@code AuthenticationManager}. A principal whose credential matches
+ * its cached login is valid without running the login modules again, and gets the subject of that login. Successful
+ * logins of the manager are cached, and a logout removes the principal from the cache.  A login from the cache
+ * associates the subject with the security context of the thread, like the manager does, so that the active subject
+ * of the thread is always the one of its security context.
+ * <p>
+ * The wrapper is a dynamic proxy implementing all the interfaces of the manager, so that it works with every version of
+ * the {@code AuthenticationManager} API and the manager keeps being a {@code RealmMapping} if it was one.
+ *
+ * @author agent
+ */
+final class CachingAuthenticationManager implements InvocationHandler {
+
+    private final AuthenticationManager delegate;
+
+    private final AuthenticationCache cache;
+
+    private CachingAuthenticationManager(AuthenticationManager delegate, AuthenticationCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * Wraps an {@code AuthenticationManager}.
+     *
+     * @param delegate the manager
+     * @param cache the cache of the security domain
+     * @return the caching manager
+     */
+    static AuthenticationManager wrap(AuthenticationManager delegate, AuthenticationCache cache) {
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> clazz = delegate.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+        }
+        return (AuthenticationManager) Proxy.newProxyInstance(delegate.getClass().getClassLoader(),
+                interfaces.toArray(new Class<?>[interfaces.size()]), new CachingAuthenticationManager(delegate, cache));
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        Class<?>[] types = method.getParameterTypes();
+        if (name.equals("isValid") && (types.length == 2 || types.length == 3) && types[0] == Principal.class) {
+            return isValid((Principal) args[0], args[1], types.length == 3 ? (Subject) args[2] : null, method, args);
+        }
+        if (name.equals("logout") && types.length > 0 && types[0] == Principal.class && args[0] != null) {
+            cache.remove(args[0]);
+        } else if (name.equals("equals") && types.length == 1 && types[0] == Object.class) {
+            return proxy == args[0];
+        } else if (name.equals("hashCode") && types.length == 0) {
+            return System.identityHashCode(proxy);
+        }
+        return invokeDelegate(method, args);
+    }
+
+    private Boolean isValid(Principal principal, Object credential, Subject subject, Method method, Object[] args) throws Throwable {
+        if (principal != null) {
+            Object cached = cache.lookup(principal);
+            boolean hit = cached instanceof CachedLogin && ((CachedLogin) cached).matches(credential);
+            cache.record(hit);
+            if (hit) {
+                Subject authenticated = ((CachedLogin) cached).subject;
+                if (subject != null && !subject.isReadOnly()) {
+                    subject.getPrincipals().addAll(authenticated.getPrincipals());
+                    subject.getPublicCredentials().addAll(authenticated.getPublicCredentials());
+                    subject.getPrivateCredentials().addAll(authenticated.getPrivateCredentials());
+                }
+                // associate the subject with the thread the way the manager does, where its getActiveSubject finds it
+                SecurityActions.pushSubjectContext(principal, credential, subject != null ? subject : new Subject(false,
+                        authenticated.getPrincipals(), authenticated.getPublicCredentials(),
+                        authenticated.getPrivateCredentials()), delegate.getSecurityDomain());
+                return Boolean.TRUE;
+            }
+        }
+        Boolean valid = (Boolean) invokeDelegate(method, args);
+        if (principal != null && Boolean.TRUE.equals(valid)) {
+            Subject authenticated = subject != null ? subject : delegate.getActiveSubject();
+            if (authenticated != null)
+                cache.put(principal, new CachedLogin(credential, authenticated));
+        }
+        return valid;
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A successful login: the credential and a copy of the authenticated subject.
+     */
+    private static final class CachedLogin {
+        private final Object credential;
+        private final Subject subject;
+
+        CachedLogin(Object credential, Subject subject) {
+            // the caller may clear a password array once it has been checked
+            if (credential instanceof char[])
+                credential = ((char[]) credential).clone();
+            else if (credential instanceof byte[])
+                credential = ((byte[]) credential).clone();
+            this.credential = credential;
+            this.subject = new Subject(false, subject.getPrincipals(), subject.getPublicCredentials(), subject.getPrivateCredentials());
+        }
+
+        boolean matches(Object credential) {
+            if (this.credential instanceof char[] && credential instanceof char[])
+                return Arrays.equals((char[]) this.credential, (char[]) credential);
+            if (this.credential instanceof byte[] && credential instanceof byte[])
+                return Arrays.equals((byte[]) this.credential, (byte[]) credential);
+            return this.credential == null ? credential == null : this.credential.equals(credential);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory {@code AuthenticationCache} bounded by a maximum number of entries and a lifespan. When the cache is full the
+ * least recently used principal is evicted; entries older than the lifespan are discarded when they are looked up.
+ *
+ * @author agent
+ */
+public class DefaultAuthenticationCache extends AuthenticationCache {
+
+    private final long lifespan;
+
+    private final LinkedHashMap<Principal, Entry> entries;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxEntries the maximum number of cached principals, unbounded if 0 or less
+     * @param lifespan the number of milliseconds an entry stays valid, forever if 0 or less
+     */
+    public DefaultAuthenticationCache(final int maxEntries, final long lifespan) {
+        this.lifespan = lifespan;
+        this.entries = new LinkedHashMap<Principal, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2574640453209716346L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Principal, Entry> eldest) {
+                return maxEntries > 0 && size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    protected synchronized Object lookup(Object key) {
+        final Entry entry = entries.get(key);
+        if (entry == null)
+            return null;
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public synchronized Object put(Principal key, Object value) {
+        return valueOf(entries.put(key, new Entry(value, lifespan)));
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(Principal key, Object value) {
+        final Object current = lookup(key);
+        if (current == null)
+            entries.put(key, new Entry(value, lifespan));
+        return current;
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        return valueOf(entries.remove(key));
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        final Object current = lookup(key);
+        if (current != null && current.equals(value)) {
+            entries.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean replace(Principal key, Object oldValue, Object newValue) {
+        final Object current = lookup(key);
+        if (current != null && current.equals(oldValue)) {
+            entries.put(key, new Entry(newValue, lifespan));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized Object replace(Principal key, Object value) {
+        final Object current = lookup(key);
+        if (current != null)
+            entries.put(key, new Entry(value, lifespan));
+        return current;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        purge();
+        return entries.size();
+    }
+
+    /**
+     * Returns a snapshot of the valid entries. Changes to the returned set are not reflected in the cache.
+     */
+    @Override
+    public synchronized Set<Map.Entry<Principal, Object>> entrySet() {
+        purge();
+        final Map<Principal, Object> snapshot = new HashMap<Principal, Object>(entries.size());
+        for (Map.Entry<Principal, Entry> entry : entries.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().value);
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    private void purge() {
+        final long now = System.currentTimeMillis();
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now))
+                iterator.remove();
+        }
+    }
+
+    private static Object valueOf(Entry entry) {
+        return entry == null || entry.isExpired(System.currentTimeMillis()) ? null : entry.value;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiry;
+
+        Entry(Object value, long lifespan) {
+            this.value = value;
+            this.expiry = lifespan > 0 ? System.currentTimeMillis() + lifespan : Long.MAX_VALUE;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiry;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+
+/**
+ * {@code AuthenticationCache} backed by an infinispan cache. Entries are stored with the configured lifespan; the size
+ * of the cache is bounded by the eviction settings of the underlying infinispan cache.
+ *
+ * @author agent
+ */
+public class InfinispanAuthenticationCache extends AuthenticationCache {
+
+    private final Cache<Principal, Object> cache;
+
+    private final long lifespan;
+
+    /**
+     * Create a new cache.
+     *
+     * @param cache the infinispan cache holding the entries
+     * @param lifespan the number of milliseconds an entry stays valid, forever if 0 or less
+     */
+    public InfinispanAuthenticationCache(final Cache<Principal, Object> cache, final long lifespan) {
+        this.cache = cache;
+        this.lifespan = lifespan > 0 ? lifespan : -1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public Object put(Principal key, Object value) {
+        return cache.put(key, value, lifespan, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Object putIfAbsent(Principal key, Object value) {
+        return cache.putIfAbsent(key, value, lifespan, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return cache.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return cache.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(Principal key, Object oldValue, Object newValue) {
+        return cache.replace(key, oldValue, newValue, lifespan, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Object replace(Principal key, Object value) {
+        return cache.replace(key, value, lifespan, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public Set<Map.Entry<Principal, Object>> entrySet() {
+        return cache.entrySet();
+    }
+}
@@ -59,6 +59,7 @@ public class JNDIBasedSecurityManagement implements ISecurityManagement {
     private transient ConcurrentHashMap<String, AuditManager> auditMgrMap = new ConcurrentHashMap<String, AuditManager>();
     private transient ConcurrentHashMap<String, IdentityTrustManager> idmMgrMap = new ConcurrentHashMap<String, IdentityTrustManager>();
     private transient ConcurrentHashMap<String, MappingManager> mappingMgrMap = new ConcurrentHashMap<String, MappingManager>();
+    private transient ConcurrentHashMap<String, AuthenticationCacheFactory> cacheFactoryMap = new ConcurrentHashMap<String, AuthenticationCacheFactory>();
 
     private String authenticationManagerClassName;
     private boolean deepCopySubjectMode;
@@ -211,6 +212,42 @@ public class JNDIBasedSecurityManagement implements ISecurityManagement {
         this.mappingManagerClassName = mappingManagerClassName;
     }
 
+    /**
+     * Sets the factory of the authentication cache of a security domain. Only contexts created afterwards use the new
+     * cache.
+     *
+     * @param securityDomain name of the security domain
+     * @param cacheFactory the factory
+     */
+    public void setAuthenticationCacheFactory(String securityDomain, AuthenticationCacheFactory cacheFactory) {
+        cacheFactoryMap.put(securityDomain, cacheFactory);
+    }
+
+    /**
+     * Removes the factory of the authentication cache of a security domain and flushes the cache in use.
+     *
+     * @param securityDomain name of the security domain
+     */
+    public void removeAuthenticationCacheFactory(String securityDomain) {
+        cacheFactoryMap.remove(securityDomain);
+        AuthenticationCache cache = getAuthenticationCache(securityDomain);
+        if (cache != null)
+            cache.flush();
+    }
+
+    /**
+     * Gets the authentication cache in use by a security domain.
+     *
+     * @param securityDomain name of the security domain
+     * @return the cache or null if the domain does not cache authentications or has not been used yet
+     */
+    public AuthenticationCache getAuthenticationCache(String securityDomain) {
+        SecurityDomainContext securityDomainContext = securityMgrMap.get(securityDomain);
+        if (securityDomainContext != null && securityDomainContext.getAuthenticationCache() instanceof AuthenticationCache)
+            return (AuthenticationCache) securityDomainContext.getAuthenticationCache();
+        return null;
+    }
+
     /**
      * Lookup a context in JNDI
      *
@@ -242,15 +279,21 @@ public class JNDIBasedSecurityManagement implements ISecurityManagement {
     public SecurityDomainContext createSecurityDomainContext(String securityDomain) throws Exception {
         log.debug("Creating SDC for domain=" + securityDomain);
         AuthenticationManager am = createAuthenticationManager(securityDomain);
-        // TODO create auth cache and set it in am
 
         // set DeepCopySubject option if supported
         if (deepCopySubjectMode) {
             setDeepCopySubjectMode(am);
         }
 
-        // TODO set auth cache
-        SecurityDomainContext securityDomainContext = new SecurityDomainContext(am, null);
+        AuthenticationCache cache = null;
+        AuthenticationCacheFactory cacheFactory = cacheFactoryMap.get(securityDomain);
+        if (cacheFactory != null) {
+            cache = cacheFactory.getCache(securityDomain);
+            if (cache != null)
+                am = CachingAuthenticationManager.wrap(am, cache);
+        }
+
+        SecurityDomainContext securityDomainContext = new SecurityDomainContext(am, cache);
 
         securityDomainContext.setAuthorizationManager(createAuthorizationManager(securityDomain));
         securityDomainContext.setAuditMgr(createAuditManager(securityDomain));
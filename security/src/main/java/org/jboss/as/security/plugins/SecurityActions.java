@@ -28,6 +28,8 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
+import javax.security.auth.Subject;
+
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleClassLoader;
 import org.jboss.modules.ModuleIdentifier;
@@ -35,6 +37,7 @@ import org.jboss.modules.ModuleLoadException;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.security.SecurityContext;
 import org.jboss.security.SecurityContextAssociation;
+import org.jboss.security.SecurityContextFactory;
 
 /**
  * Privileged blocks for this package
@@ -91,4 +94,24 @@ class SecurityActions {
         });
     }
 
+    static void pushSubjectContext(final Principal principal, final Object credential, final Subject subject,
+            final String securityDomain) {
+        AccessController.doPrivileged(new PrivilegedAction<Void>() {
+            public Void run() {
+                SecurityContext sc = SecurityContextAssociation.getSecurityContext();
+                if (sc == null) {
+                    try {
+                        sc = SecurityContextFactory.createSecurityContext(principal, credential, subject, securityDomain);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                } else {
+                    sc.getUtil().createSubjectInfo(principal, credential, subject);
+                }
+                SecurityContextAssociation.setSecurityContext(sc);
+                return null;
+            }
+        });
+    }
+
 }
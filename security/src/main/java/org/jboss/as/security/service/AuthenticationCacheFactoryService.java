@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.service;
+
+import java.security.Principal;
+
+import org.infinispan.manager.CacheContainer;
+import org.jboss.as.security.SecurityExtension;
+import org.jboss.as.security.plugins.AuthenticationCache;
+import org.jboss.as.security.plugins.AuthenticationCacheFactory;
+import org.jboss.as.security.plugins.DefaultAuthenticationCache;
+import org.jboss.as.security.plugins.InfinispanAuthenticationCache;
+import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
+import org.jboss.logging.Logger;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.security.ISecurityManagement;
+
+/**
+ * Service registering the authentication cache configuration of a security domain with the security management. The
+ * cache is kept in memory unless an infinispan cache container is injected.
+ *
+ * @author agent
+ */
+public class AuthenticationCacheFactoryService implements Service<AuthenticationCacheFactory>, AuthenticationCacheFactory {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.security");
+
+    private final InjectedValue<ISecurityManagement> securityManagementValue = new InjectedValue<ISecurityManagement>();
+
+    private final InjectedValue<CacheContainer> cacheContainerValue = new InjectedValue<CacheContainer>();
+
+    private final String securityDomain;
+
+    private final int maxEntries;
+
+    private final long lifespan;
+
+    /**
+     * Create a new service.
+     *
+     * @param securityDomain name of the security domain
+     * @param maxEntries the maximum number of cached principals of an in-memory cache
+     * @param lifespan the number of milliseconds a cached login stays valid
+     */
+    public AuthenticationCacheFactoryService(String securityDomain, int maxEntries, long lifespan) {
+        this.securityDomain = securityDomain;
+        this.maxEntries = maxEntries;
+        this.lifespan = lifespan;
+    }
+
+    public static ServiceName getServiceName(String securityDomain) {
+        return SecurityExtension.JBOSS_SECURITY.append("authentication-cache", securityDomain);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void start(StartContext context) throws StartException {
+        if (log.isDebugEnabled())
+            log.debug("Starting AuthenticationCacheFactoryService for domain=" + securityDomain);
+        getSecurityManagement().setAuthenticationCacheFactory(securityDomain, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void stop(StopContext context) {
+        getSecurityManagement().removeAuthenticationCacheFactory(securityDomain);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AuthenticationCacheFactory getValue() throws IllegalStateException {
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AuthenticationCache getCache(String securityDomain) {
+        final CacheContainer cacheContainer = cacheContainerValue.getOptionalValue();
+        if (cacheContainer != null) {
+            return new InfinispanAuthenticationCache(cacheContainer.<Principal, Object> getCache(securityDomain), lifespan);
+        }
+        return new DefaultAuthenticationCache(maxEntries, lifespan);
+    }
+
+    private JNDIBasedSecurityManagement getSecurityManagement() {
+        return (JNDIBasedSecurityManagement) securityManagementValue.getValue();
+    }
+
+    /**
+     * Target {@code Injector}
+     *
+     * @return target
+     */
+    public Injector<ISecurityManagement> getSecurityManagementInjector() {
+        return securityManagementValue;
+    }
+
+    /**
+     * Target {@code Injector} of the infinispan cache container backing the cache
+     *
+     * @return target
+     */
+    public Injector<CacheContainer> getCacheContainerInjector() {
+        return cacheContainerValue;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.Principal;
+
+import javax.security.auth.Subject;
+
+import org.jboss.security.AuthenticationManager;
+import org.jboss.security.SecurityContext;
+import org.jboss.security.SecurityContextAssociation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@code CachingAuthenticationManager} only runs the login modules of principals it has no valid cached
+ * login for.
+ *
+ * @author agent
+ */
+public class CachingAuthenticationManagerTestCase {
+
+    private final Principal caller = new TestPrincipal("caller");
+
+    private final Principal role = new TestPrincipal("role");
+
+    private DefaultAuthenticationCache cache;
+
+    private AuthenticationManager manager;
+
+    /**
+     * The number of times the login modules ran.
+     */
+    private int logins;
+
+    @Before
+    public void before() {
+        cache = new DefaultAuthenticationCache(10, 0);
+        // stands for a manager running a login module which accepts the password "secret", and which associates the
+        // subject of a login with the security context of the thread
+        AuthenticationManager delegate = (AuthenticationManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { AuthenticationManager.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("isValid")) {
+                            logins++;
+                            boolean valid = "secret".equals(new String((char[]) args[1]));
+                            if (valid) {
+                                Subject subject = args.length == 3 && args[2] != null ? (Subject) args[2] : new Subject();
+                                subject.getPrincipals().add((Principal) args[0]);
+                                subject.getPrincipals().add(role);
+                                SecurityActions.pushSubjectContext((Principal) args[0], args[1], subject, "test");
+                            }
+                            return valid;
+                        }
+                        if (method.getName().equals("getActiveSubject")) {
+                            SecurityContext sc = SecurityContextAssociation.getSecurityContext();
+                            return sc != null ? sc.getSubjectInfo().getAuthenticatedSubject() : null;
+                        }
+                        if (method.getName().equals("getSecurityDomain")) {
+                            return "test";
+                        }
+                        return null;
+                    }
+                });
+        manager = CachingAuthenticationManager.wrap(delegate, cache);
+    }
+
+    @After
+    public void after() {
+        SecurityContextAssociation.clearSecurityContext();
+    }
+
+    @Test
+    public void testSecondLoginSkipsLoginModules() {
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), new Subject()));
+        assertEquals(1, logins);
+        assertEquals(1, cache.size());
+
+        Subject subject = new Subject();
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), subject));
+        assertEquals(1, logins);
+        assertTrue(subject.getPrincipals().contains(role));
+        assertSame(subject, manager.getActiveSubject());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testActiveSubjectOfLoginsInTurn() {
+        Principal other = new TestPrincipal("other");
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), new Subject()));
+        assertTrue(manager.isValid(other, "secret".toCharArray(), new Subject()));
+        assertEquals(2, logins);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(manager.isValid(caller, "secret".toCharArray()));
+            assertTrue(manager.getActiveSubject().getPrincipals().contains(caller));
+            assertFalse(manager.getActiveSubject().getPrincipals().contains(other));
+
+            Subject subject = new Subject();
+            assertTrue(manager.isValid(other, "secret".toCharArray(), subject));
+            assertSame(subject, manager.getActiveSubject());
+            assertTrue(subject.getPrincipals().contains(other));
+            assertFalse(subject.getPrincipals().contains(caller));
+        }
+        assertEquals(2, logins);
+
+        // once the security context of the thread is gone there is no active subject left behind
+        SecurityContextAssociation.clearSecurityContext();
+        assertNull(manager.getActiveSubject());
+    }
+
+    @Test
+    public void testWrongCredentialRunsLoginModules() {
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), new Subject()));
+        assertFalse(manager.isValid(caller, "guess".toCharArray(), new Subject()));
+        assertEquals(2, logins);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testFailedLoginIsNotCached() {
+        assertFalse(manager.isValid(caller, "guess".toCharArray(), new Subject()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFlushRunsLoginModulesAgain() {
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), new Subject()));
+        assertEquals(1, cache.flush("caller"));
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), new Subject()));
+        assertEquals(2, logins);
+    }
+
+    @Test
+    public void testClearedPasswordStillMatches() {
+        char[] password = "secret".toCharArray();
+        assertTrue(manager.isValid(caller, password, new Subject()));
+        password[0] = 0;
+        assertTrue(manager.isValid(caller, "secret".toCharArray(), new Subject()));
+        assertEquals(1, logins);
+    }
+
+    private static class TestPrincipal implements Principal {
+        private final String name;
+
+        TestPrincipal(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestPrincipal && name.equals(((TestPrincipal) obj).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.security.Principal;
+
+import org.junit.Test;
+
+/**
+ * Tests the bounds and statistics of the {@code DefaultAuthenticationCache}.
+ *
+ * @author agent
+ */
+public class DefaultAuthenticationCacheTestCase {
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        DefaultAuthenticationCache cache = new DefaultAuthenticationCache(2, 0);
+        cache.put(new TestPrincipal("a"), "a");
+        cache.put(new TestPrincipal("b"), "b");
+        cache.get(new TestPrincipal("a"));
+        cache.put(new TestPrincipal("c"), "c");
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey(new TestPrincipal("a")));
+        assertFalse(cache.containsKey(new TestPrincipal("b")));
+        assertTrue(cache.containsKey(new TestPrincipal("c")));
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        DefaultAuthenticationCache cache = new DefaultAuthenticationCache(0, 10);
+        cache.put(new TestPrincipal("a"), "a");
+        Thread.sleep(50);
+
+        assertNull(cache.get(new TestPrincipal("a")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStatistics() {
+        DefaultAuthenticationCache cache = new DefaultAuthenticationCache(10, 0);
+        cache.put(new TestPrincipal("a"), "a");
+        cache.get(new TestPrincipal("a"));
+        cache.get(new TestPrincipal("a"));
+        cache.get(new TestPrincipal("b"));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testFlush() {
+        DefaultAuthenticationCache cache = new DefaultAuthenticationCache(10, 0);
+        cache.put(new TestPrincipal("a"), "a");
+        cache.put(new TestPrincipal("b"), "b");
+
+        assertEquals(1, cache.flush("a"));
+        assertFalse(cache.containsKey(new TestPrincipal("a")));
+        assertTrue(cache.containsKey(new TestPrincipal("b")));
+
+        cache.flush();
+        assertEquals(0, cache.size());
+    }
+
+    private static class TestPrincipal implements Principal {
+        private final String name;
+
+        TestPrincipal(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestPrincipal && name.equals(((TestPrincipal) obj).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
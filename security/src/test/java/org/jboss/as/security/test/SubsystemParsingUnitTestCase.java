@@ -83,6 +83,10 @@ public class SubsystemParsingUnitTestCase {
         assertEquals("UsersRoles", code.asString());
         ModelNode flag = modelNode.get("flag");
         assertEquals("required", flag.asString());
+
+        assertEquals("default", node.get("cache-type").asString());
+        assertEquals(100, node.get("cache-max-entries").asInt());
+        assertEquals(60, node.get("cache-lifespan").asLong());
     }
 
     List<ModelNode> parse(final String name) throws XMLStreamException, IOException {
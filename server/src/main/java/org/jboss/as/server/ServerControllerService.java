@@ -24,7 +24,9 @@ package org.jboss.as.server;
 
 import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
+import org.jboss.as.controller.persistence.XmlConfigurationPersister;
 import org.jboss.as.server.ServerControllerImpl.RegisteredProcessor;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeployerChainsService;
@@ -81,7 +83,10 @@ import java.util.Map;
 import java.util.SortedSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
@@ -108,6 +113,8 @@ final class ServerControllerService implements Service<ServerController> {
 
     // mutable state
     private ServerController serverController;
+    private ExecutorService persisterExecutor;
+    private ExecutorService annotationIndexExecutor;
 
     public ServerControllerService(final Bootstrap.Configuration configuration) {
         this.configuration = configuration;
@@ -137,6 +144,16 @@ final class ServerControllerService implements Service<ServerController> {
         final ThreadGroup threadGroup = new ThreadGroup("ServerController-threads");
         final ThreadFactory threadFactory = new JBossThreadFactory(threadGroup, Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext());
         final ExecutorService executorService = Executors.newScheduledThreadPool(DEFAULT_POOL_SIZE, threadFactory);
+        if (persister instanceof XmlConfigurationPersister && serverEnvironment != null) {
+            final XmlConfigurationPersister xmlPersister = (XmlConfigurationPersister) persister;
+            xmlPersister.setSyncOnWrite(serverEnvironment.isConfigurationSync());
+            if (serverEnvironment.isConfigurationWriteBehind()) {
+                final ThreadGroup persisterThreadGroup = new ThreadGroup("ConfigurationPersister-threads");
+                final ThreadFactory persisterThreadFactory = new JBossThreadFactory(persisterThreadGroup, Boolean.TRUE, null, "%G - %t", null, null, AccessController.getContext());
+                persisterExecutor = Executors.newSingleThreadExecutor(persisterThreadFactory);
+                xmlPersister.enableWriteBehind(persisterExecutor);
+            }
+        }
         final ServerControllerImpl serverController = new ServerControllerImpl(container, serviceTarget, serverEnvironment, persister, injectedDeploymentRepository.getValue(), executorService);
         serverController.init();
         serviceTarget.addListener(serverController.getServerStateMonitorListener());
@@ -215,7 +232,7 @@ final class ServerControllerService implements Service<ServerController> {
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ADDITIONAL_MANIFEST, new ManifestAttachmentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_SUB_DEPLOYMENT, new SubDeploymentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_MODULE_IDENTIFIERS, new ModuleIdentifierProcessor()));
-        deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor()));
+        deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ANNOTATION_INDEX, createAnnotationIndexProcessor(serverEnvironment)));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_STRUCTURE_DESCRIPTOR, new DeploymentStructureDescriptorParser()));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_COMPOSITE_ANNOTATION_INDEX, new CompositeIndexProcessor()));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_ADDITIONAL_MODULES, new AdditionalModuleProcessor()));
@@ -250,10 +267,36 @@ final class ServerControllerService implements Service<ServerController> {
         this.serverController = serverController;
     }
 
+    private AnnotationIndexProcessor createAnnotationIndexProcessor(final ServerEnvironment serverEnvironment) {
+        final ThreadGroup threadGroup = new ThreadGroup("AnnotationIndex-threads");
+        final ThreadFactory threadFactory = new JBossThreadFactory(threadGroup, Boolean.TRUE, null, "%G - %t", null, null, AccessController.getContext());
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        annotationIndexExecutor = executor;
+        return new AnnotationIndexProcessor(executor, new File(serverEnvironment.getServerDataDir(), "annotation-index"));
+    }
+
     /** {@inheritDoc} */
     @Override
     public synchronized void stop(final StopContext context) {
         serverController = null;
+        if (annotationIndexExecutor != null) {
+            annotationIndexExecutor.shutdown();
+            annotationIndexExecutor = null;
+        }
+        if (persisterExecutor != null) {
+            try {
+                ((XmlConfigurationPersister) configuration.getConfigurationPersister()).disableWriteBehind();
+            } catch (ConfigurationPersistenceException e) {
+                log.errorf(e, "Failed to write pending configuration changes");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                persisterExecutor.shutdown();
+                persisterExecutor = null;
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -159,6 +159,19 @@ public class ServerEnvironment implements Serializable {
      */
     public static final String QUALIFIED_HOST_NAME = "jboss.qualified.host.name";
 
+    /**
+     * Constant that holds the name of the system property for specifying whether changes to the
+     * server configuration file are written in the background rather than by the management
+     * operation making the change.
+     */
+    public static final String SERVER_CONFIG_WRITE_BEHIND = "jboss.server.config.write-behind";
+
+    /**
+     * Constant that holds the name of the system property for specifying whether each write of the
+     * server configuration file is synced to the storage device.
+     */
+    public static final String SERVER_CONFIG_SYNC = "jboss.server.config.sync";
+
     private final String qualifiedHostName;
     private final String hostName;
     private final String serverName;
@@ -177,6 +190,8 @@ public class ServerEnvironment implements Serializable {
     private final File serverTempDir;
     private final boolean standalone;
     private final File serverSystemDeployDir;
+    private final boolean configurationWriteBehind;
+    private final boolean configurationSync;
 
     public ServerEnvironment(Properties props, Map<String, String> env, String serverConfig, boolean standalone) {
         this.standalone = standalone;
@@ -265,6 +280,8 @@ public class ServerEnvironment implements Serializable {
         serverConfigurationDir = tmp;
 
         serverConfigurationFile = standalone ? new ConfigurationFile(serverConfigurationDir, "standalone.xml", serverConfig) : null;
+        configurationWriteBehind = Boolean.parseBoolean(props.getProperty(SERVER_CONFIG_WRITE_BEHIND));
+        configurationSync = Boolean.parseBoolean(props.getProperty(SERVER_CONFIG_SYNC));
 
         tmp = getFileFromProperty(SERVER_DATA_DIR, props);
         if (tmp == null) {
@@ -406,6 +423,24 @@ public class ServerEnvironment implements Serializable {
         return standalone;
     }
 
+    /**
+     * Gets whether changes to the server configuration file are written in the background.
+     *
+     * @return {@code true} if configuration changes are written behind
+     */
+    public boolean isConfigurationWriteBehind() {
+        return configurationWriteBehind;
+    }
+
+    /**
+     * Gets whether each write of the server configuration file is synced to the storage device.
+     *
+     * @return {@code true} if configuration writes are synced
+     */
+    public boolean isConfigurationSync() {
+        return configurationSync;
+    }
+
     /**
      * Get a File from configuration.
      *
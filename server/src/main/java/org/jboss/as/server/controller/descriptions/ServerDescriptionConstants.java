@@ -31,4 +31,6 @@ public final class ServerDescriptionConstants {
     public static final String PROFILE_NAME = "profile-name";
 
     public static final String SERVER_STATE = "server-state";
+
+    public static final String CONFIGURATION_PENDING_WRITES = "configuration-pending-writes";
 }
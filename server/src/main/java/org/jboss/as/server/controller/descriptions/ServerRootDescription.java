@@ -49,6 +49,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYS
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.server.controller.descriptions.ServerDescriptionConstants.CONFIGURATION_PENDING_WRITES;
 import static org.jboss.as.server.controller.descriptions.ServerDescriptionConstants.PROFILE_NAME;
 import static org.jboss.as.server.controller.descriptions.ServerDescriptionConstants.SERVER_STATE;
 
@@ -101,6 +102,11 @@ public class ServerRootDescription {
         root.get(ATTRIBUTES, SERVER_STATE, NILLABLE).set(false);
         root.get(ATTRIBUTES, SERVER_STATE, MIN_LENGTH).set(1);
 
+        root.get(ATTRIBUTES, CONFIGURATION_PENDING_WRITES, DESCRIPTION).set(bundle.getString("server.configuration-pending-writes"));
+        root.get(ATTRIBUTES, CONFIGURATION_PENDING_WRITES, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, CONFIGURATION_PENDING_WRITES, REQUIRED).set(true);
+        root.get(ATTRIBUTES, CONFIGURATION_PENDING_WRITES, NILLABLE).set(false);
+
         root.get(OPERATIONS);
 
         root.get(CHILDREN, EXTENSION, DESCRIPTION).set(bundle.getString("server.extension"));
@@ -18,6 +18,8 @@
  */
 package org.jboss.as.server.deployment;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -27,9 +29,11 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationHandler;
 import org.jboss.as.controller.OperationResult;
 import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.ParametersValidator;
 import org.jboss.as.server.deployment.api.DeploymentRepository;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.logging.Logger;
 
 /**
@@ -48,6 +52,7 @@ public abstract class AbstractDeploymentUploadHandler implements OperationHandle
 
     protected AbstractDeploymentUploadHandler(final DeploymentRepository deploymentRepository) {
         this.deploymentRepository = deploymentRepository;
+        this.validator.registerValidator(HASH, new ModelTypeValidator(ModelType.BYTES, true));
     }
 
     /**
@@ -60,7 +65,9 @@ public abstract class AbstractDeploymentUploadHandler implements OperationHandle
 
             InputStream is = getContentInputStream(context, operation);
             try {
-                byte[] hash = deploymentRepository.addDeploymentContent(is);
+                // content the caller already knows the hash of is not stored twice
+                final byte[] expectedHash = operation.hasDefined(HASH) ? operation.get(HASH).asBytes() : null;
+                byte[] hash = deploymentRepository.addDeploymentContent(is, expectedHash);
                 resultHandler.handleResultFragment(EMPTY, new ModelNode().set(hash));
             }
             finally {
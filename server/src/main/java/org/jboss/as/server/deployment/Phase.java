@@ -232,6 +232,7 @@ public enum Phase {
     public static final int PARSE_EJB_TRANSACTION_ATTR_ANNOTATION       = 0x1C00;
     public static final int PARSE_EJB_RESOURCE_ADAPTER_ANNOTATION       = 0x1D00;
     public static final int PARSE_EJB_ASYNCHRONOUS_ANNOTATION           = 0x1E00;
+    public static final int PARSE_EJB_POOL_ANNOTATION                   = 0x1E01;
     public static final int PARSE_WEB_COMPONENTS                        = 0x1F00;
     public static final int PARSE_WEB_MERGE_METADATA                    = 0x2000;
     public static final int PARSE_RA_DEPLOYMENT                         = 0x2100;
@@ -0,0 +1,195 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.logging.Logger;
+import org.jboss.vfs.VFSUtils;
+
+/**
+ * Cache of the annotation indexes of resource roots on disk.  Deployment content is addressed by its hash, so an index
+ * computed for a resource root of a deployment stays valid for as long as the same content is deployed, across
+ * redeployments and restarts.
+ *
+ * @author agent
+ */
+final class AnnotationIndexCache {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
+
+    /** Number of indexes kept, beyond which the least recently used ones are removed */
+    static final int MAX_ENTRIES = 1000;
+
+    private static final String SUFFIX = ".idx";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File cacheDir;
+
+    AnnotationIndexCache(final File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Create the key of the index of a resource root.
+     *
+     * @param deploymentHash the hash of the deployment content
+     * @param rootPath the path of the resource root relative to the deployment root
+     * @param ignorePaths the paths excluded from the index, or {@code null}
+     * @return the key
+     */
+    static String createKey(final byte[] deploymentHash, final String rootPath, final Collection<String> ignorePaths) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(deploymentHash);
+        update(digest, rootPath);
+        if (ignorePaths != null) {
+            for (String ignorePath : new TreeSet<String>(ignorePaths)) {
+                update(digest, ignorePath);
+            }
+        }
+        final byte[] bytes = digest.digest();
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+        }
+        return builder.toString();
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update((byte) 0);
+        try {
+            digest.update(value.getBytes("UTF-8"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get a cached index.
+     *
+     * @param key the key of the index
+     * @return the index, or {@code null} if none is cached
+     */
+    Index get(final String key) {
+        final File file = new File(cacheDir, key + SUFFIX);
+        if (!file.exists()) {
+            return null;
+        }
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            final Index index = new IndexReader(in).read();
+            file.setLastModified(System.currentTimeMillis());
+            return index;
+        } catch (Exception e) {
+            // Unreadable, e.g. written by another version of Jandex
+            log.debugf(e, "Discarding cached annotation index %s", file);
+            VFSUtils.safeClose(in);
+            in = null;
+            if (!file.delete()) {
+                log.debugf("Cannot remove %s", file);
+            }
+            return null;
+        } finally {
+            VFSUtils.safeClose(in);
+        }
+    }
+
+    /**
+     * Cache an index.  Failures are only logged, as the index can always be computed again.
+     *
+     * @param key the key of the index
+     * @param index the index
+     */
+    void put(final String key, final Index index) {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs() && !cacheDir.isDirectory()) {
+            log.debugf("Cannot create annotation index cache directory %s", cacheDir);
+            return;
+        }
+        final File file = new File(cacheDir, key + SUFFIX);
+        final File tmp = new File(cacheDir, key + SUFFIX + "." + Thread.currentThread().getId() + ".tmp");
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(tmp);
+            new IndexWriter(out).write(index);
+            out.close();
+            out = null;
+            if (!tmp.renameTo(file)) {
+                // A concurrent deployment of the same content may have got there first
+                file.delete();
+                if (!tmp.renameTo(file)) {
+                    throw new IOException("Cannot rename " + tmp + " to " + file);
+                }
+            }
+        } catch (IOException e) {
+            log.debugf(e, "Failed to cache annotation index as %s", file);
+        } finally {
+            VFSUtils.safeClose(out);
+            tmp.delete();
+        }
+        evict();
+    }
+
+    private void evict() {
+        final File[] files = cacheDir.listFiles();
+        if (files == null || files.length <= MAX_ENTRIES) {
+            return;
+        }
+        // concurrent lookups touch the files, so sort on a snapshot of their times to keep the order consistent
+        final Map<File, Long> lastModified = new HashMap<File, Long>();
+        for (File file : files) {
+            lastModified.put(file, Long.valueOf(file.lastModified()));
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            public int compare(final File o1, final File o2) {
+                final long m1 = lastModified.get(o1).longValue();
+                final long m2 = lastModified.get(o2).longValue();
+                return m1 < m2 ? -1 : (m1 == m2 ? 0 : 1);
+            }
+        });
+        for (int i = 0; i < files.length - MAX_ENTRIES; i++) {
+            files[i].delete();
+        }
+    }
+}
@@ -22,20 +22,29 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.File;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.api.ServerDeploymentRepository;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.Indexer;
+import org.jboss.logging.Logger;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
@@ -43,13 +52,44 @@ import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
 
 /**
- * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
+ * Deployment unit processor responsible for creating and attaching an annotation index for a resource root.
+ * <p>
+ * Resource roots are indexed in parallel if an executor is given.  A pre-built {@code META-INF/jandex.idx} in a
+ * resource root is used instead of indexing its classes, and if a cache directory is given the indexes of content
+ * stored in the deployment repository are kept there under the hash of that content, so unchanged content is not
+ * indexed again when it is redeployed.
  *
  * @author John E. Bailey
  * @author Stuart Douglas
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
+
+    private static final String JANDEX_INDEX = "META-INF/jandex.idx";
+
+    private final Executor executor;
+    private final AnnotationIndexCache cache;
+
+    /**
+     * Create a processor which indexes resource roots one after the other and does not cache the indexes.
+     */
+    public AnnotationIndexProcessor() {
+        this(null, null);
+    }
+
+    /**
+     * Create a new processor.
+     *
+     * @param executor the executor used to index resource roots in parallel, or {@code null} to index them on the
+     *                 deploying thread
+     * @param cacheDir the directory in which to cache the indexes, or {@code null} for no cache
+     */
+    public AnnotationIndexProcessor(final Executor executor, final File cacheDir) {
+        this.executor = executor;
+        this.cache = cacheDir == null ? null : new AnnotationIndexCache(cacheDir);
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -59,12 +99,23 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      *
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final List<ResourceRoot> allResourceRoots = new ArrayList<ResourceRoot>();
-        final List<ResourceRoot> resourceRoots = phaseContext.getDeploymentUnit().getAttachment(Attachments.RESOURCE_ROOTS);
+        final List<ResourceRoot> resourceRoots = deploymentUnit.getAttachment(Attachments.RESOURCE_ROOTS);
         if (resourceRoots != null) {
             allResourceRoots.addAll(resourceRoots);
         }
-        allResourceRoots.add(phaseContext.getDeploymentUnit().getAttachment(Attachments.DEPLOYMENT_ROOT));
+        allResourceRoots.add(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT));
+
+        // The content of the top level deployment is identified by its hash
+        DeploymentUnit topLevelDeployment = deploymentUnit;
+        while (topLevelDeployment.getParent() != null) {
+            topLevelDeployment = topLevelDeployment.getParent();
+        }
+        final byte[] deploymentHash = cache == null ? null : getManagedContentHash(topLevelDeployment);
+        final ResourceRoot topLevelRoot = topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_ROOT);
+
+        final List<IndexTask> tasks = new ArrayList<IndexTask>();
         for (ResourceRoot resourceRoot : allResourceRoots) {
             if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
                 continue;
@@ -83,35 +134,141 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
                 indexIgnorePaths = null;
             }
 
-            final VirtualFile virtualFile = resourceRoot.getRoot();
-            final Indexer indexer = new Indexer();
-            try {
-                final VisitorAttributes visitorAttributes = new VisitorAttributes();
-                visitorAttributes.setLeavesOnly(true);
-                visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
-                    public boolean accepts(VirtualFile file) {
-                        return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
-                    }
-                });
-
-                final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-                for (VirtualFile classFile : classChildren) {
-                    InputStream inputStream = null;
-                    try {
-                        inputStream = classFile.openStream();
-                        indexer.index(inputStream);
-                    } finally {
-                        VFSUtils.safeClose(inputStream);
-                    }
+            String cacheKey = null;
+            if (deploymentHash != null && topLevelRoot != null) {
+                final VirtualFile root = resourceRoot.getRoot();
+                final VirtualFile deploymentRoot = topLevelRoot.getRoot();
+                if (root.equals(deploymentRoot)) {
+                    cacheKey = AnnotationIndexCache.createKey(deploymentHash, "", indexIgnorePaths);
+                } else if (root.getPathName().startsWith(deploymentRoot.getPathName() + "/")) {
+                    cacheKey = AnnotationIndexCache.createKey(deploymentHash, root.getPathNameRelativeTo(deploymentRoot), indexIgnorePaths);
+                }
+            }
+            tasks.add(new IndexTask(resourceRoot, indexIgnorePaths, cacheKey));
+        }
+
+        final List<FutureTask<Index>> futures = new ArrayList<FutureTask<Index>>(tasks.size());
+        for (IndexTask task : tasks) {
+            futures.add(new FutureTask<Index>(task));
+        }
+        if (executor != null) {
+            // The first one is run on this thread below
+            for (int i = 1; i < futures.size(); i++) {
+                try {
+                    executor.execute(futures.get(i));
+                } catch (RejectedExecutionException e) {
+                    futures.get(i).run();
                 }
-                final Index index = indexer.complete();
-                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
-            } catch (Throwable t) {
-                throw new DeploymentUnitProcessingException("Failed to index deployment root for annotations", t);
+            }
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                final FutureTask<Index> future = futures.get(i);
+                // Runs the task here unless it already ran or is running
+                future.run();
+                final Index index;
+                try {
+                    index = future.get();
+                } catch (ExecutionException e) {
+                    throw new DeploymentUnitProcessingException("Failed to index deployment root for annotations", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DeploymentUnitProcessingException("Interrupted while indexing deployment root for annotations", e);
+                }
+                tasks.get(i).resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+            }
+        } finally {
+            for (FutureTask<Index> future : futures) {
+                future.cancel(false);
             }
         }
     }
 
     public void undeploy(final DeploymentUnit context) {
     }
+
+    /**
+     * Gets the hash of a deployment if it identifies the deployment's content. Content referenced from outside
+     * the repository, such as an exploded deployment, can be changed in place without its hash changing, so its
+     * indexes must not be cached.
+     *
+     * @param deploymentUnit the top level deployment
+     * @return the hash, or {@code null} if it does not identify the content
+     */
+    private static byte[] getManagedContentHash(final DeploymentUnit deploymentUnit) {
+        final byte[] hash = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_HASH);
+        if (hash == null || hash.length == 0) {
+            return null;
+        }
+        final ServerDeploymentRepository repository = deploymentUnit.getAttachment(Attachments.SERVER_DEPLOYMENT_REPOSITORY);
+        if (repository == null || repository.isExternalFileReference(hash)) {
+            return null;
+        }
+        return hash;
+    }
+
+    private final class IndexTask implements Callable<Index> {
+        private final ResourceRoot resourceRoot;
+        private final Set<String> indexIgnorePaths;
+        private final String cacheKey;
+
+        private IndexTask(final ResourceRoot resourceRoot, final Set<String> indexIgnorePaths, final String cacheKey) {
+            this.resourceRoot = resourceRoot;
+            this.indexIgnorePaths = indexIgnorePaths;
+            this.cacheKey = cacheKey;
+        }
+
+        public Index call() throws Exception {
+            final long start = System.currentTimeMillis();
+            final VirtualFile virtualFile = resourceRoot.getRoot();
+
+            // A pre-built index covers everything, so can only be used if nothing is to be ignored
+            final VirtualFile jandexIndex = virtualFile.getChild(JANDEX_INDEX);
+            if (indexIgnorePaths == null && jandexIndex.exists()) {
+                InputStream inputStream = null;
+                try {
+                    inputStream = jandexIndex.openStream();
+                    final Index index = new IndexReader(inputStream).read();
+                    log.debugf("Read annotation index of %s from %s in %d ms", virtualFile, JANDEX_INDEX, System.currentTimeMillis() - start);
+                    return index;
+                } finally {
+                    VFSUtils.safeClose(inputStream);
+                }
+            }
+
+            if (cacheKey != null) {
+                final Index index = cache.get(cacheKey);
+                if (index != null) {
+                    log.debugf("Read annotation index of %s from cache in %d ms", virtualFile, System.currentTimeMillis() - start);
+                    return index;
+                }
+            }
+
+            final Indexer indexer = new Indexer();
+            final VisitorAttributes visitorAttributes = new VisitorAttributes();
+            visitorAttributes.setLeavesOnly(true);
+            visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
+                public boolean accepts(VirtualFile file) {
+                    return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
+                }
+            });
+
+            final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
+            for (VirtualFile classFile : classChildren) {
+                InputStream inputStream = null;
+                try {
+                    inputStream = classFile.openStream();
+                    indexer.index(inputStream);
+                } finally {
+                    VFSUtils.safeClose(inputStream);
+                }
+            }
+            final Index index = indexer.complete();
+            if (cacheKey != null) {
+                cache.put(cacheKey, index);
+            }
+            log.debugf("Indexed %d classes of %s in %d ms", classChildren.size(), virtualFile, System.currentTimeMillis() - start);
+            return index;
+        }
+    }
 }
@@ -82,6 +82,7 @@ public class ManagementCommunicationService implements Service<ManagementCommuni
             config.setSocketFactory(ServerSocketFactory.getDefault());
             config.setBacklog(50);
             config.setConnectionHandler(this);
+            config.setMultiplexed(true);
 
             server = new ProtocolServer(config);
             server.start();
@@ -62,6 +62,7 @@ public class HostControllerConnectionService implements Service<Connection> {
         final ThreadFactory threadFactory = new JBossThreadFactory(threadGroup, Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext());
         configuration.setThreadFactory(threadFactory);
         configuration.setReadExecutor(Executors.newCachedThreadPool(threadFactory));
+        configuration.setMultiplexed(true);
 
         final ProtocolClient protocolClient = new ProtocolClient(configuration);
         try {
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.persistence.XmlConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the number of configuration changes that have been stored but not yet written to the
+ * configuration file.
+ *
+ * @author agent
+ */
+public class ConfigurationPendingWritesHandler implements ModelQueryOperationHandler {
+
+    private final ConfigurationPersister persister;
+
+    public ConfigurationPendingWritesHandler(final ConfigurationPersister persister) {
+        this.persister = persister;
+    }
+
+    @Override
+    public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler)
+            throws OperationFailedException {
+        long pending = 0;
+        if (persister instanceof XmlConfigurationPersister) {
+            pending = XmlConfigurationPersister.class.cast(persister).getPendingWriteCount();
+        }
+        resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, new ModelNode().set(pending));
+        resultHandler.handleResultComplete();
+        return new BasicOperationResult();
+    }
+
+}
@@ -643,6 +643,11 @@ public class ServerModelControllerImplUnitTestCase {
         public byte[] addDeploymentContent(InputStream stream) throws IOException {
             return new byte[20];
         }
+
+        @Override
+        public byte[] addDeploymentContent(InputStream stream, byte[] expectedHash) throws IOException {
+            return expectedHash == null ? new byte[20] : expectedHash;
+        }
     };
 
     private static class TestModelController extends ServerControllerImpl {
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.testsuite.integration.clustering.jpa;
+
+import org.hibernate.SessionFactory;
+
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnit;
+
+/**
+ * Every method runs in a transaction of its own, so reads only share entities through the second level cache.
+ *
+ * @author agent
+ */
+@Stateless
+public class SLSBSecondLevelCache {
+    @PersistenceContext(unitName = "mypc")
+    EntityManager em;
+
+    @PersistenceUnit(unitName = "mypc")
+    SessionFactory sessionFactory;
+
+    public void createEmployee(String name, int id) {
+        CachedEmployee emp = new CachedEmployee();
+        emp.setId(id);
+        emp.setName(name);
+        em.persist(emp);
+    }
+
+    public CachedEmployee getEmployee(int id) {
+        return em.find(CachedEmployee.class, id);
+    }
+
+    public long getSecondLevelCacheHitCount() {
+        return sessionFactory.getStatistics().getSecondLevelCacheHitCount();
+    }
+
+    public String[] getSecondLevelCacheRegionNames() {
+        return sessionFactory.getStatistics().getSecondLevelCacheRegionNames();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.testsuite.integration.clustering.jpa;
+
+import org.jboss.arquillian.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Second level cache tests.  The persistence unit has no region factory of its own, so it uses the "hibernate"
+ * cache container, which is the default cache container of the jpa subsystem in the clustering profile.
+ *
+ * @author agent
+ */
+@RunWith(Arquillian.class)
+public class SecondLevelCacheTestCase {
+
+    private static final String ARCHIVE_NAME = "jpa_secondlevelcache";
+
+    private static final String persistence_xml =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?> " +
+            "<persistence xmlns=\"http://java.sun.com/xml/ns/persistence\" version=\"2.0\">" +
+            "  <persistence-unit name=\"mypc\">" +
+            "    <description>Persistence Unit." +
+            "    </description>" +
+            "  <jta-data-source>java:/H2DS</jta-data-source>" +
+            "  <shared-cache-mode>ENABLE_SELECTIVE</shared-cache-mode>" +
+            "<properties> <property name=\"hibernate.hbm2ddl.auto\" value=\"create-drop\"/>" +
+            "<property name=\"hibernate.generate_statistics\" value=\"true\"/>" +
+            "</properties>" +
+            "  </persistence-unit>" +
+            "</persistence>";
+
+    private static InitialContext iniCtx;
+
+    @BeforeClass
+    public static void beforeClass() throws NamingException {
+        iniCtx = new InitialContext();
+    }
+
+    @Deployment
+    public static Archive<?> deploy() {
+
+        JavaArchive jar = ShrinkWrap.create(JavaArchive.class, ARCHIVE_NAME + ".jar");
+        jar.addClasses(SecondLevelCacheTestCase.class,
+            CachedEmployee.class,
+            SLSBSecondLevelCache.class
+        );
+
+        jar.addResource(new StringAsset(persistence_xml), "META-INF/persistence.xml");
+        jar.addResource(new StringAsset(""), "META-INF/MANIFEST.MF");
+        return jar;
+    }
+
+    protected static <T> T lookup(String beanName, Class<T> interfaceType) throws NamingException {
+        return interfaceType.cast(iniCtx.lookup("java:global/" + ARCHIVE_NAME + "/" + beanName + "!" + interfaceType.getName()));
+    }
+
+    @Test
+    public void testSecondLevelCacheHit() throws Exception {
+        SLSBSecondLevelCache slsb = lookup("SLSBSecondLevelCache", SLSBSecondLevelCache.class);
+        assertTrue("the entity region should exist, but the regions are " + Arrays.toString(slsb.getSecondLevelCacheRegionNames()),
+            Arrays.asList(slsb.getSecondLevelCacheRegionNames()).contains(CachedEmployee.class.getName()));
+
+        slsb.createEmployee("Kelly Smith", 10);
+        // loads the entity into the second level cache, unless the insert already put it there
+        assertNotNull(slsb.getEmployee(10));
+        final long hits = slsb.getSecondLevelCacheHitCount();
+        final CachedEmployee emp = slsb.getEmployee(10);
+        assertEquals("Kelly Smith", emp.getName());
+        assertEquals("the second read should come from the second level cache", hits + 1, slsb.getSecondLevelCacheHitCount());
+    }
+}
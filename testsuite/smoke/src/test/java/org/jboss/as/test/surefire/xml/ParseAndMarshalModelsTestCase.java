@@ -401,6 +401,11 @@ public class ParseAndMarshalModelsTestCase {
                         public byte[] addDeploymentContent(InputStream stream) throws IOException {
                             return null;
                         }
+
+                        @Override
+                        public byte[] addDeploymentContent(InputStream stream, byte[] expectedHash) throws IOException {
+                            return null;
+                        }
                     },
                     configurationPersister, null);
         }
@@ -479,6 +484,11 @@ public class ParseAndMarshalModelsTestCase {
             return null;
         }
 
+        @Override
+        public byte[] addDeploymentContent(InputStream stream, byte[] expectedHash) throws IOException {
+            return null;
+        }
+
         @Override
         public boolean hasDeploymentContent(byte[] hash) {
             return true;
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.valves.AccessLogValve;
+import org.apache.catalina.valves.ExtendedAccessLogValve;
+
+/**
+ * Creates the access log valves formatting the records on the request thread, and writing them to the log file from the
+ * background thread of an {@link AsyncAccessLogWriter}. The valves only forward to their writer, which holds the logic
+ * they share.
+ *
+ * @author agent
+ */
+final class AsyncAccessLogValve {
+
+    private AsyncAccessLogValve() {
+    }
+
+    /**
+     * Create an asynchronous access log valve.
+     *
+     * @param extended whether the valve writes the W3C extended log format
+     * @param queueSize the number of records which can be queued
+     * @param dropOnOverflow whether records are dropped, rather than waited for room, when the queue is full
+     * @return the valve
+     */
+    static AccessLogValve create(final boolean extended, final int queueSize, final boolean dropOnOverflow) {
+        if (extended) {
+            return new Extended(queueSize, dropOnOverflow);
+        }
+        return new Standard(queueSize, dropOnOverflow);
+    }
+
+    private static String getThreadName(final AccessLogValve valve) {
+        return "access-log-" + valve.getContainer().getName();
+    }
+
+    private static final class Standard extends AccessLogValve implements AsyncAccessLogWriter.AsyncAccessLog {
+
+        private final AsyncAccessLogWriter writer;
+
+        Standard(final int queueSize, final boolean dropOnOverflow) {
+            writer = new AsyncAccessLogWriter(this, queueSize, dropOnOverflow);
+        }
+
+        @Override
+        public void log(final String message) {
+            writer.add(message);
+        }
+
+        public void write(final String records) {
+            super.log(records);
+        }
+
+        public AsyncAccessLogWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public void start() throws LifecycleException {
+            super.start();
+            writer.start(getThreadName(this));
+        }
+
+        @Override
+        public void stop() throws LifecycleException {
+            writer.stop();
+            super.stop();
+        }
+    }
+
+    private static final class Extended extends ExtendedAccessLogValve implements AsyncAccessLogWriter.AsyncAccessLog {
+
+        private final AsyncAccessLogWriter writer;
+
+        Extended(final int queueSize, final boolean dropOnOverflow) {
+            writer = new AsyncAccessLogWriter(this, queueSize, dropOnOverflow);
+        }
+
+        @Override
+        public void log(final String message) {
+            writer.add(message);
+        }
+
+        public void write(final String records) {
+            super.log(records);
+        }
+
+        public AsyncAccessLogWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public void start() throws LifecycleException {
+            super.start();
+            writer.start(getThreadName(this));
+        }
+
+        @Override
+        public void stop() throws LifecycleException {
+            writer.stop();
+            super.stop();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Writes the records of an access log from a background thread. Request threads only append the formatted record to a
+ * bounded non-blocking queue, and the writer thread hands them to the log file in batches. When the queue is full,
+ * request threads either wait for room or drop their record. The writer thread sleeps while the queue is empty, and
+ * is woken by the next record.
+ *
+ * @author agent
+ */
+final class AsyncAccessLogWriter implements Runnable {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.web");
+
+    static final int DEFAULT_QUEUE_SIZE = 8192;
+    static final String BLOCK = "block";
+    static final String DROP = "drop";
+
+    private static final int BATCH_SIZE = 512;
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    /**
+     * An access log valve writing its records through this writer.
+     */
+    interface AsyncAccessLog {
+
+        /**
+         * Write records to the log file.
+         *
+         * @param records the records, separated by line separators
+         */
+        void write(String records);
+
+        AsyncAccessLogWriter getWriter();
+    }
+
+    private final AsyncAccessLog accessLog;
+    private final Queue<String> records = new ConcurrentLinkedQueue<String>();
+    private final Semaphore capacity;
+    private final boolean dropOnOverflow;
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final Object drainLock = new Object();
+    private volatile boolean running;
+    private volatile boolean parked;
+    private volatile Thread thread;
+
+    AsyncAccessLogWriter(final AsyncAccessLog accessLog, final int queueSize, final boolean dropOnOverflow) {
+        this.accessLog = accessLog;
+        this.capacity = new Semaphore(queueSize);
+        this.dropOnOverflow = dropOnOverflow;
+    }
+
+    synchronized void start(final String name) {
+        final Thread thread = new Thread(this, name);
+        thread.setDaemon(true);
+        this.thread = thread;
+        running = true;
+        thread.start();
+    }
+
+    synchronized void stop() {
+        running = false;
+        final Thread thread = this.thread;
+        this.thread = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Queue a record, waiting for room or dropping it if the queue is full.
+     *
+     * @param record the formatted record
+     */
+    void add(final String record) {
+        if (!running) {
+            accessLog.write(record);
+            return;
+        }
+        if (dropOnOverflow) {
+            if (!capacity.tryAcquire()) {
+                droppedRecords.incrementAndGet();
+                return;
+            }
+        } else {
+            capacity.acquireUninterruptibly();
+        }
+        records.offer(record);
+        if (parked) {
+            final Thread thread = this.thread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        if (!running) {
+            // the writer stopped while the record was queued, and may already have drained the queue
+            drain();
+        }
+    }
+
+    long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /** {@inheritDoc} */
+    public void run() {
+        final StringBuilder batch = new StringBuilder();
+        while (running || !records.isEmpty()) {
+            if (!writeBatch(batch)) {
+                parked = true;
+                // a record queued before the flag was set is seen here, one queued after it unparks this thread
+                if (running && records.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+    }
+
+    /**
+     * Write the records left in the queue once the writer thread is stopped.
+     */
+    private void drain() {
+        final StringBuilder batch = new StringBuilder();
+        synchronized (drainLock) {
+            while (writeBatch(batch)) {
+                // until the queue is empty
+            }
+        }
+    }
+
+    /**
+     * Write a batch of queued records, and release their room in the queue.
+     *
+     * @param batch the buffer to build the batch in
+     * @return {@code false} if the queue was empty
+     */
+    private boolean writeBatch(final StringBuilder batch) {
+        int count = 0;
+        String record;
+        while (count < BATCH_SIZE && (record = records.poll()) != null) {
+            if (count > 0) {
+                batch.append(LINE_SEPARATOR);
+            }
+            batch.append(record);
+            count++;
+        }
+        if (count == 0) {
+            return false;
+        }
+        capacity.release(count);
+        try {
+            accessLog.write(batch.toString());
+        } catch (RuntimeException e) {
+            log.errorf(e, "Failed to write %d access log records", Integer.valueOf(count));
+        }
+        batch.setLength(0);
+        return true;
+    }
+}
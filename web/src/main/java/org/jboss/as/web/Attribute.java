@@ -31,12 +31,20 @@ import java.util.Map;
 enum Attribute {
     UNKNOWN(null),
 
+    ACCEPT_COUNT(Constants.ACCEPT_COUNT),
+    ASYNC(Constants.ASYNC),
+    CACHE_MAX_ENTRY_SIZE(Constants.CACHE_MAX_ENTRY_SIZE),
+    CACHE_MAX_SIZE(Constants.CACHE_MAX_SIZE),
+    CACHE_TTL(Constants.CACHE_TTL),
     CA_CERTIFICATE_FILE(Constants.CA_CERTIFICATE_FILE),
     CA_REVOCATION_URL(Constants.CA_REVOCATION_URL),
     CERTIFICATE_FILE(Constants.CERTIFICATE_FILE),
     CERTIFICATE_KEY_FILE(Constants.CERTIFICATE_KEY_FILE),
     CHECK_INTERVAL(Constants.CHECK_INTERVAL),
     CIPHER_SUITE(Constants.CIPHER_SUITE),
+    COMPRESSABLE_MIME_TYPES(Constants.COMPRESSABLE_MIME_TYPES),
+    COMPRESSION(Constants.COMPRESSION),
+    COMPRESSION_MIN_SIZE(Constants.COMPRESSION_MIN_SIZE),
     DEFAULT_VIRTUAL_SERVER(Constants.DEFAULT_VIRTUAL_SERVER),
     DEFAULT_WEB_MODULE(Constants.DEFAULT_WEB_MODULE),
     DEVELOPMENT(Constants.DEVELOPMENT),
@@ -53,16 +61,22 @@ enum Attribute {
     GENERATE_STRINGS_AS_CHAR_ARRAYS(Constants.GENERATE_STRINGS_AS_CHAR_ARRAYS),
     JAVA_ENCODING(Constants.JAVA_ENCODING),
     KEEP_GENERATED(Constants.KEEP_GENERATED),
+    KEEP_ALIVE_TIMEOUT(Constants.KEEP_ALIVE_TIMEOUT),
     KEY_ALIAS(Constants.KEY_ALIAS),
     LISTINGS(Constants.LISTINGS),
     MAPPED_FILE(Constants.MAPPED_FILE),
+    MAX_ACTIVE_SESSIONS(Constants.MAX_ACTIVE_SESSIONS),
     MAX_CONNECTIONS(Constants.MAX_CONNECTIONS),
     MAX_DEPTH(Constants.MAX_DEPTH),
+    MAX_KEEP_ALIVE_REQUESTS(Constants.MAX_KEEP_ALIVE_REQUESTS),
     MAX_POST_SIZE(Constants.MAX_POST_SIZE),
     MODIFIFICATION_TEST_INTERVAL(Constants.MODIFIFICATION_TEST_INTERVAL),
     MAX_SAVE_POST_SIZE(Constants.MAX_SAVE_POST_SIZE),
     NAME(Constants.NAME),
     NATIVE(Constants.NATIVE),
+    OVERFLOW_POLICY(Constants.OVERFLOW_POLICY),
+    PASSIVATION_MAX_IDLE_TIME(Constants.PASSIVATION_MAX_IDLE_TIME),
+    PASSIVATION_MIN_IDLE_TIME(Constants.PASSIVATION_MIN_IDLE_TIME),
     PASSWORD(Constants.PASSWORD),
     PATH(Constants.PATH),
     PATTERN(Constants.PATTERN),
@@ -72,6 +86,7 @@ enum Attribute {
     PROXY_PORT(Constants.PROXY_PORT),
     READ_ONLY(Constants.READ_ONLY),
     REDIRECT_PORT(Constants.REDIRECT_PORT),
+    QUEUE_SIZE(Constants.QUEUE_SIZE),
     RECOMPILE_ON_FAIL(Constants.RECOMPILE_ON_FAIL),
     RELATIVE_TO(Constants.RELATIVE_TO),
     RESOLVE_HOSTS(Constants.RESOLVE_HOSTS),
@@ -85,11 +100,13 @@ enum Attribute {
     SESSION_TIMEOUT(Constants.SESSION_TIMEOUT),
     SMAP(Constants.SMAP),
     SOCKET_BINDING(Constants.SOCKET_BINDING),
+    SOCKET_BUFFER(Constants.SOCKET_BUFFER),
     SOURCE_VM(Constants.SOURCE_VM),
     SUBSTITUTION(Constants.SUBSTITUTION),
     TARGET_VM(Constants.TARGET_VM),
     TRIM_SPACES(Constants.TRIM_SPACES),
     TAG_POOLING(Constants.TAG_POOLING),
+    TCP_NO_DELAY(Constants.TCP_NO_DELAY),
     TEST(Constants.TEST),
     VERIFY_CLIENT(Constants.VERIFY_CLIENT),
     VERIFY_DEPTH(Constants.VERIFY_DEPTH),
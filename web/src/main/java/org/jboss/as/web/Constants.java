@@ -27,14 +27,23 @@ package org.jboss.as.web;
  */
 interface Constants {
 
+    String ACCEPT_COUNT = "accept-count";
     String ACCESS_LOG = "access-log";
+    String ACCESS_LOG_DROPPED_RECORDS = "access-log-dropped-records";
     String ALIAS = "alias";
+    String ASYNC = "async";
+    String CACHE_MAX_ENTRY_SIZE = "cache-max-entry-size";
+    String CACHE_MAX_SIZE = "cache-max-size";
+    String CACHE_TTL = "cache-ttl";
     String CA_CERTIFICATE_FILE = "ca-certificate-file";
     String CA_REVOCATION_URL = "ca-revocation-url";
     String CERTIFICATE_FILE = "certificate-file";
     String CERTIFICATE_KEY_FILE = "certificate-key-file";
     String CHECK_INTERVAL = "check-interval";
     String CIPHER_SUITE = "cipher-suite";
+    String COMPRESSABLE_MIME_TYPES = "compressable-mime-types";
+    String COMPRESSION = "compression";
+    String COMPRESSION_MIN_SIZE = "compression-min-size";
     String CONDITION = "condition";
     String CONNECTOR = "connector";
     String CONTAINER_CONFIG = "configuration";
@@ -55,18 +64,24 @@ interface Constants {
     String GENERATE_STRINGS_AS_CHAR_ARRAYS = "generate-strings-as-char-arrays";
     String JAVA_ENCODING = "java-encoding";
     String JSP_CONFIGURATION = "jsp-configuration";
+    String KEEP_ALIVE_TIMEOUT = "keep-alive-timeout";
     String KEEP_GENERATED = "keep-generated";
     String KEY_ALIAS = "key-alias";
     String LISTINGS = "listings";
     String MAPPED_FILE = "mapped-file";
+    String MAX_ACTIVE_SESSIONS = "max-active-sessions";
     String MAX_CONNECTIONS = "max-connections";
     String MAX_DEPTH = "max-depth";
+    String MAX_KEEP_ALIVE_REQUESTS = "max-keep-alive-requests";
     String MAX_POST_SIZE = "max-post-size";
     String MAX_SAVE_POST_SIZE = "max-save-post-size";
     String MIME_MAPPING = "mime-mapping";
     String MODIFIFICATION_TEST_INTERVAL = "modification-test-interval";
     String NAME = "name";
     String NATIVE = "native";
+    String OVERFLOW_POLICY = "overflow-policy";
+    String PASSIVATION_MAX_IDLE_TIME = "passivation-max-idle-time";
+    String PASSIVATION_MIN_IDLE_TIME = "passivation-min-idle-time";
     String PASSWORD = "password";
     String PATH = "path";
     String PATTERN = "pattern";
@@ -75,9 +90,11 @@ interface Constants {
     String PROXY_NAME = "proxy-name";
     String PROXY_PORT = "proxy-port";
     String READ_ONLY = "read-only";
+    String QUEUE_SIZE = "queue-size";
     String RECOMPILE_ON_FAIL = "recompile-on-fail";
     String REDIRECT_PORT = "redirect-por";
     String RELATIVE_TO = "relative-to";
+    String REQUEST_STATISTICS = "request-statistics";
     String RESOLVE_HOSTS = "resolve-hosts";
     String REWRITE = "rewrite";
     String ROTATE = "rotate";
@@ -87,16 +104,21 @@ interface Constants {
     String SECURE = "secure";
     String SENDFILE = "sendfile";
     String SESSION_CACHE_SIZE = "session-cache-size";
+    String SESSION_MANAGEMENT = "session-management";
+    String SESSION_STATISTICS = "session-statistics";
     String SESSION_TIMEOUT = "session-timeout";
     String SMAP = "smap";
     String SOCKET_BINDING = "socket-binding";
+    String SOCKET_BUFFER = "socket-buffer";
     String SOURCE_VM = "source-vm";
     String SSL = "ssl";
+    String STATIC_CONTENT_STATISTICS = "static-content-statistics";
     String STATIC_RESOURCES = "static-resources";
     String SUBSTITUTION = "substitution";
     String SUBSYSTEM = "subsystem";
     String TAG_POOLING = "tag-pooling";
     String TARGET_VM = "target-vm";
+    String TCP_NO_DELAY = "tcp-no-delay";
     String TEST = "test";
     String TRIM_SPACES = "trim-spaces";
     String VALUE = "value";
@@ -40,6 +40,7 @@ enum Element {
     JSP_CONFIGURATION(Constants.JSP_CONFIGURATION),
     MIME_MAPPING(Constants.MIME_MAPPING),
     REWRITE(Constants.REWRITE),
+    SESSION_MANAGEMENT(Constants.SESSION_MANAGEMENT),
     SSL(Constants.SSL),
     STATIC_RESOURCES(Constants.STATIC_RESOURCES),
     SUBSYSTEM(Constants.SUBSYSTEM),
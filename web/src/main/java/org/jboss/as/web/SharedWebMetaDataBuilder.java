@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import org.jboss.as.web.content.StaticContentServlet;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.metadata.javaee.spec.ParamValueMetaData;
@@ -115,8 +116,11 @@ class SharedWebMetaDataBuilder {
         final ServletMetaData servlet = new ServletMetaData();
         servlet.setName("DefaultServlet");
         servlet.setLoadOnStartup("" + 1);
+        final int cacheMaxSize = resourcesConfig.has(CACHE_MAX_SIZE) ? resourcesConfig.get(CACHE_MAX_SIZE).asInt() : StaticContentServlet.DEFAULT_CACHE_MAX_SIZE;
         if (resourcesConfig.has(WEBDAV) && resourcesConfig.get(WEBDAV).asBoolean()) {
             servlet.setServletClass("org.apache.catalina.servlets.WebdavServlet");
+        } else if (cacheMaxSize > 0) {
+            servlet.setServletClass(StaticContentServlet.class.getName());
         } else {
             servlet.setServletClass("org.apache.catalina.servlets.DefaultServlet");
         }
@@ -148,6 +152,13 @@ class SharedWebMetaDataBuilder {
         } else {
             initParams.add(createParameter("max-depth", "3"));
         }
+        initParams.add(createParameter(StaticContentServlet.CACHE_MAX_SIZE, String.valueOf(cacheMaxSize)));
+        if (resourcesConfig.has(CACHE_MAX_ENTRY_SIZE)) {
+            initParams.add(createParameter(StaticContentServlet.CACHE_MAX_ENTRY_SIZE, resourcesConfig.get(CACHE_MAX_ENTRY_SIZE).asString()));
+        }
+        if (resourcesConfig.has(CACHE_TTL)) {
+            initParams.add(createParameter(StaticContentServlet.CACHE_TTL, resourcesConfig.get(CACHE_TTL).asString()));
+        }
         servlet.setInitParam(initParams);
         metadata.getServlets().add(servlet);
         addServletMapping("DefaultServlet", metadata, "/");
@@ -83,6 +83,14 @@ class WebConnectorAdd implements ModelAddOperationHandler, DescriptionProvider {
         if (existing.hasDefined(MAX_POST_SIZE)) op.get(MAX_POST_SIZE).set(existing.get(MAX_POST_SIZE).asInt());
         if (existing.hasDefined(MAX_SAVE_POST_SIZE)) op.get(MAX_SAVE_POST_SIZE).set(existing.get(MAX_SAVE_POST_SIZE).asInt());
         if (existing.hasDefined(MAX_CONNECTIONS)) op.get(Constants.MAX_CONNECTIONS).set(existing.get(Constants.MAX_CONNECTIONS).asInt());
+        if (existing.hasDefined(Constants.COMPRESSION)) op.get(Constants.COMPRESSION).set(existing.get(Constants.COMPRESSION).asString());
+        if (existing.hasDefined(Constants.COMPRESSABLE_MIME_TYPES)) op.get(Constants.COMPRESSABLE_MIME_TYPES).set(existing.get(Constants.COMPRESSABLE_MIME_TYPES).asString());
+        if (existing.hasDefined(Constants.COMPRESSION_MIN_SIZE)) op.get(Constants.COMPRESSION_MIN_SIZE).set(existing.get(Constants.COMPRESSION_MIN_SIZE).asInt());
+        if (existing.hasDefined(Constants.MAX_KEEP_ALIVE_REQUESTS)) op.get(Constants.MAX_KEEP_ALIVE_REQUESTS).set(existing.get(Constants.MAX_KEEP_ALIVE_REQUESTS).asInt());
+        if (existing.hasDefined(Constants.KEEP_ALIVE_TIMEOUT)) op.get(Constants.KEEP_ALIVE_TIMEOUT).set(existing.get(Constants.KEEP_ALIVE_TIMEOUT).asInt());
+        if (existing.hasDefined(Constants.SOCKET_BUFFER)) op.get(Constants.SOCKET_BUFFER).set(existing.get(Constants.SOCKET_BUFFER).asInt());
+        if (existing.hasDefined(Constants.ACCEPT_COUNT)) op.get(Constants.ACCEPT_COUNT).set(existing.get(Constants.ACCEPT_COUNT).asInt());
+        if (existing.hasDefined(Constants.TCP_NO_DELAY)) op.get(Constants.TCP_NO_DELAY).set(existing.get(Constants.TCP_NO_DELAY).asBoolean());
         op.get(Constants.VIRTUAL_SERVER).set(existing.get(Constants.VIRTUAL_SERVER));
         op.get(Constants.SSL).set(existing.get(Constants.SSL));
 
@@ -120,6 +128,14 @@ class WebConnectorAdd implements ModelAddOperationHandler, DescriptionProvider {
         if(operation.hasDefined(MAX_POST_SIZE)) subModel.get(MAX_POST_SIZE).set(operation.get(MAX_POST_SIZE).asInt());
         if(operation.hasDefined(MAX_SAVE_POST_SIZE)) subModel.get(MAX_SAVE_POST_SIZE).set(operation.get(MAX_SAVE_POST_SIZE).asInt());
         if(operation.hasDefined(MAX_CONNECTIONS)) subModel.get(Constants.MAX_CONNECTIONS).set(operation.get(Constants.MAX_CONNECTIONS).asInt());
+        if(operation.hasDefined(Constants.COMPRESSION)) subModel.get(Constants.COMPRESSION).set(operation.get(Constants.COMPRESSION).asString());
+        if(operation.hasDefined(Constants.COMPRESSABLE_MIME_TYPES)) subModel.get(Constants.COMPRESSABLE_MIME_TYPES).set(operation.get(Constants.COMPRESSABLE_MIME_TYPES).asString());
+        if(operation.hasDefined(Constants.COMPRESSION_MIN_SIZE)) subModel.get(Constants.COMPRESSION_MIN_SIZE).set(operation.get(Constants.COMPRESSION_MIN_SIZE).asInt());
+        if(operation.hasDefined(Constants.MAX_KEEP_ALIVE_REQUESTS)) subModel.get(Constants.MAX_KEEP_ALIVE_REQUESTS).set(operation.get(Constants.MAX_KEEP_ALIVE_REQUESTS).asInt());
+        if(operation.hasDefined(Constants.KEEP_ALIVE_TIMEOUT)) subModel.get(Constants.KEEP_ALIVE_TIMEOUT).set(operation.get(Constants.KEEP_ALIVE_TIMEOUT).asInt());
+        if(operation.hasDefined(Constants.SOCKET_BUFFER)) subModel.get(Constants.SOCKET_BUFFER).set(operation.get(Constants.SOCKET_BUFFER).asInt());
+        if(operation.hasDefined(Constants.ACCEPT_COUNT)) subModel.get(Constants.ACCEPT_COUNT).set(operation.get(Constants.ACCEPT_COUNT).asInt());
+        if(operation.hasDefined(Constants.TCP_NO_DELAY)) subModel.get(Constants.TCP_NO_DELAY).set(operation.get(Constants.TCP_NO_DELAY).asBoolean());
         subModel.get(Constants.VIRTUAL_SERVER).set(operation.get(Constants.VIRTUAL_SERVER));
         subModel.get(Constants.SSL).set(operation.get(Constants.SSL));
 
@@ -141,6 +157,22 @@ class WebConnectorAdd implements ModelAddOperationHandler, DescriptionProvider {
                         service.setMaxSavePostSize(operation.get(MAX_SAVE_POST_SIZE).asInt());
                     if (operation.hasDefined(MAX_CONNECTIONS))
                         service.setMaxConnections(operation.get(MAX_CONNECTIONS).asInt());
+                    if (operation.hasDefined(Constants.COMPRESSION))
+                        service.setCompression(operation.get(Constants.COMPRESSION).asString());
+                    if (operation.hasDefined(Constants.COMPRESSABLE_MIME_TYPES))
+                        service.setCompressableMimeTypes(operation.get(Constants.COMPRESSABLE_MIME_TYPES).asString());
+                    if (operation.hasDefined(Constants.COMPRESSION_MIN_SIZE))
+                        service.setCompressionMinSize(operation.get(Constants.COMPRESSION_MIN_SIZE).asInt());
+                    if (operation.hasDefined(Constants.MAX_KEEP_ALIVE_REQUESTS))
+                        service.setMaxKeepAliveRequests(operation.get(Constants.MAX_KEEP_ALIVE_REQUESTS).asInt());
+                    if (operation.hasDefined(Constants.KEEP_ALIVE_TIMEOUT))
+                        service.setKeepAliveTimeout(operation.get(Constants.KEEP_ALIVE_TIMEOUT).asInt());
+                    if (operation.hasDefined(Constants.SOCKET_BUFFER))
+                        service.setSocketBuffer(operation.get(Constants.SOCKET_BUFFER).asInt());
+                    if (operation.hasDefined(Constants.ACCEPT_COUNT))
+                        service.setAcceptCount(operation.get(Constants.ACCEPT_COUNT).asInt());
+                    if (operation.hasDefined(Constants.TCP_NO_DELAY))
+                        service.setTcpNoDelay(operation.get(Constants.TCP_NO_DELAY).asBoolean());
                     if (operation.hasDefined(VIRTUAL_SERVER))
                         service.setVirtualServers(operation.get(VIRTUAL_SERVER).clone());
                     if (operation.hasDefined(SSL)) {
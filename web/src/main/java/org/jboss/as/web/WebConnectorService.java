@@ -58,6 +58,14 @@ class WebConnectorService implements Service<Connector> {
     private Integer maxPostSize = null;
     private Integer maxSavePostSize = null;
     private Integer maxConnections = null;
+    private String compression = null;
+    private String compressableMimeTypes = null;
+    private Integer compressionMinSize = null;
+    private Integer maxKeepAliveRequests = null;
+    private Integer keepAliveTimeout = null;
+    private Integer socketBuffer = null;
+    private Integer acceptCount = null;
+    private Boolean tcpNoDelay = null;
     private ModelNode ssl;
     private ModelNode virtualServers;
 
@@ -116,6 +124,8 @@ class WebConnectorService implements Service<Connector> {
                  // Not all connectors will have this
                 }
             }
+            if (acceptCount != null) connector.setProperty("acceptCount", acceptCount.toString());
+            applyProtocolSettings(connector);
             if (virtualServers != null) {
                 HashSet<String> virtualServersList = new HashSet<String>();
                 for (final ModelNode virtualServer : virtualServers.asList()) {
@@ -247,6 +257,27 @@ class WebConnectorService implements Service<Connector> {
         return connector;
     }
 
+    /**
+     * Apply the current socket settings to the running connector. The endpoint sets them on the sockets it accepts
+     * afterwards.
+     */
+    synchronized void updateSocketSettings() {
+        final Connector connector = this.connector;
+        if (connector != null && tcpNoDelay != null) {
+            connector.setProperty("tcpNoDelay", tcpNoDelay.toString());
+        }
+    }
+
+    private void applyProtocolSettings(final Connector connector) {
+        if (compression != null) connector.setProperty("compression", compression);
+        if (compressableMimeTypes != null) connector.setProperty("compressableMimeType", compressableMimeTypes);
+        if (compressionMinSize != null) connector.setProperty("compressionMinSize", compressionMinSize.toString());
+        if (maxKeepAliveRequests != null) connector.setProperty("maxKeepAliveRequests", maxKeepAliveRequests.toString());
+        if (keepAliveTimeout != null) connector.setProperty("keepAliveTimeout", keepAliveTimeout.toString());
+        if (socketBuffer != null) connector.setProperty("socketBuffer", socketBuffer.toString());
+        if (tcpNoDelay != null) connector.setProperty("tcpNoDelay", tcpNoDelay.toString());
+    }
+
     void setSsl(final ModelNode ssl) {
         this.ssl = ssl;
     }
@@ -319,6 +350,38 @@ class WebConnectorService implements Service<Connector> {
         this.maxConnections = maxConnections;
     }
 
+    protected void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    protected void setCompressableMimeTypes(String compressableMimeTypes) {
+        this.compressableMimeTypes = compressableMimeTypes;
+    }
+
+    protected void setCompressionMinSize(int compressionMinSize) {
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    protected void setMaxKeepAliveRequests(int maxKeepAliveRequests) {
+        this.maxKeepAliveRequests = maxKeepAliveRequests;
+    }
+
+    protected void setKeepAliveTimeout(int keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    protected void setSocketBuffer(int socketBuffer) {
+        this.socketBuffer = socketBuffer;
+    }
+
+    protected void setAcceptCount(int acceptCount) {
+        this.acceptCount = acceptCount;
+    }
+
+    protected void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
     InjectedValue<Executor> getExecutor() {
         return executor;
     }
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.operations.validation.ParameterValidator;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.server.operations.ServerWriteAttributeOperationHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * {@code OperationHandler} changing the compression, keep-alive and socket settings of a web connector. Only
+ * tcp-no-delay, which is set on every socket as it is accepted, applies to the running connector. The other settings
+ * are copied into the processors of the protocol handler, which are created once and reused, or are settings of the
+ * server socket, so changing them requires a restart.
+ *
+ * @author agent
+ */
+class WebConnectorWriteAttributeHandler extends ServerWriteAttributeOperationHandler {
+
+    static final WebConnectorWriteAttributeHandler INSTANCE = new WebConnectorWriteAttributeHandler();
+
+    /** The writable attributes, with the validators of their values. */
+    static final Map<String, ParameterValidator> ATTRIBUTES;
+
+    static {
+        final Map<String, ParameterValidator> attributes = new LinkedHashMap<String, ParameterValidator>();
+        attributes.put(Constants.COMPRESSION, new CompressionValidator());
+        attributes.put(Constants.COMPRESSABLE_MIME_TYPES, new StringLengthValidator(1));
+        attributes.put(Constants.COMPRESSION_MIN_SIZE, new IntRangeValidator(0));
+        attributes.put(Constants.MAX_KEEP_ALIVE_REQUESTS, new IntRangeValidator(-1));
+        attributes.put(Constants.KEEP_ALIVE_TIMEOUT, new IntRangeValidator(-1));
+        attributes.put(Constants.SOCKET_BUFFER, new IntRangeValidator(-1));
+        attributes.put(Constants.ACCEPT_COUNT, new IntRangeValidator(1));
+        attributes.put(Constants.TCP_NO_DELAY, new ModelTypeValidator(ModelType.BOOLEAN));
+        ATTRIBUTES = Collections.unmodifiableMap(attributes);
+    }
+
+    private WebConnectorWriteAttributeHandler() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void validateValue(final String name, final ModelNode value) throws OperationFailedException {
+        ATTRIBUTES.get(name).validateParameter(name, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean applyUpdateToRuntime(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler,
+            final String attributeName, final ModelNode newValue, final ModelNode currentValue) throws OperationFailedException {
+
+        if (!Constants.TCP_NO_DELAY.equals(attributeName)) {
+            resultHandler.handleResultComplete();
+            return true;
+        }
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+                    final String name = address.getLastElement().getValue();
+                    final ServiceController<?> controller = context.getServiceRegistry()
+                            .getService(WebSubsystemServices.JBOSS_WEB_CONNECTOR.append(name));
+                    if (controller != null) {
+                        final WebConnectorService service = (WebConnectorService) controller.getService();
+                        service.setTcpNoDelay(newValue.asBoolean());
+                        service.updateSocketSettings();
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultComplete();
+        }
+        return false;
+    }
+
+    /**
+     * Accepts the compression modes of the connector: "off", "on", "force", or the minimum content length to compress.
+     */
+    static class CompressionValidator extends ModelTypeValidator {
+
+        CompressionValidator() {
+            super(ModelType.STRING);
+        }
+
+        @Override
+        public void validateParameter(final String parameterName, final ModelNode value) throws OperationFailedException {
+            super.validateParameter(parameterName, value);
+            final String compression = value.asString();
+            if ("off".equals(compression) || "on".equals(compression) || "force".equals(compression)) {
+                return;
+            }
+            try {
+                if (Integer.parseInt(compression) >= 0) {
+                    return;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            throw new OperationFailedException(new ModelNode().set("Invalid " + parameterName + ": " + compression
+                    + ", it must be off, on, force or a minimum content length"));
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
+import org.jboss.as.controller.registry.AttributeAccess.Storage;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.logging.Logger;
@@ -58,6 +59,9 @@ public class WebExtension implements Extension {
         registration.registerOperationHandler(ADD, WebSubsystemAdd.INSTANCE, WebSubsystemAdd.INSTANCE, false);
         registration.registerOperationHandler(DESCRIBE, WebSubsystemDescribe.INSTANCE, WebSubsystemDescribe.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
         subsystem.registerXMLElementWriter(WebSubsystemParser.getInstance());
+        for(final String attributeName : WebSubsystemMetrics.ATTRIBUTES) {
+            registration.registerMetric(attributeName, WebSubsystemMetrics.INSTANCE);
+        }
         // connector
         final ModelNodeRegistration connectors = registration.registerSubModel(connectorPath, WebSubsystemDescriptionProviders.CONNECTOR);
         connectors.registerOperationHandler(ADD, WebConnectorAdd.INSTANCE, WebConnectorAdd.INSTANCE, false);
@@ -65,10 +69,16 @@ public class WebExtension implements Extension {
         for(final String attributeName : WebConnectorMetrics.ATTRIBUTES) {
             connectors.registerMetric(attributeName, WebConnectorMetrics.INSTANCE);
         }
+        for(final String attributeName : WebConnectorWriteAttributeHandler.ATTRIBUTES.keySet()) {
+            connectors.registerReadWriteAttribute(attributeName, null, WebConnectorWriteAttributeHandler.INSTANCE, Storage.CONFIGURATION);
+        }
         //hosts
         final ModelNodeRegistration hosts = registration.registerSubModel(hostPath, WebSubsystemDescriptionProviders.VIRTUAL_SERVER);
         hosts.registerOperationHandler(ADD, WebVirtualHostAdd.INSTANCE, WebVirtualHostAdd.INSTANCE, false);
         hosts.registerOperationHandler(REMOVE, WebVirtualHostRemove.INSTANCE, WebVirtualHostRemove.INSTANCE, false);
+        for(final String attributeName : WebVirtualHostMetrics.ATTRIBUTES) {
+            hosts.registerMetric(attributeName, WebVirtualHostMetrics.INSTANCE);
+        }
     }
 
     /** {@inheritDoc} */
@@ -33,8 +33,10 @@ import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.server.BootOperationContext;
 import org.jboss.as.server.BootOperationHandler;
+import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.services.path.AbstractPathService;
+import org.jboss.as.server.services.path.RelativePathService;
 import org.jboss.as.web.deployment.EarContextRootProcessor;
 import org.jboss.as.web.deployment.JBossWebParsingDeploymentProcessor;
 import org.jboss.as.web.deployment.ServletContainerInitializerDeploymentProcessor;
@@ -49,6 +51,7 @@ import org.jboss.as.web.deployment.WebFragmentParsingDeploymentProcessor;
 import org.jboss.as.web.deployment.WebParsingDeploymentProcessor;
 import org.jboss.as.web.deployment.component.WebComponentProcessor;
 import org.jboss.as.web.deployment.jsf.JsfAnnotationProcessor;
+import org.jboss.as.web.session.SessionManagerConfig;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceBuilder.DependencyType;
 import org.jboss.msc.service.ServiceController.Mode;
@@ -70,6 +73,7 @@ class WebSubsystemAdd implements ModelAddOperationHandler, BootOperationHandler,
     private static final String DEFAULT_VIRTUAL_SERVER = "localhost";
     private static final boolean DEFAULT_NATIVE = true;
     private static final String TEMP_DIR = "jboss.server.temp.dir";
+    private static final String DEFAULT_SESSION_STORE_PATH = "web-sessions";
 
     private WebSubsystemAdd() {
         //
@@ -105,6 +109,15 @@ class WebSubsystemAdd implements ModelAddOperationHandler, BootOperationHandler,
                         throw new OperationFailedException(new ModelNode().set(t.getLocalizedMessage()));
                     }
 
+                    final ModelNode sessionManagement = config.hasDefined(Constants.SESSION_MANAGEMENT) ?
+                            config.get(Constants.SESSION_MANAGEMENT) : new ModelNode();
+                    final String sessionStorePath = sessionManagement.hasDefined(Constants.PATH) ?
+                            sessionManagement.get(Constants.PATH).asString() : DEFAULT_SESSION_STORE_PATH;
+                    final String sessionStoreRelativeTo = sessionManagement.hasDefined(Constants.RELATIVE_TO) ?
+                            sessionManagement.get(Constants.RELATIVE_TO).asString() : ServerEnvironment.SERVER_DATA_DIR;
+                    RelativePathService.addService(WebSubsystemServices.JBOSS_WEB_SESSION_STORE, sessionStorePath,
+                            sessionStoreRelativeTo, context.getServiceTarget());
+
                     final SharedWebMetaDataBuilder sharedWebBuilder = new SharedWebMetaDataBuilder(config.clone());
                     final SharedTldsMetaDataBuilder sharedTldsBuilder = new SharedTldsMetaDataBuilder(config.clone());
 
@@ -121,7 +134,7 @@ class WebSubsystemAdd implements ModelAddOperationHandler, BootOperationHandler,
                     ctx.addDeploymentProcessor(Phase.DEPENDENCIES, Phase.DEPENDENCIES_WAR_MODULE, new WarClassloadingDependencyProcessor());
                     ctx.addDeploymentProcessor(Phase.INSTALL, Phase.INSTALL_SERVLET_INIT_DEPLOYMENT, new ServletContainerInitializerDeploymentProcessor());
                     ctx.addDeploymentProcessor(Phase.INSTALL, Phase.INSTALL_JSF_ANNOTATIONS, new JsfAnnotationProcessor());
-                    ctx.addDeploymentProcessor(Phase.INSTALL, Phase.INSTALL_WAR_DEPLOYMENT, new WarDeploymentProcessor(defaultVirtualServer));
+                    ctx.addDeploymentProcessor(Phase.INSTALL, Phase.INSTALL_WAR_DEPLOYMENT, new WarDeploymentProcessor(defaultVirtualServer, createSessionManagerConfig(sessionManagement)));
                     resultHandler.handleResultComplete();
                 }
             });
@@ -135,6 +148,17 @@ class WebSubsystemAdd implements ModelAddOperationHandler, BootOperationHandler,
         return new BasicOperationResult(compensatingOperation);
     }
 
+    static SessionManagerConfig createSessionManagerConfig(final ModelNode sessionManagement) {
+        final SessionManagerConfig unbounded = SessionManagerConfig.UNBOUNDED;
+        final int maxActiveSessions = sessionManagement.hasDefined(Constants.MAX_ACTIVE_SESSIONS) ?
+                sessionManagement.get(Constants.MAX_ACTIVE_SESSIONS).asInt() : unbounded.getMaxActiveSessions();
+        final int passivationMinIdleTime = sessionManagement.hasDefined(Constants.PASSIVATION_MIN_IDLE_TIME) ?
+                sessionManagement.get(Constants.PASSIVATION_MIN_IDLE_TIME).asInt() : unbounded.getPassivationMinIdleTime();
+        final int passivationMaxIdleTime = sessionManagement.hasDefined(Constants.PASSIVATION_MAX_IDLE_TIME) ?
+                sessionManagement.get(Constants.PASSIVATION_MAX_IDLE_TIME).asInt() : unbounded.getPassivationMaxIdleTime();
+        return new SessionManagerConfig(maxActiveSessions, passivationMinIdleTime, passivationMaxIdleTime);
+    }
+
     @Override
     public ModelNode getModelDescription(Locale locale) {
         return WebSubsystemDescriptions.getSubsystemAddDescription(locale);
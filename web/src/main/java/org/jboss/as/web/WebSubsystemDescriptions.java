@@ -75,6 +75,13 @@ class WebSubsystemDescriptions {
         node.get(ATTRIBUTES, Constants.VIRTUAL_SERVER, Constants.NAME, REQUIRED).set(true);
         node.get(ATTRIBUTES, Constants.VIRTUAL_SERVER, Constants.NAME, NILLABLE).set(false);
 
+        node.get(ATTRIBUTES, Constants.REQUEST_STATISTICS, TYPE).set(ModelType.OBJECT);
+        node.get(ATTRIBUTES, Constants.REQUEST_STATISTICS, DESCRIPTION).set(bundle.getString("web.request-statistics"));
+        node.get(ATTRIBUTES, Constants.SESSION_STATISTICS, TYPE).set(ModelType.OBJECT);
+        node.get(ATTRIBUTES, Constants.SESSION_STATISTICS, DESCRIPTION).set(bundle.getString("web.session-statistics"));
+        node.get(ATTRIBUTES, Constants.STATIC_CONTENT_STATISTICS, TYPE).set(ModelType.OBJECT);
+        node.get(ATTRIBUTES, Constants.STATIC_CONTENT_STATISTICS, DESCRIPTION).set(bundle.getString("web.static-content-statistics"));
+
         getConfigurationCommonDescription(node.get(ATTRIBUTES, Constants.CONTAINER_CONFIG), ATTRIBUTES, bundle);
         getConnectorCommonDescription(node.get(CHILDREN, Constants.CONNECTOR), ATTRIBUTES, bundle);
         getVirtualServerCommonDescription(node.get(CHILDREN, Constants.VIRTUAL_SERVER), ATTRIBUTES, bundle);
@@ -129,6 +136,8 @@ class WebSubsystemDescriptions {
         getStaticResourcesCommonDescription(node.get(type, Constants.STATIC_RESOURCES), type, bundle);
         getJSPCommonDescription(node.get(type, Constants.STATIC_RESOURCES), type, bundle);
 
+        getSessionManagementCommonDescription(node.get(type, Constants.SESSION_MANAGEMENT), type, bundle);
+
         node.get(type, Constants.MIME_MAPPING, TYPE).set(ModelType.LIST);
         node.get(type, Constants.MIME_MAPPING, DESCRIPTION).set(bundle.getString("web.configuration.mime-mapping"));
         node.get(type, Constants.MIME_MAPPING, REQUIRED).set(false);
@@ -187,6 +196,18 @@ class WebSubsystemDescriptions {
         node.get(type, Constants.MAX_DEPTH, DESCRIPTION).set(bundle.getString("web.configuration.static.max-depth"));
         node.get(type, Constants.MAX_DEPTH, REQUIRED).set(false);
 
+        node.get(type, Constants.CACHE_MAX_SIZE, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.CACHE_MAX_SIZE, DESCRIPTION).set(bundle.getString("web.configuration.static.cache-max-size"));
+        node.get(type, Constants.CACHE_MAX_SIZE, REQUIRED).set(false);
+
+        node.get(type, Constants.CACHE_MAX_ENTRY_SIZE, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.CACHE_MAX_ENTRY_SIZE, DESCRIPTION).set(bundle.getString("web.configuration.static.cache-max-entry-size"));
+        node.get(type, Constants.CACHE_MAX_ENTRY_SIZE, REQUIRED).set(false);
+
+        node.get(type, Constants.CACHE_TTL, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.CACHE_TTL, DESCRIPTION).set(bundle.getString("web.configuration.static.cache-ttl"));
+        node.get(type, Constants.CACHE_TTL, REQUIRED).set(false);
+
         node.get(type, Constants.DISABLED, TYPE).set(ModelType.STRING);
         node.get(type, Constants.DISABLED, DESCRIPTION).set(bundle.getString("web.configuration.static.disabled"));
         node.get(type, Constants.DISABLED, REQUIRED).set(false);
@@ -194,6 +215,35 @@ class WebSubsystemDescriptions {
         return node;
     }
 
+    static ModelNode getSessionManagementCommonDescription(final ModelNode node, final String type, final ResourceBundle bundle) {
+
+        node.get(TYPE).set(ModelType.OBJECT);
+        node.get(DESCRIPTION).set(bundle.getString("web.configuration.session-management"));
+        node.get(REQUIRED).set(false);
+
+        node.get(type, Constants.MAX_ACTIVE_SESSIONS, TYPE).set(ModelType.INT);
+        node.get(type, Constants.MAX_ACTIVE_SESSIONS, DESCRIPTION).set(bundle.getString("web.configuration.session-management.max-active-sessions"));
+        node.get(type, Constants.MAX_ACTIVE_SESSIONS, REQUIRED).set(false);
+
+        node.get(type, Constants.PASSIVATION_MIN_IDLE_TIME, TYPE).set(ModelType.INT);
+        node.get(type, Constants.PASSIVATION_MIN_IDLE_TIME, DESCRIPTION).set(bundle.getString("web.configuration.session-management.passivation-min-idle-time"));
+        node.get(type, Constants.PASSIVATION_MIN_IDLE_TIME, REQUIRED).set(false);
+
+        node.get(type, Constants.PASSIVATION_MAX_IDLE_TIME, TYPE).set(ModelType.INT);
+        node.get(type, Constants.PASSIVATION_MAX_IDLE_TIME, DESCRIPTION).set(bundle.getString("web.configuration.session-management.passivation-max-idle-time"));
+        node.get(type, Constants.PASSIVATION_MAX_IDLE_TIME, REQUIRED).set(false);
+
+        node.get(type, Constants.PATH, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.PATH, DESCRIPTION).set(bundle.getString("web.configuration.session-management.path"));
+        node.get(type, Constants.PATH, REQUIRED).set(false);
+
+        node.get(type, Constants.RELATIVE_TO, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.RELATIVE_TO, DESCRIPTION).set(bundle.getString("web.configuration.session-management.relative-to"));
+        node.get(type, Constants.RELATIVE_TO, REQUIRED).set(false);
+
+        return node;
+    }
+
     static ModelNode getJSPCommonDescription(final ModelNode node, final String type, final ResourceBundle bundle) {
 
         node.get(TYPE).set(ModelType.OBJECT);
@@ -334,6 +384,38 @@ class WebSubsystemDescriptions {
         node.get(type, Constants.MAX_CONNECTIONS, DESCRIPTION).set(bundle.getString("web.connector.max-connections"));
         node.get(type, Constants.MAX_CONNECTIONS, REQUIRED).set(false);
 
+        node.get(type, Constants.COMPRESSION, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.COMPRESSION, DESCRIPTION).set(bundle.getString("web.connector.compression"));
+        node.get(type, Constants.COMPRESSION, REQUIRED).set(false);
+
+        node.get(type, Constants.COMPRESSABLE_MIME_TYPES, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.COMPRESSABLE_MIME_TYPES, DESCRIPTION).set(bundle.getString("web.connector.compressable-mime-types"));
+        node.get(type, Constants.COMPRESSABLE_MIME_TYPES, REQUIRED).set(false);
+
+        node.get(type, Constants.COMPRESSION_MIN_SIZE, TYPE).set(ModelType.INT);
+        node.get(type, Constants.COMPRESSION_MIN_SIZE, DESCRIPTION).set(bundle.getString("web.connector.compression-min-size"));
+        node.get(type, Constants.COMPRESSION_MIN_SIZE, REQUIRED).set(false);
+
+        node.get(type, Constants.MAX_KEEP_ALIVE_REQUESTS, TYPE).set(ModelType.INT);
+        node.get(type, Constants.MAX_KEEP_ALIVE_REQUESTS, DESCRIPTION).set(bundle.getString("web.connector.max-keep-alive-requests"));
+        node.get(type, Constants.MAX_KEEP_ALIVE_REQUESTS, REQUIRED).set(false);
+
+        node.get(type, Constants.KEEP_ALIVE_TIMEOUT, TYPE).set(ModelType.INT);
+        node.get(type, Constants.KEEP_ALIVE_TIMEOUT, DESCRIPTION).set(bundle.getString("web.connector.keep-alive-timeout"));
+        node.get(type, Constants.KEEP_ALIVE_TIMEOUT, REQUIRED).set(false);
+
+        node.get(type, Constants.SOCKET_BUFFER, TYPE).set(ModelType.INT);
+        node.get(type, Constants.SOCKET_BUFFER, DESCRIPTION).set(bundle.getString("web.connector.socket-buffer"));
+        node.get(type, Constants.SOCKET_BUFFER, REQUIRED).set(false);
+
+        node.get(type, Constants.ACCEPT_COUNT, TYPE).set(ModelType.INT);
+        node.get(type, Constants.ACCEPT_COUNT, DESCRIPTION).set(bundle.getString("web.connector.accept-count"));
+        node.get(type, Constants.ACCEPT_COUNT, REQUIRED).set(false);
+
+        node.get(type, Constants.TCP_NO_DELAY, TYPE).set(ModelType.BOOLEAN);
+        node.get(type, Constants.TCP_NO_DELAY, DESCRIPTION).set(bundle.getString("web.connector.tcp-no-delay"));
+        node.get(type, Constants.TCP_NO_DELAY, REQUIRED).set(false);
+
         node.get(type, Constants.VIRTUAL_SERVER, TYPE).set(ModelType.LIST);
         node.get(type, Constants.VIRTUAL_SERVER, DESCRIPTION).set(bundle.getString("web.connector.virtual-server"));
         node.get(type, Constants.VIRTUAL_SERVER, REQUIRED).set(false);
@@ -445,6 +527,9 @@ class WebSubsystemDescriptions {
         node.get(ATTRIBUTES, Constants.NAME, REQUIRED).set(true);
         node.get(ATTRIBUTES, Constants.NAME, NILLABLE).set(false);
 
+        node.get(ATTRIBUTES, Constants.ACCESS_LOG_DROPPED_RECORDS, TYPE).set(ModelType.LONG);
+        node.get(ATTRIBUTES, Constants.ACCESS_LOG_DROPPED_RECORDS, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log-dropped-records"));
+
         return getVirtualServerCommonDescription(node, ATTRIBUTES, bundle);
     }
 
@@ -489,6 +574,18 @@ class WebSubsystemDescriptions {
         node.get(type, Constants.ROTATE, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.rotate"));
         node.get(type, Constants.ROTATE, REQUIRED).set(false);
 
+        node.get(type, Constants.ASYNC, TYPE).set(ModelType.BOOLEAN);
+        node.get(type, Constants.ASYNC, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.async"));
+        node.get(type, Constants.ASYNC, REQUIRED).set(false);
+
+        node.get(type, Constants.QUEUE_SIZE, TYPE).set(ModelType.INT);
+        node.get(type, Constants.QUEUE_SIZE, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.queue-size"));
+        node.get(type, Constants.QUEUE_SIZE, REQUIRED).set(false);
+
+        node.get(type, Constants.OVERFLOW_POLICY, TYPE).set(ModelType.STRING);
+        node.get(type, Constants.OVERFLOW_POLICY, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.overflow-policy"));
+        node.get(type, Constants.OVERFLOW_POLICY, REQUIRED).set(false);
+
         node.get(type, Constants.DIRECTORY, TYPE).set(ModelType.OBJECT);
         node.get(type, Constants.DIRECTORY, DESCRIPTION).set(bundle.getString("web.virtual-server.access-log.directory"));
         node.get(type, Constants.DIRECTORY, REQUIRED).set(false);
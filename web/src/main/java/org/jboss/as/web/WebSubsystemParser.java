@@ -33,13 +33,21 @@ import static org.jboss.as.controller.parsing.ParseUtils.requireNoContent;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoNamespaceAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
+import static org.jboss.as.web.Constants.ACCEPT_COUNT;
 import static org.jboss.as.web.Constants.ACCESS_LOG;
 import static org.jboss.as.web.Constants.ALIAS;
+import static org.jboss.as.web.Constants.ASYNC;
+import static org.jboss.as.web.Constants.CACHE_MAX_ENTRY_SIZE;
+import static org.jboss.as.web.Constants.CACHE_MAX_SIZE;
+import static org.jboss.as.web.Constants.CACHE_TTL;
 import static org.jboss.as.web.Constants.CA_CERTIFICATE_FILE;
 import static org.jboss.as.web.Constants.CA_REVOCATION_URL;
 import static org.jboss.as.web.Constants.CERTIFICATE_FILE;
 import static org.jboss.as.web.Constants.CERTIFICATE_KEY_FILE;
 import static org.jboss.as.web.Constants.CIPHER_SUITE;
+import static org.jboss.as.web.Constants.COMPRESSABLE_MIME_TYPES;
+import static org.jboss.as.web.Constants.COMPRESSION;
+import static org.jboss.as.web.Constants.COMPRESSION_MIN_SIZE;
 import static org.jboss.as.web.Constants.CONNECTOR;
 import static org.jboss.as.web.Constants.CONDITION;
 import static org.jboss.as.web.Constants.CONTAINER_CONFIG;
@@ -53,14 +61,17 @@ import static org.jboss.as.web.Constants.EXTENDED;
 import static org.jboss.as.web.Constants.FILE_ENCONDING;
 import static org.jboss.as.web.Constants.FLAGS;
 import static org.jboss.as.web.Constants.JSP_CONFIGURATION;
+import static org.jboss.as.web.Constants.KEEP_ALIVE_TIMEOUT;
 import static org.jboss.as.web.Constants.KEY_ALIAS;
 import static org.jboss.as.web.Constants.LISTINGS;
 import static org.jboss.as.web.Constants.MAX_CONNECTIONS;
 import static org.jboss.as.web.Constants.MAX_DEPTH;
+import static org.jboss.as.web.Constants.MAX_KEEP_ALIVE_REQUESTS;
 import static org.jboss.as.web.Constants.MAX_POST_SIZE;
 import static org.jboss.as.web.Constants.MAX_SAVE_POST_SIZE;
 import static org.jboss.as.web.Constants.MIME_MAPPING;
 import static org.jboss.as.web.Constants.NAME;
+import static org.jboss.as.web.Constants.OVERFLOW_POLICY;
 import static org.jboss.as.web.Constants.PASSWORD;
 import static org.jboss.as.web.Constants.PATH;
 import static org.jboss.as.web.Constants.PATTERN;
@@ -68,6 +79,7 @@ import static org.jboss.as.web.Constants.PREFIX;
 import static org.jboss.as.web.Constants.PROTOCOL;
 import static org.jboss.as.web.Constants.PROXY_NAME;
 import static org.jboss.as.web.Constants.PROXY_PORT;
+import static org.jboss.as.web.Constants.QUEUE_SIZE;
 import static org.jboss.as.web.Constants.READ_ONLY;
 import static org.jboss.as.web.Constants.REDIRECT_PORT;
 import static org.jboss.as.web.Constants.RELATIVE_TO;
@@ -79,11 +91,14 @@ import static org.jboss.as.web.Constants.SECRET;
 import static org.jboss.as.web.Constants.SECURE;
 import static org.jboss.as.web.Constants.SENDFILE;
 import static org.jboss.as.web.Constants.SESSION_CACHE_SIZE;
+import static org.jboss.as.web.Constants.SESSION_MANAGEMENT;
 import static org.jboss.as.web.Constants.SESSION_TIMEOUT;
 import static org.jboss.as.web.Constants.SOCKET_BINDING;
+import static org.jboss.as.web.Constants.SOCKET_BUFFER;
 import static org.jboss.as.web.Constants.SSL;
 import static org.jboss.as.web.Constants.STATIC_RESOURCES;
 import static org.jboss.as.web.Constants.SUBSTITUTION;
+import static org.jboss.as.web.Constants.TCP_NO_DELAY;
 import static org.jboss.as.web.Constants.TEST;
 import static org.jboss.as.web.Constants.VERIFY_CLIENT;
 import static org.jboss.as.web.Constants.VERIFY_DEPTH;
@@ -148,6 +163,14 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
                 writeAttribute(writer, Attribute.MAX_POST_SIZE.getLocalName(), config);
                 writeAttribute(writer, Attribute.MAX_SAVE_POST_SIZE.getLocalName(), config);
                 writeAttribute(writer, Attribute.MAX_CONNECTIONS.getLocalName(), config);
+                writeAttribute(writer, Attribute.COMPRESSION.getLocalName(), config);
+                writeAttribute(writer, Attribute.COMPRESSABLE_MIME_TYPES.getLocalName(), config);
+                writeAttribute(writer, Attribute.COMPRESSION_MIN_SIZE.getLocalName(), config);
+                writeAttribute(writer, Attribute.MAX_KEEP_ALIVE_REQUESTS.getLocalName(), config);
+                writeAttribute(writer, Attribute.KEEP_ALIVE_TIMEOUT.getLocalName(), config);
+                writeAttribute(writer, Attribute.SOCKET_BUFFER.getLocalName(), config);
+                writeAttribute(writer, Attribute.ACCEPT_COUNT.getLocalName(), config);
+                writeAttribute(writer, Attribute.TCP_NO_DELAY.getLocalName(), config);
                 if (config.hasDefined(SSL)) {
                     writer.writeStartElement(Element.SSL.getLocalName());
                     final ModelNode sslConfig = config.get(SSL);
@@ -195,11 +218,14 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
                         writeAttribute(writer, Attribute.PATH.getLocalName(), accessLog);
                         writeAttribute(writer, Attribute.RELATIVE_TO.getLocalName(), accessLog);
                     }
-                    writeAttribute(writer, Attribute.PATTERN.getLocalName(), config);
-                    writeAttribute(writer, Attribute.RESOLVE_HOSTS.getLocalName(), config);
-                    writeAttribute(writer, Attribute.EXTENDED.getLocalName(), config);
-                    writeAttribute(writer, Attribute.PREFIX.getLocalName(), config);
-                    writeAttribute(writer, Attribute.ROTATE.getLocalName(), config);
+                    writeAttribute(writer, Attribute.PATTERN.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.RESOLVE_HOSTS.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.EXTENDED.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.PREFIX.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.ROTATE.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.ASYNC.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.QUEUE_SIZE.getLocalName(), accessLog);
+                    writeAttribute(writer, Attribute.OVERFLOW_POLICY.getLocalName(), accessLog);
                     writer.writeEndElement();
                 }
                 if (config.hasDefined(REWRITE)) {
@@ -234,6 +260,9 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
         if(config.hasDefined(JSP_CONFIGURATION)) {
             writeJSPConfiguration(writer, config.get(JSP_CONFIGURATION));
         }
+        if(config.hasDefined(SESSION_MANAGEMENT)) {
+            writeSessionManagement(writer, config.get(SESSION_MANAGEMENT));
+        }
         if(config.hasDefined(MIME_MAPPING)) {
             for(final Property entry : config.get(MIME_MAPPING).asPropertyList()) {
                 writer.writeEmptyElement(Element.MIME_MAPPING.getLocalName());
@@ -261,11 +290,24 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
         writeAttribute(writer, Attribute.WEBDAV.getLocalName(), config);
         writeAttribute(writer, Attribute.SECRET.getLocalName(), config);
         writeAttribute(writer, Attribute.MAX_DEPTH.getLocalName(), config);
+        writeAttribute(writer, Attribute.CACHE_MAX_SIZE.getLocalName(), config);
+        writeAttribute(writer, Attribute.CACHE_MAX_ENTRY_SIZE.getLocalName(), config);
+        writeAttribute(writer, Attribute.CACHE_TTL.getLocalName(), config);
         writeAttribute(writer, Attribute.DISABLED.getLocalName(), config);
 
         writer.writeEndElement();
     }
 
+    private void writeSessionManagement(XMLExtendedStreamWriter writer, ModelNode config) throws XMLStreamException {
+        writer.writeEmptyElement(Element.SESSION_MANAGEMENT.getLocalName());
+
+        writeAttribute(writer, Attribute.MAX_ACTIVE_SESSIONS.getLocalName(), config);
+        writeAttribute(writer, Attribute.PASSIVATION_MIN_IDLE_TIME.getLocalName(), config);
+        writeAttribute(writer, Attribute.PASSIVATION_MAX_IDLE_TIME.getLocalName(), config);
+        writeAttribute(writer, Attribute.PATH.getLocalName(), config);
+        writeAttribute(writer, Attribute.RELATIVE_TO.getLocalName(), config);
+    }
+
     private void writeJSPConfiguration(XMLExtendedStreamWriter writer, ModelNode jsp) throws XMLStreamException {
         writer.writeStartElement(Element.JSP_CONFIGURATION.getLocalName());
 
@@ -367,6 +409,11 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
                 config.get(JSP_CONFIGURATION).set(jspConfiguration);
                 break;
             }
+            case SESSION_MANAGEMENT: {
+                final ModelNode sessionManagement = parseSessionManagement(reader);
+                config.get(SESSION_MANAGEMENT).set(sessionManagement);
+                break;
+            }
             case MIME_MAPPING: {
                 final String[] array = requireAttributes(reader, Attribute.NAME.getLocalName(), Attribute.VALUE.getLocalName());
                 config.get(MIME_MAPPING).get(array[0]).set(array[1]);
@@ -421,6 +468,29 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
         return jsp;
     }
 
+    static ModelNode parseSessionManagement(XMLExtendedStreamReader reader) throws XMLStreamException {
+        final ModelNode sessionManagement = new ModelNode();
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+            case MAX_ACTIVE_SESSIONS:
+            case PASSIVATION_MIN_IDLE_TIME:
+            case PASSIVATION_MAX_IDLE_TIME:
+            case PATH:
+            case RELATIVE_TO:
+                sessionManagement.get(attribute.getLocalName()).set(value);
+                break;
+            default:
+                unexpectedAttribute(reader, i);
+            }
+        }
+        requireNoContent(reader);
+        return sessionManagement;
+    }
+
     static ModelNode parseStaticResources(XMLExtendedStreamReader reader) throws XMLStreamException {
         final ModelNode resources = new ModelNode();
         final int count = reader.getAttributeCount();
@@ -450,6 +520,15 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
             case MAX_DEPTH:
                 resources.get(MAX_DEPTH).set(value);
                 break;
+            case CACHE_MAX_SIZE:
+                resources.get(CACHE_MAX_SIZE).set(value);
+                break;
+            case CACHE_MAX_ENTRY_SIZE:
+                resources.get(CACHE_MAX_ENTRY_SIZE).set(value);
+                break;
+            case CACHE_TTL:
+                resources.get(CACHE_TTL).set(value);
+                break;
             case DISABLED:
                 resources.get(DISABLED).set(value);
                 break;
@@ -606,6 +685,15 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
             case ROTATE:
                 log.get(ROTATE).set(value);
                 break;
+            case ASYNC:
+                log.get(ASYNC).set(value);
+                break;
+            case QUEUE_SIZE:
+                log.get(QUEUE_SIZE).set(value);
+                break;
+            case OVERFLOW_POLICY:
+                log.get(OVERFLOW_POLICY).set(value);
+                break;
             default:
                 unexpectedAttribute(reader, i);
             }
@@ -662,6 +750,14 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
         String secure = null;
         String redirectPort = null;
         String maxConnections = null;
+        String compression = null;
+        String compressableMimeTypes = null;
+        String compressionMinSize = null;
+        String maxKeepAliveRequests = null;
+        String keepAliveTimeout = null;
+        String socketBuffer = null;
+        String acceptCount = null;
+        String tcpNoDelay = null;
         final int count = reader.getAttributeCount();
         for (int i = 0; i < count; i++) {
             requireNoNamespaceAttribute(reader, i);
@@ -710,6 +806,30 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
             case MAX_CONNECTIONS:
                 maxConnections = value;
                 break;
+            case COMPRESSION:
+                compression = value;
+                break;
+            case COMPRESSABLE_MIME_TYPES:
+                compressableMimeTypes = value;
+                break;
+            case COMPRESSION_MIN_SIZE:
+                compressionMinSize = value;
+                break;
+            case MAX_KEEP_ALIVE_REQUESTS:
+                maxKeepAliveRequests = value;
+                break;
+            case KEEP_ALIVE_TIMEOUT:
+                keepAliveTimeout = value;
+                break;
+            case SOCKET_BUFFER:
+                socketBuffer = value;
+                break;
+            case ACCEPT_COUNT:
+                acceptCount = value;
+                break;
+            case TCP_NO_DELAY:
+                tcpNoDelay = value;
+                break;
             default:
                 unexpectedAttribute(reader, i);
             }
@@ -757,6 +877,14 @@ class WebSubsystemParser implements XMLStreamConstants, XMLElementReader<List<Mo
         if(secure != null) connector.get(SECURE).set(secure);
         if(redirectPort != null) connector.get(REDIRECT_PORT).set(redirectPort);
         if(maxConnections != null) connector.get(MAX_CONNECTIONS).set(maxConnections);
+        if(compression != null) connector.get(COMPRESSION).set(compression);
+        if(compressableMimeTypes != null) connector.get(COMPRESSABLE_MIME_TYPES).set(compressableMimeTypes);
+        if(compressionMinSize != null) connector.get(COMPRESSION_MIN_SIZE).set(compressionMinSize);
+        if(maxKeepAliveRequests != null) connector.get(MAX_KEEP_ALIVE_REQUESTS).set(maxKeepAliveRequests);
+        if(keepAliveTimeout != null) connector.get(KEEP_ALIVE_TIMEOUT).set(keepAliveTimeout);
+        if(socketBuffer != null) connector.get(SOCKET_BUFFER).set(socketBuffer);
+        if(acceptCount != null) connector.get(ACCEPT_COUNT).set(acceptCount);
+        if(tcpNoDelay != null) connector.get(TCP_NO_DELAY).set(tcpNoDelay);
         list.add(connector);
     }
 
@@ -20,6 +20,8 @@ public class WebSubsystemServices {
     public static final ServiceName JBOSS_WEB_CONNECTOR = JBOSS_WEB.append("connector");
     /** The base name for jboss.web host services. */
     public static final ServiceName JBOSS_WEB_HOST = JBOSS_WEB.append("host");
+    /** The path of the store of passivated sessions. */
+    public static final ServiceName JBOSS_WEB_SESSION_STORE = JBOSS_WEB.append("session-store");
 
 
     private WebSubsystemServices() {
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Metrics of a virtual server.
+ *
+ * @author agent
+ */
+class WebVirtualHostMetrics implements ModelQueryOperationHandler {
+
+    static final WebVirtualHostMetrics INSTANCE = new WebVirtualHostMetrics();
+
+    static final String[] ATTRIBUTES = new String[] { Constants.ACCESS_LOG_DROPPED_RECORDS };
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+                    final String name = address.getLastElement().getValue();
+                    final String attributeName = operation.require(NAME).asString();
+
+                    final ModelNode result = new ModelNode();
+                    final ServiceController<?> controller = context.getServiceRegistry()
+                            .getService(WebSubsystemServices.JBOSS_WEB_HOST.append(name));
+                    if (controller != null && Constants.ACCESS_LOG_DROPPED_RECORDS.equals(attributeName)) {
+                        final WebVirtualHostService service = (WebVirtualHostService) controller.getService();
+                        result.set(service.getDroppedAccessLogRecords());
+                    }
+                    resultHandler.handleResultFragment(WebConnectorMetrics.NO_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(WebConnectorMetrics.NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
@@ -53,6 +53,7 @@ class WebVirtualHostService implements Service<Host> {
     private final InjectedValue<WebServer> webServer = new InjectedValue<WebServer>();
 
     private Host host;
+    private Valve accessLogValve;
 
     public WebVirtualHostService(String name, String[] aliases) {
         this.name = name;
@@ -68,7 +69,8 @@ class WebVirtualHostService implements Service<Host> {
             host.addAlias(alias);
         }
         if(accessLog != null) {
-            host.addValve(createAccessLogValve(accessLogPathInjector.getValue(), accessLog));
+            accessLogValve = createAccessLogValve(accessLogPathInjector.getValue(), accessLog);
+            host.addValve(accessLogValve);
         }
         if(rewrite != null) {
             host.addValve(createRewriteValve(rewrite));
@@ -89,6 +91,7 @@ class WebVirtualHostService implements Service<Host> {
     public synchronized void stop(StopContext context) {
         final Host host = this.host;
         this.host = null;
+        this.accessLogValve = null;
         final WebServer server = webServer.getValue();
         server.removeHost(host);
     }
@@ -102,6 +105,19 @@ class WebVirtualHostService implements Service<Host> {
         return host;
     }
 
+    /**
+     * Get the number of access log records dropped because the queue of the asynchronous access log was full.
+     *
+     * @return the number of dropped records
+     */
+    synchronized long getDroppedAccessLogRecords() {
+        final Valve accessLogValve = this.accessLogValve;
+        if (accessLogValve instanceof AsyncAccessLogWriter.AsyncAccessLog) {
+            return ((AsyncAccessLogWriter.AsyncAccessLog) accessLogValve).getWriter().getDroppedRecords();
+        }
+        return 0;
+    }
+
     void setAccessLog(final ModelNode accessLog) {
         this.accessLog = accessLog;
     }
@@ -130,13 +146,33 @@ class WebVirtualHostService implements Service<Host> {
         return webServer;
     }
 
-    static Valve createAccessLogValve(final String logDirectory, final ModelNode element) {
+    static Valve createAccessLogValve(final String logDirectory, final ModelNode element) throws StartException {
         boolean extended = false;
         if (element.hasDefined(Constants.EXTENDED)) {
             extended = element.get(Constants.EXTENDED).asBoolean();
         }
+        boolean async = false;
+        if (element.hasDefined(Constants.ASYNC)) {
+            async = element.get(Constants.ASYNC).asBoolean();
+        }
         final AccessLogValve log;
-        if (extended) {
+        if (async) {
+            int queueSize = AsyncAccessLogWriter.DEFAULT_QUEUE_SIZE;
+            if (element.hasDefined(Constants.QUEUE_SIZE)) {
+                queueSize = element.get(Constants.QUEUE_SIZE).asInt();
+            }
+            if (queueSize < 1) {
+                throw new StartException("invalid access log queue-size " + queueSize);
+            }
+            String overflowPolicy = AsyncAccessLogWriter.BLOCK;
+            if (element.hasDefined(Constants.OVERFLOW_POLICY)) {
+                overflowPolicy = element.get(Constants.OVERFLOW_POLICY).asString();
+            }
+            if (!AsyncAccessLogWriter.BLOCK.equals(overflowPolicy) && !AsyncAccessLogWriter.DROP.equals(overflowPolicy)) {
+                throw new StartException("invalid access log overflow-policy " + overflowPolicy);
+            }
+            log = AsyncAccessLogValve.create(extended, queueSize, AsyncAccessLogWriter.DROP.equals(overflowPolicy));
+        } else if (extended) {
             log = new ExtendedAccessLogValve();
         } else {
             log = new AccessLogValve();
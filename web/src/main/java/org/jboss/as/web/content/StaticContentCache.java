@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.content;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size bounded, least recently used cache of the static files of a web application.
+ *
+ * @author agent
+ */
+final class StaticContentCache {
+
+    private final long maxSize;
+    private final int maxEntrySize;
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private long size;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    StaticContentCache(final long maxSize, final int maxEntrySize) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * Whether a file of the given length may be cached.
+     *
+     * @param length the length of the file, negative if unknown
+     * @return {@code true} if the file may be cached
+     */
+    boolean isCacheable(final long length) {
+        return length >= 0 && length <= maxEntrySize && length <= maxSize;
+    }
+
+    synchronized Entry get(final String path) {
+        return entries.get(path);
+    }
+
+    /**
+     * Cache an entry, evicting the least recently used entries until the cache fits its maximum size.
+     *
+     * @param path the path of the file
+     * @param entry the entry
+     * @return {@code true} if the entry was cached
+     */
+    synchronized boolean put(final String path, final Entry entry) {
+        if (entry.getSize() > maxSize) {
+            return false;
+        }
+        remove(path);
+        entries.put(path, entry);
+        size += entry.getSize();
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+        return true;
+    }
+
+    synchronized void remove(final String path) {
+        final Entry entry = entries.remove(path);
+        if (entry != null) {
+            size -= entry.getSize();
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    void hit(final int bytes) {
+        hits.incrementAndGet();
+        bytesServed.addAndGet(bytes);
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    double getHitRatio() {
+        final long hits = this.hits.get();
+        final long total = hits + misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * A cached file, with its precompressed gzip variant if the application provides one.
+     */
+    static final class Entry {
+
+        private final byte[] content;
+        private final byte[] gzipContent;
+        private final String contentType;
+        private final long lastModified;
+        private final String eTag;
+        private volatile long validated;
+
+        Entry(final byte[] content, final byte[] gzipContent, final String contentType, final long lastModified, final long validated) {
+            this.content = content;
+            this.gzipContent = gzipContent;
+            this.contentType = contentType;
+            this.lastModified = lastModified;
+            // same weak validator as the DefaultServlet, so conditional requests match whoever served the file
+            this.eTag = "W/\"" + content.length + "-" + lastModified + "\"";
+            this.validated = validated;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        byte[] getGzipContent() {
+            return gzipContent;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        long getLastModified() {
+            return lastModified;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        long getValidated() {
+            return validated;
+        }
+
+        void setValidated(final long validated) {
+            this.validated = validated;
+        }
+
+        long getSize() {
+            return content.length + (gzipContent == null ? 0 : gzipContent.length);
+        }
+    }
+}
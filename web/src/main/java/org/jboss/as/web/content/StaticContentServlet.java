@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Locale;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.servlets.DefaultServlet;
+
+/**
+ * A {@code DefaultServlet} serving the small static files of a web application from memory, rather than resolving them
+ * through the deployment mounts on every request. Conditional requests are answered from the cached validators, and
+ * the precompressed {@code .gz} variant of a file is served to the clients accepting gzip. Bigger files, ranges and
+ * includes are left to the {@code DefaultServlet}, which uses sendfile for large files if possible. The cache lives as
+ * long as the servlet, so it never outlives a deployment.
+ *
+ * @author agent
+ */
+public class StaticContentServlet extends DefaultServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String CACHE_MAX_SIZE = "cache-max-size";
+    public static final String CACHE_MAX_ENTRY_SIZE = "cache-max-entry-size";
+    public static final String CACHE_TTL = "cache-ttl";
+
+    public static final int DEFAULT_CACHE_MAX_SIZE = 10 * 1024 * 1024;
+    public static final int DEFAULT_CACHE_MAX_ENTRY_SIZE = 48 * 1024;
+    public static final int DEFAULT_CACHE_TTL = 5000;
+
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final String INCLUDE_REQUEST_URI = "javax.servlet.include.request_uri";
+
+    private transient StaticContentCache cache;
+    private long cacheTtl;
+    private boolean cacheEnabled;
+    private String statisticsKey;
+
+    /** {@inheritDoc} */
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        cache = new StaticContentCache(getIntParameter(CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE), getIntParameter(CACHE_MAX_ENTRY_SIZE,
+                DEFAULT_CACHE_MAX_ENTRY_SIZE));
+        cacheTtl = getIntParameter(CACHE_TTL, DEFAULT_CACHE_TTL);
+        // the DefaultServlet transcodes text files with a forced encoding, leave them to it
+        cacheEnabled = getServletConfig().getInitParameter("file-encoding") == null;
+        // the same context path can be deployed on several virtual hosts
+        final String contextPath = getServletContext().getContextPath();
+        statisticsKey = resources.getHostName() + (contextPath.length() == 0 ? "/" : contextPath);
+        StaticContentStatistics.register(statisticsKey, cache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void destroy() {
+        StaticContentStatistics.unregister(statisticsKey, cache);
+        cache.clear();
+        super.destroy();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException, ServletException {
+        if (!cacheEnabled || request.getHeader("Range") != null || request.getAttribute(INCLUDE_REQUEST_URI) != null) {
+            super.doGet(request, response);
+            return;
+        }
+        final String path = getRelativePath(request);
+        if (path == null || path.length() == 0 || path.endsWith("/") || isProtected(path)) {
+            super.doGet(request, response);
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        StaticContentCache.Entry entry = cache.get(path);
+        if (entry != null && now - entry.getValidated() > cacheTtl) {
+            if (isModified(path, entry)) {
+                cache.remove(path);
+                entry = null;
+            } else {
+                entry.setValidated(now);
+            }
+        }
+        final boolean hit = entry != null;
+        if (!hit) {
+            cache.miss();
+            entry = load(path, now);
+            if (entry == null || !cache.put(path, entry)) {
+                super.doGet(request, response);
+                return;
+            }
+        }
+        serve(request, response, entry, hit);
+    }
+
+    /**
+     * Serve a cached file.
+     *
+     * @param request the request
+     * @param response the response
+     * @param entry the entry of the file
+     * @param hit whether the entry was found in the cache, rather than loaded for this request
+     * @throws IOException if the response cannot be written
+     */
+    private void serve(final HttpServletRequest request, final HttpServletResponse response, final StaticContentCache.Entry entry,
+            final boolean hit) throws IOException {
+        response.setHeader("ETag", entry.getETag());
+        response.setDateHeader("Last-Modified", entry.getLastModified());
+        if (isNotModified(request, entry)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            if (hit) {
+                cache.hit(0);
+            }
+            return;
+        }
+        byte[] body = entry.getContent();
+        if (entry.getGzipContent() != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+            final String acceptEncoding = request.getHeader("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.indexOf("gzip") >= 0) {
+                response.setHeader("Content-Encoding", "gzip");
+                body = entry.getGzipContent();
+            }
+        }
+        if (entry.getContentType() != null) {
+            response.setContentType(entry.getContentType());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        if (hit) {
+            cache.hit(body.length);
+        }
+    }
+
+    private boolean isNotModified(final HttpServletRequest request, final StaticContentCache.Entry entry) {
+        final String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String eTag : ifNoneMatch.split(",")) {
+                eTag = eTag.trim();
+                if (eTag.equals("*") || eTag.equals(entry.getETag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            final long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            // HTTP dates have a one second precision
+            return ifModifiedSince != -1 && entry.getLastModified() < ifModifiedSince + 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean isModified(final String path, final StaticContentCache.Entry entry) throws IOException {
+        final URL url = getServletContext().getResource(path);
+        if (url == null) {
+            return true;
+        }
+        final URLConnection connection = url.openConnection();
+        return connection.getLastModified() != entry.getLastModified() || connection.getContentLength() != entry.getContent().length;
+    }
+
+    /**
+     * Read a file, and its precompressed variant, if they are small enough to be cached.
+     *
+     * @param path the path of the file
+     * @param now the current time
+     * @return the entry, or {@code null} if the file cannot be cached
+     * @throws IOException if the file cannot be read
+     */
+    private StaticContentCache.Entry load(final String path, final long now) throws IOException {
+        final ServletContext context = getServletContext();
+        if (context.getResourcePaths(path) != null) {
+            // a directory
+            return null;
+        }
+        final URL url = context.getResource(path);
+        if (url == null) {
+            return null;
+        }
+        final URLConnection connection = url.openConnection();
+        final int length = connection.getContentLength();
+        if (!cache.isCacheable(length)) {
+            return null;
+        }
+        final long lastModified = connection.getLastModified();
+        final byte[] content = read(connection, length);
+        if (content == null) {
+            return null;
+        }
+        byte[] gzipContent = null;
+        final URL gzipUrl = context.getResource(path + GZIP_SUFFIX);
+        if (gzipUrl != null) {
+            final URLConnection gzipConnection = gzipUrl.openConnection();
+            final int gzipLength = gzipConnection.getContentLength();
+            // ignore a variant older than the file it compresses
+            if (gzipLength >= 0 && cache.isCacheable(length + gzipLength) && gzipConnection.getLastModified() >= lastModified) {
+                gzipContent = read(gzipConnection, gzipLength);
+            }
+        }
+        return new StaticContentCache.Entry(content, gzipContent, context.getMimeType(path), lastModified, now);
+    }
+
+    private static byte[] read(final URLConnection connection, final int length) throws IOException {
+        final byte[] content = new byte[length];
+        final InputStream in = connection.getInputStream();
+        try {
+            int read = 0;
+            while (read < length) {
+                final int count = in.read(content, read, length - read);
+                if (count < 0) {
+                    // the file changed while being read
+                    return null;
+                }
+                read += count;
+            }
+            return in.read() < 0 ? content : null;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean isProtected(final String path) {
+        final String upperCasePath = path.toUpperCase(Locale.ENGLISH);
+        return upperCasePath.startsWith("/WEB-INF") || upperCasePath.startsWith("/META-INF");
+    }
+
+    private int getIntParameter(final String name, final int defaultValue) throws ServletException {
+        final String value = getServletConfig().getInitParameter(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServletException("invalid " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.content;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The static content caches of the started web applications, by virtual host and context path, for reporting their
+ * statistics through the management model.
+ *
+ * @author agent
+ */
+public final class StaticContentStatistics {
+
+    public static final String HITS = "hits";
+    public static final String MISSES = "misses";
+    public static final String HIT_RATIO = "hit-ratio";
+    public static final String BYTES_SERVED = "bytes-served";
+    public static final String CACHED_BYTES = "cached-bytes";
+    public static final String CACHED_ENTRIES = "cached-entries";
+
+    private static final ConcurrentMap<String, StaticContentCache> caches = new ConcurrentHashMap<String, StaticContentCache>();
+
+    private StaticContentStatistics() {
+    }
+
+    static void register(final String key, final StaticContentCache cache) {
+        caches.put(key, cache);
+    }
+
+    static void unregister(final String key, final StaticContentCache cache) {
+        caches.remove(key, cache);
+    }
+
+    /**
+     * Returns the statistics of every registered static content cache, keyed by virtual host name followed by
+     * context path, e.g. {@code default-host/app}.
+     *
+     * @return the statistics
+     */
+    public static ModelNode getStatistics() {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<String, StaticContentCache> entry : caches.entrySet()) {
+            final StaticContentCache cache = entry.getValue();
+            final ModelNode node = result.get(entry.getKey());
+            node.get(HITS).set(cache.getHits());
+            node.get(MISSES).set(cache.getMisses());
+            node.get(HIT_RATIO).set(cache.getHitRatio());
+            node.get(BYTES_SERVED).set(cache.getBytesServed());
+            node.get(CACHED_BYTES).set(cache.getSize());
+            node.get(CACHED_ENTRIES).set(cache.getEntryCount());
+        }
+        return result;
+    }
+}
@@ -37,7 +37,10 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.web.NamingListener;
 import org.jboss.as.web.WebSubsystemServices;
 import org.jboss.as.web.deployment.component.ComponentInstantiator;
+import org.jboss.as.web.metrics.RequestMetricsValve;
 import org.jboss.as.web.security.JBossWebRealm;
+import org.jboss.as.web.session.PassivatingSessionManager;
+import org.jboss.as.web.session.SessionManagerConfig;
 import org.jboss.metadata.web.jboss.JBossWebMetaData;
 import org.jboss.modules.Module;
 import org.jboss.msc.service.ServiceBuilder;
@@ -67,12 +70,17 @@ import java.util.Map;
 public class WarDeploymentProcessor implements DeploymentUnitProcessor {
 
     private final String defaultHost;
+    private final SessionManagerConfig sessionManagerConfig;
 
-    public WarDeploymentProcessor(String defaultHost) {
+    public WarDeploymentProcessor(String defaultHost, SessionManagerConfig sessionManagerConfig) {
         if (defaultHost == null) {
             throw new IllegalArgumentException("null default host");
         }
+        if (sessionManagerConfig == null) {
+            throw new IllegalArgumentException("null session manager config");
+        }
         this.defaultHost = defaultHost;
+        this.sessionManagerConfig = sessionManagerConfig;
     }
 
     /** {@inheritDoc} */
@@ -156,6 +164,16 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
         final Loader loader = new WebCtxLoader(classLoader);
         webContext.setLoader(loader);
 
+        // Bound the sessions held in memory if configured by the subsystem or the deployment
+        final SessionManagerConfig deploymentSessionManagerConfig = sessionManagerConfig.override(metaData);
+        if (deploymentSessionManagerConfig.isManaged()) {
+            webContext.setManager(new PassivatingSessionManager(deploymentName, deploymentSessionManagerConfig));
+        }
+
+        // Record the request counts and latencies of the deployment and its servlets
+        final RequestMetricsValve requestMetricsValve = new RequestMetricsValve(deploymentName);
+        webContext.getPipeline().addValve(requestMetricsValve);
+
         // Set the session cookies flag according to metadata
         switch (metaData.getSessionCookies()) {
             case JBossWebMetaData.SESSION_COOKIES_ENABLED:
@@ -206,12 +224,14 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
 
         try {
             ServiceName namespaceSelectorServiceName = deploymentUnit.getServiceName().append(NamespaceSelectorService.NAME);
-            WebDeploymentService webDeploymentService = new WebDeploymentService(webContext);
+            WebDeploymentService webDeploymentService = new WebDeploymentService(webContext, requestMetricsValve);
             ServiceBuilder<Context> builder = serviceTarget.addService(WebSubsystemServices.JBOSS_WEB.append(deploymentName), webDeploymentService);
             builder.addDependency(WebSubsystemServices.JBOSS_WEB_HOST.append(hostName), Host.class,
                             new WebContextInjector(webContext)).addDependencies(injectionContainer.getServiceNames());
             builder.addDependency(namespaceSelectorServiceName, NamespaceContextSelector.class,
                             webDeploymentService.getNamespaceSelector()).setInitialMode(Mode.ACTIVE);
+            builder.addDependency(WebSubsystemServices.JBOSS_WEB_SESSION_STORE, String.class,
+                            webDeploymentService.getSessionStorePath());
 
             builder.addDependencies(deploymentUnit.getAttachmentList(Attachments.WEB_DEPENDENCIES));
 
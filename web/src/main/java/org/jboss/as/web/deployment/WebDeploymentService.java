@@ -21,11 +21,18 @@
  */
 package org.jboss.as.web.deployment;
 
+import java.io.File;
+
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Manager;
 import org.apache.catalina.core.StandardContext;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.as.web.NamingListener;
+import org.jboss.as.web.metrics.RequestMetricsValve;
+import org.jboss.as.web.metrics.RequestStatistics;
+import org.jboss.as.web.session.PassivatingSessionManager;
+import org.jboss.as.web.session.SessionStatistics;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -42,14 +49,22 @@ class WebDeploymentService implements Service<Context> {
 
     private static final Logger log = Logger.getLogger("org.jboss.web");
     private final StandardContext context;
+    private final RequestMetricsValve requestMetrics;
     private final InjectedValue<NamespaceContextSelector> namespaceSelector = new InjectedValue<NamespaceContextSelector>();
+    private final InjectedValue<String> sessionStorePath = new InjectedValue<String>();
 
-    public WebDeploymentService(final StandardContext context) {
+    public WebDeploymentService(final StandardContext context, final RequestMetricsValve requestMetrics) {
         this.context = context;
+        this.requestMetrics = requestMetrics;
     }
 
     /** {@inheritDoc} */
     public synchronized void start(StartContext startContext) throws StartException {
+        final Manager manager = context.getManager();
+        if (manager instanceof PassivatingSessionManager) {
+            final PassivatingSessionManager sessionManager = (PassivatingSessionManager) manager;
+            sessionManager.setStoreDirectory(new File(sessionStorePath.getValue(), sessionManager.getDeploymentName()));
+        }
         try {
             NamingListener.beginComponentStart(namespaceSelector.getValue());
             try {
@@ -62,6 +77,10 @@ class WebDeploymentService implements Service<Context> {
             } catch (LifecycleException e) {
                 throw new StartException("failed to start context", e);
             }
+            if (manager instanceof PassivatingSessionManager) {
+                SessionStatistics.register((PassivatingSessionManager) manager);
+            }
+            RequestStatistics.register(requestMetrics);
             log.info("registering web context: " + context.getName());
         } finally {
             NamingListener.endComponentStart();
@@ -70,6 +89,11 @@ class WebDeploymentService implements Service<Context> {
 
     /** {@inheritDoc} */
     public synchronized void stop(StopContext stopContext) {
+        final Manager manager = context.getManager();
+        if (manager instanceof PassivatingSessionManager) {
+            SessionStatistics.unregister((PassivatingSessionManager) manager);
+        }
+        RequestStatistics.unregister(requestMetrics);
         try {
             context.stop();
         } catch (LifecycleException e) {
@@ -95,4 +119,8 @@ class WebDeploymentService implements Service<Context> {
         return namespaceSelector;
     }
 
+    public InjectedValue<String> getSessionStorePath() {
+        return sessionStorePath;
+    }
+
 }
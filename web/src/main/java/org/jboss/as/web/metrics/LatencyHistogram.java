@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of request latencies over a sliding window. The window is a ring of time slices, each counting
+ * the latencies in log-linear buckets of four buckets per power of two microseconds, which bounds the error of the
+ * reported percentiles to a quarter. The slice of the current time is reset by the first request recorded in it, so a
+ * few concurrent samples may be lost while a slice rotates.
+ *
+ * @author agent
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - 1) * SUB_BUCKETS;
+
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    LatencyHistogram(final int sliceCount, final long sliceMillis) {
+        this.sliceMillis = sliceMillis;
+        this.slices = new Slice[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    void record(final long micros) {
+        record(micros, System.currentTimeMillis());
+    }
+
+    void record(final long micros, final long now) {
+        final long epoch = now / sliceMillis;
+        final Slice slice = slices[(int) (epoch % slices.length)];
+        if (slice.epoch.get() != epoch) {
+            slice.rotate(epoch);
+        }
+        slice.counts.incrementAndGet(bucket(micros));
+    }
+
+    long[] getPercentiles(final double... quantiles) {
+        return getPercentiles(System.currentTimeMillis(), quantiles);
+    }
+
+    /**
+     * Returns the given percentiles of the latencies recorded in the window ending now, each as the upper bound in
+     * microseconds of the bucket it falls in.
+     *
+     * @param now the current time
+     * @param quantiles the percentiles, between 0 and 1
+     * @return the latencies, 0 if nothing was recorded in the window
+     */
+    long[] getPercentiles(final long now, final double... quantiles) {
+        final long epoch = now / sliceMillis;
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (Slice slice : slices) {
+            final long sliceEpoch = slice.epoch.get();
+            if (sliceEpoch <= epoch && sliceEpoch > epoch - slices.length) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    final long count = slice.counts.get(i);
+                    counts[i] += count;
+                    total += count;
+                }
+            }
+        }
+        final long[] result = new long[quantiles.length];
+        if (total == 0) {
+            return result;
+        }
+        for (int q = 0; q < quantiles.length; q++) {
+            final long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    result[q] = upperBound(i);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    static int bucket(final long micros) {
+        if (micros < SUB_BUCKETS) {
+            return micros < 0 ? 0 : (int) micros;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        final int subBucket = (int) ((micros >> (exponent - 2)) & (SUB_BUCKETS - 1));
+        return Math.min(SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+    }
+
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 2;
+        final int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - 2)) - 1;
+    }
+
+    private static final class Slice {
+
+        private final AtomicLong epoch = new AtomicLong(-1);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void rotate(final long newEpoch) {
+            final long current = epoch.get();
+            if (current < newEpoch && epoch.compareAndSet(current, newEpoch)) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts.set(i, 0);
+                }
+            }
+        }
+    }
+}
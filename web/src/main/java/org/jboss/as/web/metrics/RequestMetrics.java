@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request counts and latencies of a web deployment or of one of its servlets.
+ *
+ * @author agent
+ */
+final class RequestMetrics {
+
+    /** The latency percentiles cover the last minute, in six slices of ten seconds. */
+    private static final int WINDOW_SLICES = 6;
+    private static final long SLICE_MILLIS = 10000;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final LatencyHistogram latencies = new LatencyHistogram(WINDOW_SLICES, SLICE_MILLIS);
+
+    void requestStarted() {
+        activeRequests.incrementAndGet();
+    }
+
+    void requestCompleted(final long micros, final boolean error) {
+        activeRequests.decrementAndGet();
+        requestCount.incrementAndGet();
+        if (error) {
+            errorCount.incrementAndGet();
+        }
+        latencies.record(micros);
+    }
+
+    long getRequestCount() {
+        return requestCount.get();
+    }
+
+    long getErrorCount() {
+        return errorCount.get();
+    }
+
+    int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    LatencyHistogram getLatencies() {
+        return latencies;
+    }
+}
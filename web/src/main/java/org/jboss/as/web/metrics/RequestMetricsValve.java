@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+/**
+ * Valve recording the request counts and latencies of a web deployment, and of each of its servlets. A request costs
+ * a few atomic increments, so the valve is installed on every deployment.
+ *
+ * @author agent
+ */
+public class RequestMetricsValve extends ValveBase {
+
+    private final String deploymentName;
+    private final RequestMetrics deploymentMetrics = new RequestMetrics();
+    private final ConcurrentMap<String, RequestMetrics> servletMetrics = new ConcurrentHashMap<String, RequestMetrics>();
+
+    public RequestMetricsValve(final String deploymentName) {
+        this.deploymentName = deploymentName;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invoke(final Request request, final Response response) throws IOException, ServletException {
+        final Wrapper wrapper = request.getWrapper();
+        final RequestMetrics servlet = wrapper != null ? getServletMetrics(wrapper.getName()) : null;
+        deploymentMetrics.requestStarted();
+        if (servlet != null) {
+            servlet.requestStarted();
+        }
+        final long start = System.nanoTime();
+        boolean error = true;
+        try {
+            getNext().invoke(request, response);
+            // counted like the errors of the connector
+            error = response.getStatus() >= 400;
+        } finally {
+            final long micros = (System.nanoTime() - start) / 1000;
+            deploymentMetrics.requestCompleted(micros, error);
+            if (servlet != null) {
+                servlet.requestCompleted(micros, error);
+            }
+        }
+    }
+
+    private RequestMetrics getServletMetrics(final String servletName) {
+        RequestMetrics metrics = servletMetrics.get(servletName);
+        if (metrics == null) {
+            final RequestMetrics newMetrics = new RequestMetrics();
+            metrics = servletMetrics.putIfAbsent(servletName, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    public String getDeploymentName() {
+        return deploymentName;
+    }
+
+    RequestMetrics getDeploymentMetrics() {
+        return deploymentMetrics;
+    }
+
+    Map<String, RequestMetrics> getServletMetrics() {
+        return servletMetrics;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The request metrics of the started web deployments, by deployment, for reporting their statistics through the
+ * management model.
+ *
+ * @author agent
+ */
+public final class RequestStatistics {
+
+    public static final String REQUEST_COUNT = "request-count";
+    public static final String ERROR_COUNT = "error-count";
+    public static final String ACTIVE_REQUESTS = "active-requests";
+    public static final String LATENCY_P50 = "latency-p50";
+    public static final String LATENCY_P95 = "latency-p95";
+    public static final String LATENCY_P99 = "latency-p99";
+    public static final String SERVLETS = "servlets";
+
+    private static final ConcurrentMap<String, RequestMetricsValve> valves = new ConcurrentHashMap<String, RequestMetricsValve>();
+
+    private RequestStatistics() {
+    }
+
+    public static void register(final RequestMetricsValve valve) {
+        valves.put(valve.getDeploymentName(), valve);
+    }
+
+    public static void unregister(final RequestMetricsValve valve) {
+        valves.remove(valve.getDeploymentName(), valve);
+    }
+
+    /**
+     * Returns the request statistics of every registered deployment and of its servlets, keyed by deployment name.
+     * The latencies are in milliseconds, over the last minute.
+     *
+     * @return the statistics
+     */
+    public static ModelNode getStatistics() {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<String, RequestMetricsValve> entry : valves.entrySet()) {
+            final RequestMetricsValve valve = entry.getValue();
+            final ModelNode node = result.get(entry.getKey());
+            addMetrics(node, valve.getDeploymentMetrics());
+            final ModelNode servlets = node.get(SERVLETS);
+            servlets.setEmptyObject();
+            for (Map.Entry<String, RequestMetrics> servlet : valve.getServletMetrics().entrySet()) {
+                addMetrics(servlets.get(servlet.getKey()), servlet.getValue());
+            }
+        }
+        return result;
+    }
+
+    private static void addMetrics(final ModelNode node, final RequestMetrics metrics) {
+        node.get(REQUEST_COUNT).set(metrics.getRequestCount());
+        node.get(ERROR_COUNT).set(metrics.getErrorCount());
+        node.get(ACTIVE_REQUESTS).set(metrics.getActiveRequests());
+        final long[] latencies = metrics.getLatencies().getPercentiles(0.5, 0.95, 0.99);
+        node.get(LATENCY_P50).set(latencies[0] / 1000d);
+        node.get(LATENCY_P95).set(latencies[1] / 1000d);
+        node.get(LATENCY_P99).set(latencies[2] / 1000d);
+    }
+}
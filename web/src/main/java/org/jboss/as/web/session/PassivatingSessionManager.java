@@ -0,0 +1,261 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Session;
+import org.apache.catalina.session.FileStore;
+import org.apache.catalina.session.PersistentManager;
+import org.jboss.logging.Logger;
+
+/**
+ * A session manager keeping a bounded number of sessions in memory. New sessions are always admitted; the background
+ * processing of the container swaps the least recently used sessions beyond the limit out to a file store, as well as
+ * the sessions idle for too long. Passivated sessions are swapped back in when they are requested again.
+ * <p/>
+ * The sessions in memory are kept in least recently used order, so a background pass only visits the sessions it
+ * swaps out. A session used within the last {@link #MIN_IDLE_SWAP_FLOOR} seconds is never swapped out, whatever the
+ * configured minimum idle time, so that the session of a request in progress stays in memory.
+ *
+ * @author agent
+ */
+public class PassivatingSessionManager extends PersistentManager {
+
+    /**
+     * The minimum time in seconds a session must have been idle before it may be swapped out.
+     */
+    public static final int MIN_IDLE_SWAP_FLOOR = 10;
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.web");
+
+    private final String deploymentName;
+    private final FileStore store = new FileStore();
+    private final AtomicLong passivatedSessions = new AtomicLong();
+    private final AtomicLong activatedSessions = new AtomicLong();
+    // the ids of the sessions in memory, least recently used first, with the time they were last used
+    private final LinkedHashMap<String, Long> leastRecentlyUsed = new LinkedHashMap<String, Long>(16, 0.75f, true);
+    // kept out of the superclass, which rejects new sessions at the limit instead of swapping one out
+    private volatile int maxActiveSessions = -1;
+
+    public PassivatingSessionManager(final String deploymentName, final SessionManagerConfig config) {
+        this.deploymentName = deploymentName;
+        setMaxActiveSessions(config.getMaxActiveSessions());
+        setMinIdleSwap(config.getPassivationMinIdleTime());
+        setMaxIdleSwap(config.getPassivationMaxIdleTime());
+        // passivated sessions are swapped in on demand, never all at once when the deployment starts
+        setSaveOnRestart(false);
+        // run the swaps on every background pass of the container rather than every sixth one
+        setProcessExpiresFrequency(1);
+        setStore(store);
+    }
+
+    /**
+     * Set the directory of the file store.
+     *
+     * @param directory the directory
+     */
+    public void setStoreDirectory(final File directory) {
+        store.setDirectory(directory.getAbsolutePath());
+    }
+
+    public String getDeploymentName() {
+        return deploymentName;
+    }
+
+    @Override
+    public int getMaxActiveSessions() {
+        return maxActiveSessions;
+    }
+
+    @Override
+    public void setMaxActiveSessions(final int maxActiveSessions) {
+        this.maxActiveSessions = maxActiveSessions;
+    }
+
+    @Override
+    public void setMinIdleSwap(final int minIdleSwap) {
+        super.setMinIdleSwap(Math.max(minIdleSwap, MIN_IDLE_SWAP_FLOOR));
+    }
+
+    /**
+     * Get the number of sessions swapped out to the store.
+     *
+     * @return the number of passivated sessions
+     */
+    public long getPassivatedSessions() {
+        return passivatedSessions.get();
+    }
+
+    /**
+     * Get the number of sessions swapped back in from the store.
+     *
+     * @return the number of activated sessions
+     */
+    public long getActivatedSessions() {
+        return activatedSessions.get();
+    }
+
+    @Override
+    public void start() throws LifecycleException {
+        // the sessions left behind by a previous run must not be swapped back in, since they are not saved on restart
+        try {
+            store.clear();
+        } catch (IOException e) {
+            throw new LifecycleException("failed to clear the session store of " + deploymentName, e);
+        }
+        super.start();
+    }
+
+    @Override
+    public void add(final Session session) {
+        super.add(session);
+        used(session.getIdInternal());
+    }
+
+    @Override
+    public void remove(final Session session) {
+        super.remove(session);
+        forget(session.getIdInternal());
+    }
+
+    @Override
+    public Session findSession(final String id) throws IOException {
+        final Session session = super.findSession(id);
+        if (session != null) {
+            used(id);
+        }
+        return session;
+    }
+
+    @Override
+    protected void processMaxActiveSwaps() {
+        final int maxActiveSessions = this.maxActiveSessions;
+        if (!isStarted() || maxActiveSessions < 0) {
+            return;
+        }
+        final int excess = getActiveSessions() - maxActiveSessions;
+        if (excess <= 0) {
+            return;
+        }
+        final long idleSince = currentTimeMillis() - getMinIdleSwap() * 1000L;
+        for (String id : findLeastRecentlyUsed(excess, idleSince)) {
+            final Session session = sessions.get(id);
+            // the session may have been used again, or removed, in the meantime
+            if (session == null || !isIdle(id, idleSince)) {
+                continue;
+            }
+            try {
+                swapOut(session);
+            } catch (IOException e) {
+                log.error("Failed to passivate session " + id + " of " + deploymentName, e);
+            }
+        }
+    }
+
+    @Override
+    protected void swapOut(final Session session) throws IOException {
+        // swapping out recycles the session, which clears its id
+        final String id = session.getIdInternal();
+        super.swapOut(session);
+        // sessions which became invalid in the meantime are left in memory, to be expired
+        if (!sessions.containsKey(id)) {
+            // the superclass removes the session without going through remove(Session)
+            forget(id);
+            passivatedSessions.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected Session swapIn(final String id) throws IOException {
+        final Session session = super.swapIn(id);
+        if (session != null) {
+            activatedSessions.incrementAndGet();
+        }
+        return session;
+    }
+
+    /**
+     * Get the current time in milliseconds, which the idle times of the sessions are measured against.
+     *
+     * @return the current time
+     */
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private void used(final String id) {
+        final Long now = Long.valueOf(currentTimeMillis());
+        synchronized (leastRecentlyUsed) {
+            leastRecentlyUsed.put(id, now);
+        }
+    }
+
+    private void forget(final String id) {
+        synchronized (leastRecentlyUsed) {
+            leastRecentlyUsed.remove(id);
+        }
+    }
+
+    private boolean isIdle(final String id, final long idleSince) {
+        synchronized (leastRecentlyUsed) {
+            final Long lastUsed = leastRecentlyUsed.get(id);
+            return lastUsed != null && lastUsed.longValue() <= idleSince;
+        }
+    }
+
+    /**
+     * Find the least recently used sessions which have not been used since the specified time.
+     *
+     * @param count the maximum number of sessions to find
+     * @param idleSince the time the sessions must not have been used since
+     * @return the ids of the sessions, least recently used first
+     */
+    private List<String> findLeastRecentlyUsed(final int count, final long idleSince) {
+        final List<String> ids = new ArrayList<String>(count);
+        synchronized (leastRecentlyUsed) {
+            final Iterator<Map.Entry<String, Long>> iterator = leastRecentlyUsed.entrySet().iterator();
+            while (ids.size() < count && iterator.hasNext()) {
+                final Map.Entry<String, Long> entry = iterator.next();
+                if (entry.getValue().longValue() > idleSince) {
+                    // all the sessions after this one were used more recently
+                    break;
+                }
+                if (sessions.containsKey(entry.getKey())) {
+                    ids.add(entry.getKey());
+                } else {
+                    iterator.remove();
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import org.jboss.metadata.web.jboss.JBossWebMetaData;
+import org.jboss.metadata.web.jboss.PassivationConfig;
+
+/**
+ * The configuration of the session manager of web deployments.
+ *
+ * @author agent
+ */
+public final class SessionManagerConfig {
+
+    /** No limit on the number of active sessions and no passivation, the sessions of the container default manager. */
+    public static final SessionManagerConfig UNBOUNDED = new SessionManagerConfig(-1, -1, -1);
+
+    private final int maxActiveSessions;
+    private final int passivationMinIdleTime;
+    private final int passivationMaxIdleTime;
+
+    /**
+     * Create a session manager configuration.
+     *
+     * @param maxActiveSessions the maximum number of sessions held in memory, {@code -1} for no limit
+     * @param passivationMinIdleTime the time in seconds a session must have been idle before it may be passivated to
+     *        bring the number of active sessions back under the limit, {@code -1} for the minimum of
+     *        {@link PassivatingSessionManager#MIN_IDLE_SWAP_FLOOR}
+     * @param passivationMaxIdleTime the time in seconds after which an idle session is passivated, {@code -1} to never
+     *        passivate idle sessions
+     */
+    public SessionManagerConfig(final int maxActiveSessions, final int passivationMinIdleTime, final int passivationMaxIdleTime) {
+        this.maxActiveSessions = maxActiveSessions;
+        this.passivationMinIdleTime = passivationMinIdleTime;
+        this.passivationMaxIdleTime = passivationMaxIdleTime;
+    }
+
+    public int getMaxActiveSessions() {
+        return maxActiveSessions;
+    }
+
+    public int getPassivationMinIdleTime() {
+        return passivationMinIdleTime;
+    }
+
+    public int getPassivationMaxIdleTime() {
+        return passivationMaxIdleTime;
+    }
+
+    /**
+     * Whether this configuration needs a dedicated session manager rather than the container default one.
+     *
+     * @return {@code true} if the number of active sessions is bounded or idle sessions are passivated
+     */
+    public boolean isManaged() {
+        return maxActiveSessions >= 0 || passivationMaxIdleTime >= 0;
+    }
+
+    /**
+     * Apply the session settings of a deployment descriptor, {@code max-active-sessions} and
+     * {@code passivation-config} of {@code jboss-web.xml}, on top of this configuration.
+     *
+     * @param metaData the deployment metadata
+     * @return the configuration of the deployment
+     */
+    public SessionManagerConfig override(final JBossWebMetaData metaData) {
+        int maxActive = maxActiveSessions;
+        int minIdle = passivationMinIdleTime;
+        int maxIdle = passivationMaxIdleTime;
+        if (metaData.getMaxActiveSessions() != null) {
+            maxActive = metaData.getMaxActiveSessions().intValue();
+        }
+        final PassivationConfig passivation = metaData.getPassivationConfig();
+        if (passivation != null) {
+            if (Boolean.FALSE.equals(passivation.getUseSessionPassivation())) {
+                maxIdle = -1;
+            } else {
+                if (passivation.getPassivationMinIdleTime() != null) {
+                    minIdle = passivation.getPassivationMinIdleTime().intValue();
+                }
+                if (passivation.getPassivationMaxIdleTime() != null) {
+                    maxIdle = passivation.getPassivationMaxIdleTime().intValue();
+                }
+            }
+        }
+        if (maxActive == maxActiveSessions && minIdle == passivationMinIdleTime && maxIdle == passivationMaxIdleTime) {
+            return this;
+        }
+        return new SessionManagerConfig(maxActive, minIdle, maxIdle);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The session managers of the started web deployments, by deployment, for reporting their statistics through the
+ * management model.
+ *
+ * @author agent
+ */
+public final class SessionStatistics {
+
+    public static final String ACTIVE_SESSIONS = "active-sessions";
+    public static final String MAX_ACTIVE_SESSIONS = "max-active-sessions";
+    public static final String EXPIRED_SESSIONS = "expired-sessions";
+    public static final String REJECTED_SESSIONS = "rejected-sessions";
+    public static final String PASSIVATED_SESSIONS = "passivated-sessions";
+    public static final String ACTIVATED_SESSIONS = "activated-sessions";
+
+    private static final ConcurrentMap<String, PassivatingSessionManager> managers = new ConcurrentHashMap<String, PassivatingSessionManager>();
+
+    private SessionStatistics() {
+    }
+
+    public static void register(final PassivatingSessionManager manager) {
+        managers.put(manager.getDeploymentName(), manager);
+    }
+
+    public static void unregister(final PassivatingSessionManager manager) {
+        managers.remove(manager.getDeploymentName(), manager);
+    }
+
+    /**
+     * Returns the statistics of every registered session manager, keyed by deployment name.
+     *
+     * @return the statistics
+     */
+    public static ModelNode getStatistics() {
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<String, PassivatingSessionManager> entry : managers.entrySet()) {
+            final PassivatingSessionManager manager = entry.getValue();
+            final ModelNode node = result.get(entry.getKey());
+            node.get(ACTIVE_SESSIONS).set(manager.getActiveSessions());
+            node.get(MAX_ACTIVE_SESSIONS).set(manager.getMaxActiveSessions());
+            node.get(EXPIRED_SESSIONS).set(manager.getExpiredSessions());
+            node.get(REJECTED_SESSIONS).set(manager.getRejectedSessions());
+            node.get(PASSIVATED_SESSIONS).set(manager.getPassivatedSessions());
+            node.get(ACTIVATED_SESSIONS).set(manager.getActivatedSessions());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link AsyncAccessLogWriter}.
+ *
+ * @author agent
+ */
+public class AsyncAccessLogWriterUnitTestCase {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @Test
+    public void testRecordsWrittenInOrder() {
+        final RecordingAccessLog accessLog = new RecordingAccessLog(2, false);
+        accessLog.writer.start("test");
+        for (int i = 0; i < 1000; i++) {
+            accessLog.writer.add("record " + i);
+        }
+        accessLog.writer.stop();
+
+        final List<String> records = accessLog.getRecords();
+        assertEquals(1000, records.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("record " + i, records.get(i));
+        }
+        assertEquals(0, accessLog.writer.getDroppedRecords());
+    }
+
+    @Test
+    public void testDropOnOverflow() {
+        final RecordingAccessLog accessLog = new RecordingAccessLog(2, true);
+        // hold the writer thread in its first batch, so the following records stay queued
+        final AsyncAccessLogWriter writer = accessLog.writer;
+        writer.start("test");
+        accessLog.block();
+        writer.add("first");
+        accessLog.awaitBlocked();
+        writer.add("second");
+        writer.add("third");
+        writer.add("fourth");
+        accessLog.unblock();
+        writer.stop();
+
+        assertEquals(1, writer.getDroppedRecords());
+        assertEquals(3, accessLog.getRecords().size());
+    }
+
+    @Test
+    public void testStoppedWriterWritesSynchronously() {
+        final RecordingAccessLog accessLog = new RecordingAccessLog(2, false);
+        accessLog.writer.add("record");
+        assertEquals(Collections.singletonList("record"), accessLog.getRecords());
+    }
+
+    @Test(timeout = 30000)
+    public void testNoRecordLostWhileStopping() throws Exception {
+        final RecordingAccessLog accessLog = new RecordingAccessLog(2, false);
+        final AsyncAccessLogWriter writer = accessLog.writer;
+        writer.start("test");
+        final int threadCount = 8;
+        final int recordCount = 2000;
+        final CountDownLatch started = new CountDownLatch(threadCount);
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int thread = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    started.countDown();
+                    for (int j = 0; j < recordCount; j++) {
+                        writer.add(thread + ":" + j);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        started.await();
+        writer.stop();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final List<String> records = accessLog.getRecords();
+        assertEquals(threadCount * recordCount, records.size());
+        assertEquals(threadCount * recordCount, new HashSet<String>(records).size());
+    }
+
+    @Test(timeout = 30000)
+    public void testIdleWriterParks() throws Exception {
+        final RecordingAccessLog accessLog = new RecordingAccessLog(2, false);
+        final AsyncAccessLogWriter writer = accessLog.writer;
+        writer.start("idle-access-log-writer");
+        try {
+            final Thread thread = findThread("idle-access-log-writer");
+            assertNotNull(thread);
+            // parked without a timeout until a record is queued
+            awaitState(thread, Thread.State.WAITING);
+            writer.add("record");
+            while (accessLog.getRecords().isEmpty()) {
+                Thread.sleep(10);
+            }
+            awaitState(thread, Thread.State.WAITING);
+        } finally {
+            writer.stop();
+        }
+        assertEquals(Collections.singletonList("record"), accessLog.getRecords());
+    }
+
+    private static Thread findThread(final String name) {
+        final Set<Thread> threads = new HashSet<Thread>(Thread.getAllStackTraces().keySet());
+        for (Thread thread : threads) {
+            if (name.equals(thread.getName())) {
+                return thread;
+            }
+        }
+        return null;
+    }
+
+    private static void awaitState(final Thread thread, final Thread.State state) throws InterruptedException {
+        while (thread.getState() != state) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class RecordingAccessLog implements AsyncAccessLogWriter.AsyncAccessLog {
+
+        private final AsyncAccessLogWriter writer;
+        private final List<String> records = new ArrayList<String>();
+        private boolean blocking;
+        private boolean blocked;
+
+        RecordingAccessLog(final int queueSize, final boolean dropOnOverflow) {
+            writer = new AsyncAccessLogWriter(this, queueSize, dropOnOverflow);
+        }
+
+        public synchronized void write(final String batch) {
+            for (String record : batch.split(LINE_SEPARATOR)) {
+                records.add(record);
+            }
+            blocked = true;
+            notifyAll();
+            while (blocking) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        public AsyncAccessLogWriter getWriter() {
+            return writer;
+        }
+
+        synchronized void block() {
+            blocking = true;
+        }
+
+        synchronized void awaitBlocked() {
+            while (!blocked) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        synchronized void unblock() {
+            blocking = false;
+            notifyAll();
+        }
+
+        synchronized List<String> getRecords() {
+            return new ArrayList<String>(records);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.web.Constants.ACCEPT_COUNT;
+import static org.jboss.as.web.Constants.COMPRESSABLE_MIME_TYPES;
+import static org.jboss.as.web.Constants.COMPRESSION;
+import static org.jboss.as.web.Constants.COMPRESSION_MIN_SIZE;
+import static org.jboss.as.web.Constants.CONNECTOR;
+import static org.jboss.as.web.Constants.KEEP_ALIVE_TIMEOUT;
+import static org.jboss.as.web.Constants.MAX_KEEP_ALIVE_REQUESTS;
+import static org.jboss.as.web.Constants.SOCKET_BUFFER;
+import static org.jboss.as.web.Constants.TCP_NO_DELAY;
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.jboss.staxmapper.XMLMapper;
+import org.junit.Test;
+
+/**
+ * Parse and marshal round trip of the {@link WebSubsystemParser}.
+ *
+ * @author agent
+ */
+public class WebSubsystemParserUnitTestCase {
+
+    private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"" + Namespace.CURRENT.getUriString() + "\">" +
+            "<connector name=\"http\" protocol=\"HTTP/1.1\" socket-binding=\"http\" scheme=\"http\"" +
+            " compression=\"force\" compressable-mime-types=\"text/html,text/plain\" compression-min-size=\"1024\"" +
+            " max-keep-alive-requests=\"50\" keep-alive-timeout=\"15000\" socket-buffer=\"8192\"" +
+            " accept-count=\"200\" tcp-no-delay=\"false\"/>" +
+            "</subsystem>";
+
+    private static final String[] CONNECTOR_ATTRIBUTES = { COMPRESSION, COMPRESSABLE_MIME_TYPES, COMPRESSION_MIN_SIZE,
+            MAX_KEEP_ALIVE_REQUESTS, KEEP_ALIVE_TIMEOUT, SOCKET_BUFFER, ACCEPT_COUNT, TCP_NO_DELAY };
+
+    @Test
+    public void testParseConnectorAttributes() throws Exception {
+        final ModelNode connector = parse(SUBSYSTEM_XML).get(1);
+        assertEquals("force", connector.get(COMPRESSION).asString());
+        assertEquals("text/html,text/plain", connector.get(COMPRESSABLE_MIME_TYPES).asString());
+        assertEquals(1024, connector.get(COMPRESSION_MIN_SIZE).asInt());
+        assertEquals(50, connector.get(MAX_KEEP_ALIVE_REQUESTS).asInt());
+        assertEquals(15000, connector.get(KEEP_ALIVE_TIMEOUT).asInt());
+        assertEquals(8192, connector.get(SOCKET_BUFFER).asInt());
+        assertEquals(200, connector.get(ACCEPT_COUNT).asInt());
+        assertEquals(false, connector.get(TCP_NO_DELAY).asBoolean());
+    }
+
+    @Test
+    public void testMarshalConnectorAttributes() throws Exception {
+        final List<ModelNode> operations = parse(SUBSYSTEM_XML);
+        final List<ModelNode> reparsed = parse(marshal(toModel(operations)));
+        assertEquals(operations.size(), reparsed.size());
+
+        final ModelNode connector = operations.get(1);
+        final ModelNode marshalled = reparsed.get(1);
+        assertEquals(connector.get(OP_ADDR), marshalled.get(OP_ADDR));
+        for (String attribute : CONNECTOR_ATTRIBUTES) {
+            assertEquals(attribute, connector.get(attribute).asString(), marshalled.get(attribute).asString());
+        }
+    }
+
+    private static List<ModelNode> parse(final String xml) throws XMLStreamException {
+        final XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName(Namespace.CURRENT.getUriString(), "subsystem"), WebSubsystemParser.getInstance());
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        mapper.parseDocument(operations, XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)));
+        return operations;
+    }
+
+    private static String marshal(final ModelNode model) throws XMLStreamException {
+        final XMLMapper mapper = XMLMapper.Factory.create();
+        final StringWriter xml = new StringWriter();
+        mapper.deparseDocument(new XMLElementWriter<ModelNode>() {
+            @Override
+            public void writeContent(XMLExtendedStreamWriter writer, ModelNode value) throws XMLStreamException {
+                writer.writeStartDocument();
+                WebSubsystemParser.getInstance().writeContent(writer, new SubsystemMarshallingContext(value, writer));
+                writer.writeEndDocument();
+            }
+        }, model, XMLOutputFactory.newInstance().createXMLStreamWriter(xml));
+        return xml.toString();
+    }
+
+    /**
+     * Folds the parsed add operations into the subsystem model the marshaller works on.
+     */
+    private static ModelNode toModel(final List<ModelNode> operations) {
+        final ModelNode model = new ModelNode();
+        for (ModelNode operation : operations) {
+            final ModelNode target;
+            final List<Property> address = operation.get(OP_ADDR).asPropertyList();
+            if (address.size() == 1) {
+                target = model;
+            } else {
+                assertEquals(CONNECTOR, address.get(1).getName());
+                target = model.get(CONNECTOR, address.get(1).getValue().asString());
+            }
+            for (Property attribute : operation.asPropertyList()) {
+                if (!OP.equals(attribute.getName()) && !OP_ADDR.equals(attribute.getName())) {
+                    target.get(attribute.getName()).set(attribute.getValue());
+                }
+            }
+        }
+        return model;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link StaticContentCache}.
+ *
+ * @author agent
+ */
+public class StaticContentCacheUnitTestCase {
+
+    @Test
+    public void testCacheable() {
+        final StaticContentCache cache = new StaticContentCache(100, 10);
+        assertTrue(cache.isCacheable(0));
+        assertTrue(cache.isCacheable(10));
+        assertFalse(cache.isCacheable(11));
+        assertFalse(cache.isCacheable(-1));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final StaticContentCache cache = new StaticContentCache(20, 10);
+        assertTrue(cache.put("/a", entry(10, 0)));
+        assertTrue(cache.put("/b", entry(10, 0)));
+        assertNotNull(cache.get("/a"));
+        assertTrue(cache.put("/c", entry(10, 0)));
+
+        assertNotNull(cache.get("/a"));
+        assertNull(cache.get("/b"));
+        assertNotNull(cache.get("/c"));
+        assertEquals(20, cache.getSize());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void testGzipVariantCountsTowardsSize() {
+        final StaticContentCache cache = new StaticContentCache(20, 20);
+        assertTrue(cache.put("/a", entry(10, 5)));
+        assertEquals(15, cache.getSize());
+        assertFalse(cache.put("/b", entry(20, 5)));
+        assertEquals(15, cache.getSize());
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        final StaticContentCache cache = new StaticContentCache(100, 50);
+        cache.put("/a", entry(10, 0));
+        cache.put("/a", entry(30, 0));
+        assertEquals(30, cache.getSize());
+        cache.remove("/a");
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testStatistics() {
+        final StaticContentCache cache = new StaticContentCache(100, 50);
+        assertEquals(0, cache.getHitRatio(), 0);
+        cache.miss();
+        cache.hit(10);
+        cache.hit(20);
+        cache.hit(0);
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.75, cache.getHitRatio(), 0);
+        assertEquals(30, cache.getBytesServed());
+    }
+
+    private static StaticContentCache.Entry entry(final int length, final int gzipLength) {
+        return new StaticContentCache.Entry(new byte[length], gzipLength == 0 ? null : new byte[gzipLength], "text/plain", 0, 0);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.content;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.Globals;
+import org.apache.naming.resources.FileDirContext;
+import org.apache.naming.resources.ProxyDirContext;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link StaticContentServlet} serving the files of a directory.
+ *
+ * @author agent
+ */
+public class StaticContentServletUnitTestCase {
+
+    private static final String KEY = "localhost/app";
+    private static final byte[] CONTENT = "<html><body>cached</body></html>".getBytes();
+
+    private File docBase;
+    private StaticContentServlet servlet;
+
+    @Before
+    public void setUp() throws Exception {
+        docBase = File.createTempFile("static-content", "");
+        docBase.delete();
+        docBase.mkdir();
+        final FileOutputStream out = new FileOutputStream(new File(docBase, "index.html"));
+        try {
+            out.write(CONTENT);
+        } finally {
+            out.close();
+        }
+        servlet = new StaticContentServlet();
+        servlet.init(createConfig());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servlet.destroy();
+        new File(docBase, "index.html").delete();
+        docBase.delete();
+    }
+
+    @Test
+    public void testMissIsNotCountedAsHit() throws Exception {
+        final Response first = get("/index.html", null);
+        assertArrayEquals(CONTENT, first.body.toByteArray());
+        assertEquals(0, statistics().get(StaticContentStatistics.HITS).asLong());
+        assertEquals(1, statistics().get(StaticContentStatistics.MISSES).asLong());
+        assertEquals(0, statistics().get(StaticContentStatistics.BYTES_SERVED).asLong());
+
+        final Response second = get("/index.html", null);
+        assertArrayEquals(CONTENT, second.body.toByteArray());
+        assertEquals(1, statistics().get(StaticContentStatistics.HITS).asLong());
+        assertEquals(1, statistics().get(StaticContentStatistics.MISSES).asLong());
+        assertEquals(CONTENT.length, statistics().get(StaticContentStatistics.BYTES_SERVED).asLong());
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        final String eTag = get("/index.html", null).headers.get("ETag");
+        final Response response = get("/index.html", eTag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.status);
+        assertEquals(0, response.body.size());
+        assertEquals(1, statistics().get(StaticContentStatistics.HITS).asLong());
+    }
+
+    @Test
+    public void testStatisticsKeyedByHostAndContextPath() throws Exception {
+        assertTrue(StaticContentStatistics.getStatistics().has(KEY));
+        servlet.destroy();
+        assertFalse(StaticContentStatistics.getStatistics().has(KEY));
+        servlet.init(createConfig());
+    }
+
+    private ModelNode statistics() {
+        return StaticContentStatistics.getStatistics().get(KEY);
+    }
+
+    private Response get(final String path, final String ifNoneMatch) throws Exception {
+        final Map<String, String> headers = new HashMap<String, String>();
+        if (ifNoneMatch != null) {
+            headers.put("If-None-Match", ifNoneMatch);
+        }
+        final HttpServletRequest request = fake(HttpServletRequest.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                final String name = method.getName();
+                if (name.equals("getMethod")) {
+                    return "GET";
+                } else if (name.equals("getPathInfo")) {
+                    return path;
+                } else if (name.equals("getServletPath")) {
+                    return "";
+                } else if (name.equals("getContextPath")) {
+                    return "/app";
+                } else if (name.equals("getRequestURI")) {
+                    return "/app" + path;
+                } else if (name.equals("getHeader")) {
+                    return headers.get(args[0]);
+                } else if (name.equals("getDateHeader")) {
+                    return -1L;
+                }
+                return defaultValue(method);
+            }
+        });
+        final Response response = new Response();
+        servlet.service(request, response.create());
+        return response;
+    }
+
+    private ServletConfig createConfig() throws Exception {
+        final Hashtable<String, String> environment = new Hashtable<String, String>();
+        environment.put(ProxyDirContext.HOST, "localhost");
+        environment.put(ProxyDirContext.CONTEXT, "/app");
+        final FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.getAbsolutePath());
+        final ProxyDirContext resources = new ProxyDirContext(environment, dirContext);
+        final ServletContext context = fake(ServletContext.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
+                final String name = method.getName();
+                if (name.equals("getContextPath")) {
+                    return "/app";
+                } else if (name.equals("getAttribute")) {
+                    return Globals.RESOURCES_ATTR.equals(args[0]) ? resources : null;
+                } else if (name.equals("getResource")) {
+                    final File file = new File(docBase, (String) args[0]);
+                    return file.isFile() ? file.toURI().toURL() : null;
+                } else if (name.equals("getMimeType")) {
+                    return "text/html";
+                }
+                return defaultValue(method);
+            }
+        });
+        return fake(ServletConfig.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                final String name = method.getName();
+                if (name.equals("getServletContext")) {
+                    return context;
+                } else if (name.equals("getServletName")) {
+                    return "default";
+                } else if (name.equals("getInitParameterNames")) {
+                    return Collections.enumeration(Collections.<String>emptyList());
+                }
+                return defaultValue(method);
+            }
+        });
+    }
+
+    private static <T> T fake(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object defaultValue(final Method method) {
+        final Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static final class Response {
+        private final Map<String, String> headers = new HashMap<String, String>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private int status = HttpServletResponse.SC_OK;
+
+        HttpServletResponse create() {
+            final ServletOutputStream out = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    body.write(b);
+                }
+            };
+            return fake(HttpServletResponse.class, new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    final String name = method.getName();
+                    if (name.equals("setHeader")) {
+                        headers.put((String) args[0], (String) args[1]);
+                    } else if (name.equals("setStatus")) {
+                        status = (Integer) args[0];
+                    } else if (name.equals("getOutputStream")) {
+                        return out;
+                    }
+                    return defaultValue(method);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link LatencyHistogram}.
+ *
+ * @author agent
+ */
+public class LatencyHistogramUnitTestCase {
+
+    @Test
+    public void testBuckets() {
+        for (long micros = 0; micros < 100000; micros++) {
+            final int bucket = LatencyHistogram.bucket(micros);
+            assertTrue(micros <= LatencyHistogram.upperBound(bucket));
+            assertTrue(bucket == 0 || micros > LatencyHistogram.upperBound(bucket - 1));
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram(6, 10000);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000, 0);
+        }
+        final long[] percentiles = histogram.getPercentiles(0, 0.5, 0.95, 0.99);
+        assertWithin(50000, percentiles[0]);
+        assertWithin(95000, percentiles[1]);
+        assertWithin(99000, percentiles[2]);
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        final LatencyHistogram histogram = new LatencyHistogram(6, 10000);
+        histogram.record(100000, 0);
+        histogram.record(1000, 30000);
+        assertWithin(100000, histogram.getPercentiles(30000, 0.99)[0]);
+        // the first slice has left the window
+        assertWithin(1000, histogram.getPercentiles(60000, 0.99)[0]);
+        // and is reused for the new values
+        histogram.record(10, 60000);
+        assertWithin(1000, histogram.getPercentiles(60000, 0.99)[0]);
+        assertEquals(0, histogram.getPercentiles(200000, 0.5)[0]);
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(actual + " is not within a quarter of " + expected, actual >= expected && actual <= expected * 5 / 4);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link PassivatingSessionManager}.
+ *
+ * @author agent
+ */
+public class PassivatingSessionManagerUnitTestCase {
+
+    private static final long FLOOR = PassivatingSessionManager.MIN_IDLE_SWAP_FLOOR * 1000L;
+
+    private File storeDirectory;
+    private TestSessionManager manager;
+
+    /**
+     * A manager whose clock is set by the test.
+     */
+    private static class TestSessionManager extends PassivatingSessionManager {
+        private long now = 1000000L;
+
+        TestSessionManager(final SessionManagerConfig config) {
+            super("test.war", config);
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        storeDirectory = File.createTempFile("sessions", "");
+        storeDirectory.delete();
+        storeDirectory.mkdir();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (manager != null) {
+            manager.stop();
+        }
+        final File[] files = storeDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        storeDirectory.delete();
+    }
+
+    private TestSessionManager start(final int maxActiveSessions) throws Exception {
+        manager = new TestSessionManager(new SessionManagerConfig(maxActiveSessions, -1, -1));
+        manager.setContainer(new StandardContext());
+        manager.setStoreDirectory(storeDirectory);
+        manager.start();
+        return manager;
+    }
+
+    private Set<String> idsInMemory() {
+        final Set<String> ids = new HashSet<String>();
+        for (Session session : manager.findSessions()) {
+            ids.add(session.getIdInternal());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testMinIdleSwapFloor() throws Exception {
+        start(10);
+        assertEquals(PassivatingSessionManager.MIN_IDLE_SWAP_FLOOR, manager.getMinIdleSwap());
+        manager.setMinIdleSwap(PassivatingSessionManager.MIN_IDLE_SWAP_FLOOR + 50);
+        assertEquals(PassivatingSessionManager.MIN_IDLE_SWAP_FLOOR + 50, manager.getMinIdleSwap());
+    }
+
+    /**
+     * New sessions are admitted beyond the limit, without swapping anything out on the request thread.
+     */
+    @Test
+    public void testAdmitsSessionsBeyondLimit() throws Exception {
+        start(2);
+        manager.now += FLOOR * 2;
+        for (int i = 0; i < 3; i++) {
+            manager.createSession(null);
+        }
+        assertEquals(3, manager.getActiveSessions());
+        assertEquals(0, manager.getPassivatedSessions());
+        assertEquals(0, manager.getRejectedSessions());
+    }
+
+    /**
+     * The background processing swaps out the least recently used sessions beyond the limit, and they are swapped back
+     * in when requested again.
+     */
+    @Test
+    public void testSwapsOutLeastRecentlyUsed() throws Exception {
+        start(2);
+        final String first = manager.createSession(null).getIdInternal();
+        final String second = manager.createSession(null).getIdInternal();
+        final String third = manager.createSession(null).getIdInternal();
+        manager.now += 1000;
+        // a request for the first session makes the second one the least recently used
+        assertNotNull(manager.findSession(first));
+
+        manager.now += FLOOR + 1000;
+        manager.processMaxActiveSwaps();
+        assertEquals(2, manager.getActiveSessions());
+        assertEquals(1, manager.getPassivatedSessions());
+        final Set<String> expected = new HashSet<String>();
+        expected.add(first);
+        expected.add(third);
+        assertEquals(expected, idsInMemory());
+
+        // back under the limit, nothing more to do
+        manager.processMaxActiveSwaps();
+        assertEquals(1, manager.getPassivatedSessions());
+
+        assertNotNull(manager.findSession(second));
+        assertEquals(1, manager.getActivatedSessions());
+        assertEquals(3, manager.getActiveSessions());
+        assertTrue(idsInMemory().contains(second));
+    }
+
+    /**
+     * A session used within the floor of the minimum idle time stays in memory even beyond the limit, and so do the
+     * sessions used after it.
+     */
+    @Test
+    public void testKeepsRecentlyUsedSessions() throws Exception {
+        start(0);
+        manager.createSession(null);
+        final String second = manager.createSession(null).getIdInternal();
+        manager.createSession(null);
+
+        manager.now += FLOOR / 2;
+        manager.processMaxActiveSwaps();
+        assertEquals(3, manager.getActiveSessions());
+        assertEquals(0, manager.getPassivatedSessions());
+
+        assertNotNull(manager.findSession(second));
+        manager.now += FLOOR / 2 + 1000;
+        manager.processMaxActiveSwaps();
+        assertEquals(1, manager.getActiveSessions());
+        assertEquals(2, manager.getPassivatedSessions());
+        assertEquals(Collections.singleton(second), idsInMemory());
+    }
+
+    /**
+     * Sessions which are gone from memory are not taken into account.
+     */
+    @Test
+    public void testIgnoresExpiredSessions() throws Exception {
+        start(1);
+        final Session first = manager.createSession(null);
+        final String second = manager.createSession(null).getIdInternal();
+        final String third = manager.createSession(null).getIdInternal();
+        first.expire();
+        assertEquals(2, manager.getActiveSessions());
+
+        manager.now += FLOOR + 1000;
+        manager.processMaxActiveSwaps();
+        assertEquals(1, manager.getPassivatedSessions());
+        assertEquals(Collections.singleton(third), idsInMemory());
+        assertNotNull(manager.findSession(second));
+    }
+}
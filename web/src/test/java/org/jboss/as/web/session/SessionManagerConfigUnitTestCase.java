@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.metadata.web.jboss.JBossWebMetaData;
+import org.jboss.metadata.web.jboss.PassivationConfig;
+import org.junit.Test;
+
+/**
+ * Tests {@link SessionManagerConfig}.
+ *
+ * @author agent
+ */
+public class SessionManagerConfigUnitTestCase {
+
+    @Test
+    public void testUnbounded() {
+        assertFalse(SessionManagerConfig.UNBOUNDED.isManaged());
+        assertSame(SessionManagerConfig.UNBOUNDED, SessionManagerConfig.UNBOUNDED.override(new JBossWebMetaData()));
+    }
+
+    @Test
+    public void testManaged() {
+        assertTrue(new SessionManagerConfig(100, -1, -1).isManaged());
+        assertTrue(new SessionManagerConfig(-1, -1, 600).isManaged());
+        assertFalse(new SessionManagerConfig(-1, 60, -1).isManaged());
+    }
+
+    @Test
+    public void testDeploymentOverride() {
+        final JBossWebMetaData metaData = new JBossWebMetaData();
+        metaData.setMaxActiveSessions(Integer.valueOf(50));
+        final PassivationConfig passivation = new PassivationConfig();
+        passivation.setPassivationMaxIdleTime(Integer.valueOf(300));
+        metaData.setPassivationConfig(passivation);
+
+        final SessionManagerConfig config = new SessionManagerConfig(1000, 60, 600).override(metaData);
+        assertEquals(50, config.getMaxActiveSessions());
+        assertEquals(60, config.getPassivationMinIdleTime());
+        assertEquals(300, config.getPassivationMaxIdleTime());
+        assertTrue(config.isManaged());
+    }
+
+    @Test
+    public void testDeploymentDisablesPassivation() {
+        final JBossWebMetaData metaData = new JBossWebMetaData();
+        final PassivationConfig passivation = new PassivationConfig();
+        passivation.setUseSessionPassivation(Boolean.FALSE);
+        passivation.setPassivationMaxIdleTime(Integer.valueOf(300));
+        metaData.setPassivationConfig(passivation);
+
+        final SessionManagerConfig config = new SessionManagerConfig(-1, 60, 600).override(metaData);
+        assertEquals(-1, config.getPassivationMaxIdleTime());
+        assertFalse(config.isManaged());
+    }
+}
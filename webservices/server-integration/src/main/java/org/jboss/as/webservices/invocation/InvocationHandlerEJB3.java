@@ -23,6 +23,7 @@ package org.jboss.as.webservices.invocation;
 
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.webservices.util.ASHelper;
+import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.wsf.common.injection.ThreadLocalAwareWebServiceContext;
 import org.jboss.wsf.common.invocation.AbstractInvocationHandler;
 import org.jboss.wsf.spi.SPIProvider;
@@ -45,6 +46,8 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.security.Principal;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 //import javax.ejb.embeddable.EJBContainer; // TODO: needed?
 
@@ -64,8 +67,8 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
    /** EJB3 container name. */
    private String containerName;
 
-   /** EJB3 container. */
-   private SessionBeanComponent serviceEndpointContainer;
+   /** EJB3 container together with its dispatch table, resolved once. */
+   private volatile EJB3Target target;
 
    /**
     * Constructor.
@@ -90,21 +93,27 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
    }
 
    /**
-    * Gets EJB 3 container lazily.
+    * Gets EJB 3 container and its dispatch table. The container is looked up only once,
+    * after that this method does not lock.
     *
-    * @return EJB3 container
+    * @return EJB3 target
     */
-   private synchronized SessionBeanComponent getEjb3Container() {
-      final boolean ejb3ContainerNotInitialized = this.serviceEndpointContainer == null;
-
-      if (ejb3ContainerNotInitialized) {
-         this.serviceEndpointContainer = this.iocContainer.getBean(this.containerName, SessionBeanComponent.class);
-         if (this.serviceEndpointContainer == null) {
-            throw new WebServiceException("Cannot find service endpoint target: " + this.containerName);
+   private EJB3Target getEjb3Target() {
+      EJB3Target target = this.target;
+      if (target == null) {
+         synchronized (this) {
+            target = this.target;
+            if (target == null) {
+               final SessionBeanComponent container = this.iocContainer.getBean(this.containerName, SessionBeanComponent.class);
+               if (container == null) {
+                  throw new WebServiceException("Cannot find service endpoint target: " + this.containerName);
+               }
+               this.target = target = new EJB3Target(container);
+            }
          }
       }
 
-      return this.serviceEndpointContainer;
+      return target;
    }
 
    /**
@@ -119,7 +128,8 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
          // prepare for invocation
          this.onBeforeInvocation(wsInvocation);
 
-         final SessionBeanComponent ejbContainer = this.getEjb3Container();
+         final EJB3Target target = this.getEjb3Target();
+         final SessionBeanComponent ejbContainer = target.container;
 
          final Method seiMethod = wsInvocation.getJavaMethod();
          final Serializable sessionId = null; // Not applicable
@@ -127,7 +137,7 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
          final Map<String, Object> contextData = getWebServiceContext(wsInvocation).getMessageContext();
          // TODO: should we know it is MethodIntf.SERVICE_ENDPOINT?
          final Class<?> invokedBusinessInterface = null;
-         final Method implMethod = ejbContainer.getComponentMethod(seiMethod);
+         final Method implMethod = target.getComponentMethod(seiMethod);
          final Object[] args = wsInvocation.getArgs();
          // invoke method
          final Object retObj = ejbContainer.invoke(sessionId, contextData, invokedBusinessInterface, implMethod, args);
@@ -181,6 +191,46 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
       return new WebServiceContextAdapter(invocationContext.getAttachment(WebServiceContext.class));
    }
 
+   /**
+    * The EJB3 container of an endpoint and the mapping of SEI methods to the component methods to which
+    * the container's interceptors are bound.
+    */
+   private static final class EJB3Target {
+      private final SessionBeanComponent container;
+      private final ConcurrentMap<Method, Method> componentMethods = new ConcurrentHashMap<Method, Method>();
+
+      private EJB3Target(final SessionBeanComponent container) {
+         this.container = container;
+         // SEI methods are normally declared on the bean class or one of its interfaces
+         final Class<?> componentClass = container.getComponentClass();
+         add(componentClass);
+         for (Class<?> clazz = componentClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Class<?> iface : clazz.getInterfaces()) {
+               add(iface);
+            }
+         }
+      }
+
+      private void add(final Class<?> clazz) {
+         for (Method method : clazz.getMethods()) {
+            final Method componentMethod = container.getComponentMethod(MethodIdentifier.getIdentifierForMethod(method));
+            if (componentMethod != null) {
+               componentMethods.put(method, componentMethod);
+            }
+         }
+      }
+
+      private Method getComponentMethod(final Method seiMethod) {
+         Method componentMethod = componentMethods.get(seiMethod);
+         if (componentMethod == null) {
+            // an SEI the bean class does not implement; resolve it once and remember it
+            componentMethod = container.getComponentMethod(seiMethod);
+            componentMethods.putIfAbsent(seiMethod, componentMethod);
+         }
+         return componentMethod;
+      }
+   }
+
    private static final class WebServiceContextAdapter implements WebServiceContext {
       private final WebServiceContext delegate;
 